@@ -0,0 +1,218 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.mhs.onlinemarketingplatform.advertisement.attributes.filter.*;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.InvalidAttributeFilterException;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.SearchErrorCode;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Turns {@code attr.<field>}, {@code attr.<field>.min} and {@code attr.<field>.max} request parameters into the typed
+ * filter of the requested advertisement type and compiles it into a single JSONB containment predicate, which the
+ * {@code jsonb_path_ops} GIN index on {@code advertisements.attributes} answers, plus numeric range predicates that
+ * are only evaluated on the rows the containment has already narrowed down, unless the field is promoted into a
+ * column of its own by {@link AdvertisementPromotedAttributes}, whose partial index answers the range directly. Anything
+ * that can not be served this way is rejected before a statement is built.
+ *
+ * @author Milad Haghighat Shahedi
+ */
+@Component
+class AdvertisementAttributeFilterCompiler {
+
+	static final String PARAMETER_PREFIX = "attr.";
+	private static final String MIN = "min";
+	private static final String MAX = "max";
+
+	private final ObjectMapper mapper;
+	private final AdvertisementPromotedAttributes promotedAttributes;
+	private final MessageSource messageSource;
+	private final Map<AdvertisementType, ObjectReader> readers = new EnumMap<>(AdvertisementType.class);
+	private final Map<Class<? extends AdvertisementAttributesFilter>, AdvertisementType> types = new HashMap<>();
+
+	AdvertisementAttributeFilterCompiler(ObjectMapper mapper, AdvertisementPromotedAttributes promotedAttributes, MessageSource messageSource) {
+		this.mapper = mapper;
+		this.promotedAttributes = promotedAttributes;
+		this.messageSource = messageSource;
+		for (AdvertisementType type : AdvertisementType.values()) {
+			this.readers.put(type, mapper.readerFor(filterType(type)).with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES));
+			this.types.put(filterType(type), type);
+		}
+	}
+
+	AdvertisementAttributesFilter parse(AdvertisementType type, Map<String, String> parameters) {
+		ObjectNode node = this.mapper.createObjectNode();
+		for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+			if (parameter.getKey().startsWith(PARAMETER_PREFIX)) {
+				put(node, parameter.getKey().substring(PARAMETER_PREFIX.length()), parameter.getValue(), type);
+			}
+		}
+		if (node.isEmpty()) {
+			return null;
+		}
+		if (type == null) {
+			throw invalid("error.search.attribute.type.required");
+		}
+
+		AdvertisementAttributesFilter filter;
+		try {
+			filter = this.readers.get(type).readValue((JsonNode) node);
+		} catch (UnrecognizedPropertyException ex) {
+			throw invalid("error.search.attribute.unknown", ex.getPropertyName(), type);
+		} catch (JsonMappingException ex) {
+			throw invalid("error.search.attribute.value.invalid", ex.getPath().stream()
+					.map(JsonMappingException.Reference::getFieldName)
+					.filter(Objects::nonNull)
+					.collect(Collectors.joining(".")));
+		} catch (IOException ex) {
+			throw invalid("error.search.attribute.value.invalid", node.toString());
+		}
+		validate(filter);
+		return filter;
+	}
+
+	CompiledAttributeFilter compile(AdvertisementAttributesFilter filter) {
+		AdvertisementType type = this.types.get(filter.getClass());
+		ObjectNode containment = this.mapper.createObjectNode();
+		containment.put("@type", filter.typeName());
+		filter.equalities().forEach((field, value) -> containment.set(field, this.mapper.valueToTree(value)));
+
+		List<AttributeRangePredicate> ranges = new ArrayList<>();
+		filter.ranges().forEach((field, range) -> {
+			if (range.isExact()) {
+				containment.set(field, this.mapper.valueToTree(range.min()));
+			} else {
+				ranges.add(new AttributeRangePredicate(field, range.min(), range.max(), this.promotedAttributes.column(type, field)));
+			}
+		});
+		return new CompiledAttributeFilter(type, containment.toString(), ranges);
+	}
+
+	private void validate(AdvertisementAttributesFilter filter) {
+		filter.ranges().forEach((field, range) -> {
+			if (range.isInverted()) {
+				throw invalid("error.search.attribute.range.invalid", field);
+			}
+		});
+		CompiledAttributeFilter compiled = compile(filter);
+		if (!compiled.ranges().isEmpty() && filter.equalities().isEmpty()
+				&& filter.ranges().values().stream().noneMatch(AttributeRange::isExact)
+				&& compiled.ranges().stream().noneMatch(AttributeRangePredicate::isPromoted)) {
+			throw invalid("error.search.attribute.not.indexable", compiled.ranges().stream()
+					.map(AttributeRangePredicate::field)
+					.collect(Collectors.joining(", ")));
+		}
+	}
+
+	private void put(ObjectNode node, String path, String value, AdvertisementType type) {
+		int dot = path.indexOf('.');
+		if (dot < 0) {
+			if (node.has(path)) {
+				throw invalid("error.search.attribute.value.invalid", path);
+			}
+			node.put(path, value);
+			return;
+		}
+
+		String field = path.substring(0, dot);
+		String bound = path.substring(dot + 1);
+		if (!MIN.equals(bound) && !MAX.equals(bound)) {
+			throw invalid("error.search.attribute.unknown", path, type);
+		}
+		JsonNode existing = node.get(field);
+		if (existing != null && !existing.isObject()) {
+			throw invalid("error.search.attribute.value.invalid", field);
+		}
+		ObjectNode range = existing == null ? node.putObject(field) : (ObjectNode) existing;
+		range.put(bound, value);
+	}
+
+	private InvalidAttributeFilterException invalid(String key, Object... args) {
+		return new InvalidAttributeFilterException(
+				messageSource.getMessage(key, args, LocaleContextHolder.getLocale()),
+				SearchErrorCode.INVALID_ATTRIBUTE_FILTER);
+	}
+
+	static Class<? extends AdvertisementAttributesFilter> filterType(AdvertisementType type) {
+		return switch (type) {
+			case CARS -> CarAttributesFilter.class;
+			case REALESTATES -> RealEstateAttributesFilter.class;
+			case MOBILES -> MobileAttributesFilter.class;
+			case OTHER -> OtherAttributesFilter.class;
+		};
+	}
+
+}
+
+/**
+ * Field names come from the typed filter records, never from the request, so they are safe to inline.
+ */
+record CompiledAttributeFilter(AdvertisementType type, String containment, List<AttributeRangePredicate> ranges) {
+
+	void appendTo(StringBuilder sql, MapSqlParameterSource params) {
+		sql.append(" AND a.attributes @> CAST(:attributes AS jsonb)");
+		params.addValue("attributes", containment);
+
+		if (ranges.stream().anyMatch(AttributeRangePredicate::isPromoted)) {
+			// repeated as a literal, the planner can't match a bind parameter against the partial index of the type
+			sql.append(" AND a.advertisement_type = '").append(type.name()).append("'");
+		}
+		for (int i = 0; i < ranges.size(); i++) {
+			AttributeRangePredicate range = ranges.get(i);
+			String expression = range.isPromoted()
+					? " AND a." + range.column()
+					: " AND (a.attributes ->> '" + range.field() + "')::numeric";
+			if (range.min() != null) {
+				sql.append(expression).append(" >= :attributeMin").append(i);
+				params.addValue("attributeMin" + i, range.min());
+			}
+			if (range.max() != null) {
+				sql.append(expression).append(" <= :attributeMax").append(i);
+				params.addValue("attributeMax" + i, range.max());
+			}
+		}
+	}
+
+}
+
+/**
+ * {@code column} is the promoted column of the field, or {@code null} when the range is evaluated on the jsonb.
+ */
+record AttributeRangePredicate(String field, Number min, Number max, String column) {
+
+	AttributeRangePredicate(String field, Number min, Number max) {
+		this(field, min, max, null);
+	}
+
+	boolean isPromoted() {
+		return column != null;
+	}
+
+}
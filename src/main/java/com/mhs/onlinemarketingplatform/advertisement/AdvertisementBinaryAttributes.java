@@ -0,0 +1,229 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.attributes.AdvertisementAttributes;
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementAttributesProperties;
+import com.mhs.onlinemarketingplatform.advertisement.converter.AdvertisementAttributesBinaryCodec;
+import com.mhs.onlinemarketingplatform.advertisement.converter.AdvertisementAttributesCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keeps the {@code attributes_binary} copy of the jsonb attributes in step with them. With the binary mode on, every
+ * write of the attributes writes the copy as well; with it off writes leave the column alone and the backfiller drops
+ * the copies left over from when the mode was on, so until it has done so an owner's edit of such an advertisement
+ * can be listed with its previous attributes. List queries read the copy whenever it is present and current and
+ * skip transferring the jsonb for those rows, see {@link AdvertisementSearchRepository#ADVERTISEMENT_COLUMNS}.
+ *
+ * @author Milad Haghighat Shahedi
+ */
+@Component
+class AdvertisementBinaryAttributes {
+
+	private final AdvertisementBinaryAttributesRepository advertisementBinaryAttributesRepository;
+	private final AdvertisementAttributesBinaryCodec binaryCodec;
+	private final AdvertisementAttributesProperties properties;
+
+	AdvertisementBinaryAttributes(
+			AdvertisementBinaryAttributesRepository advertisementBinaryAttributesRepository,
+			AdvertisementAttributesBinaryCodec binaryCodec,
+			AdvertisementAttributesProperties properties) {
+		this.advertisementBinaryAttributesRepository = advertisementBinaryAttributesRepository;
+		this.binaryCodec = binaryCodec;
+		this.properties = properties;
+	}
+
+	byte[] encode(AdvertisementAttributes attributes) {
+		return this.properties.binaryEnabled() ? this.binaryCodec.write(attributes) : null;
+	}
+
+	void refresh(UUID advertisementId, AdvertisementAttributes attributes) {
+		if (this.properties.binaryEnabled()) {
+			this.advertisementBinaryAttributesRepository.update(advertisementId, this.binaryCodec.write(attributes));
+		}
+	}
+
+}
+
+/**
+ * Encodes the advertisements that have no current binary copy yet, such as the ones stored before the binary mode was
+ * switched on, imported from a file, or encoded for an earlier version of the attribute types. Every run walks the
+ * stale rows in id order, so rows whose attributes can't be decoded are passed over instead of being selected again.
+ * With the binary mode off it drops the copies that are left, once per start.
+ */
+@Component
+class AdvertisementBinaryAttributesBackfiller {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementBinaryAttributesBackfiller.class);
+
+	private final AdvertisementBinaryAttributesRepository advertisementBinaryAttributesRepository;
+	private final AdvertisementAttributesProperties properties;
+
+	private volatile boolean cleared;
+
+	AdvertisementBinaryAttributesBackfiller(
+			AdvertisementBinaryAttributesRepository advertisementBinaryAttributesRepository,
+			AdvertisementAttributesProperties properties) {
+		this.advertisementBinaryAttributesRepository = advertisementBinaryAttributesRepository;
+		this.properties = properties;
+	}
+
+	@Async("advertisementArchiveTaskExecutor")
+	@Scheduled(fixedDelayString = "${advertisement.attributes.backfill_interval_in_ms}", initialDelayString = "${advertisement.attributes.backfill_interval_in_ms}")
+	public void backfill() {
+		if (!this.properties.binaryEnabled()) {
+			clear();
+			return;
+		}
+		long started = System.currentTimeMillis();
+		int encoded = 0;
+		UUID after = null;
+		for (int batch = 0; batch < this.properties.backfillMaxBatches(); batch++) {
+			BackfillBatch selected = this.advertisementBinaryAttributesRepository.backfill(after, this.properties.backfillBatchSize());
+			encoded += selected.encoded();
+			if (selected.selected() < this.properties.backfillBatchSize() || !pause()) {
+				break;
+			}
+			after = selected.last();
+		}
+		logger.info("Encoded binary attributes of {} advertisements in {} ms", encoded, System.currentTimeMillis() - started);
+	}
+
+	private void clear() {
+		if (this.cleared) {
+			return;
+		}
+		int cleared = 0;
+		for (int batch = 0; batch < this.properties.backfillMaxBatches(); batch++) {
+			int selected = this.advertisementBinaryAttributesRepository.clear(this.properties.backfillBatchSize());
+			cleared += selected;
+			if (selected < this.properties.backfillBatchSize()) {
+				this.cleared = true;
+				break;
+			}
+			if (!pause()) {
+				break;
+			}
+		}
+		if (cleared > 0) {
+			logger.info("Dropped binary attributes of {} advertisements", cleared);
+		}
+	}
+
+	private boolean pause() {
+		try {
+			Thread.sleep(this.properties.backfillPauseInMs());
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+}
+
+@Repository
+class AdvertisementBinaryAttributesRepository {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementBinaryAttributesRepository.class);
+
+	// a copy is current when it starts with the fingerprint of the attribute types this build encodes
+	static final String STALE = """
+			(a.attributes_binary IS NULL OR substring(a.attributes_binary FROM 1 FOR 4) <> '\\x%08x'::bytea)
+			""".strip().formatted(AdvertisementAttributesBinaryCodec.FINGERPRINT);
+
+	// rows locked by an owner's update are skipped, the update writes their copy itself
+	private static final String STALE_BATCH = """
+			SELECT a.id, a.attributes::text AS attributes FROM advertisements a
+			WHERE %s AND a.attributes <> '{}'::jsonb AND (CAST(:after AS uuid) IS NULL OR a.id > :after)
+			ORDER BY a.id
+			LIMIT :batchSize
+			FOR UPDATE SKIP LOCKED
+			""".formatted(STALE);
+
+	private static final String CLEAR_BATCH = """
+			UPDATE advertisements SET attributes_binary = NULL WHERE id IN (
+				SELECT id FROM advertisements WHERE attributes_binary IS NOT NULL
+				LIMIT :batchSize
+				FOR UPDATE SKIP LOCKED)
+			""";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final AdvertisementAttributesCodec codec;
+	private final AdvertisementAttributesBinaryCodec binaryCodec;
+
+	AdvertisementBinaryAttributesRepository(
+			NamedParameterJdbcTemplate jdbcTemplate,
+			AdvertisementAttributesCodec codec,
+			AdvertisementAttributesBinaryCodec binaryCodec) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.codec = codec;
+		this.binaryCodec = binaryCodec;
+	}
+
+	void update(UUID advertisementId, byte[] binary) {
+		this.jdbcTemplate.update("UPDATE advertisements SET attributes_binary = :binary WHERE id = :advertisementId",
+				new MapSqlParameterSource("advertisementId", advertisementId).addValue("binary", binary));
+	}
+
+	int clear(int batchSize) {
+		return this.jdbcTemplate.update(CLEAR_BATCH, new MapSqlParameterSource("batchSize", batchSize));
+	}
+
+	/**
+	 * Encodes the stale rows after the given id. Counts the rows selected as well as the ones encoded, so a batch of
+	 * unreadable attributes does not end the run early; those rows are logged, left to jsonb and passed over by the
+	 * next batch, which starts after the last row selected.
+	 */
+	@Transactional
+	BackfillBatch backfill(UUID after, int batchSize) {
+		List<SqlParameterSource> batch = new ArrayList<>();
+		int[] selected = {0};
+		UUID[] last = {null};
+		this.jdbcTemplate.query(STALE_BATCH, new MapSqlParameterSource("after", after).addValue("batchSize", batchSize), rs -> {
+			selected[0]++;
+			UUID advertisementId = rs.getObject("id", UUID.class);
+			last[0] = advertisementId;
+			try {
+				byte[] binary = this.binaryCodec.write(this.codec.read(rs.getString("attributes")));
+				batch.add(new MapSqlParameterSource("advertisementId", advertisementId).addValue("binary", binary));
+			} catch (IllegalArgumentException e) {
+				logger.warn("Skipping binary attributes of advertisement with ID: {}: {}", advertisementId, e.getMessage());
+			}
+		});
+		if (!batch.isEmpty()) {
+			this.jdbcTemplate.batchUpdate("UPDATE advertisements SET attributes_binary = :binary WHERE id = :advertisementId",
+					batch.toArray(SqlParameterSource[]::new));
+		}
+		return new BackfillBatch(selected[0], batch.size(), last[0]);
+	}
+
+}
+
+record BackfillBatch(int selected, int encoded, UUID last) {}
@@ -0,0 +1,279 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementBulkProperties;
+import com.mhs.onlinemarketingplatform.advertisement.error.advertisement.AdvertisementBulkOperationInvalidException;
+import com.mhs.onlinemarketingplatform.advertisement.error.advertisement.AdvertisementErrorCode;
+import com.mhs.onlinemarketingplatform.advertisement.event.UpdateAdvertisementsEvent;
+import com.mhs.onlinemarketingplatform.common.AuditLogger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+@Controller
+@ResponseBody
+class AdvertisementBulkController {
+
+	private final AdvertisementBulkService advertisementBulkService;
+	private final static String OWNER = "79e784ec-b22d-456c-807f-300a44bffc2c";
+
+	AdvertisementBulkController(AdvertisementBulkService advertisementBulkService) {
+		this.advertisementBulkService = advertisementBulkService;
+	}
+
+	@PutMapping("/api/me/advertisements/bulk/status")
+	ResponseEntity<AdvertisementApiResponse<AdvertisementBulkResponse>> changeStatusByOwner(@RequestBody BulkStatusRequest bulkStatusRequest) {
+		return changed(this.advertisementBulkService.changeStatusByOwner(bulkStatusRequest, UUID.fromString(OWNER)));
+	}
+
+	@PutMapping("/api/me/advertisements/bulk/price")
+	ResponseEntity<AdvertisementApiResponse<AdvertisementBulkResponse>> adjustPriceByOwner(@RequestBody BulkPriceRequest bulkPriceRequest) {
+		return changed(this.advertisementBulkService.adjustPriceByOwner(bulkPriceRequest, UUID.fromString(OWNER)));
+	}
+
+	private static ResponseEntity<AdvertisementApiResponse<AdvertisementBulkResponse>> changed(AdvertisementBulkResponse response) {
+		return ResponseEntity.ok(new AdvertisementApiResponse<>(true, response.updated() + " advertisements updated", response));
+	}
+
+}
+
+/**
+ * Changes the status or the price of many advertisements of an owner with a single update statement, instead of a
+ * read and a save per advertisement, and announces the whole change with one event.
+ */
+@Service
+@Transactional
+class AdvertisementBulkService {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementBulkService.class);
+	private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+	private final AdvertisementBulkRepository advertisementBulkRepository;
+	private final AdvertisementOwnerCounterRepository advertisementOwnerCounterRepository;
+	private final AdvertisementBulkProperties properties;
+	private final ApplicationEventPublisher publisher;
+	private final AuditLogger auditLogger;
+	private final MessageSource messageSource;
+
+	AdvertisementBulkService(
+			AdvertisementBulkRepository advertisementBulkRepository,
+			AdvertisementOwnerCounterRepository advertisementOwnerCounterRepository,
+			AdvertisementBulkProperties properties,
+			ApplicationEventPublisher publisher,
+			AuditLogger auditLogger,
+			MessageSource messageSource) {
+		this.advertisementBulkRepository = advertisementBulkRepository;
+		this.advertisementOwnerCounterRepository = advertisementOwnerCounterRepository;
+		this.properties = properties;
+		this.publisher = publisher;
+		this.auditLogger = auditLogger;
+		this.messageSource = messageSource;
+	}
+
+	AdvertisementBulkResponse changeStatusByOwner(BulkStatusRequest bulkStatusRequest, UUID ownerId) {
+		BulkTarget target = target(bulkStatusRequest.ids(), bulkStatusRequest.categoryId());
+		AdvertisementStatus status = parseStatus(bulkStatusRequest.status());
+		logger.info("Changing the status of advertisements of OWNER: {} to {}", ownerId, status);
+
+		LocalDateTime now = LocalDateTime.now();
+		List<BulkChangedAdvertisement> changed = this.advertisementBulkRepository.updateStatus(ownerId, target, status, now);
+		if (!changed.isEmpty()) {
+			AdvertisementStatus previous = status == AdvertisementStatus.ACTIVE ? AdvertisementStatus.INACTIVE : AdvertisementStatus.ACTIVE;
+			this.advertisementOwnerCounterRepository.move(ownerId, previous, status, changed.size());
+		}
+		return published(ownerId, status == AdvertisementStatus.ACTIVE ? BulkChange.ACTIVATED : BulkChange.DEACTIVATED, changed, now);
+	}
+
+	AdvertisementBulkResponse adjustPriceByOwner(BulkPriceRequest bulkPriceRequest, UUID ownerId) {
+		BulkTarget target = target(bulkPriceRequest.ids(), bulkPriceRequest.categoryId());
+		BigDecimal percentage = parsePercentage(bulkPriceRequest.percentage());
+		logger.info("Adjusting the price of advertisements of OWNER: {} by {}%", ownerId, percentage);
+
+		BigDecimal factor = BigDecimal.ONE.add(percentage.divide(HUNDRED, MathContext.DECIMAL64));
+		LocalDateTime now = LocalDateTime.now();
+		List<BulkChangedAdvertisement> changed = this.advertisementBulkRepository.updatePrice(ownerId, target, factor, now);
+		return published(ownerId, BulkChange.REPRICED, changed, now);
+	}
+
+	private AdvertisementBulkResponse published(UUID ownerId, BulkChange change, List<BulkChangedAdvertisement> changed, LocalDateTime changedAt) {
+		List<UUID> ids = changed.stream().map(BulkChangedAdvertisement::id).toList();
+		if (!ids.isEmpty()) {
+			this.auditLogger.log("ADVERTISEMENTS_" + change.name(), "ADVERTISEMENT", ids.size() + " advertisements of OWNER: " + ownerId);
+			this.publisher.publishEvent(new UpdateAdvertisementsEvent(ids));
+			this.publisher.publishEvent(new AdvertisementsBulkChangedEvent(ownerId, change, changed, changedAt));
+		}
+		return new AdvertisementBulkResponse(ids.size(), ids);
+	}
+
+	private BulkTarget target(List<UUID> ids, UUID categoryId) {
+		boolean byIds = ids != null && !ids.isEmpty();
+		if (byIds == (categoryId != null)) {
+			throw invalid("error.bulk.target.invalid");
+		}
+		if (byIds && ids.size() > this.properties.maxIds()) {
+			throw invalid("error.bulk.ids.limit.exceeded", this.properties.maxIds());
+		}
+		return byIds ? new BulkTarget(List.copyOf(new LinkedHashSet<>(ids)), null) : new BulkTarget(null, categoryId);
+	}
+
+	private AdvertisementStatus parseStatus(String status) {
+		try {
+			return AdvertisementStatus.valueOf(status.trim().toUpperCase());
+		} catch (IllegalArgumentException | NullPointerException ex) {
+			throw invalid("error.bulk.status.invalid", status);
+		}
+	}
+
+	private BigDecimal parsePercentage(String percentage) {
+		try {
+			BigDecimal parsed = new BigDecimal(percentage.trim());
+			if (parsed.compareTo(HUNDRED.negate()) > 0 && parsed.compareTo(BigDecimal.valueOf(this.properties.maxPriceIncreasePercentage())) <= 0) {
+				return parsed;
+			}
+		} catch (NumberFormatException | NullPointerException ignored) {
+		}
+		throw invalid("error.bulk.percentage.invalid", percentage, this.properties.maxPriceIncreasePercentage());
+	}
+
+	private AdvertisementBulkOperationInvalidException invalid(String key, Object... args) {
+		return new AdvertisementBulkOperationInvalidException(
+				messageSource.getMessage(key, args, LocaleContextHolder.getLocale()),
+				AdvertisementErrorCode.ADVERTISEMENT_BULK_OPERATION_INVALID);
+	}
+
+}
+
+@Repository
+class AdvertisementBulkRepository {
+
+	// activating also moves archived advertisements back out of the cold partition
+	private static final String UPDATE_STATUS = """
+			UPDATE advertisements a SET advertisement_status = :status, archived = false, version = a.version + 1, updated_at = :now
+			WHERE a.owner_id = :ownerId AND a.advertisement_status <> :status AND %s
+			RETURNING a.id, a.title, a.price, a.advertisement_type, a.advertisement_status, a.category_id
+			""";
+
+	// prices that would round to zero or overflow numeric(15, 2) are left untouched
+	private static final String UPDATE_PRICE = """
+			UPDATE advertisements a SET price = ROUND(a.price * :factor, 2), version = a.version + 1, updated_at = :now
+			WHERE a.owner_id = :ownerId AND %s
+			AND ROUND(a.price * :factor, 2) BETWEEN 0.01 AND 9999999999999.99
+			RETURNING a.id, a.title, a.price, a.advertisement_type, a.advertisement_status, a.category_id
+			""";
+
+	private static final RowMapper<BulkChangedAdvertisement> ROW_MAPPER = (rs, rowNum) -> new BulkChangedAdvertisement(
+			rs.getObject("id", UUID.class),
+			rs.getString("title"),
+			rs.getBigDecimal("price"),
+			AdvertisementType.valueOf(rs.getString("advertisement_type")),
+			AdvertisementStatus.valueOf(rs.getString("advertisement_status")),
+			rs.getObject("category_id", UUID.class));
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	AdvertisementBulkRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	List<BulkChangedAdvertisement> updateStatus(UUID ownerId, BulkTarget target, AdvertisementStatus status, LocalDateTime now) {
+		MapSqlParameterSource params = target.params(ownerId, now).addValue("status", status.name());
+		return this.jdbcTemplate.query(UPDATE_STATUS.formatted(target.predicate()), params, ROW_MAPPER);
+	}
+
+	List<BulkChangedAdvertisement> updatePrice(UUID ownerId, BulkTarget target, BigDecimal factor, LocalDateTime now) {
+		MapSqlParameterSource params = target.params(ownerId, now).addValue("factor", factor);
+		return this.jdbcTemplate.query(UPDATE_PRICE.formatted(target.predicate()), params, ROW_MAPPER);
+	}
+
+}
+
+record BulkStatusRequest(List<UUID> ids, UUID categoryId, String status) {}
+
+record BulkPriceRequest(List<UUID> ids, UUID categoryId, String percentage) {}
+
+record AdvertisementBulkResponse(int updated, List<UUID> ids) {}
+
+/**
+ * Either a list of advertisement ids or every advertisement of a category.
+ */
+record BulkTarget(List<UUID> ids, UUID categoryId) {
+
+	String predicate() {
+		return this.ids != null ? "a.id = ANY(CAST(:ids AS uuid[]))" : "a.category_id = :categoryId";
+	}
+
+	MapSqlParameterSource params(UUID ownerId, LocalDateTime now) {
+		MapSqlParameterSource params = new MapSqlParameterSource()
+				.addValue("ownerId", ownerId)
+				.addValue("now", now);
+		return this.ids != null
+				? params.addValue("ids", AdvertisementSearchRepository.uuidArray(this.ids))
+				: params.addValue("categoryId", this.categoryId);
+	}
+
+}
+
+enum BulkChange {
+	ACTIVATED,
+	DEACTIVATED,
+	REPRICED
+}
+
+record BulkChangedAdvertisement(UUID id, String title, BigDecimal price, AdvertisementType type, AdvertisementStatus status, UUID categoryId) {}
+
+/**
+ * One event for every advertisement a bulk operation changed, so the in-memory indexes can refresh them with a
+ * handful of queries instead of one per advertisement.
+ */
+record AdvertisementsBulkChangedEvent(UUID ownerId, BulkChange change, List<BulkChangedAdvertisement> advertisements, LocalDateTime changedAt) {
+
+	List<UUID> ids() {
+		return this.advertisements.stream().map(BulkChangedAdvertisement::id).toList();
+	}
+
+	List<AdvertisementActivatedEvent> activated() {
+		return this.advertisements.stream()
+				.map(advertisement -> new AdvertisementActivatedEvent(
+						advertisement.id(), advertisement.title(), advertisement.price(), advertisement.type(),
+						advertisement.categoryId(), this.changedAt))
+				.toList();
+	}
+
+}
@@ -19,7 +19,10 @@ import com.github.f4b6a3.uuid.UuidCreator;
 import com.mhs.onlinemarketingplatform.advertisement.attributes.AdvertisementAttributes;
 import com.mhs.onlinemarketingplatform.advertisement.error.advertisement.*;
 import com.mhs.onlinemarketingplatform.advertisement.error.category.CategoryNotFoundException;
+import com.mhs.onlinemarketingplatform.advertisement.converter.AdvertisementAttributesToJsonConverter;
 import com.mhs.onlinemarketingplatform.catalog.api.CategoryApi;
+import com.mhs.onlinemarketingplatform.advertisement.event.AddAdvertisementEvent;
+import com.mhs.onlinemarketingplatform.advertisement.event.DeleteAdvertisementEvent;
 import com.mhs.onlinemarketingplatform.advertisement.event.UpdateAdvertisementEvent;
 import com.mhs.onlinemarketingplatform.advertisement.error.category.CategoryErrorCode;
 import com.mhs.onlinemarketingplatform.common.AuditLogger;
@@ -35,7 +38,9 @@ import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Version;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jdbc.repository.query.Modifying;
 import org.springframework.data.jdbc.repository.query.Query;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
@@ -43,6 +48,8 @@ import org.springframework.data.repository.ListCrudRepository;
 import org.springframework.data.repository.query.Param;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Controller;
 import org.springframework.stereotype.Repository;
@@ -132,8 +139,12 @@ class AdvertisementService {
 	private final AuditLogger auditLogger;
 
 	private final AdvertisementRepository advertisementRepository;
+	private final AdvertisementCreateRepository advertisementCreateRepository;
+	private final AdvertisementOwnerCounterRepository advertisementOwnerCounterRepository;
 	private final LocationService locationService;
 	private final CategoryApi categoryApi;
+	private final AdvertisementDuplicateDetector advertisementDuplicateDetector;
+	private final AdvertisementBinaryAttributes advertisementBinaryAttributes;
 	private final AdvertisementMapper mapper;
 	private final ApplicationEventPublisher publisher;
 	private final MessageSource messageSource;
@@ -141,15 +152,23 @@ class AdvertisementService {
 	AdvertisementService(
 			AuditLogger auditLogger,
 			AdvertisementRepository advertisementRepository,
+			AdvertisementCreateRepository advertisementCreateRepository,
+			AdvertisementOwnerCounterRepository advertisementOwnerCounterRepository,
 			LocationService locationService,
 			CategoryApi categoryApi,
+			AdvertisementDuplicateDetector advertisementDuplicateDetector,
+			AdvertisementBinaryAttributes advertisementBinaryAttributes,
 			AdvertisementMapper mapper,
 			ApplicationEventPublisher publisher,
 			MessageSource messageSource) {
 		this.auditLogger = auditLogger;
 		this.advertisementRepository = advertisementRepository;
+		this.advertisementCreateRepository = advertisementCreateRepository;
+		this.advertisementOwnerCounterRepository = advertisementOwnerCounterRepository;
 		this.locationService = locationService;
 		this.categoryApi = categoryApi;
+		this.advertisementDuplicateDetector = advertisementDuplicateDetector;
+		this.advertisementBinaryAttributes = advertisementBinaryAttributes;
 		this.mapper = mapper;
 		this.publisher = publisher;
 		this.messageSource = messageSource;
@@ -158,14 +177,6 @@ class AdvertisementService {
 	AdvertisementResponse addByOwner(AddAdvertisementRequest addAdvertisementRequest) {
 		logger.info("Creating new advertisement with the title: {}",addAdvertisementRequest.title());
 
-		if(this.advertisementRepository.existsByTitleAndOwner(addAdvertisementRequest.title(),addAdvertisementRequest.ownerId())) {
-			throw new AdvertisementAlreadyExistsException(
-					messageSource.getMessage("error.advertisement.advertisement.already.exists",
-							new Object[]{addAdvertisementRequest.title()},
-							LocaleContextHolder.getLocale()),
-					AdvertisementErrorCode.ADVERTISEMENT_ALREADY_EXISTS);
-		}
-
 		if(!this.categoryApi.existsById(addAdvertisementRequest.categoryId())){
 			throw new CategoryNotFoundException(
 					messageSource.getMessage("error.category.category.with.id.not.found",
@@ -174,21 +185,46 @@ class AdvertisementService {
 					CategoryErrorCode.CATEGORY_NOT_FOUND);
 		}
 
+		DuplicateCheck duplicateCheck = this.advertisementDuplicateDetector.check(
+				addAdvertisementRequest.categoryId(),
+				addAdvertisementRequest.title(),
+				addAdvertisementRequest.description(),
+				addAdvertisementRequest.attributes());
+		if (duplicateCheck.rejected()) {
+			throw new AdvertisementDuplicateException(
+					messageSource.getMessage("error.advertisement.advertisement.duplicate",
+							new Object[]{Math.round(duplicateCheck.match().similarity() * 100), duplicateCheck.match().advertisementId()},
+							LocaleContextHolder.getLocale()),
+					AdvertisementErrorCode.ADVERTISEMENT_DUPLICATE);
+		}
+
 		Double longitude = addAdvertisementRequest.longitude();
 		Double latitude = addAdvertisementRequest.latitude();
 		UUID cityId = addAdvertisementRequest.cityId();
 		UUID provinceId = addAdvertisementRequest.provinceId();
 
 		AddLocationRequest addLocationRequest = new AddLocationRequest(latitude, longitude, provinceId, cityId);
-		LocationResponse addedLocation = this.locationService.add(addLocationRequest);
+		Location mappedLocation = this.locationService.newLocation(addLocationRequest);
 
-		Advertisement mappedAdvertisement = this.mapper.mapAddRequestToAdvertisement(addAdvertisementRequest,addedLocation.id());
+		Advertisement mappedAdvertisement = this.mapper.mapAddRequestToAdvertisement(addAdvertisementRequest,mappedLocation.id());
 
-		Advertisement storedAdvertisement = this.advertisementRepository.save(mappedAdvertisement);
-		this.auditLogger.log("ADVERTISEMENT_CREATED", "ADVERTISEMENT", "Advertisement ID: " + storedAdvertisement.id());
-//		this.publisher.publishEvent(new AddAdvertisementEvent(storedAdvertisement.id()));
+		if(!this.advertisementCreateRepository.insertWithLocation(mappedAdvertisement, mappedLocation)) {
+			throw new AdvertisementAlreadyExistsException(
+					messageSource.getMessage("error.advertisement.advertisement.already.exists",
+							new Object[]{addAdvertisementRequest.title()},
+							LocaleContextHolder.getLocale()),
+					AdvertisementErrorCode.ADVERTISEMENT_ALREADY_EXISTS);
+		}
+		this.advertisementOwnerCounterRepository.increment(mappedAdvertisement.ownerId(), mappedAdvertisement.advertisementStatus(), 1);
+		this.auditLogger.log("LOCATION_CREATED", "LOCATION", "Location ID: " + mappedLocation.id());
+		this.auditLogger.log("ADVERTISEMENT_CREATED", "ADVERTISEMENT", "Advertisement ID: " + mappedAdvertisement.id());
+		if (duplicateCheck.match() != null) {
+			this.auditLogger.log("ADVERTISEMENT_DUPLICATE_FLAGGED", "ADVERTISEMENT",
+					"Advertisement ID: " + mappedAdvertisement.id() + " resembles " + duplicateCheck.match().advertisementId());
+		}
+		this.publisher.publishEvent(new AddAdvertisementEvent(mappedAdvertisement.id()));
 
-		return this.mapper.mapAdvertisementToResponse(null);
+		return this.mapper.mapAdvertisementToResponse(mappedAdvertisement);
 	}
 
 	AdvertisementResponse updateByOwner(UpdateAdvertisementRequest updateAdvertisementRequest, UUID ownerId) {
@@ -202,9 +238,14 @@ class AdvertisementService {
 
 		Advertisement mappedAdvertisement = this.mapper.mapUpdateRequestToAdvertisement(updateAdvertisementRequest, exisitngAdvertisement);
 		Advertisement storedAdvertisement = this.advertisementRepository.save(mappedAdvertisement);
+		this.advertisementBinaryAttributes.refresh(storedAdvertisement.id(), storedAdvertisement.attributes());
+		if (exisitngAdvertisement.advertisementStatus() != storedAdvertisement.advertisementStatus()) {
+			this.advertisementOwnerCounterRepository.move(ownerId, exisitngAdvertisement.advertisementStatus(), storedAdvertisement.advertisementStatus(), 1);
+		}
 		this.auditLogger.log("ADVERTISEMENT_UPDATED", "ADVERTISEMENT", "Advertisement TITLE: " + updateAdvertisementRequest.title());
 
 		this.publisher.publishEvent(new UpdateAdvertisementEvent(storedAdvertisement.id()));
+		this.publisher.publishEvent(new AdvertisementDeactivatedEvent(storedAdvertisement.id(), storedAdvertisement.categoryId()));
 		return this.mapper.mapAdvertisementToResponse(storedAdvertisement);
 	}
 
@@ -216,8 +257,15 @@ class AdvertisementService {
 								LocaleContextHolder.getLocale()),
 						AdvertisementErrorCode.ADVERTISEMENT_NOT_FOUND));
 		logger.info("Deleting exisiting advertisement with id: {} and name: {}",advertisement.id(),advertisement.title());
+		// a partitioned advertisements table can't be referenced by foreign keys, so its dependents are removed here
+		this.advertisementRepository.deletePromotions(advertisement.id());
+		this.advertisementRepository.deleteImageMetadata(advertisement.id());
 		this.advertisementRepository.delete(advertisement);
+		this.advertisementOwnerCounterRepository.increment(advertisement.ownerId(), advertisement.advertisementStatus(), -1);
 		this.auditLogger.log("ADVERTISEMENT_DELETED", "ADVERTISEMENT", "Advertisement TITLE: " + advertisement.title());
+
+		this.publisher.publishEvent(new DeleteAdvertisementEvent(advertisement.id()));
+		this.publisher.publishEvent(new AdvertisementDeactivatedEvent(advertisement.id(), advertisement.categoryId()));
 	}
 
 	AdvertisementResponse findById(UUID id) {
@@ -255,12 +303,16 @@ class AdvertisementService {
 
 	AdvertisementPagedResponse<AdvertisementResponse> findAllByOwnerId(UUID ownerId,Pageable pageable) {
 		logger.info("Retriving all advertisements by their OWNER: {} ",ownerId);
-		Page<Advertisement> advertisementss = this.advertisementRepository.findAllByOwnerId(ownerId, pageable);
+		List<Advertisement> advertisements = this.advertisementRepository.findAllByOwnerId(ownerId, pageable);
+		long total = AdvertisementOwnerService.total(this.advertisementOwnerCounterRepository.findByOwnerId(ownerId), null);
+		Page<Advertisement> advertisementss = new PageImpl<>(advertisements, pageable, total);
 		return this.mapper.mapAdvertisementToPagedResponse(advertisementss);
 	}
 
 	AdvertisementPagedResponse<AdvertisementResponse> findAllByAdvertisementStatusAndOwnerId(AdvertisementStatus status, UUID ownerId, Pageable pageable) {
-		Page<Advertisement> advertisementss = this.advertisementRepository.findAllByAdvertisementStatusAndOwnerId(status, ownerId, pageable);
+		List<Advertisement> advertisements = this.advertisementRepository.findAllByAdvertisementStatusAndOwnerId(status, ownerId, pageable);
+		long total = AdvertisementOwnerService.total(this.advertisementOwnerCounterRepository.findByOwnerId(ownerId), status);
+		Page<Advertisement> advertisementss = new PageImpl<>(advertisements, pageable, total);
 		return this.mapper.mapAdvertisementToPagedResponse(advertisementss);
 	}
 
@@ -274,11 +326,14 @@ class AdvertisementService {
 		logger.info("Activate an advertisement by ID: {} TITLE: {} and OWNER: {}",advertisementId,exisitngAdvertisement.title(),ownerId);
 
 		if (exisitngAdvertisement.advertisementStatus() == AdvertisementStatus.INACTIVE) {
+			this.advertisementRepository.restore(exisitngAdvertisement.id());
 			Advertisement activatedAdvertisement = this.mapper.toActivate(exisitngAdvertisement);
 			Advertisement storedAdvertisement = this.advertisementRepository.save(activatedAdvertisement);
+			this.advertisementOwnerCounterRepository.move(ownerId, AdvertisementStatus.INACTIVE, AdvertisementStatus.ACTIVE, 1);
 			this.auditLogger.log("ADVERTISEMENT_ACTIVATED", "ADVERTISEMENT", "advertisement TITLE: "+storedAdvertisement.title());
 
 			this.publisher.publishEvent(new UpdateAdvertisementEvent(storedAdvertisement.id()));
+			this.publisher.publishEvent(AdvertisementActivatedEvent.of(storedAdvertisement));
 			return this.mapper.mapAdvertisementToResponse(storedAdvertisement);
 		}
 
@@ -301,9 +356,11 @@ class AdvertisementService {
 		if (exisitngAdvertisement.advertisementStatus() == AdvertisementStatus.ACTIVE) {
 			Advertisement deactivatedAdvertisement = this.mapper.toDeactivate(exisitngAdvertisement);
 			Advertisement storedAdvertisement = this.advertisementRepository.save(deactivatedAdvertisement);
+			this.advertisementOwnerCounterRepository.move(ownerId, AdvertisementStatus.ACTIVE, AdvertisementStatus.INACTIVE, 1);
 			this.auditLogger.log("ADVERTISEMENT_DEACTIVATED", "ADVERTISEMENT", "advertisement TITLE: "+storedAdvertisement.title());
 
 			this.publisher.publishEvent(new UpdateAdvertisementEvent(storedAdvertisement.id()));
+			this.publisher.publishEvent(new AdvertisementDeactivatedEvent(storedAdvertisement.id(), storedAdvertisement.categoryId()));
 			return this.mapper.mapAdvertisementToResponse(storedAdvertisement);
 		}
 
@@ -329,9 +386,10 @@ interface AdvertisementRepository extends ListCrudRepository<Advertisement, UUID
 
 	Optional<Advertisement> findByTitleAndOwnerId(String title, UUID credential);
 
-	Page<Advertisement> findAllByOwnerId(UUID credential, Pageable pageable);
+	// a list instead of a page, the total comes from advertisement_owner_counters rather than a count query
+	List<Advertisement> findAllByOwnerId(UUID credential, Pageable pageable);
 
-	Page<Advertisement> findAllByAdvertisementStatusAndOwnerId(
+	List<Advertisement> findAllByAdvertisementStatusAndOwnerId(
 			@Param("advertisementStatus") AdvertisementStatus advertisementStatus,
 			@Param("credential") UUID credential,
 			Pageable pageable);
@@ -344,6 +402,75 @@ interface AdvertisementRepository extends ListCrudRepository<Advertisement, UUID
 
 	@Query("SELECT CASE WHEN COUNT(1) > 0 THEN TRUE ELSE FALSE END FROM advertisements WHERE id= :id")
 	boolean existsById(@Param("id") UUID id);
+
+	// moves an archived advertisement back from the cold partition into the hot ones
+	@Modifying
+	@Query("UPDATE advertisements SET archived = false WHERE id= :id AND archived = true")
+	void restore(@Param("id") UUID id);
+
+	@Modifying
+	@Query("DELETE FROM promotions WHERE advertisement_id= :advertisementId")
+	void deletePromotions(@Param("advertisementId") UUID advertisementId);
+
+	@Modifying
+	@Query("DELETE FROM advertisement_image_metadata WHERE advertisement_id= :advertisementId")
+	void deleteImageMetadata(@Param("advertisementId") UUID advertisementId);
+}
+
+/**
+ * Inserts a new advertisement together with its location in a single statement. The check for another advertisement
+ * of the owner with the same title is part of the statement too, and when it finds one neither row is written.
+ */
+@Repository
+class AdvertisementCreateRepository {
+
+	private static final String INSERT_WITH_LOCATION = """
+			WITH duplicate AS (
+				SELECT EXISTS (SELECT 1 FROM advertisements WHERE owner_id = :ownerId AND title = :title) AS found),
+			location AS (
+				INSERT INTO locations (id, version, latitude, longitude, province_id, city_id)
+				SELECT :locationId, 0, :latitude, :longitude, :provinceId, :cityId FROM duplicate WHERE NOT found
+				RETURNING id)
+			INSERT INTO advertisements (id, version, title, description, price, advertisement_type, advertisement_status,
+				attributes, attributes_binary, inserted_at, location_id, category_id, owner_id)
+			SELECT :id, 0, :title, :description, :price, :type, :status, :attributes, :attributesBinary, :insertedAt, location.id, :categoryId, :ownerId
+			FROM location
+			""";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final AdvertisementAttributesToJsonConverter attributesConverter;
+	private final AdvertisementBinaryAttributes advertisementBinaryAttributes;
+
+	AdvertisementCreateRepository(
+			NamedParameterJdbcTemplate jdbcTemplate,
+			AdvertisementAttributesToJsonConverter attributesConverter,
+			AdvertisementBinaryAttributes advertisementBinaryAttributes) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.attributesConverter = attributesConverter;
+		this.advertisementBinaryAttributes = advertisementBinaryAttributes;
+	}
+
+	boolean insertWithLocation(Advertisement advertisement, Location location) {
+		MapSqlParameterSource params = new MapSqlParameterSource()
+				.addValue("locationId", location.id())
+				.addValue("latitude", location.latitude())
+				.addValue("longitude", location.longitude())
+				.addValue("provinceId", location.provinceId())
+				.addValue("cityId", location.cityId())
+				.addValue("id", advertisement.id())
+				.addValue("title", advertisement.title())
+				.addValue("description", advertisement.description())
+				.addValue("price", advertisement.price())
+				.addValue("type", advertisement.advertisementType().name())
+				.addValue("status", advertisement.advertisementStatus().name())
+				.addValue("attributes", this.attributesConverter.convert(advertisement.attributes()))
+				.addValue("attributesBinary", this.advertisementBinaryAttributes.encode(advertisement.attributes()))
+				.addValue("insertedAt", advertisement.insertedAt())
+				.addValue("categoryId", advertisement.categoryId())
+				.addValue("ownerId", advertisement.ownerId());
+		return this.jdbcTemplate.update(INSERT_WITH_LOCATION, params) == 1;
+	}
+
 }
 
 @Table("advertisements")
@@ -0,0 +1,398 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mhs.onlinemarketingplatform.advertisement.attributes.AdvertisementAttributes;
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementDuplicateProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Compares a new advertisement with the active advertisements of its category before it is stored. Advertisements
+ * whose estimated similarity reaches the reject threshold are refused, those reaching the flag threshold are stored
+ * and reported to the audit log.
+ *
+ * @author Milad Haghighat Shahedi
+ */
+@Component
+class AdvertisementDuplicateDetector {
+
+	private final AdvertisementFingerprinter advertisementFingerprinter;
+	private final AdvertisementDuplicateIndex advertisementDuplicateIndex;
+	private final AdvertisementDuplicateProperties properties;
+
+	AdvertisementDuplicateDetector(
+			AdvertisementFingerprinter advertisementFingerprinter,
+			AdvertisementDuplicateIndex advertisementDuplicateIndex,
+			AdvertisementDuplicateProperties properties) {
+		this.advertisementFingerprinter = advertisementFingerprinter;
+		this.advertisementDuplicateIndex = advertisementDuplicateIndex;
+		this.properties = properties;
+	}
+
+	DuplicateCheck check(UUID categoryId, String title, String description, AdvertisementAttributes attributes) {
+		int[] signature = this.advertisementFingerprinter.signature(title, description, attributes);
+		DuplicateMatch match = this.advertisementDuplicateIndex.mostSimilar(categoryId, signature, this.properties.flagSimilarity())
+				.orElse(null);
+		return new DuplicateCheck(match, match != null && match.similarity() >= this.properties.rejectSimilarity());
+	}
+
+}
+
+/**
+ * Keeps the index in step with the active advertisements: an activated advertisement is read back and fingerprinted,
+ * a deactivated, updated or deleted one leaves the index until it is activated again.
+ */
+@Component
+class AdvertisementDuplicateIndexer {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementDuplicateIndexer.class);
+
+	private final AdvertisementFingerprinter advertisementFingerprinter;
+	private final AdvertisementDuplicateIndex advertisementDuplicateIndex;
+	private final AdvertisementDuplicateRepository advertisementDuplicateRepository;
+
+	AdvertisementDuplicateIndexer(
+			AdvertisementFingerprinter advertisementFingerprinter,
+			AdvertisementDuplicateIndex advertisementDuplicateIndex,
+			AdvertisementDuplicateRepository advertisementDuplicateRepository) {
+		this.advertisementFingerprinter = advertisementFingerprinter;
+		this.advertisementDuplicateIndex = advertisementDuplicateIndex;
+		this.advertisementDuplicateRepository = advertisementDuplicateRepository;
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		long started = System.currentTimeMillis();
+		this.advertisementDuplicateRepository.streamActive(this::index);
+		logger.info("Duplicate index loaded with {} advertisements in {} ms", this.advertisementDuplicateIndex.size(), System.currentTimeMillis() - started);
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementActivatedEvent(AdvertisementActivatedEvent event) {
+		this.advertisementDuplicateRepository.findActiveById(event.id()).ifPresent(this::index);
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementDeactivatedEvent(AdvertisementDeactivatedEvent event) {
+		this.advertisementDuplicateIndex.remove(event.id());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementsBulkChangedEvent(AdvertisementsBulkChangedEvent event) {
+		if (event.change() == BulkChange.ACTIVATED) {
+			this.advertisementDuplicateRepository.findActiveByIds(event.ids()).forEach(this::index);
+		} else if (event.change() == BulkChange.DEACTIVATED) {
+			event.ids().forEach(this.advertisementDuplicateIndex::remove);
+		}
+	}
+
+	private void index(DuplicateRow row) {
+		this.advertisementDuplicateIndex.put(
+				row.id(),
+				row.categoryId(),
+				this.advertisementFingerprinter.signature(row.title(), row.description(), row.attributes()));
+	}
+
+}
+
+@Repository
+class AdvertisementDuplicateRepository {
+
+	private static final String ACTIVE = """
+			SELECT id, category_id, title, description, attributes::text AS attributes FROM advertisements
+			WHERE advertisement_status = 'ACTIVE'
+			""";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final AdvertisementStreamingJdbcTemplate streamingJdbcTemplate;
+
+	AdvertisementDuplicateRepository(NamedParameterJdbcTemplate jdbcTemplate, AdvertisementStreamingJdbcTemplate streamingJdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.streamingJdbcTemplate = streamingJdbcTemplate;
+	}
+
+	Optional<DuplicateRow> findActiveById(UUID id) {
+		return this.jdbcTemplate.query(ACTIVE + " AND id = :id", new MapSqlParameterSource("id", id), (rs, rowNum) -> new DuplicateRow(
+						rs.getObject("id", UUID.class),
+						rs.getObject("category_id", UUID.class),
+						rs.getString("title"),
+						rs.getString("description"),
+						rs.getString("attributes")))
+				.stream().findFirst();
+	}
+
+	List<DuplicateRow> findActiveByIds(Collection<UUID> ids) {
+		return this.jdbcTemplate.query(ACTIVE + " AND id = ANY(CAST(:ids AS uuid[]))",
+				new MapSqlParameterSource("ids", AdvertisementSearchRepository.uuidArray(ids)), (rs, rowNum) -> new DuplicateRow(
+						rs.getObject("id", UUID.class),
+						rs.getObject("category_id", UUID.class),
+						rs.getString("title"),
+						rs.getString("description"),
+						rs.getString("attributes")));
+	}
+
+	@Transactional(readOnly = true)
+	void streamActive(Consumer<DuplicateRow> consumer) {
+		this.streamingJdbcTemplate.query(ACTIVE, new MapSqlParameterSource(), rs -> {
+			consumer.accept(new DuplicateRow(
+					rs.getObject("id", UUID.class),
+					rs.getObject("category_id", UUID.class),
+					rs.getString("title"),
+					rs.getString("description"),
+					rs.getString("attributes")));
+		});
+	}
+
+}
+
+/**
+ * MinHash signature of an advertisement: word shingles of the analyzed title and description plus one
+ * {@code field=value} token per attribute, each hashed once and then remixed with a fixed seed per signature position.
+ * The fraction of positions two signatures agree on estimates the Jaccard similarity of their token sets.
+ */
+@Component
+class AdvertisementFingerprinter {
+
+	private final ObjectMapper mapper;
+	private final int shingleSize;
+	private final long[] seeds;
+
+	AdvertisementFingerprinter(ObjectMapper mapper, AdvertisementDuplicateProperties properties) {
+		this.mapper = mapper;
+		this.shingleSize = properties.shingleSize();
+		this.seeds = new long[properties.bands() * properties.rows()];
+		for (int i = 0; i < this.seeds.length; i++) {
+			this.seeds[i] = mix((i + 1) * 0x9E3779B97F4A7C15L);
+		}
+	}
+
+	int[] signature(String title, String description, AdvertisementAttributes attributes) {
+		return signature(title, description, attributes == null ? null : this.mapper.<JsonNode>valueToTree(attributes));
+	}
+
+	int[] signature(String title, String description, String attributes) {
+		try {
+			return signature(title, description, attributes == null ? null : this.mapper.readTree(attributes));
+		} catch (JsonProcessingException ex) {
+			return signature(title, description, (JsonNode) null);
+		}
+	}
+
+	/**
+	 * Returns an empty signature when there is nothing to compare, such as a title made of stop words only.
+	 */
+	int[] signature(String title, String description, JsonNode attributes) {
+		Set<String> tokens = new HashSet<>();
+		shingles(AdvertisementTextAnalyzer.tokens(title), tokens);
+		shingles(AdvertisementTextAnalyzer.tokens(description), tokens);
+		if (attributes != null) {
+			attributes.fields().forEachRemaining(field -> {
+				if (field.getValue().isValueNode() && !field.getValue().isNull()) {
+					tokens.add(field.getKey() + "=" + AdvertisementTextAnalyzer.normalize(field.getValue().asText()));
+				}
+			});
+		}
+		if (tokens.isEmpty()) {
+			return new int[0];
+		}
+
+		int[] signature = new int[this.seeds.length];
+		Arrays.fill(signature, Integer.MAX_VALUE);
+		for (String token : tokens) {
+			long hash = hash(token);
+			for (int i = 0; i < this.seeds.length; i++) {
+				int value = (int) (mix(hash ^ this.seeds[i]) >>> 33);
+				if (value < signature[i]) {
+					signature[i] = value;
+				}
+			}
+		}
+		return signature;
+	}
+
+	private void shingles(List<String> words, Set<String> tokens) {
+		if (words.size() <= this.shingleSize) {
+			if (!words.isEmpty()) {
+				tokens.add(String.join(" ", words));
+			}
+			return;
+		}
+		for (int i = 0; i + this.shingleSize <= words.size(); i++) {
+			tokens.add(String.join(" ", words.subList(i, i + this.shingleSize)));
+		}
+	}
+
+	// 64 bit FNV-1a
+	static long hash(String token) {
+		long hash = 0xcbf29ce484222325L;
+		for (int i = 0; i < token.length(); i++) {
+			hash ^= token.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return hash;
+	}
+
+	static long mix(long value) {
+		value = (value ^ (value >>> 30)) * 0xbf58476d1ce4e5b9L;
+		value = (value ^ (value >>> 27)) * 0x94d049bb133111ebL;
+		return value ^ (value >>> 31);
+	}
+
+}
+
+/**
+ * Locality-sensitive hashing over MinHash signatures, sharded by category. A signature is cut into bands of a few
+ * positions and every band is hashed into a bucket, so two advertisements become candidates when any band matches,
+ * which happens almost surely above the similarity the band and row counts tune for and rarely below it. Only the
+ * candidates are then compared position by position, so a lookup touches a handful of advertisements, not the whole
+ * category. Written from the advertisement index thread only, read from request threads.
+ */
+@Component
+class AdvertisementDuplicateIndex {
+
+	private final int bands;
+	private final int rows;
+	private final Map<UUID, CategoryShard> shards = new ConcurrentHashMap<>();
+	private final Map<UUID, IndexedSignature> signatures = new ConcurrentHashMap<>();
+
+	AdvertisementDuplicateIndex(AdvertisementDuplicateProperties properties) {
+		this.bands = properties.bands();
+		this.rows = properties.rows();
+	}
+
+	void put(UUID id, UUID categoryId, int[] signature) {
+		remove(id);
+		if (signature.length == 0) {
+			return;
+		}
+		CategoryShard shard = this.shards.computeIfAbsent(categoryId, key -> new CategoryShard(this.bands));
+		for (int band = 0; band < this.bands; band++) {
+			shard.buckets[band].computeIfAbsent(bandKey(signature, band), key -> ConcurrentHashMap.newKeySet()).add(id);
+		}
+		this.signatures.put(id, new IndexedSignature(categoryId, signature));
+	}
+
+	void remove(UUID id) {
+		IndexedSignature previous = this.signatures.remove(id);
+		if (previous == null) {
+			return;
+		}
+		CategoryShard shard = this.shards.get(previous.categoryId());
+		for (int band = 0; band < this.bands; band++) {
+			long key = bandKey(previous.signature(), band);
+			Set<UUID> bucket = shard.buckets[band].get(key);
+			if (bucket != null) {
+				bucket.remove(id);
+				if (bucket.isEmpty()) {
+					shard.buckets[band].remove(key, bucket);
+				}
+			}
+		}
+	}
+
+	Optional<DuplicateMatch> mostSimilar(UUID categoryId, int[] signature, double threshold) {
+		CategoryShard shard = this.shards.get(categoryId);
+		if (shard == null || signature.length == 0) {
+			return Optional.empty();
+		}
+		Set<UUID> candidates = new HashSet<>();
+		for (int band = 0; band < this.bands; band++) {
+			Set<UUID> bucket = shard.buckets[band].get(bandKey(signature, band));
+			if (bucket != null) {
+				candidates.addAll(bucket);
+			}
+		}
+		DuplicateMatch best = null;
+		for (UUID candidate : candidates) {
+			IndexedSignature indexed = this.signatures.get(candidate);
+			if (indexed == null) {
+				continue;
+			}
+			double similarity = similarity(signature, indexed.signature());
+			if (similarity >= threshold && (best == null || similarity > best.similarity())) {
+				best = new DuplicateMatch(candidate, similarity);
+			}
+		}
+		return Optional.ofNullable(best);
+	}
+
+	int size() {
+		return this.signatures.size();
+	}
+
+	static double similarity(int[] left, int[] right) {
+		int equal = 0;
+		for (int i = 0; i < left.length; i++) {
+			if (left[i] == right[i]) {
+				equal++;
+			}
+		}
+		return (double) equal / left.length;
+	}
+
+	private long bandKey(int[] signature, int band) {
+		long key = band;
+		for (int row = band * this.rows; row < (band + 1) * this.rows; row++) {
+			key = AdvertisementFingerprinter.mix(key * 31 + signature[row]);
+		}
+		return key;
+	}
+
+	private static final class CategoryShard {
+
+		private final Map<Long, Set<UUID>>[] buckets;
+
+		@SuppressWarnings("unchecked")
+		private CategoryShard(int bands) {
+			this.buckets = new Map[bands];
+			for (int band = 0; band < bands; band++) {
+				this.buckets[band] = new ConcurrentHashMap<>();
+			}
+		}
+
+	}
+
+	private record IndexedSignature(UUID categoryId, int[] signature) {}
+
+}
+
+record DuplicateMatch(UUID advertisementId, double similarity) {}
+
+record DuplicateCheck(DuplicateMatch match, boolean rejected) {}
+
+record DuplicateRow(UUID id, UUID categoryId, String title, String description, String attributes) {}
@@ -0,0 +1,462 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementFacetProperties;
+import com.mhs.onlinemarketingplatform.advertisement.event.AddAdvertisementEvent;
+import com.mhs.onlinemarketingplatform.advertisement.event.DeleteAdvertisementEvent;
+import com.mhs.onlinemarketingplatform.advertisement.event.UpdateAdvertisementEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+@Controller
+@ResponseBody
+class AdvertisementFacetController {
+
+	private final AdvertisementFacetService advertisementFacetService;
+
+	AdvertisementFacetController(AdvertisementFacetService advertisementFacetService) {
+		this.advertisementFacetService = advertisementFacetService;
+	}
+
+	@GetMapping("/api/advertisements/facets")
+	AdvertisementFacetResponse findFacets(
+			@RequestParam(value = "type", required = false) String type,
+			@RequestParam(value = "categoryId", required = false) UUID categoryId) {
+		return this.advertisementFacetService.findFacets(type, categoryId);
+	}
+
+}
+
+@Service
+class AdvertisementFacetService {
+
+	private final AdvertisementFacetCounters advertisementFacetCounters;
+	private final AdvertisementSearchService advertisementSearchService;
+
+	AdvertisementFacetService(AdvertisementFacetCounters advertisementFacetCounters, AdvertisementSearchService advertisementSearchService) {
+		this.advertisementFacetCounters = advertisementFacetCounters;
+		this.advertisementSearchService = advertisementSearchService;
+	}
+
+	AdvertisementFacetResponse findFacets(String type, UUID categoryId) {
+		FacetContext context = new FacetContext(this.advertisementSearchService.parseType(type), categoryId);
+		Map<FacetDimension, Map<String, Long>> counts = this.advertisementFacetCounters.counts(context);
+		return new AdvertisementFacetResponse(
+				counts.get(FacetDimension.TYPE),
+				counts.get(FacetDimension.CATEGORY),
+				counts.get(FacetDimension.PROVINCE),
+				counts.get(FacetDimension.CITY),
+				counts.get(FacetDimension.PRICE));
+	}
+
+}
+
+/**
+ * Applies committed advertisement changes to {@link AdvertisementFacetCounters} and periodically replaces the counters
+ * with a fresh count taken from Postgres, which also repairs any drift an event lost in flight may have caused. The
+ * count is taken on the rebuild worker while events keep updating the old counters; the swap is handed to the index
+ * worker, which then re-reads every advertisement an event touched during the count, so no change is lost.
+ */
+@Component
+class AdvertisementFacetIndexer {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementFacetIndexer.class);
+
+	private final AdvertisementFacetCounters advertisementFacetCounters;
+	private final AdvertisementFacetRepository advertisementFacetRepository;
+	private final Executor indexTaskExecutor;
+	private final Set<UUID> changedDuringReconcile = ConcurrentHashMap.newKeySet();
+
+	private volatile boolean reconciling;
+
+	AdvertisementFacetIndexer(
+			AdvertisementFacetCounters advertisementFacetCounters,
+			AdvertisementFacetRepository advertisementFacetRepository,
+			@Qualifier("advertisementIndexTaskExecutor") Executor indexTaskExecutor) {
+		this.advertisementFacetCounters = advertisementFacetCounters;
+		this.advertisementFacetRepository = advertisementFacetRepository;
+		this.indexTaskExecutor = indexTaskExecutor;
+	}
+
+	@Async("advertisementRebuildTaskExecutor")
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${advertisement.facet.reconcile_interval_in_ms}", initialDelayString = "${advertisement.facet.reconcile_interval_in_ms}")
+	public void reconcile() {
+		long started = System.currentTimeMillis();
+		this.changedDuringReconcile.clear();
+		this.reconciling = true;
+		AdvertisementFacetCounters.Snapshot snapshot = this.advertisementFacetCounters.snapshot();
+		try {
+			this.advertisementFacetRepository.streamActive(snapshot::add);
+		} catch (RuntimeException ex) {
+			this.reconciling = false;
+			throw ex;
+		}
+		this.indexTaskExecutor.execute(() -> {
+			long drift = this.advertisementFacetCounters.replace(snapshot);
+			this.reconciling = false;
+			List<UUID> changed = List.copyOf(this.changedDuringReconcile);
+			this.changedDuringReconcile.clear();
+			refresh(changed);
+			if (drift > 0) {
+				logger.warn("Facet counters drifted by {} from the advertisements table and were replaced", drift);
+			}
+			logger.info("Facet counters reconciled in {} ms, {} changes replayed", System.currentTimeMillis() - started, changed.size());
+		});
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAddAdvertisementEvent(AddAdvertisementEvent event) {
+		refresh(List.of(event.productId()));
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleUpdateAdvertisementEvent(UpdateAdvertisementEvent event) {
+		refresh(List.of(event.productId()));
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleDeleteAdvertisementEvent(DeleteAdvertisementEvent event) {
+		changed(List.of(event.productId()));
+		this.advertisementFacetCounters.update(event.productId(), null);
+	}
+
+	// a moved location changes the province and city facets of every active advertisement at it
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleUpdateLocationEvent(UpdateLocationEvent event) {
+		List<FacetRow> rows = this.advertisementFacetRepository.findActiveByLocationId(event.locationId());
+		changed(rows.stream().map(FacetRow::id).toList());
+		rows.forEach(row -> this.advertisementFacetCounters.update(row.id(), row));
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementsBulkChangedEvent(AdvertisementsBulkChangedEvent event) {
+		refresh(event.ids());
+	}
+
+	private void refresh(Collection<UUID> advertisementIds) {
+		if (advertisementIds.isEmpty()) {
+			return;
+		}
+		changed(advertisementIds);
+		Map<UUID, FacetRow> rows = new HashMap<>();
+		if (advertisementIds.size() == 1) {
+			UUID advertisementId = advertisementIds.iterator().next();
+			this.advertisementFacetRepository.findActiveById(advertisementId).ifPresent(row -> rows.put(row.id(), row));
+		} else {
+			this.advertisementFacetRepository.findActiveByIds(advertisementIds).forEach(row -> rows.put(row.id(), row));
+		}
+		advertisementIds.forEach(advertisementId -> this.advertisementFacetCounters.update(advertisementId, rows.get(advertisementId)));
+	}
+
+	private void changed(Collection<UUID> advertisementIds) {
+		if (this.reconciling) {
+			this.changedDuringReconcile.addAll(advertisementIds);
+		}
+	}
+
+}
+
+@Repository
+class AdvertisementFacetRepository {
+
+	private static final String ACTIVE_FACETS = """
+			SELECT a.id, a.advertisement_type, a.category_id, a.price, l.province_id, l.city_id FROM advertisements a
+			JOIN locations l ON l.id = a.location_id
+			WHERE a.advertisement_status = 'ACTIVE'
+			""";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final AdvertisementStreamingJdbcTemplate streamingJdbcTemplate;
+
+	AdvertisementFacetRepository(NamedParameterJdbcTemplate jdbcTemplate, AdvertisementStreamingJdbcTemplate streamingJdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.streamingJdbcTemplate = streamingJdbcTemplate;
+	}
+
+	Optional<FacetRow> findActiveById(UUID id) {
+		return this.jdbcTemplate.query(ACTIVE_FACETS + " AND a.id = :id", new MapSqlParameterSource("id", id), (rs, rowNum) -> row(rs))
+				.stream().findFirst();
+	}
+
+	List<FacetRow> findActiveByIds(Collection<UUID> ids) {
+		return this.jdbcTemplate.query(ACTIVE_FACETS + " AND a.id = ANY(CAST(:ids AS uuid[]))",
+				new MapSqlParameterSource("ids", AdvertisementSearchRepository.uuidArray(ids)), (rs, rowNum) -> row(rs));
+	}
+
+	List<FacetRow> findActiveByLocationId(UUID locationId) {
+		return this.jdbcTemplate.query(ACTIVE_FACETS + " AND a.location_id = :locationId",
+				new MapSqlParameterSource("locationId", locationId), (rs, rowNum) -> row(rs));
+	}
+
+	@Transactional(readOnly = true)
+	void streamActive(Consumer<FacetRow> consumer) {
+		this.streamingJdbcTemplate.query(ACTIVE_FACETS, new MapSqlParameterSource(), rs -> {
+			consumer.accept(row(rs));
+		});
+	}
+
+	private static FacetRow row(ResultSet rs) throws SQLException {
+		return new FacetRow(
+				rs.getObject("id", UUID.class),
+				AdvertisementType.valueOf(rs.getString("advertisement_type")),
+				rs.getObject("category_id", UUID.class),
+				rs.getBigDecimal("price"),
+				rs.getObject("province_id", UUID.class),
+				rs.getObject("city_id", UUID.class));
+	}
+
+}
+
+/**
+ * Counts of active advertisements per facet value, kept for the four filter contexts a result page can be in: no
+ * filter, a type, a category and a type within a category. Each advertisement therefore touches twenty counters.
+ * Counters are {@link LongAdder}s, so concurrent readers never contend with the writer on a single cell, and the
+ * facet position last counted for every advertisement is remembered, so an update only moves the counters that
+ * actually changed and replaying a change is harmless.
+ */
+@Component
+class AdvertisementFacetCounters {
+
+	private final List<BigDecimal> priceBoundaries;
+	private final List<String> priceBuckets;
+	private volatile Snapshot current;
+
+	AdvertisementFacetCounters(AdvertisementFacetProperties properties) {
+		this.priceBoundaries = properties.priceBuckets().stream().sorted().toList();
+		List<String> buckets = new ArrayList<>();
+		for (int i = 0; i <= this.priceBoundaries.size(); i++) {
+			buckets.add(priceBucket(i));
+		}
+		this.priceBuckets = List.copyOf(buckets);
+		this.current = new Snapshot();
+	}
+
+	Map<FacetDimension, Map<String, Long>> counts(FacetContext context) {
+		FacetTable table = this.current.tables.get(context);
+		Map<FacetDimension, Map<String, Long>> counts = new EnumMap<>(FacetDimension.class);
+		for (FacetDimension dimension : FacetDimension.values()) {
+			counts.put(dimension, table == null ? Map.of() : table.counts(dimension, this.priceBuckets));
+		}
+		return counts;
+	}
+
+	void update(UUID advertisementId, FacetRow row) {
+		this.current.update(advertisementId, row == null ? null : position(row));
+	}
+
+	Snapshot snapshot() {
+		return new Snapshot();
+	}
+
+	/**
+	 * Swaps in a snapshot counted from the table and returns how far the counters it replaces had drifted from it.
+	 */
+	long replace(Snapshot snapshot) {
+		Snapshot previous = this.current;
+		this.current = snapshot;
+		return previous.drift(snapshot);
+	}
+
+	FacetPosition position(FacetRow row) {
+		int bucket = 0;
+		while (bucket < this.priceBoundaries.size() && row.price().compareTo(this.priceBoundaries.get(bucket)) >= 0) {
+			bucket++;
+		}
+		return new FacetPosition(row.type(), row.categoryId(), row.provinceId(), row.cityId(), this.priceBuckets.get(bucket));
+	}
+
+	private String priceBucket(int index) {
+		String lower = index == 0 ? "0" : this.priceBoundaries.get(index - 1).toPlainString();
+		return index == this.priceBoundaries.size() ? lower + "+" : lower + "-" + this.priceBoundaries.get(index).toPlainString();
+	}
+
+	class Snapshot {
+
+		private final Map<FacetContext, FacetTable> tables = new ConcurrentHashMap<>();
+		private final Map<UUID, FacetPosition> positions = new ConcurrentHashMap<>();
+
+		void add(FacetRow row) {
+			update(row.id(), position(row));
+		}
+
+		private void update(UUID advertisementId, FacetPosition next) {
+			FacetPosition previous = next == null ? this.positions.remove(advertisementId) : this.positions.put(advertisementId, next);
+			if (Objects.equals(previous, next)) {
+				return;
+			}
+			if (previous != null) {
+				apply(previous, -1);
+			}
+			if (next != null) {
+				apply(next, 1);
+			}
+		}
+
+		private void apply(FacetPosition position, int delta) {
+			for (FacetContext context : position.contexts()) {
+				FacetTable table = this.tables.computeIfAbsent(context, key -> new FacetTable());
+				for (FacetDimension dimension : FacetDimension.values()) {
+					table.add(dimension, position.value(dimension), delta);
+				}
+			}
+		}
+
+		private long drift(Snapshot other) {
+			FacetTable mine = this.tables.getOrDefault(FacetContext.ALL, new FacetTable());
+			FacetTable theirs = other.tables.getOrDefault(FacetContext.ALL, new FacetTable());
+			long drift = 0;
+			for (FacetDimension dimension : FacetDimension.values()) {
+				Set<String> values = new HashSet<>(mine.values(dimension));
+				values.addAll(theirs.values(dimension));
+				for (String value : values) {
+					drift += Math.abs(mine.count(dimension, value) - theirs.count(dimension, value));
+				}
+			}
+			return drift;
+		}
+
+	}
+
+	private static final class FacetTable {
+
+		private final Map<FacetDimension, Map<String, LongAdder>> counters = new EnumMap<>(FacetDimension.class);
+
+		FacetTable() {
+			for (FacetDimension dimension : FacetDimension.values()) {
+				this.counters.put(dimension, new ConcurrentHashMap<>());
+			}
+		}
+
+		void add(FacetDimension dimension, String value, int delta) {
+			if (value != null) {
+				this.counters.get(dimension).computeIfAbsent(value, key -> new LongAdder()).add(delta);
+			}
+		}
+
+		long count(FacetDimension dimension, String value) {
+			LongAdder counter = this.counters.get(dimension).get(value);
+			return counter == null ? 0 : counter.sum();
+		}
+
+		Set<String> values(FacetDimension dimension) {
+			return this.counters.get(dimension).keySet();
+		}
+
+		// price buckets keep their natural order, every other facet is ordered by count
+		Map<String, Long> counts(FacetDimension dimension, List<String> priceBuckets) {
+			Map<String, LongAdder> values = this.counters.get(dimension);
+			Map<String, Long> counts = new LinkedHashMap<>();
+			if (dimension == FacetDimension.PRICE) {
+				for (String bucket : priceBuckets) {
+					long count = count(dimension, bucket);
+					if (count > 0) {
+						counts.put(bucket, count);
+					}
+				}
+				return counts;
+			}
+			values.entrySet().stream()
+					.map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+					.filter(entry -> entry.getValue() > 0)
+					.sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+					.forEach(entry -> counts.put(entry.getKey(), entry.getValue()));
+			return counts;
+		}
+
+	}
+
+}
+
+record FacetContext(AdvertisementType type, UUID categoryId) {
+
+	static final FacetContext ALL = new FacetContext(null, null);
+
+}
+
+record FacetPosition(AdvertisementType type, UUID categoryId, UUID provinceId, UUID cityId, String priceBucket) {
+
+	List<FacetContext> contexts() {
+		return List.of(
+				FacetContext.ALL,
+				new FacetContext(type, null),
+				new FacetContext(null, categoryId),
+				new FacetContext(type, categoryId));
+	}
+
+	String value(FacetDimension dimension) {
+		return switch (dimension) {
+			case TYPE -> type.name();
+			case CATEGORY -> categoryId == null ? null : categoryId.toString();
+			case PROVINCE -> provinceId == null ? null : provinceId.toString();
+			case CITY -> cityId == null ? null : cityId.toString();
+			case PRICE -> priceBucket;
+		};
+	}
+
+}
+
+record FacetRow(UUID id, AdvertisementType type, UUID categoryId, BigDecimal price, UUID provinceId, UUID cityId) {}
+
+enum FacetDimension {
+	TYPE,
+	CATEGORY,
+	PROVINCE,
+	CITY,
+	PRICE
+}
+
+record AdvertisementFacetResponse(
+		Map<String, Long> types,
+		Map<String, Long> categories,
+		Map<String, Long> provinces,
+		Map<String, Long> cities,
+		Map<String, Long> prices) {}
@@ -0,0 +1,329 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementFeedProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+@Controller
+@ResponseBody
+class AdvertisementFeedController {
+
+	private final AdvertisementFeedService advertisementFeedService;
+
+	AdvertisementFeedController(AdvertisementFeedService advertisementFeedService) {
+		this.advertisementFeedService = advertisementFeedService;
+	}
+
+	@GetMapping("/api/advertisements/latest")
+	List<AdvertisementFeedResponse> findLatest(
+			@RequestParam(value = "categoryId", required = false) UUID categoryId,
+			@RequestParam(value = "limit", defaultValue = "20") int limit) {
+		return this.advertisementFeedService.findLatest(categoryId, limit);
+	}
+
+}
+
+@Service
+class AdvertisementFeedService {
+
+	private final AdvertisementFeed advertisementFeed;
+
+	AdvertisementFeedService(AdvertisementFeed advertisementFeed) {
+		this.advertisementFeed = advertisementFeed;
+	}
+
+	List<AdvertisementFeedResponse> findLatest(UUID categoryId, int limit) {
+		return this.advertisementFeed.latest(categoryId, Math.max(limit, 1)).stream()
+				.map(entry -> new AdvertisementFeedResponse(entry.id(), entry.title(), entry.price(), entry.type(), entry.categoryId(), entry.activatedAt()))
+				.toList();
+	}
+
+}
+
+/**
+ * Feeds {@link AdvertisementFeed} from activations and removals, and warms it from the table on start-up. The events
+ * carry the summary itself, so keeping the feed current never touches the database.
+ */
+@Component
+class AdvertisementFeedUpdater {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementFeedUpdater.class);
+
+	private final AdvertisementFeed advertisementFeed;
+	private final AdvertisementFeedRepository advertisementFeedRepository;
+	private final AdvertisementFeedProperties properties;
+
+	AdvertisementFeedUpdater(AdvertisementFeed advertisementFeed, AdvertisementFeedRepository advertisementFeedRepository, AdvertisementFeedProperties properties) {
+		this.advertisementFeed = advertisementFeed;
+		this.advertisementFeedRepository = advertisementFeedRepository;
+		this.properties = properties;
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		long started = System.currentTimeMillis();
+		int[] loaded = {0};
+		this.advertisementFeedRepository.streamLatestPerCategory(this.properties.categoryCapacity(), event -> {
+			this.advertisementFeed.push(event);
+			loaded[0]++;
+		});
+		logger.info("Latest advertisements feed warmed with {} advertisements in {} ms", loaded[0], System.currentTimeMillis() - started);
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementActivatedEvent(AdvertisementActivatedEvent event) {
+		this.advertisementFeed.push(event);
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementDeactivatedEvent(AdvertisementDeactivatedEvent event) {
+		this.advertisementFeed.tombstone(event.id(), event.categoryId());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementsBulkChangedEvent(AdvertisementsBulkChangedEvent event) {
+		if (event.change() == BulkChange.ACTIVATED) {
+			event.activated().forEach(this.advertisementFeed::push);
+		} else if (event.change() == BulkChange.DEACTIVATED) {
+			event.advertisements().forEach(advertisement -> this.advertisementFeed.tombstone(advertisement.id(), advertisement.categoryId()));
+		} else if (event.change() == BulkChange.REPRICED) {
+			event.advertisements().forEach(advertisement -> this.advertisementFeed.reprice(advertisement.id(), advertisement.categoryId(), advertisement.price()));
+		}
+	}
+
+}
+
+@Repository
+class AdvertisementFeedRepository {
+
+	// oldest first, so pushing the rows in order leaves the newest ones at the head of every ring
+	private static final String LATEST_PER_CATEGORY = """
+			SELECT id, title, price, advertisement_type, category_id, activated_at FROM (
+				SELECT a.id, a.title, a.price, a.advertisement_type, a.category_id, COALESCE(a.updated_at, a.inserted_at) AS activated_at,
+				row_number() OVER (PARTITION BY a.category_id ORDER BY COALESCE(a.updated_at, a.inserted_at) DESC, a.id DESC) AS position
+				FROM advertisements a
+				WHERE a.advertisement_status = 'ACTIVE' AND a.archived = false) latest
+			WHERE position <= :perCategory
+			ORDER BY activated_at, id
+			""";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	AdvertisementFeedRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	void streamLatestPerCategory(int perCategory, Consumer<AdvertisementActivatedEvent> consumer) {
+		this.jdbcTemplate.query(LATEST_PER_CATEGORY, new MapSqlParameterSource("perCategory", perCategory), rs -> {
+			consumer.accept(new AdvertisementActivatedEvent(
+					rs.getObject("id", UUID.class),
+					rs.getString("title"),
+					rs.getBigDecimal("price"),
+					AdvertisementType.valueOf(rs.getString("advertisement_type")),
+					rs.getObject("category_id", UUID.class),
+					rs.getTimestamp("activated_at").toLocalDateTime()));
+		});
+	}
+
+}
+
+/**
+ * Most recently activated advertisements, once globally and once per category, held in fixed-size rings.
+ * <p>
+ * A single writer claims the next sequence and stores the entry together with that sequence, so a reader walking
+ * back from the head can tell a slot that is being overwritten from a current one and skip it; readers take no lock
+ * and never wait. The global ring and the category ring share the entry object, so tombstoning or repricing it once
+ * updates the advertisement in both.
+ */
+@Component
+class AdvertisementFeed {
+
+	private final AdvertisementFeedProperties properties;
+	private final FeedRing global;
+	private final Map<UUID, FeedRing> categories = new ConcurrentHashMap<>();
+
+	AdvertisementFeed(AdvertisementFeedProperties properties) {
+		this.properties = properties;
+		this.global = new FeedRing(properties.globalCapacity());
+	}
+
+	void push(AdvertisementActivatedEvent event) {
+		FeedEntry entry = new FeedEntry(event);
+		this.global.push(entry);
+		this.categories.computeIfAbsent(event.categoryId(), key -> new FeedRing(this.properties.categoryCapacity())).push(entry);
+	}
+
+	void tombstone(UUID advertisementId, UUID categoryId) {
+		this.global.tombstone(advertisementId);
+		FeedRing ring = this.categories.get(categoryId);
+		if (ring != null) {
+			ring.tombstone(advertisementId);
+		}
+	}
+
+	void reprice(UUID advertisementId, UUID categoryId, BigDecimal price) {
+		this.global.reprice(advertisementId, price);
+		FeedRing ring = this.categories.get(categoryId);
+		if (ring != null) {
+			ring.reprice(advertisementId, price);
+		}
+	}
+
+	List<AdvertisementActivatedEvent> latest(UUID categoryId, int limit) {
+		FeedRing ring = categoryId == null ? this.global : this.categories.get(categoryId);
+		return ring == null ? List.of() : ring.snapshot(limit);
+	}
+
+	private static final class FeedRing {
+
+		private final AtomicReferenceArray<FeedSlot> slots;
+		private final AtomicLong head = new AtomicLong();
+
+		FeedRing(int capacity) {
+			this.slots = new AtomicReferenceArray<>(capacity);
+		}
+
+		void push(FeedEntry entry) {
+			long sequence = this.head.get();
+			this.slots.set(index(sequence), new FeedSlot(sequence, entry));
+			this.head.set(sequence + 1);
+		}
+
+		void tombstone(UUID advertisementId) {
+			for (int i = 0; i < this.slots.length(); i++) {
+				FeedSlot slot = this.slots.get(i);
+				if (slot != null && slot.entry().event().id().equals(advertisementId)) {
+					slot.entry().tombstoned = true;
+				}
+			}
+		}
+
+		void reprice(UUID advertisementId, BigDecimal price) {
+			for (int i = 0; i < this.slots.length(); i++) {
+				FeedSlot slot = this.slots.get(i);
+				if (slot != null && slot.entry().event().id().equals(advertisementId)) {
+					slot.entry().reprice(price);
+				}
+			}
+		}
+
+		List<AdvertisementActivatedEvent> snapshot(int limit) {
+			long head = this.head.get();
+			long oldest = Math.max(0, head - this.slots.length());
+			List<AdvertisementActivatedEvent> snapshot = new ArrayList<>(Math.min(limit, this.slots.length()));
+			Set<UUID> seen = new HashSet<>();
+			for (long sequence = head - 1; sequence >= oldest && snapshot.size() < limit; sequence--) {
+				FeedSlot slot = this.slots.get(index(sequence));
+				if (slot == null || slot.sequence() != sequence || slot.entry().tombstoned) {
+					continue;
+				}
+				if (seen.add(slot.entry().event().id())) {
+					snapshot.add(slot.entry().event());
+				}
+			}
+			return snapshot;
+		}
+
+		private int index(long sequence) {
+			return (int) (sequence % this.slots.length());
+		}
+
+	}
+
+	private record FeedSlot(long sequence, FeedEntry entry) {}
+
+	private static final class FeedEntry {
+
+		private volatile AdvertisementActivatedEvent event;
+		private volatile boolean tombstoned;
+
+		FeedEntry(AdvertisementActivatedEvent event) {
+			this.event = event;
+		}
+
+		AdvertisementActivatedEvent event() {
+			return this.event;
+		}
+
+		void reprice(BigDecimal price) {
+			AdvertisementActivatedEvent current = this.event;
+			this.event = new AdvertisementActivatedEvent(current.id(), current.title(), price, current.type(), current.categoryId(), current.activatedAt());
+		}
+
+	}
+
+}
+
+record AdvertisementActivatedEvent(
+		UUID id,
+		String title,
+		BigDecimal price,
+		AdvertisementType type,
+		UUID categoryId,
+		LocalDateTime activatedAt) {
+
+	static AdvertisementActivatedEvent of(Advertisement advertisement) {
+		return new AdvertisementActivatedEvent(
+				advertisement.id(),
+				advertisement.title(),
+				advertisement.price(),
+				advertisement.advertisementType(),
+				advertisement.categoryId(),
+				advertisement.updatedAt() != null ? advertisement.updatedAt() : advertisement.insertedAt());
+	}
+
+}
+
+record AdvertisementDeactivatedEvent(UUID id, UUID categoryId) {}
+
+record AdvertisementFeedResponse(
+		UUID id,
+		String title,
+		BigDecimal price,
+		AdvertisementType type,
+		UUID categoryId,
+		LocalDateTime activatedAt) {}
@@ -0,0 +1,548 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementGeoProperties;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.InvalidSearchCriteriaException;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.SearchErrorCode;
+import com.mhs.onlinemarketingplatform.advertisement.event.AddAdvertisementEvent;
+import com.mhs.onlinemarketingplatform.advertisement.event.DeleteAdvertisementEvent;
+import com.mhs.onlinemarketingplatform.advertisement.event.UpdateAdvertisementEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+@Controller
+@ResponseBody
+class AdvertisementGeoController {
+
+	private final AdvertisementGeoService advertisementGeoService;
+
+	AdvertisementGeoController(AdvertisementGeoService advertisementGeoService) {
+		this.advertisementGeoService = advertisementGeoService;
+	}
+
+	@GetMapping("/api/advertisements/nearby")
+	List<AdvertisementGeoResponse> findNearby(
+			@RequestParam("latitude") double latitude,
+			@RequestParam("longitude") double longitude,
+			@RequestParam(value = "radius", defaultValue = "5") double radius,
+			@RequestParam(value = "limit", defaultValue = "20") int limit) {
+		return this.advertisementGeoService.findNearby(latitude, longitude, radius, limit);
+	}
+
+	@GetMapping("/api/advertisements/within")
+	List<AdvertisementGeoResponse> findWithin(
+			@RequestParam("minLatitude") double minLatitude,
+			@RequestParam("minLongitude") double minLongitude,
+			@RequestParam("maxLatitude") double maxLatitude,
+			@RequestParam("maxLongitude") double maxLongitude,
+			@RequestParam(value = "limit", defaultValue = "20") int limit) {
+		return this.advertisementGeoService.findWithin(minLatitude, minLongitude, maxLatitude, maxLongitude, limit);
+	}
+
+}
+
+@Service
+@Transactional(readOnly = true)
+class AdvertisementGeoService {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementGeoService.class);
+
+	private final AdvertisementGeoIndex advertisementGeoIndex;
+	private final AdvertisementSearchRepository advertisementSearchRepository;
+	private final AdvertisementGeoProperties properties;
+	private final AdvertisementMapper mapper;
+	private final MessageSource messageSource;
+
+	AdvertisementGeoService(
+			AdvertisementGeoIndex advertisementGeoIndex,
+			AdvertisementSearchRepository advertisementSearchRepository,
+			AdvertisementGeoProperties properties,
+			AdvertisementMapper mapper,
+			MessageSource messageSource) {
+		this.advertisementGeoIndex = advertisementGeoIndex;
+		this.advertisementSearchRepository = advertisementSearchRepository;
+		this.properties = properties;
+		this.mapper = mapper;
+		this.messageSource = messageSource;
+	}
+
+	List<AdvertisementGeoResponse> findNearby(double latitude, double longitude, double radius, int limit) {
+		validateCoordinates(latitude, longitude);
+		if (!(radius > 0) || radius > this.properties.maxRadiusInKm()) {
+			throw invalid("error.search.geo.radius.invalid", radius, this.properties.maxRadiusInKm());
+		}
+		logger.info("Looking up advertisements within {} km of ({}, {})", radius, latitude, longitude);
+		return load(this.advertisementGeoIndex.findWithinRadius(latitude, longitude, radius, clamp(limit)));
+	}
+
+	List<AdvertisementGeoResponse> findWithin(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude, int limit) {
+		validateCoordinates(minLatitude, minLongitude);
+		validateCoordinates(maxLatitude, maxLongitude);
+		if (minLatitude > maxLatitude || minLongitude > maxLongitude) {
+			throw invalid("error.search.geo.box.invalid", minLatitude, minLongitude, maxLatitude, maxLongitude);
+		}
+		logger.info("Looking up advertisements within ({}, {}) and ({}, {})", minLatitude, minLongitude, maxLatitude, maxLongitude);
+		return load(this.advertisementGeoIndex.findWithinBox(minLatitude, minLongitude, maxLatitude, maxLongitude, clamp(limit)));
+	}
+
+	// the index only knows coordinates, so the page of hits is resolved with one statement and kept in distance order
+	private List<AdvertisementGeoResponse> load(List<GeoHit> hits) {
+		if (hits.isEmpty()) {
+			return List.of();
+		}
+		Map<UUID, Advertisement> advertisements = this.advertisementSearchRepository
+				.findAllByIds(hits.stream().map(GeoHit::id).toList()).stream()
+				.filter(advertisement -> advertisement.advertisementStatus() == AdvertisementStatus.ACTIVE)
+				.collect(Collectors.toMap(Advertisement::id, Function.identity()));
+
+		List<AdvertisementGeoResponse> responses = new ArrayList<>(hits.size());
+		for (GeoHit hit : hits) {
+			Advertisement advertisement = advertisements.get(hit.id());
+			if (advertisement != null) {
+				responses.add(new AdvertisementGeoResponse(
+						this.mapper.mapAdvertisementToResponse(advertisement),
+						hit.latitude(),
+						hit.longitude(),
+						hit.distance()));
+			}
+		}
+		return responses;
+	}
+
+	private int clamp(int limit) {
+		return Math.min(Math.max(limit, 1), this.properties.maxResults());
+	}
+
+	private void validateCoordinates(double latitude, double longitude) {
+		if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+			throw invalid("error.search.geo.coordinates.invalid", latitude, longitude);
+		}
+	}
+
+	private InvalidSearchCriteriaException invalid(String key, Object... args) {
+		return new InvalidSearchCriteriaException(
+				messageSource.getMessage(key, args, LocaleContextHolder.getLocale()),
+				SearchErrorCode.INVALID_SEARCH_CRITERIA);
+	}
+
+}
+
+/**
+ * Keeps {@link AdvertisementGeoIndex} and {@link AdvertisementMapClusters} in line with the committed state of active
+ * advertisements. Events only carry the advertisement or location id, so every event re-reads the rows and either
+ * places or drops the advertisements; replaying an event is therefore harmless.
+ */
+@Component
+class AdvertisementGeoIndexer {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementGeoIndexer.class);
+
+	private final AdvertisementGeoIndex advertisementGeoIndex;
+	private final AdvertisementMapClusters advertisementMapClusters;
+	private final AdvertisementGeoRepository advertisementGeoRepository;
+
+	AdvertisementGeoIndexer(
+			AdvertisementGeoIndex advertisementGeoIndex,
+			AdvertisementMapClusters advertisementMapClusters,
+			AdvertisementGeoRepository advertisementGeoRepository) {
+		this.advertisementGeoIndex = advertisementGeoIndex;
+		this.advertisementMapClusters = advertisementMapClusters;
+		this.advertisementGeoRepository = advertisementGeoRepository;
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		long started = System.currentTimeMillis();
+		this.advertisementGeoRepository.streamActive(this::place);
+		logger.info("Geo index loaded {} active advertisements in {} ms", this.advertisementGeoIndex.size(), System.currentTimeMillis() - started);
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAddAdvertisementEvent(AddAdvertisementEvent event) {
+		refresh(event.productId());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleUpdateAdvertisementEvent(UpdateAdvertisementEvent event) {
+		refresh(event.productId());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleDeleteAdvertisementEvent(DeleteAdvertisementEvent event) {
+		drop(event.productId());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementsBulkChangedEvent(AdvertisementsBulkChangedEvent event) {
+		if (event.change() == BulkChange.ACTIVATED) {
+			this.advertisementGeoRepository.findActiveByIds(event.ids()).forEach(this::place);
+		} else if (event.change() == BulkChange.DEACTIVATED) {
+			event.ids().forEach(this::drop);
+		}
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleUpdateLocationEvent(UpdateLocationEvent event) {
+		this.advertisementGeoRepository.findActiveByLocationId(event.locationId()).forEach(this::place);
+	}
+
+	private void refresh(UUID advertisementId) {
+		this.advertisementGeoRepository.findActiveById(advertisementId).ifPresentOrElse(
+				this::place,
+				() -> drop(advertisementId));
+	}
+
+	private void place(GeoLocation location) {
+		this.advertisementGeoIndex.put(location.id(), location.latitude(), location.longitude());
+		this.advertisementMapClusters.put(location.representative(), location.latitude(), location.longitude());
+	}
+
+	private void drop(UUID advertisementId) {
+		this.advertisementGeoIndex.remove(advertisementId);
+		this.advertisementMapClusters.remove(advertisementId);
+	}
+
+}
+
+@Repository
+class AdvertisementGeoRepository {
+
+	private static final String ACTIVE_LOCATIONS = """
+			SELECT a.id, a.title, a.price, a.advertisement_type, l.latitude, l.longitude FROM advertisements a
+			JOIN locations l ON l.id = a.location_id
+			WHERE a.advertisement_status = 'ACTIVE' AND l.latitude IS NOT NULL AND l.longitude IS NOT NULL
+			""";
+
+	// the title, price and type ride along for the map, whose cluster representatives are answered from memory
+	private static final RowMapper<GeoLocation> ROW_MAPPER = (rs, rowNum) -> new GeoLocation(
+			rs.getObject("id", UUID.class),
+			rs.getDouble("latitude"),
+			rs.getDouble("longitude"),
+			new MapRepresentative(
+					rs.getObject("id", UUID.class),
+					rs.getString("title"),
+					rs.getBigDecimal("price"),
+					AdvertisementType.valueOf(rs.getString("advertisement_type"))));
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final AdvertisementStreamingJdbcTemplate streamingJdbcTemplate;
+
+	AdvertisementGeoRepository(NamedParameterJdbcTemplate jdbcTemplate, AdvertisementStreamingJdbcTemplate streamingJdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.streamingJdbcTemplate = streamingJdbcTemplate;
+	}
+
+	Optional<GeoLocation> findActiveById(UUID id) {
+		return this.jdbcTemplate.query(ACTIVE_LOCATIONS + " AND a.id = :id",
+				new MapSqlParameterSource("id", id), ROW_MAPPER)
+				.stream().findFirst();
+	}
+
+	List<GeoLocation> findActiveByIds(Collection<UUID> ids) {
+		return this.jdbcTemplate.query(ACTIVE_LOCATIONS + " AND a.id = ANY(CAST(:ids AS uuid[]))",
+				new MapSqlParameterSource("ids", AdvertisementSearchRepository.uuidArray(ids)), ROW_MAPPER);
+	}
+
+	List<GeoLocation> findActiveByLocationId(UUID locationId) {
+		return this.jdbcTemplate.query(ACTIVE_LOCATIONS + " AND a.location_id = :locationId",
+				new MapSqlParameterSource("locationId", locationId), ROW_MAPPER);
+	}
+
+	@Transactional(readOnly = true)
+	void streamActive(Consumer<GeoLocation> consumer) {
+		this.streamingJdbcTemplate.query(ACTIVE_LOCATIONS, new MapSqlParameterSource(), rs -> {
+			consumer.accept(ROW_MAPPER.mapRow(rs, 0));
+		});
+	}
+
+}
+
+/**
+ * Uniform latitude/longitude grid of active advertisements. Coordinates live in parallel primitive arrays addressed
+ * by a slot number and every non empty cell only holds the slots that fall into it, so a query touches the cells
+ * overlapping its bounding box and keeps the nearest matches in a bounded max-heap. The grid does not wrap around
+ * the antimeridian.
+ */
+@Component
+class AdvertisementGeoIndex {
+
+	static final double EARTH_RADIUS_IN_KM = 6371.0088;
+	static final double KM_PER_DEGREE = Math.toRadians(1) * EARTH_RADIUS_IN_KM;
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private final double cellSize;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<UUID, Integer> slotsById = new HashMap<>();
+	private final Map<Long, GeoCell> cells = new HashMap<>();
+
+	private UUID[] ids = new UUID[INITIAL_CAPACITY];
+	private double[] latitudes = new double[INITIAL_CAPACITY];
+	private double[] longitudes = new double[INITIAL_CAPACITY];
+	private long[] cellKeys = new long[INITIAL_CAPACITY];
+	private int[] freeSlots = new int[INITIAL_CAPACITY];
+	private int freeCount;
+	private int highWaterMark;
+
+	AdvertisementGeoIndex(AdvertisementGeoProperties properties) {
+		this.cellSize = properties.cellSizeInDegrees();
+	}
+
+	void put(UUID id, double latitude, double longitude) {
+		long cellKey = cellKey(row(latitude), column(longitude));
+		this.lock.writeLock().lock();
+		try {
+			Integer existing = this.slotsById.get(id);
+			int slot;
+			if (existing == null) {
+				slot = allocate();
+				this.ids[slot] = id;
+				this.slotsById.put(id, slot);
+				attach(slot, cellKey);
+			} else {
+				slot = existing;
+				if (this.cellKeys[slot] != cellKey) {
+					detach(slot);
+					attach(slot, cellKey);
+				}
+			}
+			this.latitudes[slot] = latitude;
+			this.longitudes[slot] = longitude;
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	boolean remove(UUID id) {
+		this.lock.writeLock().lock();
+		try {
+			Integer slot = this.slotsById.remove(id);
+			if (slot == null) {
+				return false;
+			}
+			detach(slot);
+			this.ids[slot] = null;
+			if (this.freeCount == this.freeSlots.length) {
+				this.freeSlots = Arrays.copyOf(this.freeSlots, this.freeSlots.length * 2);
+			}
+			this.freeSlots[this.freeCount++] = slot;
+			return true;
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.slotsById.size();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	List<GeoHit> findWithinRadius(double latitude, double longitude, double radiusInKm, int limit) {
+		double latitudeSpan = radiusInKm / KM_PER_DEGREE;
+		double longitudeSpan = Math.min(180, radiusInKm / (KM_PER_DEGREE * Math.max(Math.cos(Math.toRadians(latitude)), 1e-6)));
+		BoundedHeap heap = new BoundedHeap(limit);
+
+		this.lock.readLock().lock();
+		try {
+			forEachSlot(latitude - latitudeSpan, longitude - longitudeSpan, latitude + latitudeSpan, longitude + longitudeSpan, slot -> {
+				double distance = distance(latitude, longitude, this.latitudes[slot], this.longitudes[slot]);
+				if (distance <= radiusInKm) {
+					heap.offer(slot, distance);
+				}
+			});
+			return heap.drain(this::hit);
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	List<GeoHit> findWithinBox(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude, int limit) {
+		double centerLatitude = (minLatitude + maxLatitude) / 2;
+		double centerLongitude = (minLongitude + maxLongitude) / 2;
+		BoundedHeap heap = new BoundedHeap(limit);
+
+		this.lock.readLock().lock();
+		try {
+			forEachSlot(minLatitude, minLongitude, maxLatitude, maxLongitude, slot -> {
+				double latitude = this.latitudes[slot];
+				double longitude = this.longitudes[slot];
+				if (latitude >= minLatitude && latitude <= maxLatitude && longitude >= minLongitude && longitude <= maxLongitude) {
+					heap.offer(slot, distance(centerLatitude, centerLongitude, latitude, longitude));
+				}
+			});
+			return heap.drain(this::hit);
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	static double distance(double fromLatitude, double fromLongitude, double toLatitude, double toLongitude) {
+		double latitudeDelta = Math.toRadians(toLatitude - fromLatitude);
+		double longitudeDelta = Math.toRadians(toLongitude - fromLongitude);
+		double a = Math.pow(Math.sin(latitudeDelta / 2), 2)
+				+ Math.cos(Math.toRadians(fromLatitude)) * Math.cos(Math.toRadians(toLatitude)) * Math.pow(Math.sin(longitudeDelta / 2), 2);
+		return 2 * EARTH_RADIUS_IN_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+	}
+
+	// large boxes would visit mostly empty cells, so past the number of occupied cells the occupied ones are scanned instead
+	private void forEachSlot(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude, IntConsumer consumer) {
+		int minRow = row(Math.max(minLatitude, -90));
+		int maxRow = row(Math.min(maxLatitude, 90));
+		int minColumn = column(Math.max(minLongitude, -180));
+		int maxColumn = column(Math.min(maxLongitude, 180));
+
+		if ((long) (maxRow - minRow + 1) * (maxColumn - minColumn + 1) > this.cells.size()) {
+			this.cells.forEach((cellKey, cell) -> {
+				int row = (int) (cellKey >> 32);
+				int column = (int) (long) cellKey;
+				if (row >= minRow && row <= maxRow && column >= minColumn && column <= maxColumn) {
+					cell.forEach(consumer);
+				}
+			});
+			return;
+		}
+		for (int row = minRow; row <= maxRow; row++) {
+			for (int column = minColumn; column <= maxColumn; column++) {
+				GeoCell cell = this.cells.get(cellKey(row, column));
+				if (cell != null) {
+					cell.forEach(consumer);
+				}
+			}
+		}
+	}
+
+	private GeoHit hit(int slot, double distance) {
+		return new GeoHit(this.ids[slot], this.latitudes[slot], this.longitudes[slot], distance);
+	}
+
+	private int allocate() {
+		if (this.freeCount > 0) {
+			return this.freeSlots[--this.freeCount];
+		}
+		if (this.highWaterMark == this.ids.length) {
+			int capacity = this.ids.length * 2;
+			this.ids = Arrays.copyOf(this.ids, capacity);
+			this.latitudes = Arrays.copyOf(this.latitudes, capacity);
+			this.longitudes = Arrays.copyOf(this.longitudes, capacity);
+			this.cellKeys = Arrays.copyOf(this.cellKeys, capacity);
+		}
+		return this.highWaterMark++;
+	}
+
+	private void attach(int slot, long cellKey) {
+		this.cellKeys[slot] = cellKey;
+		this.cells.computeIfAbsent(cellKey, key -> new GeoCell()).add(slot);
+	}
+
+	private void detach(int slot) {
+		GeoCell cell = this.cells.get(this.cellKeys[slot]);
+		cell.remove(slot);
+		if (cell.size == 0) {
+			this.cells.remove(this.cellKeys[slot]);
+		}
+	}
+
+	private int row(double latitude) {
+		return (int) Math.floor((latitude + 90) / this.cellSize);
+	}
+
+	private int column(double longitude) {
+		return (int) Math.floor((longitude + 180) / this.cellSize);
+	}
+
+	private static long cellKey(int row, int column) {
+		return ((long) row << 32) | (column & 0xffffffffL);
+	}
+
+	private static final class GeoCell {
+
+		private int[] slots = new int[4];
+		private int size;
+
+		void add(int slot) {
+			if (this.size == this.slots.length) {
+				this.slots = Arrays.copyOf(this.slots, this.size * 2);
+			}
+			this.slots[this.size++] = slot;
+		}
+
+		void remove(int slot) {
+			for (int i = 0; i < this.size; i++) {
+				if (this.slots[i] == slot) {
+					this.slots[i] = this.slots[--this.size];
+					return;
+				}
+			}
+		}
+
+		void forEach(IntConsumer consumer) {
+			for (int i = 0; i < this.size; i++) {
+				consumer.accept(this.slots[i]);
+			}
+		}
+
+	}
+
+}
+
+record GeoLocation(UUID id, double latitude, double longitude, MapRepresentative representative) {}
+
+record GeoHit(UUID id, double latitude, double longitude, double distance) {}
+
+record AdvertisementGeoResponse(
+		AdvertisementResponse advertisement,
+		double latitude,
+		double longitude,
+		double distance) {}
@@ -0,0 +1,691 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.f4b6a3.uuid.UuidCreator;
+import com.mhs.onlinemarketingplatform.advertisement.attributes.AdvertisementAttributes;
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementImportProperties;
+import com.mhs.onlinemarketingplatform.advertisement.error.advertisement.AdvertisementErrorCode;
+import com.mhs.onlinemarketingplatform.advertisement.error.advertisement.AdvertisementImportNotAllowedException;
+import com.mhs.onlinemarketingplatform.catalog.api.CategoryApi;
+import com.mhs.onlinemarketingplatform.common.AuditLogger;
+import com.mhs.onlinemarketingplatform.profile.api.ProfileApi;
+import com.mhs.onlinemarketingplatform.region.api.CityApi;
+import com.mhs.onlinemarketingplatform.region.api.ProvinceApi;
+import org.postgresql.PGConnection;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+import java.util.function.BiConsumer;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+@Controller
+@ResponseBody
+class AdvertisementImportController {
+
+	private final AdvertisementImportService advertisementImportService;
+	private final static String OWNER = "79e784ec-b22d-456c-807f-300a44bffc2c";
+
+	AdvertisementImportController(AdvertisementImportService advertisementImportService) {
+		this.advertisementImportService = advertisementImportService;
+	}
+
+	@PostMapping(value = "/api/me/advertisements/import", consumes = "application/x-ndjson")
+	ResponseEntity<AdvertisementApiResponse<AdvertisementImportReport>> importNdjsonByOwner(InputStream body) throws IOException {
+		return imported(this.advertisementImportService.importByOwner(body, ImportFormat.NDJSON, UUID.fromString(OWNER)));
+	}
+
+	@PostMapping(value = "/api/me/advertisements/import", consumes = "text/csv")
+	ResponseEntity<AdvertisementApiResponse<AdvertisementImportReport>> importCsvByOwner(InputStream body) throws IOException {
+		return imported(this.advertisementImportService.importByOwner(body, ImportFormat.CSV, UUID.fromString(OWNER)));
+	}
+
+	private static ResponseEntity<AdvertisementApiResponse<AdvertisementImportReport>> imported(AdvertisementImportReport report) {
+		return ResponseEntity.ok(new AdvertisementApiResponse<>(
+				report.rejected() == 0,
+				report.imported() + " of " + report.total() + " advertisements imported",
+				report));
+	}
+
+}
+
+/**
+ * Imports the advertisements of a store in one transaction. Rows are read one at a time, validated against the cached
+ * category and region lookups and the duplicate index, and copied into a staging table in chunks, so the heap only
+ * ever holds one chunk whatever the size of the body. Copying happens between chunks because the connection can run
+ * no other statement, such as a lookup missing the cache, while a copy is open. Titles the owner already uses or that
+ * repeat within the file are rejected in the staging table, and the rest is merged into {@code locations} and
+ * {@code advertisements} by a single statement.
+ */
+@Service
+@Transactional
+class AdvertisementImportService {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementImportService.class);
+	private static final int MAX_TITLE_LENGTH = 100;
+	private static final int MAX_PRICE_INTEGER_DIGITS = 13;
+
+	private final AdvertisementImportRepository advertisementImportRepository;
+	private final AdvertisementOwnerCounterRepository advertisementOwnerCounterRepository;
+	private final AdvertisementDuplicateDetector advertisementDuplicateDetector;
+	private final CategoryApi categoryApi;
+	private final ProvinceApi provinceApi;
+	private final CityApi cityApi;
+	private final ProfileApi profileApi;
+	private final ObjectMapper mapper;
+	private final ObjectReader rowReader;
+	private final AdvertisementImportProperties properties;
+	private final ApplicationEventPublisher publisher;
+	private final AuditLogger auditLogger;
+	private final MessageSource messageSource;
+
+	AdvertisementImportService(
+			AdvertisementImportRepository advertisementImportRepository,
+			AdvertisementOwnerCounterRepository advertisementOwnerCounterRepository,
+			AdvertisementDuplicateDetector advertisementDuplicateDetector,
+			CategoryApi categoryApi,
+			ProvinceApi provinceApi,
+			CityApi cityApi,
+			ProfileApi profileApi,
+			ObjectMapper mapper,
+			AdvertisementImportProperties properties,
+			ApplicationEventPublisher publisher,
+			AuditLogger auditLogger,
+			MessageSource messageSource) {
+		this.advertisementImportRepository = advertisementImportRepository;
+		this.advertisementOwnerCounterRepository = advertisementOwnerCounterRepository;
+		this.advertisementDuplicateDetector = advertisementDuplicateDetector;
+		this.categoryApi = categoryApi;
+		this.provinceApi = provinceApi;
+		this.cityApi = cityApi;
+		this.profileApi = profileApi;
+		this.mapper = mapper;
+		this.rowReader = mapper.readerFor(AdvertisementImportRow.class);
+		this.properties = properties;
+		this.publisher = publisher;
+		this.auditLogger = auditLogger;
+		this.messageSource = messageSource;
+	}
+
+	AdvertisementImportReport importByOwner(InputStream input, ImportFormat format, UUID ownerId) throws IOException {
+		logger.info("Importing {} advertisements of the owner: {}", format, ownerId);
+
+		if(!this.profileApi.isStore(ownerId)) {
+			throw new AdvertisementImportNotAllowedException(
+					message("error.import.not.allowed"),
+					AdvertisementErrorCode.ADVERTISEMENT_IMPORT_NOT_ALLOWED);
+		}
+
+		long started = System.currentTimeMillis();
+		LocalDateTime insertedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+		ImportReport report = new ImportReport(this.properties.maxReportedErrors());
+		List<StagedAdvertisement> chunk = new ArrayList<>(this.properties.chunkSize());
+
+		this.advertisementImportRepository.createStaging();
+		try (AdvertisementImportReader reader = AdvertisementImportReader.of(format, input, this.mapper)) {
+			ImportRecord record;
+			while ((record = reader.next()) != null) {
+				if (report.total == this.properties.maxRows()) {
+					report.error(record.line(), message("error.import.limit.exceeded", this.properties.maxRows()));
+					break;
+				}
+				report.total++;
+				StagedAdvertisement staged = stage(record, report);
+				if (staged != null) {
+					chunk.add(staged);
+				}
+				if (chunk.size() == this.properties.chunkSize()) {
+					this.advertisementImportRepository.copy(chunk);
+					chunk.clear();
+				}
+			}
+		}
+		if (!chunk.isEmpty()) {
+			this.advertisementImportRepository.copy(chunk);
+		}
+
+		this.advertisementImportRepository.rejectDuplicateTitles(ownerId,
+				(line, title) -> report.reject(line, message("error.advertisement.advertisement.already.exists", title)));
+		int imported = this.advertisementImportRepository.merge(ownerId, insertedAt);
+
+		this.auditLogger.log("ADVERTISEMENT_IMPORTED", "ADVERTISEMENT", "Owner ID: " + ownerId + " imported " + imported + " of " + report.total);
+		if (imported > 0) {
+			this.advertisementOwnerCounterRepository.increment(ownerId, AdvertisementStatus.INACTIVE, imported);
+			this.publisher.publishEvent(new AdvertisementsImportedEvent(ownerId, insertedAt));
+		}
+		logger.info("Imported {} of {} advertisements of the owner: {} in {} ms", imported, report.total, ownerId, System.currentTimeMillis() - started);
+		return report.toResponse(imported);
+	}
+
+	private StagedAdvertisement stage(ImportRecord record, ImportReport report) {
+		if (record.error() != null) {
+			report.reject(record.line(), message("error.import.row.malformed", record.error()));
+			return null;
+		}
+		AdvertisementImportRow row;
+		try {
+			row = this.rowReader.readValue(record.row());
+		} catch (IOException ex) {
+			report.reject(record.line(), message("error.import.row.malformed",
+					ex instanceof JsonProcessingException processing ? processing.getOriginalMessage() : ex.getMessage()));
+			return null;
+		}
+
+		String error = validate(row);
+		if (error == null) {
+			DuplicateCheck duplicateCheck = this.advertisementDuplicateDetector.check(row.categoryId(), row.title(), row.description(), row.attributes());
+			if (duplicateCheck.rejected()) {
+				error = message("error.advertisement.advertisement.duplicate",
+						Math.round(duplicateCheck.match().similarity() * 100), duplicateCheck.match().advertisementId());
+			}
+		}
+		if (error != null) {
+			report.reject(record.line(), error);
+			return null;
+		}
+
+		try {
+			return new StagedAdvertisement(
+					record.line(),
+					UuidCreator.getTimeOrderedEpoch(),
+					UuidCreator.getTimeOrderedEpoch(),
+					row,
+					new BigDecimal(row.price().trim()),
+					AdvertisementType.valueOf(row.type().trim().toUpperCase()),
+					this.mapper.writeValueAsString(row.attributes()));
+		} catch (JsonProcessingException ex) {
+			report.reject(record.line(), message("error.import.row.malformed", ex.getOriginalMessage()));
+			return null;
+		}
+	}
+
+	private String validate(AdvertisementImportRow row) {
+		for (Map.Entry<String, Object> field : requiredFields(row).entrySet()) {
+			if (field.getValue() == null || (field.getValue() instanceof String text && text.isBlank())) {
+				return message("error.import.row.field.required", field.getKey());
+			}
+		}
+		if (row.title().length() > MAX_TITLE_LENGTH) {
+			return message("error.import.row.title.too.long", MAX_TITLE_LENGTH);
+		}
+		try {
+			BigDecimal price = new BigDecimal(row.price().trim());
+			if (price.signum() < 0 || price.scale() > 2 || price.precision() - price.scale() > MAX_PRICE_INTEGER_DIGITS) {
+				return message("error.import.row.price.invalid", row.price());
+			}
+		} catch (NumberFormatException ex) {
+			return message("error.import.row.price.invalid", row.price());
+		}
+		try {
+			AdvertisementType.valueOf(row.type().trim().toUpperCase());
+		} catch (IllegalArgumentException ex) {
+			return message("error.import.row.type.invalid", row.type());
+		}
+		if (Math.abs(row.latitude()) > 90 || Math.abs(row.longitude()) > 180) {
+			return message("error.import.row.coordinates.invalid", row.latitude(), row.longitude());
+		}
+		if (!this.categoryApi.existsById(row.categoryId())) {
+			return message("error.category.category.with.id.not.found", row.categoryId());
+		}
+		if (!this.provinceApi.existsById(row.provinceId())) {
+			return message("error.location.province.with.id.not.found", row.provinceId());
+		}
+		if (!this.cityApi.existsById(row.cityId())) {
+			return message("error.location.city.with.id.not.found", row.cityId());
+		}
+		return null;
+	}
+
+	private static Map<String, Object> requiredFields(AdvertisementImportRow row) {
+		Map<String, Object> fields = new LinkedHashMap<>();
+		fields.put("title", row.title());
+		fields.put("description", row.description());
+		fields.put("price", row.price());
+		fields.put("type", row.type());
+		fields.put("attributes", row.attributes());
+		fields.put("provinceId", row.provinceId());
+		fields.put("cityId", row.cityId());
+		fields.put("latitude", row.latitude());
+		fields.put("longitude", row.longitude());
+		fields.put("categoryId", row.categoryId());
+		return fields;
+	}
+
+	private String message(String key, Object... args) {
+		return this.messageSource.getMessage(key, args, LocaleContextHolder.getLocale());
+	}
+
+	private static final class ImportReport {
+
+		private final int maxErrors;
+		private final List<AdvertisementImportError> errors = new ArrayList<>();
+		private long total;
+		private long rejected;
+
+		private ImportReport(int maxErrors) {
+			this.maxErrors = maxErrors;
+		}
+
+		private void reject(long line, String message) {
+			this.rejected++;
+			error(line, message);
+		}
+
+		private void error(long line, String message) {
+			if (this.errors.size() < this.maxErrors) {
+				this.errors.add(new AdvertisementImportError(line, message));
+			}
+		}
+
+		private AdvertisementImportReport toResponse(long imported) {
+			this.errors.sort(Comparator.comparingLong(AdvertisementImportError::line));
+			return new AdvertisementImportReport(this.total, imported, this.rejected, List.copyOf(this.errors));
+		}
+
+	}
+
+}
+
+@Repository
+class AdvertisementImportRepository {
+
+	private static final String CREATE_STAGING = """
+			CREATE TEMPORARY TABLE advertisement_import_staging
+			(
+			    line               bigint         not null,
+			    id                 uuid           not null,
+			    location_id        uuid           not null,
+			    title              varchar(100)   not null,
+			    description        text,
+			    price              numeric(15, 2) not null,
+			    advertisement_type varchar(50)    not null,
+			    attributes         jsonb          not null,
+			    latitude           decimal(9, 6)  not null,
+			    longitude          decimal(9, 6)  not null,
+			    province_id        uuid           not null,
+			    city_id            uuid           not null,
+			    category_id        uuid           not null,
+			    rejected           boolean        not null default false
+			) ON COMMIT DROP
+			""";
+
+	private static final String COPY = """
+			COPY advertisement_import_staging (line, id, location_id, title, description, price, advertisement_type, attributes,
+			latitude, longitude, province_id, city_id, category_id) FROM STDIN (FORMAT csv)
+			""";
+
+	private static final String REJECT_DUPLICATE_TITLES = """
+			UPDATE advertisement_import_staging s SET rejected = true
+			WHERE EXISTS (SELECT 1 FROM advertisements a WHERE a.owner_id = :ownerId AND a.title = s.title)
+			OR EXISTS (SELECT 1 FROM advertisement_import_staging e WHERE e.title = s.title AND e.line < s.line)
+			RETURNING s.line, s.title
+			""";
+
+	private static final String MERGE = """
+			WITH location AS (
+				INSERT INTO locations (id, version, latitude, longitude, province_id, city_id)
+				SELECT location_id, 0, latitude, longitude, province_id, city_id FROM advertisement_import_staging
+				WHERE NOT rejected
+				RETURNING id)
+			INSERT INTO advertisements (id, version, title, description, price, advertisement_type, advertisement_status,
+				attributes, inserted_at, location_id, category_id, owner_id)
+			SELECT s.id, 0, s.title, s.description, s.price, s.advertisement_type, 'INACTIVE', s.attributes, :insertedAt,
+				l.id, s.category_id, :ownerId
+			FROM advertisement_import_staging s
+			JOIN location l ON l.id = s.location_id
+			""";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	AdvertisementImportRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	void createStaging() {
+		this.jdbcTemplate.getJdbcTemplate().execute(CREATE_STAGING);
+	}
+
+	void copy(List<StagedAdvertisement> rows) {
+		StringBuilder csv = new StringBuilder(rows.size() * 512);
+		for (StagedAdvertisement staged : rows) {
+			AdvertisementImportRow row = staged.row();
+			csv.append(staged.line()).append(',');
+			appendCsv(csv, staged.id()).append(',');
+			appendCsv(csv, staged.locationId()).append(',');
+			appendCsv(csv, row.title()).append(',');
+			appendCsv(csv, row.description()).append(',');
+			csv.append(staged.price().toPlainString()).append(',');
+			appendCsv(csv, staged.type().name()).append(',');
+			appendCsv(csv, staged.attributes()).append(',');
+			csv.append(row.latitude()).append(',');
+			csv.append(row.longitude()).append(',');
+			appendCsv(csv, row.provinceId()).append(',');
+			appendCsv(csv, row.cityId()).append(',');
+			appendCsv(csv, row.categoryId()).append('\n');
+		}
+		this.jdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Long>) connection -> {
+			try {
+				return connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY, new StringReader(csv.toString()));
+			} catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+		});
+	}
+
+	void rejectDuplicateTitles(UUID ownerId, BiConsumer<Long, String> consumer) {
+		this.jdbcTemplate.getJdbcTemplate().execute("CREATE INDEX ON advertisement_import_staging (title, line)");
+		this.jdbcTemplate.getJdbcTemplate().execute("ANALYZE advertisement_import_staging");
+		this.jdbcTemplate.query(REJECT_DUPLICATE_TITLES, new MapSqlParameterSource("ownerId", ownerId), rs -> {
+			consumer.accept(rs.getLong("line"), rs.getString("title"));
+		});
+	}
+
+	int merge(UUID ownerId, LocalDateTime insertedAt) {
+		return this.jdbcTemplate.update(MERGE, new MapSqlParameterSource()
+				.addValue("ownerId", ownerId)
+				.addValue("insertedAt", insertedAt));
+	}
+
+	// quoted csv value, an unquoted empty value is null to COPY
+	private static StringBuilder appendCsv(StringBuilder csv, Object value) {
+		if (value == null) {
+			return csv;
+		}
+		return csv.append('"').append(value.toString().replace("\"", "\"\"")).append('"');
+	}
+
+}
+
+/**
+ * Reads an import body one record at a time, so only the current record is held in memory. A record that can not be
+ * parsed is returned with its error instead of ending the import.
+ */
+interface AdvertisementImportReader extends Closeable {
+
+	/**
+	 * Returns the next record, or {@code null} at the end of the body.
+	 */
+	ImportRecord next() throws IOException;
+
+	static AdvertisementImportReader of(ImportFormat format, InputStream input, ObjectMapper mapper) {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+		return switch (format) {
+			case NDJSON -> new NdjsonImportReader(reader, mapper);
+			case CSV -> new CsvImportReader(reader, mapper);
+		};
+	}
+
+}
+
+/**
+ * One JSON object per line. Each line is handed to Jackson's parser on its own, so a malformed line costs only that
+ * row instead of leaving the parser somewhere inside the rest of the body.
+ */
+final class NdjsonImportReader implements AdvertisementImportReader {
+
+	private final BufferedReader reader;
+	private final ObjectMapper mapper;
+	private long line;
+
+	NdjsonImportReader(BufferedReader reader, ObjectMapper mapper) {
+		this.reader = reader;
+		this.mapper = mapper;
+	}
+
+	@Override
+	public ImportRecord next() throws IOException {
+		String text;
+		while ((text = this.reader.readLine()) != null) {
+			this.line++;
+			if (text.isBlank()) {
+				continue;
+			}
+			try {
+				JsonNode node = this.mapper.readTree(text);
+				return node instanceof ObjectNode row ? ImportRecord.of(this.line, row) : ImportRecord.failed(this.line, "a JSON object is expected");
+			} catch (JsonProcessingException ex) {
+				return ImportRecord.failed(this.line, ex.getOriginalMessage());
+			}
+		}
+		return null;
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.reader.close();
+	}
+
+}
+
+/**
+ * A header record naming the fields followed by one record per advertisement. The {@code attributes} column holds the
+ * attributes as JSON, every other column holds text that is converted like the fields of a JSON row.
+ */
+final class CsvImportReader implements AdvertisementImportReader {
+
+	private static final String ATTRIBUTES = "attributes";
+
+	private final CsvRecordReader reader;
+	private final ObjectMapper mapper;
+	private List<String> header;
+
+	CsvImportReader(BufferedReader reader, ObjectMapper mapper) {
+		this.reader = new CsvRecordReader(reader);
+		this.mapper = mapper;
+	}
+
+	@Override
+	public ImportRecord next() throws IOException {
+		if (this.header == null) {
+			List<String> names = this.reader.next();
+			if (names == null) {
+				return null;
+			}
+			this.header = names.stream().map(name -> name.replace("\uFEFF", "").trim()).toList();
+		}
+		while (true) {
+			List<String> values;
+			try {
+				values = this.reader.next();
+			} catch (EOFException ex) {
+				return ImportRecord.failed(this.reader.recordLine(), ex.getMessage());
+			}
+			if (values == null) {
+				return null;
+			}
+			if (values.size() == 1 && values.get(0).isEmpty()) {
+				continue;
+			}
+			long line = this.reader.recordLine();
+			if (values.size() != this.header.size()) {
+				return ImportRecord.failed(line, this.header.size() + " columns are expected but " + values.size() + " were found");
+			}
+			ObjectNode row = this.mapper.createObjectNode();
+			for (int i = 0; i < values.size(); i++) {
+				String value = values.get(i);
+				if (value.isEmpty()) {
+					continue;
+				}
+				if (ATTRIBUTES.equals(this.header.get(i))) {
+					try {
+						row.set(ATTRIBUTES, this.mapper.readTree(value));
+					} catch (JsonProcessingException ex) {
+						return ImportRecord.failed(line, ex.getOriginalMessage());
+					}
+				} else {
+					row.put(this.header.get(i), value);
+				}
+			}
+			return ImportRecord.of(line, row);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.reader.close();
+	}
+
+}
+
+/**
+ * Minimal RFC 4180 reader: comma separated fields, fields in double quotes may contain commas, line breaks and doubled
+ * quotes, and records end with LF or CRLF.
+ */
+final class CsvRecordReader implements Closeable {
+
+	private final Reader reader;
+	private long line = 1;
+	private long recordLine;
+
+	CsvRecordReader(Reader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * Returns the fields of the next record, or {@code null} at the end of the input.
+	 *
+	 * @throws EOFException when the input ends inside a quoted field
+	 */
+	List<String> next() throws IOException {
+		int character = this.reader.read();
+		if (character == -1) {
+			return null;
+		}
+		this.recordLine = this.line;
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		while (true) {
+			if (quoted) {
+				if (character == -1) {
+					throw new EOFException("quoted field starting on line " + this.recordLine + " is not closed");
+				}
+				if (character == '"') {
+					int next = this.reader.read();
+					if (next != '"') {
+						quoted = false;
+						character = next;
+						continue;
+					}
+					field.append('"');
+				} else {
+					if (character == '\n') {
+						this.line++;
+					}
+					field.append((char) character);
+				}
+			} else if (character == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else if (character == '\n' || character == -1) {
+				if (character == '\n') {
+					this.line++;
+				}
+				fields.add(field.toString());
+				return fields;
+			} else if (character == '"' && field.isEmpty()) {
+				quoted = true;
+			} else if (character != '\r') {
+				field.append((char) character);
+			}
+			character = this.reader.read();
+		}
+	}
+
+	long recordLine() {
+		return this.recordLine;
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.reader.close();
+	}
+
+}
+
+enum ImportFormat {
+	NDJSON,
+	CSV
+}
+
+record ImportRecord(long line, ObjectNode row, String error) {
+
+	static ImportRecord of(long line, ObjectNode row) {
+		return new ImportRecord(line, row, null);
+	}
+
+	static ImportRecord failed(long line, String error) {
+		return new ImportRecord(line, null, error);
+	}
+
+}
+
+record AdvertisementImportRow(
+		String title,
+		String description,
+		String price,
+		String type,
+		AdvertisementAttributes attributes,
+		UUID provinceId,
+		UUID cityId,
+		Double latitude,
+		Double longitude,
+		UUID categoryId) {}
+
+record StagedAdvertisement(
+		long line,
+		UUID id,
+		UUID locationId,
+		AdvertisementImportRow row,
+		BigDecimal price,
+		AdvertisementType type,
+		String attributes) {}
+
+record AdvertisementImportError(long line, String message) {}
+
+record AdvertisementImportReport(
+		long total,
+		long imported,
+		long rejected,
+		List<AdvertisementImportError> errors) {}
+
+record AdvertisementsImportedEvent(UUID ownerId, LocalDateTime insertedAt) {}
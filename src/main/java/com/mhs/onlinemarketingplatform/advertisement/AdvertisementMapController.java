@@ -0,0 +1,384 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementMapProperties;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.InvalidSearchCriteriaException;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.SearchErrorCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Service;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+@Controller
+@ResponseBody
+class AdvertisementMapController {
+
+	private final AdvertisementMapService advertisementMapService;
+
+	AdvertisementMapController(AdvertisementMapService advertisementMapService) {
+		this.advertisementMapService = advertisementMapService;
+	}
+
+	@GetMapping("/api/advertisements/map")
+	List<MapClusterResponse> findClusters(
+			@RequestParam("bbox") String bbox,
+			@RequestParam("zoom") int zoom) {
+		return this.advertisementMapService.findClusters(bbox, zoom);
+	}
+
+}
+
+@Service
+class AdvertisementMapService {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementMapService.class);
+
+	private final AdvertisementMapClusters advertisementMapClusters;
+	private final AdvertisementMapProperties properties;
+	private final MessageSource messageSource;
+
+	AdvertisementMapService(
+			AdvertisementMapClusters advertisementMapClusters,
+			AdvertisementMapProperties properties,
+			MessageSource messageSource) {
+		this.advertisementMapClusters = advertisementMapClusters;
+		this.properties = properties;
+		this.messageSource = messageSource;
+	}
+
+	/**
+	 * Returns the clusters of the viewport, most populated first. The bounding box is given in the usual
+	 * {@code minLongitude,minLatitude,maxLongitude,maxLatitude} order. Panning never touches the database: the
+	 * representative carries what a marker shows, and the details of an advertisement are loaded when it is opened.
+	 */
+	List<MapClusterResponse> findClusters(String bbox, int zoom) {
+		double[] box = parseBox(bbox);
+		double minLongitude = box[0], minLatitude = box[1], maxLongitude = box[2], maxLatitude = box[3];
+		validateCoordinates(minLatitude, minLongitude);
+		validateCoordinates(maxLatitude, maxLongitude);
+		if (minLatitude > maxLatitude || minLongitude > maxLongitude) {
+			throw invalid("error.search.geo.box.invalid", minLatitude, minLongitude, maxLatitude, maxLongitude);
+		}
+		if (zoom < 0 || zoom > this.properties.maxZoom()) {
+			throw invalid("error.search.map.zoom.invalid", zoom, this.properties.maxZoom());
+		}
+		int precision = AdvertisementMapClusters.precision(zoom, this.properties.maxPrecision());
+		logger.info("Looking up map clusters of precision {} within ({}, {}) and ({}, {})", precision, minLatitude, minLongitude, maxLatitude, maxLongitude);
+		return this.advertisementMapClusters.find(minLatitude, minLongitude, maxLatitude, maxLongitude, precision, this.properties.maxClusters()).stream()
+				.map(cluster -> new MapClusterResponse(cluster.geohash(), cluster.count(), cluster.latitude(), cluster.longitude(), cluster.representative()))
+				.toList();
+	}
+
+	private double[] parseBox(String bbox) {
+		String[] parts = bbox.split(",");
+		if (parts.length != 4) {
+			throw invalid("error.search.map.bbox.invalid", bbox);
+		}
+		double[] box = new double[4];
+		try {
+			for (int i = 0; i < parts.length; i++) {
+				box[i] = Double.parseDouble(parts[i].trim());
+			}
+		} catch (NumberFormatException ex) {
+			throw invalid("error.search.map.bbox.invalid", bbox);
+		}
+		return box;
+	}
+
+	private void validateCoordinates(double latitude, double longitude) {
+		if (!(latitude >= -90 && latitude <= 90) || !(longitude >= -180 && longitude <= 180)) {
+			throw invalid("error.search.geo.coordinates.invalid", latitude, longitude);
+		}
+	}
+
+	private InvalidSearchCriteriaException invalid(String key, Object... args) {
+		return new InvalidSearchCriteriaException(
+				messageSource.getMessage(key, args, LocaleContextHolder.getLocale()),
+				SearchErrorCode.INVALID_SEARCH_CRITERIA);
+	}
+
+}
+
+/**
+ * Pre-aggregated geohash cells of active advertisements, one level per geohash precision. Every cell keeps the count
+ * and the coordinate sums of the advertisements inside it plus one representative advertisement, whose title, price
+ * and type are kept with its placement, so a viewport is answered without a query. Placing or dropping an
+ * advertisement touches exactly one cell per level, so the aggregates follow the index events instead of being
+ * recomputed. A viewport at a zoom level is answered from the level whose cells are a fraction of the tile size, by
+ * looking up the cells overlapping the box, or by filtering the level when it has fewer cells than the box. A cell is
+ * addressed by its column and row, the de-interleaved longitude and latitude bits of its geohash. Written
+ * from the advertisement index thread, read from request threads.
+ */
+@Component
+class AdvertisementMapClusters {
+
+	private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+	private final int maxPrecision;
+	private final List<Map<Long, ClusterCell>> levels = new ArrayList<>();
+	private final Map<UUID, Placement> placements = new HashMap<>();
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	AdvertisementMapClusters(AdvertisementMapProperties properties) {
+		this.maxPrecision = properties.maxPrecision();
+		for (int precision = 1; precision <= this.maxPrecision; precision++) {
+			this.levels.add(new HashMap<>());
+		}
+	}
+
+	/**
+	 * Geohash precision whose cells are roughly a quarter of a 256 pixel map tile wide at the zoom level.
+	 */
+	static int precision(int zoom, int maxPrecision) {
+		return Math.min(Math.max(Math.round((zoom + 2) * 2 / 5f), 1), maxPrecision);
+	}
+
+	void put(MapRepresentative advertisement, double latitude, double longitude) {
+		UUID id = advertisement.id();
+		this.lock.writeLock().lock();
+		try {
+			Placement previous = this.placements.get(id);
+			if (previous != null) {
+				if (previous.latitude() == latitude && previous.longitude() == longitude) {
+					this.placements.put(id, new Placement(latitude, longitude, advertisement));
+					return;
+				}
+				detach(id, previous);
+			}
+			Placement placement = new Placement(latitude, longitude, advertisement);
+			this.placements.put(id, placement);
+			for (int precision = 1; precision <= this.maxPrecision; precision++) {
+				int column = column(longitude, precision);
+				int row = row(latitude, precision);
+				boolean finest = precision == this.maxPrecision;
+				ClusterCell cell = level(precision).computeIfAbsent(cellKey(column, row), key -> new ClusterCell(column, row, finest));
+				cell.count++;
+				cell.latitudeSum += latitude;
+				cell.longitudeSum += longitude;
+				if (cell.representativeId == null) {
+					cell.representativeId = id;
+				}
+				if (finest) {
+					cell.members.add(id);
+				}
+			}
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	boolean remove(UUID id) {
+		this.lock.writeLock().lock();
+		try {
+			Placement previous = this.placements.remove(id);
+			if (previous == null) {
+				return false;
+			}
+			detach(id, previous);
+			return true;
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	List<MapCluster> find(double minLatitude, double minLongitude, double maxLatitude, double maxLongitude, int precision, int limit) {
+		int minColumn = column(minLongitude, precision);
+		int maxColumn = column(maxLongitude, precision);
+		int minRow = row(minLatitude, precision);
+		int maxRow = row(maxLatitude, precision);
+		List<MapCluster> clusters = new ArrayList<>();
+		this.lock.readLock().lock();
+		try {
+			Map<Long, ClusterCell> level = level(precision);
+			if ((long) (maxColumn - minColumn + 1) * (maxRow - minRow + 1) <= level.size()) {
+				for (int column = minColumn; column <= maxColumn; column++) {
+					for (int row = minRow; row <= maxRow; row++) {
+						ClusterCell cell = level.get(cellKey(column, row));
+						if (cell != null) {
+							clusters.add(cluster(cell, precision));
+						}
+					}
+				}
+			} else {
+				for (ClusterCell cell : level.values()) {
+					if (cell.column >= minColumn && cell.column <= maxColumn && cell.row >= minRow && cell.row <= maxRow) {
+						clusters.add(cluster(cell, precision));
+					}
+				}
+			}
+		} finally {
+			this.lock.readLock().unlock();
+		}
+		if (clusters.size() <= limit) {
+			clusters.sort(Comparator.comparingLong(MapCluster::count).reversed());
+			return clusters;
+		}
+		BoundedHeap heap = new BoundedHeap(limit);
+		for (int slot = 0; slot < clusters.size(); slot++) {
+			heap.offer(slot, -clusters.get(slot).count());
+		}
+		return heap.drain((slot, key) -> clusters.get(slot));
+	}
+
+	int size() {
+		this.lock.readLock().lock();
+		try {
+			return this.placements.size();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	static String geohash(int column, int row, int precision) {
+		int columnBits = columnBits(precision);
+		int rowBits = rowBits(precision);
+		StringBuilder geohash = new StringBuilder(precision);
+		int character = 0;
+		for (int bit = 0; bit < 5 * precision; bit++) {
+			// geohash bits alternate between longitude and latitude, longitude first
+			int value = bit % 2 == 0
+					? (column >>> (columnBits - 1 - bit / 2)) & 1
+					: (row >>> (rowBits - 1 - bit / 2)) & 1;
+			character = (character << 1) | value;
+			if (bit % 5 == 4) {
+				geohash.append(BASE32.charAt(character));
+				character = 0;
+			}
+		}
+		return geohash.toString();
+	}
+
+	// the finest level first, so every coarser level can take its new representative from the level below it
+	private void detach(UUID id, Placement placement) {
+		for (int precision = this.maxPrecision; precision >= 1; precision--) {
+			int column = column(placement.longitude(), precision);
+			int row = row(placement.latitude(), precision);
+			long key = cellKey(column, row);
+			ClusterCell cell = level(precision).get(key);
+			cell.count--;
+			cell.latitudeSum -= placement.latitude();
+			cell.longitudeSum -= placement.longitude();
+			if (precision == this.maxPrecision) {
+				cell.members.remove(id);
+			}
+			if (cell.count == 0) {
+				level(precision).remove(key);
+			} else if (id.equals(cell.representativeId)) {
+				cell.representativeId = precision == this.maxPrecision
+						? cell.members.iterator().next()
+						: childRepresentative(column, row, precision);
+			}
+		}
+	}
+
+	private UUID childRepresentative(int column, int row, int precision) {
+		int columnShift = columnBits(precision + 1) - columnBits(precision);
+		int rowShift = rowBits(precision + 1) - rowBits(precision);
+		Map<Long, ClusterCell> finer = level(precision + 1);
+		for (int childColumn = column << columnShift; childColumn < (column + 1) << columnShift; childColumn++) {
+			for (int childRow = row << rowShift; childRow < (row + 1) << rowShift; childRow++) {
+				ClusterCell child = finer.get(cellKey(childColumn, childRow));
+				if (child != null) {
+					return child.representativeId;
+				}
+			}
+		}
+		return null;
+	}
+
+	private MapCluster cluster(ClusterCell cell, int precision) {
+		return new MapCluster(
+				geohash(cell.column, cell.row, precision),
+				cell.count,
+				cell.latitudeSum / cell.count,
+				cell.longitudeSum / cell.count,
+				cell.representativeId == null ? null : this.placements.get(cell.representativeId).representative());
+	}
+
+	private Map<Long, ClusterCell> level(int precision) {
+		return this.levels.get(precision - 1);
+	}
+
+	private static int columnBits(int precision) {
+		return (5 * precision + 1) / 2;
+	}
+
+	private static int rowBits(int precision) {
+		return 5 * precision / 2;
+	}
+
+	private static int column(double longitude, int precision) {
+		int cells = 1 << columnBits(precision);
+		return Math.min((int) ((longitude + 180) / 360 * cells), cells - 1);
+	}
+
+	private static int row(double latitude, int precision) {
+		int cells = 1 << rowBits(precision);
+		return Math.min((int) ((latitude + 90) / 180 * cells), cells - 1);
+	}
+
+	private static long cellKey(int column, int row) {
+		return ((long) column << 32) | (row & 0xffffffffL);
+	}
+
+	private record Placement(double latitude, double longitude, MapRepresentative representative) {}
+
+	private static final class ClusterCell {
+
+		private final int column;
+		private final int row;
+		// only cells of the finest level know their members, coarser cells pick representatives from the level below
+		private final Set<UUID> members;
+		private long count;
+		private double latitudeSum;
+		private double longitudeSum;
+		private UUID representativeId;
+
+		private ClusterCell(int column, int row, boolean finest) {
+			this.column = column;
+			this.row = row;
+			this.members = finest ? new LinkedHashSet<>() : null;
+		}
+
+	}
+
+}
+
+record MapCluster(String geohash, long count, double latitude, double longitude, MapRepresentative representative) {}
+
+record MapRepresentative(UUID id, String title, BigDecimal price, AdvertisementType type) {}
+
+record MapClusterResponse(
+		String geohash,
+		long count,
+		double latitude,
+		double longitude,
+		MapRepresentative representative) {}
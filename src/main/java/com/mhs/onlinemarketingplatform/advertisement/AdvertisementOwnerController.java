@@ -0,0 +1,341 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.error.search.InvalidSearchCriteriaException;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.InvalidSearchCursorException;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.SearchErrorCode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+@Controller
+@ResponseBody
+class AdvertisementOwnerController {
+
+	private final AdvertisementOwnerService advertisementOwnerService;
+	private final static String OWNER = "79e784ec-b22d-456c-807f-300a44bffc2c";
+
+	AdvertisementOwnerController(AdvertisementOwnerService advertisementOwnerService) {
+		this.advertisementOwnerService = advertisementOwnerService;
+	}
+
+	@GetMapping("/api/me/advertisements/slice")
+	AdvertisementOwnerSlicedResponse<AdvertisementResponse> findSliceByOwner(
+			@RequestParam(value = "status", required = false) String status,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", defaultValue = "20") int size) {
+		return this.advertisementOwnerService.findSliceByOwnerId(UUID.fromString(OWNER), status, cursor, size);
+	}
+
+	@GetMapping("/api/me/advertisements/counts")
+	AdvertisementOwnerCountsResponse findCountsByOwner() {
+		return this.advertisementOwnerService.findCountsByOwnerId(UUID.fromString(OWNER));
+	}
+
+}
+
+/**
+ * Pages through the advertisements of an owner, newest first, by seeking past the last row of the previous slice
+ * instead of skipping an offset, and takes the totals from {@link AdvertisementOwnerCounterRepository} instead of
+ * counting the rows.
+ */
+@Service
+@Transactional(readOnly = true)
+class AdvertisementOwnerService {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementOwnerService.class);
+	private static final int MAX_PAGE_SIZE = 100;
+
+	private final AdvertisementOwnerRepository advertisementOwnerRepository;
+	private final AdvertisementOwnerCounterRepository advertisementOwnerCounterRepository;
+	private final AdvertisementMapper mapper;
+	private final MessageSource messageSource;
+
+	AdvertisementOwnerService(
+			AdvertisementOwnerRepository advertisementOwnerRepository,
+			AdvertisementOwnerCounterRepository advertisementOwnerCounterRepository,
+			AdvertisementMapper mapper,
+			MessageSource messageSource) {
+		this.advertisementOwnerRepository = advertisementOwnerRepository;
+		this.advertisementOwnerCounterRepository = advertisementOwnerCounterRepository;
+		this.mapper = mapper;
+		this.messageSource = messageSource;
+	}
+
+	AdvertisementOwnerSlicedResponse<AdvertisementResponse> findSliceByOwnerId(UUID ownerId, String status, String cursor, int size) {
+		AdvertisementStatus advertisementStatus = parseStatus(status);
+		AdvertisementSearchCursor after = decodeCursor(cursor);
+		int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+		logger.info("Retriving a slice of advertisements by their OWNER: {} STATUS: {}", ownerId, advertisementStatus);
+
+		List<Advertisement> advertisements = this.advertisementOwnerRepository.findSlice(ownerId, advertisementStatus, after, pageSize + 1);
+		boolean hasNext = advertisements.size() > pageSize;
+		List<Advertisement> content = hasNext ? advertisements.subList(0, pageSize) : advertisements;
+		String nextCursor = hasNext ? AdvertisementSearchCursor.of(AdvertisementSearchSort.NEWEST, content.get(content.size() - 1)).encode() : null;
+
+		return new AdvertisementOwnerSlicedResponse<>(
+				content.stream().map(this.mapper::mapAdvertisementToResponse).toList(),
+				content.size(),
+				hasNext,
+				nextCursor,
+				total(this.advertisementOwnerCounterRepository.findByOwnerId(ownerId), advertisementStatus));
+	}
+
+	AdvertisementOwnerCountsResponse findCountsByOwnerId(UUID ownerId) {
+		Map<AdvertisementStatus, Long> counts = this.advertisementOwnerCounterRepository.findByOwnerId(ownerId);
+		return new AdvertisementOwnerCountsResponse(
+				total(counts, AdvertisementStatus.ACTIVE),
+				total(counts, AdvertisementStatus.INACTIVE),
+				total(counts, null));
+	}
+
+	// all statuses together when no status is given
+	static long total(Map<AdvertisementStatus, Long> counts, AdvertisementStatus status) {
+		return status == null
+				? counts.values().stream().mapToLong(Long::longValue).sum()
+				: counts.getOrDefault(status, 0L);
+	}
+
+	private AdvertisementStatus parseStatus(String status) {
+		if (status == null || status.isBlank()) {
+			return null;
+		}
+		try {
+			return AdvertisementStatus.valueOf(status.trim().toUpperCase());
+		} catch (IllegalArgumentException ex) {
+			throw new InvalidSearchCriteriaException(
+					messageSource.getMessage("error.search.status.invalid",
+							new Object[]{status},
+							LocaleContextHolder.getLocale()),
+					SearchErrorCode.INVALID_SEARCH_CRITERIA);
+		}
+	}
+
+	private AdvertisementSearchCursor decodeCursor(String cursor) {
+		if (cursor == null || cursor.isBlank()) {
+			return null;
+		}
+		return AdvertisementSearchCursor.decode(cursor, AdvertisementSearchSort.NEWEST).orElseThrow(() ->
+				new InvalidSearchCursorException(
+						messageSource.getMessage("error.search.cursor.invalid",
+								new Object[]{cursor, AdvertisementSearchSort.NEWEST},
+								LocaleContextHolder.getLocale()),
+						SearchErrorCode.INVALID_SEARCH_CURSOR));
+	}
+
+}
+
+@Repository
+class AdvertisementOwnerRepository {
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final AdvertisementRowMapper advertisementRowMapper;
+
+	AdvertisementOwnerRepository(NamedParameterJdbcTemplate jdbcTemplate, AdvertisementRowMapper advertisementRowMapper) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.advertisementRowMapper = advertisementRowMapper;
+	}
+
+	List<Advertisement> findSlice(UUID ownerId, AdvertisementStatus status, AdvertisementSearchCursor after, int limit) {
+		MapSqlParameterSource params = new MapSqlParameterSource("ownerId", ownerId);
+		StringBuilder sql = new StringBuilder("SELECT ").append(AdvertisementSearchRepository.ADVERTISEMENT_COLUMNS)
+				.append(" FROM advertisements a WHERE a.owner_id = :ownerId");
+		if (status != null) {
+			sql.append(" AND a.advertisement_status = :status");
+			params.addValue("status", status.name());
+		}
+		AdvertisementSearchRepository.appendKeyset(sql, params, AdvertisementSearchSort.NEWEST, after);
+		sql.append(" LIMIT :limit");
+		params.addValue("limit", limit);
+		return this.jdbcTemplate.query(sql.toString(), params, this.advertisementRowMapper);
+	}
+
+}
+
+/**
+ * Number of advertisements per owner and status. Every write that creates, deletes or changes the status of
+ * advertisements adjusts the counters in its own transaction, so they are exactly as current as the rows they count.
+ */
+@Repository
+class AdvertisementOwnerCounterRepository {
+
+	private static final String ADD = """
+			INSERT INTO advertisement_owner_counters (owner_id, advertisement_status, advertisement_count)
+			VALUES (:ownerId, :status, :delta)
+			ON CONFLICT (owner_id, advertisement_status)
+			DO UPDATE SET advertisement_count = advertisement_owner_counters.advertisement_count + EXCLUDED.advertisement_count
+			""";
+
+	// the next owners after :after that have advertisements or counters, each side read in the order of its index
+	private static final String OWNERS = """
+			SELECT owner_id FROM (
+				(SELECT DISTINCT owner_id FROM advertisements
+				WHERE CAST(:after AS uuid) IS NULL OR owner_id > :after ORDER BY owner_id LIMIT :batchSize)
+				UNION
+				(SELECT DISTINCT owner_id FROM advertisement_owner_counters
+				WHERE CAST(:after AS uuid) IS NULL OR owner_id > :after ORDER BY owner_id LIMIT :batchSize)) owners
+			ORDER BY owner_id
+			LIMIT :batchSize
+			""";
+
+	// locks the counters of the owners in the order move() locks them, so a reconcile and a move can't deadlock
+	private static final String LOCK = """
+			SELECT owner_id FROM advertisement_owner_counters WHERE owner_id = ANY(CAST(:owners AS uuid[]))
+			ORDER BY owner_id, advertisement_status
+			FOR UPDATE
+			""";
+
+	// recounts the owners' advertisements and only writes the counters that differ, so running it again is harmless
+	private static final String RECONCILE = """
+			INSERT INTO advertisement_owner_counters (owner_id, advertisement_status, advertisement_count)
+			SELECT owner_id, advertisement_status, advertisement_count FROM (
+				SELECT o.owner_id, s.advertisement_status, (
+					SELECT COUNT(*) FROM advertisements a
+					WHERE a.owner_id = o.owner_id AND a.advertisement_status = s.advertisement_status) AS advertisement_count
+				FROM unnest(CAST(:owners AS uuid[])) AS o(owner_id)
+				CROSS JOIN (VALUES ('ACTIVE'), ('INACTIVE')) AS s(advertisement_status)) counted
+			WHERE advertisement_count <> 0 OR EXISTS (
+				SELECT 1 FROM advertisement_owner_counters c
+				WHERE c.owner_id = counted.owner_id AND c.advertisement_status = counted.advertisement_status)
+			ORDER BY owner_id, advertisement_status
+			ON CONFLICT (owner_id, advertisement_status)
+			DO UPDATE SET advertisement_count = EXCLUDED.advertisement_count
+			WHERE advertisement_owner_counters.advertisement_count <> EXCLUDED.advertisement_count
+			""";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	AdvertisementOwnerCounterRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	void increment(UUID ownerId, AdvertisementStatus status, long delta) {
+		this.jdbcTemplate.update(ADD, params(ownerId, status, delta));
+	}
+
+	// the rows are always locked in the order of the statuses, so two opposite moves of one owner can't deadlock
+	void move(UUID ownerId, AdvertisementStatus from, AdvertisementStatus to, long count) {
+		Map<AdvertisementStatus, Long> deltas = new EnumMap<>(AdvertisementStatus.class);
+		deltas.put(from, -count);
+		deltas.put(to, count);
+		this.jdbcTemplate.batchUpdate(ADD, deltas.entrySet().stream()
+				.map(delta -> params(ownerId, delta.getKey(), delta.getValue()))
+				.toArray(MapSqlParameterSource[]::new));
+	}
+
+	Map<AdvertisementStatus, Long> findByOwnerId(UUID ownerId) {
+		Map<AdvertisementStatus, Long> counts = new EnumMap<>(AdvertisementStatus.class);
+		this.jdbcTemplate.query(
+				"SELECT advertisement_status, advertisement_count FROM advertisement_owner_counters WHERE owner_id = :ownerId",
+				new MapSqlParameterSource("ownerId", ownerId),
+				rs -> {
+					counts.put(AdvertisementStatus.valueOf(rs.getString("advertisement_status")), rs.getLong("advertisement_count"));
+				});
+		return counts;
+	}
+
+	List<UUID> findOwners(UUID after, int batchSize) {
+		return this.jdbcTemplate.queryForList(OWNERS,
+				new MapSqlParameterSource("after", after).addValue("batchSize", batchSize), UUID.class);
+	}
+
+	// the row locks wait for the writes that already moved a counter of these owners to commit and hold off new ones,
+	// so the count sees exactly the advertisements the counters were moved for; a write that has not reached its
+	// counter yet is not counted and adds its delta once the reconcile has committed
+	@Transactional
+	int reconcile(List<UUID> ownerIds) {
+		MapSqlParameterSource params = new MapSqlParameterSource("owners", AdvertisementSearchRepository.uuidArray(ownerIds));
+		this.jdbcTemplate.queryForList(LOCK, params, UUID.class);
+		return this.jdbcTemplate.update(RECONCILE, params);
+	}
+
+	private static MapSqlParameterSource params(UUID ownerId, AdvertisementStatus status, long delta) {
+		return new MapSqlParameterSource()
+				.addValue("ownerId", ownerId)
+				.addValue("status", status.name())
+				.addValue("delta", delta);
+	}
+
+}
+
+/**
+ * Recounts the owner counters on start up, in batches of owners on the rebuild worker, so start up does not wait for it
+ * and a batch only holds the counters of its own owners.
+ */
+@Component
+class AdvertisementOwnerCounterLoader {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementOwnerCounterLoader.class);
+
+	private static final int BATCH_SIZE = 500;
+
+	private final AdvertisementOwnerCounterRepository advertisementOwnerCounterRepository;
+
+	AdvertisementOwnerCounterLoader(AdvertisementOwnerCounterRepository advertisementOwnerCounterRepository) {
+		this.advertisementOwnerCounterRepository = advertisementOwnerCounterRepository;
+	}
+
+	@Async("advertisementRebuildTaskExecutor")
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		long started = System.currentTimeMillis();
+		int reconciled = 0;
+		List<UUID> owners = this.advertisementOwnerCounterRepository.findOwners(null, BATCH_SIZE);
+		while (!owners.isEmpty()) {
+			reconciled += this.advertisementOwnerCounterRepository.reconcile(owners);
+			if (owners.size() < BATCH_SIZE) {
+				break;
+			}
+			owners = this.advertisementOwnerCounterRepository.findOwners(owners.get(owners.size() - 1), BATCH_SIZE);
+		}
+		if (reconciled > 0) {
+			logger.info("Reconciled {} owner advertisement counters in {} ms", reconciled, System.currentTimeMillis() - started);
+		}
+	}
+
+}
+
+record AdvertisementOwnerSlicedResponse<T>(
+		List<T> content,
+		int size,
+		boolean hasNext,
+		String nextCursor,
+		long totalElements) {}
+
+record AdvertisementOwnerCountsResponse(long active, long inactive, long total) {}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementPartitionProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Keeps monthly partitions of {@code advertisements_hot} created ahead of time, so new advertisements never land in
+ * the default partition.
+ *
+ * @author Milad Haghighat Shahedi
+ */
+@Component
+class AdvertisementPartitionManager {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementPartitionManager.class);
+
+	private final AdvertisementPartitionRepository advertisementPartitionRepository;
+	private final AdvertisementPartitionProperties properties;
+
+	AdvertisementPartitionManager(AdvertisementPartitionRepository advertisementPartitionRepository, AdvertisementPartitionProperties properties) {
+		this.advertisementPartitionRepository = advertisementPartitionRepository;
+		this.properties = properties;
+	}
+
+	@Async("advertisementArchiveTaskExecutor")
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${advertisement.partition.maintenance_interval_in_ms}", initialDelayString = "${advertisement.partition.maintenance_interval_in_ms}")
+	public void createPartitions() {
+		YearMonth current = YearMonth.now();
+		for (int i = 0; i <= this.properties.monthsAhead(); i++) {
+			AdvertisementPartition partition = AdvertisementPartition.of(current.plusMonths(i));
+			try {
+				if (this.advertisementPartitionRepository.create(partition)) {
+					logger.info("Created advertisement partition {} for [{}, {})", partition.name(), partition.from(), partition.to());
+				}
+			} catch (DataAccessException e) {
+				logger.warn("Could not create advertisement partition {}: {}", partition.name(), e.getMostSpecificCause().getMessage());
+			}
+		}
+	}
+
+}
+
+/**
+ * Moves advertisements that have been inactive for a long time into the cold partition, a small batch per
+ * transaction with a pause in between, so the hot partitions and their indexes only hold listings that are still
+ * likely to be searched. Activating an archived advertisement moves it back.
+ *
+ * @author Milad Haghighat Shahedi
+ */
+@Component
+class AdvertisementArchiver {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementArchiver.class);
+
+	private final AdvertisementPartitionRepository advertisementPartitionRepository;
+	private final AdvertisementPartitionProperties properties;
+
+	AdvertisementArchiver(AdvertisementPartitionRepository advertisementPartitionRepository, AdvertisementPartitionProperties properties) {
+		this.advertisementPartitionRepository = advertisementPartitionRepository;
+		this.properties = properties;
+	}
+
+	@Async("advertisementArchiveTaskExecutor")
+	@Scheduled(fixedDelayString = "${advertisement.partition.maintenance_interval_in_ms}", initialDelayString = "${advertisement.partition.maintenance_interval_in_ms}")
+	public void archive() {
+		long started = System.currentTimeMillis();
+		LocalDateTime cutoff = LocalDateTime.now().minusDays(this.properties.archiveAfterInDays());
+		int archived = 0;
+		for (int batch = 0; batch < this.properties.archiveMaxBatches(); batch++) {
+			int moved = this.advertisementPartitionRepository.archive(cutoff, this.properties.archiveBatchSize());
+			archived += moved;
+			if (moved < this.properties.archiveBatchSize()) {
+				break;
+			}
+			try {
+				Thread.sleep(this.properties.archivePauseInMs());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		logger.info("Archived {} advertisements inactive since before {} in {} ms", archived, cutoff, System.currentTimeMillis() - started);
+	}
+
+}
+
+@Repository
+class AdvertisementPartitionRepository {
+
+	// rows already locked by an owner's transaction are skipped and picked up by a later run
+	private static final String ARCHIVE = """
+			UPDATE advertisements SET archived = true
+			WHERE archived = false AND id IN (
+				SELECT h.id FROM advertisements_hot h
+				WHERE h.advertisement_status = 'INACTIVE' AND COALESCE(h.updated_at, h.inserted_at) < :cutoff
+				LIMIT :batchSize
+				FOR UPDATE SKIP LOCKED)
+			""";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	AdvertisementPartitionRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Creates the partition detached, moves the rows of its range out of the default partition into it and only then
+	 * attaches it, since attaching a range the default partition still has rows for is rejected.
+	 */
+	@Transactional
+	boolean create(AdvertisementPartition partition) {
+		Boolean exists = this.jdbcTemplate.queryForObject(
+				"SELECT to_regclass(:name) IS NOT NULL",
+				new MapSqlParameterSource("name", partition.name()),
+				Boolean.class);
+		if (Boolean.TRUE.equals(exists)) {
+			return false;
+		}
+		MapSqlParameterSource params = new MapSqlParameterSource()
+				.addValue("from", partition.from())
+				.addValue("to", partition.to());
+		this.jdbcTemplate.update(
+				"CREATE TABLE %s (LIKE advertisements_hot INCLUDING DEFAULTS INCLUDING CONSTRAINTS INCLUDING GENERATED)".formatted(partition.name()),
+				new MapSqlParameterSource());
+		// generated columns of promoted attributes are computed by the new partition, they can't be copied over
+		String columns = this.jdbcTemplate.queryForObject("""
+				SELECT string_agg(quote_ident(column_name), ', ' ORDER BY ordinal_position) FROM information_schema.columns
+				WHERE table_schema = current_schema() AND table_name = 'advertisements_hot' AND is_generated = 'NEVER'
+				""", new MapSqlParameterSource(), String.class);
+		this.jdbcTemplate.update("""
+				WITH moved AS (
+					DELETE FROM advertisements_hot_default WHERE inserted_at >= :from AND inserted_at < :to RETURNING *)
+				INSERT INTO %s (%s) SELECT %s FROM moved
+				""".formatted(partition.name(), columns, columns), params);
+		this.jdbcTemplate.update(
+				"ALTER TABLE advertisements_hot ATTACH PARTITION %s FOR VALUES FROM ('%s') TO ('%s')"
+						.formatted(partition.name(), partition.from(), partition.to()),
+				new MapSqlParameterSource());
+		return true;
+	}
+
+	int archive(LocalDateTime cutoff, int batchSize) {
+		return this.jdbcTemplate.update(ARCHIVE, new MapSqlParameterSource()
+				.addValue("cutoff", cutoff)
+				.addValue("batchSize", batchSize));
+	}
+
+}
+
+record AdvertisementPartition(String name, LocalDateTime from, LocalDateTime to) {
+
+	private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+	static AdvertisementPartition of(YearMonth month) {
+		return new AdvertisementPartition(
+				"advertisements_hot_p" + month.format(SUFFIX),
+				month.atDay(1).atStartOfDay(),
+				month.plusMonths(1).atDay(1).atStartOfDay());
+	}
+
+}
@@ -0,0 +1,397 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementPriceProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+@Controller
+@ResponseBody
+class AdvertisementPriceStatisticsController {
+
+	private final AdvertisementPriceStatisticsService advertisementPriceStatisticsService;
+
+	AdvertisementPriceStatisticsController(AdvertisementPriceStatisticsService advertisementPriceStatisticsService) {
+		this.advertisementPriceStatisticsService = advertisementPriceStatisticsService;
+	}
+
+	@GetMapping("/api/advertisements/prices")
+	AdvertisementPriceStatisticsResponse findPriceStatistics(
+			@RequestParam(value = "categoryId", required = false) UUID categoryId,
+			@RequestParam(value = "type", required = false) String type) {
+		return this.advertisementPriceStatisticsService.findPriceStatistics(categoryId, type);
+	}
+
+}
+
+@Service
+class AdvertisementPriceStatisticsService {
+
+	private final AdvertisementPriceStatistics advertisementPriceStatistics;
+	private final AdvertisementSearchService advertisementSearchService;
+
+	AdvertisementPriceStatisticsService(AdvertisementPriceStatistics advertisementPriceStatistics, AdvertisementSearchService advertisementSearchService) {
+		this.advertisementPriceStatistics = advertisementPriceStatistics;
+		this.advertisementSearchService = advertisementSearchService;
+	}
+
+	AdvertisementPriceStatisticsResponse findPriceStatistics(UUID categoryId, String type) {
+		PriceSketchKey key = new PriceSketchKey(categoryId, this.advertisementSearchService.parseType(type));
+		PriceSummary summary = this.advertisementPriceStatistics.summary(key);
+		return new AdvertisementPriceStatisticsResponse(
+				key.categoryId(),
+				key.type(),
+				summary.count(),
+				price(summary, summary.p10()),
+				price(summary, summary.p50()),
+				price(summary, summary.p90()));
+	}
+
+	private static BigDecimal price(PriceSummary summary, double value) {
+		return summary.count() == 0 ? null : BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+	}
+
+}
+
+/**
+ * Feeds every activated or repriced price into {@link AdvertisementPriceStatistics} and keeps the sketches in
+ * Postgres, so a restart does not need a scan of the advertisements table. A digest can only grow, so the prices of
+ * deactivated or deleted advertisements, and the old price of a repriced one, stay in it until the periodic rebuild
+ * recounts the sketches from the active rows.
+ * Loading and recounting run on the rebuild worker; prices activated meanwhile are recorded and added again once the
+ * index worker has swapped the new digests in.
+ */
+@Component
+class AdvertisementPriceIndexer {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementPriceIndexer.class);
+
+	private final AdvertisementPriceStatistics advertisementPriceStatistics;
+	private final AdvertisementPriceRepository advertisementPriceRepository;
+	private final Executor indexTaskExecutor;
+
+	private volatile Queue<PriceRow> addedDuringRebuild;
+
+	AdvertisementPriceIndexer(
+			AdvertisementPriceStatistics advertisementPriceStatistics,
+			AdvertisementPriceRepository advertisementPriceRepository,
+			@Qualifier("advertisementIndexTaskExecutor") Executor indexTaskExecutor) {
+		this.advertisementPriceStatistics = advertisementPriceStatistics;
+		this.advertisementPriceRepository = advertisementPriceRepository;
+		this.indexTaskExecutor = indexTaskExecutor;
+	}
+
+	@Async("advertisementRebuildTaskExecutor")
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		Queue<PriceRow> added = new ConcurrentLinkedQueue<>();
+		this.addedDuringRebuild = added;
+		try {
+			Map<PriceSketchKey, PriceDigest> stored = this.advertisementPriceRepository.findAll();
+			if (stored.isEmpty()) {
+				swap(recount(), added, true);
+				return;
+			}
+			swap(stored, added, false);
+			logger.info("Loaded {} price sketches", stored.size());
+		} catch (RuntimeException ex) {
+			this.addedDuringRebuild = null;
+			throw ex;
+		}
+	}
+
+	@Async("advertisementRebuildTaskExecutor")
+	@Scheduled(fixedDelayString = "${advertisement.price.rebuild_interval_in_ms}", initialDelayString = "${advertisement.price.rebuild_interval_in_ms}")
+	public void rebuild() {
+		long started = System.currentTimeMillis();
+		Queue<PriceRow> added = new ConcurrentLinkedQueue<>();
+		this.addedDuringRebuild = added;
+		try {
+			swap(recount(), added, true);
+		} catch (RuntimeException ex) {
+			this.addedDuringRebuild = null;
+			throw ex;
+		}
+		logger.info("Price sketches recounted in {} ms", System.currentTimeMillis() - started);
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@Scheduled(fixedDelayString = "${advertisement.price.persist_interval_in_ms}", initialDelayString = "${advertisement.price.persist_interval_in_ms}")
+	public void persist() {
+		Map<PriceSketchKey, byte[]> dirty = this.advertisementPriceStatistics.drainDirty();
+		if (!dirty.isEmpty()) {
+			this.advertisementPriceRepository.upsert(dirty);
+		}
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementActivatedEvent(AdvertisementActivatedEvent event) {
+		add(new PriceRow(event.categoryId(), event.type(), event.price()));
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementsBulkChangedEvent(AdvertisementsBulkChangedEvent event) {
+		if (event.change() == BulkChange.ACTIVATED || event.change() == BulkChange.REPRICED) {
+			event.advertisements().stream()
+					.filter(advertisement -> advertisement.status() == AdvertisementStatus.ACTIVE)
+					.forEach(advertisement -> add(new PriceRow(advertisement.categoryId(), advertisement.type(), advertisement.price())));
+		}
+	}
+
+	private Map<PriceSketchKey, PriceDigest> recount() {
+		Map<PriceSketchKey, PriceDigest> sketches = new HashMap<>();
+		this.advertisementPriceRepository.streamActive(row -> {
+			for (PriceSketchKey key : PriceSketchKey.of(row.categoryId(), row.type())) {
+				sketches.computeIfAbsent(key, ignored -> this.advertisementPriceStatistics.newDigest()).add(row.price().doubleValue());
+			}
+		});
+		return sketches;
+	}
+
+	private void swap(Map<PriceSketchKey, PriceDigest> digests, Queue<PriceRow> added, boolean persist) {
+		this.indexTaskExecutor.execute(() -> {
+			this.addedDuringRebuild = null;
+			this.advertisementPriceStatistics.replace(digests);
+			added.forEach(row -> this.advertisementPriceStatistics.add(row.categoryId(), row.type(), row.price()));
+			if (persist) {
+				this.advertisementPriceRepository.replaceAll(this.advertisementPriceStatistics.drainDirty());
+			}
+		});
+	}
+
+	private void add(PriceRow row) {
+		this.advertisementPriceStatistics.add(row.categoryId(), row.type(), row.price());
+		Queue<PriceRow> added = this.addedDuringRebuild;
+		if (added != null) {
+			added.add(row);
+		}
+	}
+
+}
+
+@Repository
+class AdvertisementPriceRepository {
+
+	private static final String UPSERT = """
+			INSERT INTO advertisement_price_sketches (sketch_key, category_id, advertisement_type, sketch, updated_at)
+			VALUES (:sketchKey, :categoryId, :type, :sketch, :updatedAt)
+			ON CONFLICT (sketch_key) DO UPDATE SET sketch = EXCLUDED.sketch, updated_at = EXCLUDED.updated_at
+			""";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final AdvertisementStreamingJdbcTemplate streamingJdbcTemplate;
+
+	AdvertisementPriceRepository(NamedParameterJdbcTemplate jdbcTemplate, AdvertisementStreamingJdbcTemplate streamingJdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.streamingJdbcTemplate = streamingJdbcTemplate;
+	}
+
+	@Transactional(readOnly = true)
+	void streamActive(Consumer<PriceRow> consumer) {
+		this.streamingJdbcTemplate.query("""
+				SELECT category_id, advertisement_type, price FROM advertisements
+				WHERE advertisement_status = 'ACTIVE'
+				""", new MapSqlParameterSource(), rs -> {
+			consumer.accept(new PriceRow(
+					rs.getObject("category_id", UUID.class),
+					AdvertisementType.valueOf(rs.getString("advertisement_type")),
+					rs.getBigDecimal("price")));
+		});
+	}
+
+	Map<PriceSketchKey, PriceDigest> findAll() {
+		Map<PriceSketchKey, PriceDigest> sketches = new HashMap<>();
+		this.jdbcTemplate.query("SELECT category_id, advertisement_type, sketch FROM advertisement_price_sketches", new MapSqlParameterSource(), rs -> {
+			String type = rs.getString("advertisement_type");
+			sketches.put(
+					new PriceSketchKey(rs.getObject("category_id", UUID.class), type == null ? null : AdvertisementType.valueOf(type)),
+					PriceDigest.fromBytes(rs.getBytes("sketch")));
+		});
+		return sketches;
+	}
+
+	void upsert(Map<PriceSketchKey, byte[]> sketches) {
+		LocalDateTime now = LocalDateTime.now();
+		MapSqlParameterSource[] batch = sketches.entrySet().stream()
+				.map(entry -> new MapSqlParameterSource()
+						.addValue("sketchKey", entry.getKey().asString())
+						.addValue("categoryId", entry.getKey().categoryId())
+						.addValue("type", entry.getKey().type() == null ? null : entry.getKey().type().name())
+						.addValue("sketch", entry.getValue())
+						.addValue("updatedAt", now))
+				.toArray(MapSqlParameterSource[]::new);
+		this.jdbcTemplate.batchUpdate(UPSERT, batch);
+	}
+
+	@Transactional
+	void replaceAll(Map<PriceSketchKey, byte[]> sketches) {
+		this.jdbcTemplate.update("DELETE FROM advertisement_price_sketches", new MapSqlParameterSource());
+		upsert(sketches);
+	}
+
+}
+
+/**
+ * One {@link PriceDigest} per filter context a price question can be asked in: all advertisements, a type, a category
+ * and a type within a category. Digests are only written from the single advertisement index thread. The 10th, 50th
+ * and 90th percentiles are recomputed by the first read after a write, so a run of activations compresses a digest
+ * once instead of once per price, and further reads return the cached summary.
+ */
+@Component
+class AdvertisementPriceStatistics {
+
+	private final double compression;
+	private volatile Map<PriceSketchKey, PriceSketch> sketches = new ConcurrentHashMap<>();
+
+	AdvertisementPriceStatistics(AdvertisementPriceProperties properties) {
+		this.compression = properties.compression();
+	}
+
+	PriceSummary summary(PriceSketchKey key) {
+		PriceSketch sketch = this.sketches.get(key);
+		return sketch == null ? PriceSummary.EMPTY : sketch.summary();
+	}
+
+	void add(UUID categoryId, AdvertisementType type, BigDecimal price) {
+		for (PriceSketchKey key : PriceSketchKey.of(categoryId, type)) {
+			this.sketches.computeIfAbsent(key, ignored -> new PriceSketch(newDigest())).add(price.doubleValue());
+		}
+	}
+
+	/**
+	 * Swaps in a complete set of digests, all of which are marked as not yet persisted.
+	 */
+	void replace(Map<PriceSketchKey, PriceDigest> digests) {
+		Map<PriceSketchKey, PriceSketch> replacement = new ConcurrentHashMap<>();
+		digests.forEach((key, digest) -> replacement.put(key, new PriceSketch(digest)));
+		this.sketches = replacement;
+	}
+
+	Map<PriceSketchKey, byte[]> drainDirty() {
+		Map<PriceSketchKey, byte[]> dirty = new HashMap<>();
+		this.sketches.forEach((key, sketch) -> {
+			byte[] bytes = sketch.drain();
+			if (bytes != null) {
+				dirty.put(key, bytes);
+			}
+		});
+		return dirty;
+	}
+
+	PriceDigest newDigest() {
+		return new PriceDigest(this.compression);
+	}
+
+	// a quantile query compresses the digest, so readers and the writer take turns on the sketch
+	private static final class PriceSketch {
+
+		private final PriceDigest digest;
+		private PriceSummary summary;
+		private boolean dirty = true;
+
+		private PriceSketch(PriceDigest digest) {
+			this.digest = digest;
+		}
+
+		synchronized void add(double price) {
+			this.digest.add(price);
+			this.summary = null;
+			this.dirty = true;
+		}
+
+		synchronized PriceSummary summary() {
+			if (this.summary == null) {
+				this.summary = new PriceSummary(this.digest.count(), this.digest.quantile(0.1), this.digest.quantile(0.5), this.digest.quantile(0.9));
+			}
+			return this.summary;
+		}
+
+		synchronized byte[] drain() {
+			if (!this.dirty) {
+				return null;
+			}
+			this.dirty = false;
+			return this.digest.toBytes();
+		}
+
+	}
+
+}
+
+record PriceSketchKey(UUID categoryId, AdvertisementType type) {
+
+	static List<PriceSketchKey> of(UUID categoryId, AdvertisementType type) {
+		return List.of(
+				new PriceSketchKey(null, null),
+				new PriceSketchKey(null, type),
+				new PriceSketchKey(categoryId, null),
+				new PriceSketchKey(categoryId, type));
+	}
+
+	String asString() {
+		return (this.categoryId == null ? "*" : this.categoryId.toString()) + ":" + (this.type == null ? "*" : this.type.name());
+	}
+
+}
+
+record PriceSummary(long count, double p10, double p50, double p90) {
+
+	static final PriceSummary EMPTY = new PriceSummary(0, Double.NaN, Double.NaN, Double.NaN);
+
+}
+
+record PriceRow(UUID categoryId, AdvertisementType type, BigDecimal price) {}
+
+record AdvertisementPriceStatisticsResponse(
+		UUID categoryId,
+		AdvertisementType type,
+		long count,
+		BigDecimal p10,
+		BigDecimal p50,
+		BigDecimal p90
+) {}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.attributes.filter.DecimalRange;
+import com.mhs.onlinemarketingplatform.advertisement.attributes.filter.IntRange;
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementAttributesProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.reflect.RecordComponent;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Numeric attributes promoted out of the jsonb into columns of their own. The {@code jsonb_path_ops} index only
+ * answers containment, so a range on a plain attribute is evaluated on the jsonb of every row the containment left
+ * over; a promoted field instead has a stored generated column per advertisement type with a B-tree index partial to
+ * that type, which turns the range into an index range scan. A field is only compiled against its column once
+ * {@link AdvertisementPromotedAttributeManager} has created it.
+ *
+ * @author Milad Haghighat Shahedi
+ */
+@Component
+class AdvertisementPromotedAttributes {
+
+	private final Map<AdvertisementType, Map<String, String>> columns = new ConcurrentHashMap<>();
+
+	void promote(PromotedAttribute attribute) {
+		this.columns.computeIfAbsent(attribute.type(), type -> new ConcurrentHashMap<>()).put(attribute.field(), attribute.column());
+	}
+
+	String column(AdvertisementType type, String field) {
+		Map<String, String> fields = type == null ? null : this.columns.get(type);
+		return fields == null ? null : fields.get(field);
+	}
+
+}
+
+/**
+ * Creates the columns and indexes of the fields listed under {@code advertisement.attributes.promoted}. Adding a
+ * generated column rewrites the advertisements once, so it runs on the maintenance executor; fields already promoted
+ * are skipped by the {@code IF NOT EXISTS} of the statements, and a field taken off the list keeps its column but is
+ * no longer used.
+ */
+@Component
+class AdvertisementPromotedAttributeManager {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementPromotedAttributeManager.class);
+
+	private final AdvertisementPromotedAttributes advertisementPromotedAttributes;
+	private final AdvertisementPromotedAttributeRepository advertisementPromotedAttributeRepository;
+	private final AdvertisementAttributesProperties properties;
+
+	AdvertisementPromotedAttributeManager(
+			AdvertisementPromotedAttributes advertisementPromotedAttributes,
+			AdvertisementPromotedAttributeRepository advertisementPromotedAttributeRepository,
+			AdvertisementAttributesProperties properties) {
+		this.advertisementPromotedAttributes = advertisementPromotedAttributes;
+		this.advertisementPromotedAttributeRepository = advertisementPromotedAttributeRepository;
+		this.properties = properties;
+	}
+
+	@Async("advertisementArchiveTaskExecutor")
+	@EventListener(ApplicationReadyEvent.class)
+	public void promote() {
+		Map<String, List<String>> promoted = this.properties.promoted() == null ? Map.of() : this.properties.promoted();
+		promoted.forEach((type, fields) -> fields.forEach(field -> {
+			Optional<PromotedAttribute> attribute = PromotedAttribute.of(type, field.trim());
+			if (attribute.isEmpty()) {
+				logger.warn("Attribute {} of advertisement type {} is not a numeric range attribute and can not be promoted", field, type);
+				return;
+			}
+			try {
+				long started = System.currentTimeMillis();
+				this.advertisementPromotedAttributeRepository.create(attribute.get());
+				this.advertisementPromotedAttributes.promote(attribute.get());
+				logger.info("Promoted attribute {} of {} into column {} in {} ms",
+						field, type, attribute.get().column(), System.currentTimeMillis() - started);
+			} catch (DataAccessException e) {
+				logger.warn("Could not promote attribute {} of {}: {}", field, type, e.getMostSpecificCause().getMessage());
+			}
+		}));
+	}
+
+}
+
+@Repository
+class AdvertisementPromotedAttributeRepository {
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	AdvertisementPromotedAttributeRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	/**
+	 * Names and types come from the attribute filter records, never from the request, so they are safe to inline.
+	 */
+	@Transactional
+	void create(PromotedAttribute attribute) {
+		this.jdbcTemplate.update(
+				"ALTER TABLE advertisements ADD COLUMN IF NOT EXISTS %s %s GENERATED ALWAYS AS (%s) STORED"
+						.formatted(attribute.column(), attribute.sqlType(), attribute.expression()),
+				new MapSqlParameterSource());
+		this.jdbcTemplate.update(
+				"CREATE INDEX IF NOT EXISTS %s ON advertisements_hot (%s) WHERE advertisement_type = '%s'"
+						.formatted(attribute.index(), attribute.column(), attribute.type().name()),
+				new MapSqlParameterSource());
+	}
+
+}
+
+/**
+ * The column only holds a value for advertisements of its type whose attribute is a JSON number, so a malformed
+ * attribute leaves it empty instead of failing the write.
+ */
+record PromotedAttribute(AdvertisementType type, String field, String sqlType) {
+
+	static Optional<PromotedAttribute> of(String type, String field) {
+		AdvertisementType advertisementType;
+		try {
+			advertisementType = AdvertisementType.valueOf(type.trim().toUpperCase(Locale.ROOT));
+		} catch (IllegalArgumentException ex) {
+			return Optional.empty();
+		}
+		for (RecordComponent component : AdvertisementAttributeFilterCompiler.filterType(advertisementType).getRecordComponents()) {
+			if (component.getName().equals(field)) {
+				if (component.getType() == IntRange.class) {
+					return Optional.of(new PromotedAttribute(advertisementType, field, "integer"));
+				}
+				if (component.getType() == DecimalRange.class) {
+					return Optional.of(new PromotedAttribute(advertisementType, field, "numeric"));
+				}
+			}
+		}
+		return Optional.empty();
+	}
+
+	String column() {
+		return "attr_" + type.name().toLowerCase(Locale.ROOT) + "_" + field.replaceAll("([A-Z])", "_$1").toLowerCase(Locale.ROOT);
+	}
+
+	String index() {
+		return "index_advertisement_" + column();
+	}
+
+	String expression() {
+		String cast = "numeric".equals(sqlType) ? "::numeric" : "::numeric::" + sqlType;
+		return "CASE WHEN advertisement_type = '%s' AND jsonb_typeof(attributes -> '%s') = 'number' THEN (attributes ->> '%s')%s END"
+				.formatted(type.name(), field, field, cast);
+	}
+
+}
@@ -0,0 +1,460 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.attributes.filter.AdvertisementAttributesFilter;
+import com.mhs.onlinemarketingplatform.advertisement.converter.AdvertisementAttributesBinaryCodec;
+import com.mhs.onlinemarketingplatform.advertisement.converter.AdvertisementAttributesCodec;
+import com.mhs.onlinemarketingplatform.advertisement.error.category.CategoryErrorCode;
+import com.mhs.onlinemarketingplatform.advertisement.error.category.CategoryNotFoundException;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.InvalidSearchCriteriaException;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.InvalidSearchCursorException;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.SearchErrorCode;
+import com.mhs.onlinemarketingplatform.catalog.api.CategoryApi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+@Controller
+@ResponseBody
+class AdvertisementSearchController {
+
+	private final AdvertisementSearchService advertisementSearchService;
+
+	AdvertisementSearchController(AdvertisementSearchService advertisementSearchService) {
+		this.advertisementSearchService = advertisementSearchService;
+	}
+
+	@GetMapping("/api/advertisements/search")
+	AdvertisementSlicedResponse<AdvertisementResponse> search(
+			@RequestParam(value = "categoryId", required = false) UUID categoryId,
+			@RequestParam(value = "type", required = false) String type,
+			@RequestParam(value = "minPrice", required = false) BigDecimal minPrice,
+			@RequestParam(value = "maxPrice", required = false) BigDecimal maxPrice,
+			@RequestParam(value = "provinceId", required = false) UUID provinceId,
+			@RequestParam(value = "cityId", required = false) UUID cityId,
+			@RequestParam(value = "sort", required = false) String sort,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", defaultValue = "20") int size,
+			@RequestParam Map<String, String> parameters) {
+		return this.advertisementSearchService.search(categoryId, type, minPrice, maxPrice, provinceId, cityId, sort, cursor, size, parameters);
+	}
+
+	@GetMapping("/api/advertisements/categories/{categoryId}")
+	AdvertisementSlicedResponse<AdvertisementResponse> findByCategorySubtree(
+			@PathVariable("categoryId") UUID categoryId,
+			@RequestParam(value = "sort", required = false) String sort,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", defaultValue = "20") int size) {
+		return this.advertisementSearchService.findByCategorySubtree(categoryId, sort, cursor, size);
+	}
+
+}
+
+@Service
+@Transactional(readOnly = true)
+class AdvertisementSearchService {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementSearchService.class);
+	static final int MAX_PAGE_SIZE = 100;
+
+	private final AdvertisementSearchRepository advertisementSearchRepository;
+	private final AdvertisementAttributeFilterCompiler attributeFilterCompiler;
+	private final AdvertisementPromotionMerger advertisementPromotionMerger;
+	private final CategoryApi categoryApi;
+	private final AdvertisementMapper mapper;
+	private final MessageSource messageSource;
+
+	AdvertisementSearchService(
+			AdvertisementSearchRepository advertisementSearchRepository,
+			AdvertisementAttributeFilterCompiler attributeFilterCompiler,
+			AdvertisementPromotionMerger advertisementPromotionMerger,
+			CategoryApi categoryApi,
+			AdvertisementMapper mapper,
+			MessageSource messageSource) {
+		this.advertisementSearchRepository = advertisementSearchRepository;
+		this.attributeFilterCompiler = attributeFilterCompiler;
+		this.advertisementPromotionMerger = advertisementPromotionMerger;
+		this.categoryApi = categoryApi;
+		this.mapper = mapper;
+		this.messageSource = messageSource;
+	}
+
+	AdvertisementSlicedResponse<AdvertisementResponse> search(
+			UUID categoryId,
+			String type,
+			BigDecimal minPrice,
+			BigDecimal maxPrice,
+			UUID provinceId,
+			UUID cityId,
+			String sort,
+			String cursor,
+			int size,
+			Map<String, String> parameters) {
+
+		AdvertisementSearchSort searchSort = parseSort(sort);
+		AdvertisementType advertisementType = parseType(type);
+		AdvertisementSearchCriteria criteria = new AdvertisementSearchCriteria(
+				categoryId,
+				advertisementType,
+				AdvertisementStatus.ACTIVE,
+				minPrice,
+				maxPrice,
+				provinceId,
+				cityId,
+				this.attributeFilterCompiler.parse(advertisementType, parameters),
+				null);
+
+		if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+			throw new InvalidSearchCriteriaException(
+					messageSource.getMessage("error.search.price.range.invalid",
+							new Object[]{minPrice, maxPrice},
+							LocaleContextHolder.getLocale()),
+					SearchErrorCode.INVALID_SEARCH_CRITERIA);
+		}
+
+		return page(criteria, searchSort, cursor, size);
+	}
+
+	AdvertisementSlicedResponse<AdvertisementResponse> findByCategorySubtree(UUID categoryId, String sort, String cursor, int size) {
+		Set<UUID> subtree = this.categoryApi.findSubtreeIds(categoryId);
+		if (subtree.isEmpty()) {
+			throw new CategoryNotFoundException(
+					messageSource.getMessage("error.category.category.with.id.not.found",
+							new Object[]{categoryId},
+							LocaleContextHolder.getLocale()),
+					CategoryErrorCode.CATEGORY_NOT_FOUND);
+		}
+		AdvertisementSearchCriteria criteria = new AdvertisementSearchCriteria(
+				null, null, AdvertisementStatus.ACTIVE, null, null, null, null, null, subtree);
+		return page(criteria, parseSort(sort), cursor, size);
+	}
+
+	private AdvertisementSlicedResponse<AdvertisementResponse> page(AdvertisementSearchCriteria criteria, AdvertisementSearchSort searchSort, String cursor, int size) {
+		AdvertisementSearchCursor after = decodeCursor(cursor, searchSort);
+		int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+
+		logger.info("Searching advertisements with criteria: {} sort: {} size: {}", criteria, searchSort, pageSize);
+		List<Advertisement> advertisements = this.advertisementSearchRepository.search(criteria, searchSort, after, pageSize + 1);
+		AdvertisementSlicedResponse<AdvertisementResponse> page = slice(advertisements, searchSort, pageSize);
+		return after == null ? this.advertisementPromotionMerger.promote(criteria, page) : page;
+	}
+
+	AdvertisementSlicedResponse<AdvertisementResponse> slice(List<Advertisement> advertisements, AdvertisementSearchSort sort, int pageSize) {
+		boolean hasNext = advertisements.size() > pageSize;
+		List<Advertisement> content = hasNext ? advertisements.subList(0, pageSize) : advertisements;
+		String nextCursor = hasNext ? AdvertisementSearchCursor.of(sort, content.get(content.size() - 1)).encode() : null;
+		return new AdvertisementSlicedResponse<>(
+				content.stream().map(this.mapper::mapAdvertisementToResponse).toList(),
+				content.size(),
+				hasNext,
+				nextCursor);
+	}
+
+	AdvertisementSearchCursor decodeCursor(String cursor, AdvertisementSearchSort sort) {
+		if (cursor == null || cursor.isBlank()) {
+			return null;
+		}
+		return AdvertisementSearchCursor.decode(cursor, sort).orElseThrow(() ->
+				new InvalidSearchCursorException(
+						messageSource.getMessage("error.search.cursor.invalid",
+								new Object[]{cursor, sort},
+								LocaleContextHolder.getLocale()),
+						SearchErrorCode.INVALID_SEARCH_CURSOR));
+	}
+
+	AdvertisementSearchSort parseSort(String sort) {
+		if (sort == null || sort.isBlank()) {
+			return AdvertisementSearchSort.NEWEST;
+		}
+		try {
+			return AdvertisementSearchSort.valueOf(sort.trim().toUpperCase());
+		} catch (IllegalArgumentException ex) {
+			throw new InvalidSearchCriteriaException(
+					messageSource.getMessage("error.search.sort.invalid",
+							new Object[]{sort},
+							LocaleContextHolder.getLocale()),
+					SearchErrorCode.INVALID_SEARCH_CRITERIA);
+		}
+	}
+
+	AdvertisementType parseType(String type) {
+		if (type == null || type.isBlank()) {
+			return null;
+		}
+		try {
+			return AdvertisementType.valueOf(type.trim().toUpperCase());
+		} catch (IllegalArgumentException ex) {
+			throw new InvalidSearchCriteriaException(
+					messageSource.getMessage("error.search.type.invalid",
+							new Object[]{type},
+							LocaleContextHolder.getLocale()),
+					SearchErrorCode.INVALID_SEARCH_CRITERIA);
+		}
+	}
+
+}
+
+/**
+ * Builds the search statement from the supplied filters only, so every predicate is sargable and the planner can
+ * pick the composite index that matches the sort order. Attribute filters become a JSONB containment served by the
+ * GIN index on {@code attributes}. Pagination is a seek on {@code (inserted_at, id)} or
+ * {@code (price, id)}; no OFFSET and no COUNT is ever issued.
+ */
+@Repository
+class AdvertisementSearchRepository {
+
+	// the jsonb is only transferred for rows without a current binary copy of it
+	static final String ADVERTISEMENT_COLUMNS = """
+			a.id, a.version, a.title, a.description, a.price, a.advertisement_type, a.advertisement_status,
+			CASE WHEN %s THEN a.attributes END AS attributes, a.attributes_binary,
+			a.inserted_at, a.updated_at, a.location_id, a.category_id, a.owner_id
+			""".formatted(AdvertisementBinaryAttributesRepository.STALE);
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final AdvertisementRowMapper advertisementRowMapper;
+	private final AdvertisementAttributeFilterCompiler attributeFilterCompiler;
+
+	AdvertisementSearchRepository(
+			NamedParameterJdbcTemplate jdbcTemplate,
+			AdvertisementRowMapper advertisementRowMapper,
+			AdvertisementAttributeFilterCompiler attributeFilterCompiler) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.advertisementRowMapper = advertisementRowMapper;
+		this.attributeFilterCompiler = attributeFilterCompiler;
+	}
+
+	List<Advertisement> search(AdvertisementSearchCriteria criteria, AdvertisementSearchSort sort, AdvertisementSearchCursor after, int limit) {
+		MapSqlParameterSource params = new MapSqlParameterSource();
+		StringBuilder sql = new StringBuilder("SELECT ").append(ADVERTISEMENT_COLUMNS).append(" FROM advertisements a");
+
+		if (criteria.provinceId() != null || criteria.cityId() != null) {
+			sql.append(" JOIN locations l ON l.id = a.location_id");
+		}
+
+		sql.append(" WHERE a.advertisement_status = :status");
+		params.addValue("status", criteria.status().name());
+		if (criteria.status() == AdvertisementStatus.ACTIVE) {
+			// archived advertisements are always inactive, this only lets the planner prune the cold partition
+			sql.append(" AND a.archived = false");
+		}
+
+		if (criteria.categoryId() != null) {
+			sql.append(" AND a.category_id = :categoryId");
+			params.addValue("categoryId", criteria.categoryId());
+		}
+		if (criteria.categorySubtree() != null) {
+			sql.append(" AND a.category_id = ANY(CAST(:categoryIds AS uuid[]))");
+			params.addValue("categoryIds", uuidArray(criteria.categorySubtree()));
+		}
+		if (criteria.type() != null) {
+			sql.append(" AND a.advertisement_type = :type");
+			params.addValue("type", criteria.type().name());
+		}
+		if (criteria.minPrice() != null) {
+			sql.append(" AND a.price >= :minPrice");
+			params.addValue("minPrice", criteria.minPrice());
+		}
+		if (criteria.maxPrice() != null) {
+			sql.append(" AND a.price <= :maxPrice");
+			params.addValue("maxPrice", criteria.maxPrice());
+		}
+		if (criteria.provinceId() != null) {
+			sql.append(" AND l.province_id = :provinceId");
+			params.addValue("provinceId", criteria.provinceId());
+		}
+		if (criteria.cityId() != null) {
+			sql.append(" AND l.city_id = :cityId");
+			params.addValue("cityId", criteria.cityId());
+		}
+		if (criteria.attributes() != null) {
+			this.attributeFilterCompiler.compile(criteria.attributes()).appendTo(sql, params);
+		}
+
+		appendKeyset(sql, params, sort, after);
+		sql.append(" LIMIT :limit");
+		params.addValue("limit", limit);
+
+		return this.jdbcTemplate.query(sql.toString(), params, this.advertisementRowMapper);
+	}
+
+	List<Advertisement> findAllByIds(Collection<UUID> ids) {
+		return this.jdbcTemplate.query(
+				"SELECT " + ADVERTISEMENT_COLUMNS + " FROM advertisements a WHERE a.id = ANY(CAST(:ids AS uuid[]))",
+				new MapSqlParameterSource("ids", uuidArray(ids)),
+				this.advertisementRowMapper);
+	}
+
+	// pgjdbc has no encoder for UUID[], so identifiers are bound as text[] and cast on the server
+	static String[] uuidArray(Collection<UUID> ids) {
+		return ids.stream().map(UUID::toString).toArray(String[]::new);
+	}
+
+	static void appendKeyset(StringBuilder sql, MapSqlParameterSource params, AdvertisementSearchSort sort, AdvertisementSearchCursor after) {
+		if (after != null) {
+			params.addValue("cursorId", after.id());
+			switch (sort) {
+				case NEWEST -> {
+					sql.append(" AND (a.inserted_at, a.id) < (:cursorInsertedAt, :cursorId)");
+					params.addValue("cursorInsertedAt", Timestamp.valueOf(LocalDateTime.parse(after.sortKey())));
+				}
+				case PRICE_ASC -> {
+					sql.append(" AND (a.price, a.id) > (:cursorPrice, :cursorId)");
+					params.addValue("cursorPrice", new BigDecimal(after.sortKey()));
+				}
+				case PRICE_DESC -> {
+					sql.append(" AND (a.price, a.id) < (:cursorPrice, :cursorId)");
+					params.addValue("cursorPrice", new BigDecimal(after.sortKey()));
+				}
+			}
+		}
+		sql.append(switch (sort) {
+			case NEWEST -> " ORDER BY a.inserted_at DESC, a.id DESC";
+			case PRICE_ASC -> " ORDER BY a.price ASC, a.id ASC";
+			case PRICE_DESC -> " ORDER BY a.price DESC, a.id DESC";
+		});
+	}
+
+}
+
+@Component
+class AdvertisementRowMapper implements RowMapper<Advertisement> {
+
+	private final AdvertisementAttributesCodec attributesCodec;
+	private final AdvertisementAttributesBinaryCodec attributesBinaryCodec;
+
+	AdvertisementRowMapper(AdvertisementAttributesCodec attributesCodec, AdvertisementAttributesBinaryCodec attributesBinaryCodec) {
+		this.attributesCodec = attributesCodec;
+		this.attributesBinaryCodec = attributesBinaryCodec;
+	}
+
+	@Override
+	public Advertisement mapRow(ResultSet rs, int rowNum) throws SQLException {
+		Timestamp insertedAt = rs.getTimestamp("inserted_at");
+		Timestamp updatedAt = rs.getTimestamp("updated_at");
+		// jsonb arrives as text, its bytes are decoded as they are instead of being wrapped into a PGobject first
+		byte[] attributes = rs.getBytes("attributes");
+		return new Advertisement(
+				rs.getObject("id", UUID.class),
+				rs.getInt("version"),
+				rs.getString("title"),
+				rs.getString("description"),
+				rs.getBigDecimal("price"),
+				AdvertisementType.valueOf(rs.getString("advertisement_type")),
+				AdvertisementStatus.valueOf(rs.getString("advertisement_status")),
+				attributes != null ? this.attributesCodec.read(attributes) : this.attributesBinaryCodec.read(rs.getBytes("attributes_binary")),
+				insertedAt != null ? insertedAt.toLocalDateTime() : null,
+				updatedAt != null ? updatedAt.toLocalDateTime() : null,
+				rs.getObject("location_id", UUID.class),
+				rs.getObject("category_id", UUID.class),
+				rs.getObject("owner_id", UUID.class));
+	}
+
+}
+
+record AdvertisementSearchCriteria(
+		UUID categoryId,
+		AdvertisementType type,
+		AdvertisementStatus status,
+		BigDecimal minPrice,
+		BigDecimal maxPrice,
+		UUID provinceId,
+		UUID cityId,
+		AdvertisementAttributesFilter attributes,
+		Set<UUID> categorySubtree) {}
+
+/**
+ * Opaque seek position. The sort order is part of the encoded value so a cursor issued for one ordering can not be
+ * replayed against another one.
+ */
+record AdvertisementSearchCursor(AdvertisementSearchSort sort, String sortKey, UUID id) {
+
+	private static final String SEPARATOR = "|";
+
+	static AdvertisementSearchCursor of(AdvertisementSearchSort sort, Advertisement last) {
+		return of(sort, last.id(), last.insertedAt(), last.price());
+	}
+
+	static AdvertisementSearchCursor of(AdvertisementSearchSort sort, UUID id, LocalDateTime insertedAt, BigDecimal price) {
+		String sortKey = sort == AdvertisementSearchSort.NEWEST ? insertedAt.toString() : price.toPlainString();
+		return new AdvertisementSearchCursor(sort, sortKey, id);
+	}
+
+	String encode() {
+		String raw = sort.name() + SEPARATOR + sortKey + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	static Optional<AdvertisementSearchCursor> decode(String cursor, AdvertisementSearchSort expectedSort) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+			String[] parts = raw.split("\\" + SEPARATOR, -1);
+			if (parts.length != 3 || !expectedSort.name().equals(parts[0])) {
+				return Optional.empty();
+			}
+			if (expectedSort == AdvertisementSearchSort.NEWEST) {
+				LocalDateTime.parse(parts[1]);
+			} else {
+				new BigDecimal(parts[1]);
+			}
+			return Optional.of(new AdvertisementSearchCursor(expectedSort, parts[1], UUID.fromString(parts[2])));
+		} catch (IllegalArgumentException | DateTimeParseException ex) {
+			return Optional.empty();
+		}
+	}
+
+}
+
+enum AdvertisementSearchSort {
+	NEWEST,
+	PRICE_ASC,
+	PRICE_DESC
+}
+
+record AdvertisementSlicedResponse<T>(
+		List<T> content,
+		int size,
+		boolean hasNext,
+		String nextCursor,
+		List<Integer> promotedSlots) {
+
+	AdvertisementSlicedResponse(List<T> content, int size, boolean hasNext, String nextCursor) {
+		this(content, size, hasNext, nextCursor, List.of());
+	}
+
+}
@@ -0,0 +1,551 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementSimilarProperties;
+import com.mhs.onlinemarketingplatform.advertisement.error.advertisement.AdvertisementErrorCode;
+import com.mhs.onlinemarketingplatform.advertisement.error.advertisement.AdvertisementNotFoundException;
+import com.mhs.onlinemarketingplatform.advertisement.event.DeleteAdvertisementEvent;
+import com.mhs.onlinemarketingplatform.advertisement.event.UpdateAdvertisementEvent;
+import com.mhs.onlinemarketingplatform.catalog.api.CategoryApi;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+@Controller
+@ResponseBody
+class AdvertisementSimilarController {
+
+	private final AdvertisementSimilarService advertisementSimilarService;
+
+	AdvertisementSimilarController(AdvertisementSimilarService advertisementSimilarService) {
+		this.advertisementSimilarService = advertisementSimilarService;
+	}
+
+	@GetMapping("/api/advertisements/{id}/similar")
+	List<AdvertisementSimilarResponse> findSimilar(
+			@PathVariable("id") UUID id,
+			@RequestParam(value = "size", defaultValue = "10") int size) {
+		return this.advertisementSimilarService.findSimilar(id, size);
+	}
+
+}
+
+@Service
+@Transactional(readOnly = true)
+class AdvertisementSimilarService {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementSimilarService.class);
+
+	private final AdvertisementSimilarIndex advertisementSimilarIndex;
+	private final AdvertisementSimilarRepository advertisementSimilarRepository;
+	private final AdvertisementVectorizer advertisementVectorizer;
+	private final AdvertisementSearchRepository advertisementSearchRepository;
+	private final AdvertisementSimilarProperties properties;
+	private final AdvertisementMapper mapper;
+	private final MessageSource messageSource;
+
+	AdvertisementSimilarService(
+			AdvertisementSimilarIndex advertisementSimilarIndex,
+			AdvertisementSimilarRepository advertisementSimilarRepository,
+			AdvertisementVectorizer advertisementVectorizer,
+			AdvertisementSearchRepository advertisementSearchRepository,
+			AdvertisementSimilarProperties properties,
+			AdvertisementMapper mapper,
+			MessageSource messageSource) {
+		this.advertisementSimilarIndex = advertisementSimilarIndex;
+		this.advertisementSimilarRepository = advertisementSimilarRepository;
+		this.advertisementVectorizer = advertisementVectorizer;
+		this.advertisementSearchRepository = advertisementSearchRepository;
+		this.properties = properties;
+		this.mapper = mapper;
+		this.messageSource = messageSource;
+	}
+
+	List<AdvertisementSimilarResponse> findSimilar(UUID id, int size) {
+		logger.info("Looking up advertisements similar to the advertisement with the ID: {}", id);
+		// an advertisement activated a moment ago may not be indexed yet, so it is vectorized on the spot
+		IndexedVector indexed = this.advertisementSimilarIndex.find(id)
+				.or(() -> this.advertisementSimilarRepository.findActiveById(id)
+						.map(row -> new IndexedVector(row.type(), this.advertisementVectorizer.vectorize(row))))
+				.orElseThrow(() -> new AdvertisementNotFoundException(
+						messageSource.getMessage("error.advertisement.advertisement.with.id.not.found",
+								new Object[]{id},
+								LocaleContextHolder.getLocale()),
+						AdvertisementErrorCode.ADVERTISEMENT_NOT_FOUND));
+		int limit = Math.min(Math.max(size, 1), this.properties.maxResults());
+		return load(this.advertisementSimilarIndex.nearest(id, indexed.type(), indexed.vector(), limit));
+	}
+
+	// the index only knows vectors, so the matches are resolved with one statement and kept in similarity order
+	private List<AdvertisementSimilarResponse> load(List<SimilarMatch> matches) {
+		if (matches.isEmpty()) {
+			return List.of();
+		}
+		Map<UUID, Advertisement> advertisements = this.advertisementSearchRepository
+				.findAllByIds(matches.stream().map(SimilarMatch::advertisementId).toList()).stream()
+				.filter(advertisement -> advertisement.advertisementStatus() == AdvertisementStatus.ACTIVE)
+				.collect(Collectors.toMap(Advertisement::id, Function.identity()));
+
+		List<AdvertisementSimilarResponse> responses = new ArrayList<>(matches.size());
+		for (SimilarMatch match : matches) {
+			Advertisement advertisement = advertisements.get(match.advertisementId());
+			if (advertisement != null) {
+				responses.add(new AdvertisementSimilarResponse(this.mapper.mapAdvertisementToResponse(advertisement), match.similarity()));
+			}
+		}
+		return responses;
+	}
+
+}
+
+/**
+ * Keeps {@link AdvertisementSimilarIndex} in line with the committed state of active advertisements. Every event
+ * re-reads the affected rows and either vectorizes them again or drops them, so replaying an event is harmless.
+ */
+@Component
+class AdvertisementSimilarIndexer {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementSimilarIndexer.class);
+
+	private final AdvertisementSimilarIndex advertisementSimilarIndex;
+	private final AdvertisementSimilarRepository advertisementSimilarRepository;
+	private final AdvertisementVectorizer advertisementVectorizer;
+
+	AdvertisementSimilarIndexer(
+			AdvertisementSimilarIndex advertisementSimilarIndex,
+			AdvertisementSimilarRepository advertisementSimilarRepository,
+			AdvertisementVectorizer advertisementVectorizer) {
+		this.advertisementSimilarIndex = advertisementSimilarIndex;
+		this.advertisementSimilarRepository = advertisementSimilarRepository;
+		this.advertisementVectorizer = advertisementVectorizer;
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		long started = System.currentTimeMillis();
+		this.advertisementSimilarRepository.streamActive(this::index);
+		logger.info("Similar index loaded {} active advertisements in {} ms", this.advertisementSimilarIndex.size(), System.currentTimeMillis() - started);
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementActivatedEvent(AdvertisementActivatedEvent event) {
+		refresh(event.id());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementDeactivatedEvent(AdvertisementDeactivatedEvent event) {
+		this.advertisementSimilarIndex.remove(event.id());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleUpdateAdvertisementEvent(UpdateAdvertisementEvent event) {
+		refresh(event.productId());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleDeleteAdvertisementEvent(DeleteAdvertisementEvent event) {
+		this.advertisementSimilarIndex.remove(event.productId());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleUpdateLocationEvent(UpdateLocationEvent event) {
+		this.advertisementSimilarRepository.findActiveByLocationId(event.locationId()).forEach(this::index);
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementsBulkChangedEvent(AdvertisementsBulkChangedEvent event) {
+		if (event.change() == BulkChange.DEACTIVATED) {
+			event.ids().forEach(this.advertisementSimilarIndex::remove);
+		} else {
+			this.advertisementSimilarRepository.findActiveByIds(event.ids()).forEach(this::index);
+		}
+	}
+
+	private void refresh(UUID advertisementId) {
+		this.advertisementSimilarRepository.findActiveById(advertisementId).ifPresentOrElse(
+				this::index,
+				() -> this.advertisementSimilarIndex.remove(advertisementId));
+	}
+
+	private void index(SimilarRow row) {
+		this.advertisementSimilarIndex.put(row.id(), row.type(), this.advertisementVectorizer.vectorize(row));
+	}
+
+}
+
+@Repository
+class AdvertisementSimilarRepository {
+
+	private static final String ACTIVE = """
+			SELECT a.id, a.category_id, a.advertisement_type, a.price, l.city_id, a.attributes::text AS attributes
+			FROM advertisements a
+			LEFT JOIN locations l ON l.id = a.location_id
+			WHERE a.advertisement_status = 'ACTIVE'
+			""";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final AdvertisementStreamingJdbcTemplate streamingJdbcTemplate;
+
+	AdvertisementSimilarRepository(NamedParameterJdbcTemplate jdbcTemplate, AdvertisementStreamingJdbcTemplate streamingJdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.streamingJdbcTemplate = streamingJdbcTemplate;
+	}
+
+	Optional<SimilarRow> findActiveById(UUID id) {
+		return this.jdbcTemplate.query(ACTIVE + " AND a.id = :id", new MapSqlParameterSource("id", id), (rs, rowNum) -> row(rs))
+				.stream().findFirst();
+	}
+
+	List<SimilarRow> findActiveByIds(Collection<UUID> ids) {
+		return this.jdbcTemplate.query(ACTIVE + " AND a.id = ANY(CAST(:ids AS uuid[]))",
+				new MapSqlParameterSource("ids", AdvertisementSearchRepository.uuidArray(ids)), (rs, rowNum) -> row(rs));
+	}
+
+	List<SimilarRow> findActiveByLocationId(UUID locationId) {
+		return this.jdbcTemplate.query(ACTIVE + " AND a.location_id = :locationId",
+				new MapSqlParameterSource("locationId", locationId), (rs, rowNum) -> row(rs));
+	}
+
+	@Transactional(readOnly = true)
+	void streamActive(Consumer<SimilarRow> consumer) {
+		this.streamingJdbcTemplate.query(ACTIVE, new MapSqlParameterSource(), rs -> {
+			consumer.accept(row(rs));
+		});
+	}
+
+	private static SimilarRow row(ResultSet rs) throws SQLException {
+		return new SimilarRow(
+				rs.getObject("id", UUID.class),
+				rs.getObject("category_id", UUID.class),
+				AdvertisementType.valueOf(rs.getString("advertisement_type")),
+				rs.getBigDecimal("price"),
+				rs.getObject("city_id", UUID.class),
+				rs.getString("attributes"));
+	}
+
+}
+
+/**
+ * Turns an advertisement into a unit length feature vector by feature hashing: every category on the path from the
+ * root, the price bucket, the city and every attribute value becomes a token that is hashed to one dimension with a
+ * random sign and added with its weight. Categories weigh more the deeper they are, so siblings share most of their
+ * path and unrelated branches share only the root. Prices and numeric attributes fall into logarithmic buckets and
+ * also touch both neighbouring buckets at half the weight, so close values overlap even across a bucket boundary.
+ * The advertisement type is not part of the vector because the index keeps every type apart.
+ */
+@Component
+class AdvertisementVectorizer {
+
+	private final CategoryApi categoryApi;
+	private final ObjectMapper mapper;
+	private final int dimensions;
+	private final double logBucketRatio;
+	private final AdvertisementSimilarProperties properties;
+
+	AdvertisementVectorizer(CategoryApi categoryApi, ObjectMapper mapper, AdvertisementSimilarProperties properties) {
+		this.categoryApi = categoryApi;
+		this.mapper = mapper;
+		this.dimensions = properties.dimensions();
+		this.logBucketRatio = Math.log(properties.priceBucketRatio());
+		this.properties = properties;
+	}
+
+	float[] vectorize(SimilarRow row) {
+		double[] vector = new double[this.dimensions];
+
+		List<UUID> path = row.categoryId() == null ? List.of() : this.categoryApi.findPathIds(row.categoryId());
+		if (path.isEmpty() && row.categoryId() != null) {
+			path = List.of(row.categoryId());
+		}
+		for (int depth = 0; depth < path.size(); depth++) {
+			add(vector, "category=" + path.get(depth), this.properties.categoryWeight() * (depth + 1) / path.size());
+		}
+		if (row.price() != null) {
+			addBucketed(vector, "price", row.price().doubleValue(), this.properties.priceWeight());
+		}
+		if (row.cityId() != null) {
+			add(vector, "city=" + row.cityId(), this.properties.cityWeight());
+		}
+		attributes(row.attributes()).fields().forEachRemaining(field -> {
+			JsonNode value = field.getValue();
+			if (!value.isValueNode() || value.isNull() || field.getKey().equals("@type")) {
+				return;
+			}
+			if (value.isNumber()) {
+				addBucketed(vector, field.getKey(), value.asDouble(), this.properties.attributeWeight());
+			} else {
+				add(vector, field.getKey() + "=" + AdvertisementTextAnalyzer.normalize(value.asText()), this.properties.attributeWeight());
+			}
+		});
+		return normalize(vector);
+	}
+
+	private JsonNode attributes(String attributes) {
+		if (attributes == null) {
+			return this.mapper.createObjectNode();
+		}
+		try {
+			return this.mapper.readTree(attributes);
+		} catch (JsonProcessingException ex) {
+			return this.mapper.createObjectNode();
+		}
+	}
+
+	private void addBucketed(double[] vector, String name, double value, double weight) {
+		if (!(value > 0) || Double.isInfinite(value)) {
+			add(vector, name + "=" + value, weight);
+			return;
+		}
+		long bucket = (long) Math.floor(Math.log(value) / this.logBucketRatio);
+		add(vector, name + "~" + bucket, weight);
+		add(vector, name + "~" + (bucket - 1), weight / 2);
+		add(vector, name + "~" + (bucket + 1), weight / 2);
+	}
+
+	private void add(double[] vector, String token, double weight) {
+		long hash = AdvertisementFingerprinter.hash(token);
+		int dimension = (int) Long.remainderUnsigned(hash, this.dimensions);
+		vector[dimension] += (AdvertisementFingerprinter.mix(hash) & 1) == 0 ? weight : -weight;
+	}
+
+	private static float[] normalize(double[] vector) {
+		double norm = 0;
+		for (double value : vector) {
+			norm += value * value;
+		}
+		norm = Math.sqrt(norm);
+		float[] normalized = new float[vector.length];
+		if (norm > 0) {
+			for (int i = 0; i < vector.length; i++) {
+				normalized[i] = (float) (vector[i] / norm);
+			}
+		}
+		return normalized;
+	}
+
+}
+
+/**
+ * Random hyperplane locality-sensitive hashing over unit vectors, sharded by advertisement type. Every band owns a few
+ * random hyperplanes and keys a vector by the side of each plane it falls on, and two vectors land on the same side
+ * of a plane with a probability that grows with their cosine similarity. A lookup collects the advertisements
+ * sharing a band key with the query and ranks only those by their exact cosine in a bounded min-heap, so it touches
+ * at most a thousand or so vectors instead of the whole type. Every bucket keeps the vectors next to the ids, so a
+ * candidate costs one dot product and no further lookup. Written from the advertisement index thread only, read from
+ * request threads.
+ */
+@Component
+class AdvertisementSimilarIndex {
+
+	private static final long HYPERPLANE_SEED = 0x5DEECE66DL;
+
+	private final int bands;
+	private final int rows;
+	private final int maxCandidates;
+	private final float[][] hyperplanes;
+	private final Map<AdvertisementType, TypeShard> shards = new ConcurrentHashMap<>();
+	private final Map<UUID, IndexedVector> vectors = new ConcurrentHashMap<>();
+
+	AdvertisementSimilarIndex(AdvertisementSimilarProperties properties) {
+		this.bands = properties.bands();
+		this.rows = properties.rows();
+		this.maxCandidates = properties.maxCandidates();
+		this.hyperplanes = new float[this.bands * this.rows][properties.dimensions()];
+		Random random = new Random(HYPERPLANE_SEED);
+		for (float[] hyperplane : this.hyperplanes) {
+			for (int i = 0; i < hyperplane.length; i++) {
+				hyperplane[i] = (float) random.nextGaussian();
+			}
+		}
+	}
+
+	void put(UUID id, AdvertisementType type, float[] vector) {
+		remove(id);
+		TypeShard shard = this.shards.computeIfAbsent(type, key -> new TypeShard(this.bands));
+		int[] keys = bandKeys(vector);
+		for (int band = 0; band < this.bands; band++) {
+			shard.buckets[band].computeIfAbsent(keys[band], key -> new ConcurrentHashMap<>()).put(id, vector);
+		}
+		this.vectors.put(id, new IndexedVector(type, vector, keys));
+	}
+
+	void remove(UUID id) {
+		IndexedVector previous = this.vectors.remove(id);
+		if (previous == null) {
+			return;
+		}
+		TypeShard shard = this.shards.get(previous.type());
+		for (int band = 0; band < this.bands; band++) {
+			Map<UUID, float[]> bucket = shard.buckets[band].get(previous.bandKeys()[band]);
+			if (bucket != null) {
+				bucket.remove(id);
+				if (bucket.isEmpty()) {
+					shard.buckets[band].remove(previous.bandKeys()[band], bucket);
+				}
+			}
+		}
+	}
+
+	Optional<IndexedVector> find(UUID id) {
+		return Optional.ofNullable(this.vectors.get(id));
+	}
+
+	/**
+	 * Returns at most {@code limit} advertisements of the given type in descending similarity, never {@code excluded}.
+	 * Exact band keys are probed before the keys one bit away, and probing stops once enough candidates are collected,
+	 * so the closest advertisements are found first and a crowded type still costs a bounded number of comparisons.
+	 */
+	List<SimilarMatch> nearest(UUID excluded, AdvertisementType type, float[] vector, int limit) {
+		TypeShard shard = this.shards.get(type);
+		if (shard == null) {
+			return List.of();
+		}
+		int[] keys = bandKeys(vector);
+		Map<UUID, float[]> candidates = new HashMap<>();
+		for (int band = 0; band < this.bands && candidates.size() < this.maxCandidates; band++) {
+			probe(shard.buckets[band], keys[band], candidates);
+		}
+		for (int row = 0; row < this.rows && candidates.size() < this.maxCandidates; row++) {
+			for (int band = 0; band < this.bands && candidates.size() < this.maxCandidates; band++) {
+				probe(shard.buckets[band], keys[band] ^ (1 << row), candidates);
+			}
+		}
+		candidates.remove(excluded);
+
+		PriorityQueue<SimilarMatch> best = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(SimilarMatch::similarity));
+		for (Map.Entry<UUID, float[]> candidate : candidates.entrySet()) {
+			double similarity = similarity(vector, candidate.getValue());
+			if (best.size() < limit) {
+				best.add(new SimilarMatch(candidate.getKey(), similarity));
+			} else if (similarity > best.peek().similarity()) {
+				best.poll();
+				best.add(new SimilarMatch(candidate.getKey(), similarity));
+			}
+		}
+		List<SimilarMatch> matches = new ArrayList<>(best);
+		matches.sort(Comparator.comparingDouble(SimilarMatch::similarity).reversed());
+		return matches;
+	}
+
+	int size() {
+		return this.vectors.size();
+	}
+
+	// both vectors have unit length, so the dot product is the cosine
+	static double similarity(float[] left, float[] right) {
+		float dot = 0;
+		for (int i = 0; i < left.length; i++) {
+			dot += left[i] * right[i];
+		}
+		return dot;
+	}
+
+	private int[] bandKeys(float[] vector) {
+		int[] keys = new int[this.bands];
+		for (int band = 0; band < this.bands; band++) {
+			int key = 0;
+			for (int row = 0; row < this.rows; row++) {
+				if (similarity(vector, this.hyperplanes[band * this.rows + row]) >= 0) {
+					key |= 1 << row;
+				}
+			}
+			keys[band] = key;
+		}
+		return keys;
+	}
+
+	private void probe(Map<Integer, Map<UUID, float[]>> buckets, int key, Map<UUID, float[]> candidates) {
+		Map<UUID, float[]> bucket = buckets.get(key);
+		if (bucket == null) {
+			return;
+		}
+		for (Map.Entry<UUID, float[]> entry : bucket.entrySet()) {
+			if (candidates.size() >= this.maxCandidates) {
+				return;
+			}
+			candidates.putIfAbsent(entry.getKey(), entry.getValue());
+		}
+	}
+
+	private static final class TypeShard {
+
+		private final Map<Integer, Map<UUID, float[]>>[] buckets;
+
+		@SuppressWarnings("unchecked")
+		private TypeShard(int bands) {
+			this.buckets = new Map[bands];
+			for (int band = 0; band < bands; band++) {
+				this.buckets[band] = new ConcurrentHashMap<>();
+			}
+		}
+
+	}
+
+}
+
+record IndexedVector(AdvertisementType type, float[] vector, int[] bandKeys) {
+
+	IndexedVector(AdvertisementType type, float[] vector) {
+		this(type, vector, null);
+	}
+
+}
+
+record SimilarMatch(UUID advertisementId, double similarity) {}
+
+record SimilarRow(UUID id, UUID categoryId, AdvertisementType type, BigDecimal price, UUID cityId, String attributes) {}
+
+record AdvertisementSimilarResponse(AdvertisementResponse advertisement, double similarity) {}
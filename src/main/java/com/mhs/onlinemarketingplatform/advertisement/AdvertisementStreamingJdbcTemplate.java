@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Runs the whole-table reads the in-memory indexes are built from. The driver only pages a result set through a
+ * cursor when a fetch size is set and auto-commit is off, so callers run {@link #query} inside a read-only
+ * transaction; otherwise every active advertisement would be buffered in memory before the first row is handed over.
+ *
+ * @author Milad Haghighat Shahedi
+ */
+@Component
+class AdvertisementStreamingJdbcTemplate {
+
+	static final int FETCH_SIZE = 1000;
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	AdvertisementStreamingJdbcTemplate(DataSource dataSource) {
+		JdbcTemplate template = new JdbcTemplate(dataSource);
+		template.setFetchSize(FETCH_SIZE);
+		this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+	}
+
+	void query(String sql, SqlParameterSource parameters, RowCallbackHandler handler) {
+		this.jdbcTemplate.query(sql, parameters, handler);
+	}
+
+}
@@ -0,0 +1,652 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.error.search.InvalidSearchCriteriaException;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.SearchErrorCode;
+import com.mhs.onlinemarketingplatform.advertisement.event.AddAdvertisementEvent;
+import com.mhs.onlinemarketingplatform.advertisement.event.DeleteAdvertisementEvent;
+import com.mhs.onlinemarketingplatform.advertisement.event.UpdateAdvertisementEvent;
+import com.mhs.onlinemarketingplatform.common.AuditLogger;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+@Controller
+@ResponseBody
+class AdvertisementTextSearchController {
+
+	private final AdvertisementTextSearchService advertisementTextSearchService;
+
+	AdvertisementTextSearchController(AdvertisementTextSearchService advertisementTextSearchService) {
+		this.advertisementTextSearchService = advertisementTextSearchService;
+	}
+
+	@GetMapping("/api/advertisements/text")
+	List<AdvertisementTextSearchResponse> search(
+			@RequestParam("q") String query,
+			@RequestParam(value = "limit", defaultValue = "20") int limit) {
+		return this.advertisementTextSearchService.search(query, limit);
+	}
+
+	@PostMapping("/api/admin/advertisements/text-index/rebuild")
+	ResponseEntity<String> rebuild() {
+		this.advertisementTextSearchService.rebuild();
+		return ResponseEntity.accepted().body("Text index rebuild accepted: processing asynchronously...");
+	}
+
+}
+
+@Service
+@Transactional(readOnly = true)
+class AdvertisementTextSearchService {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementTextSearchService.class);
+	static final int MAX_RESULTS = 100;
+
+	private final AdvertisementTextIndex advertisementTextIndex;
+	private final AdvertisementTextIndexer advertisementTextIndexer;
+	private final AdvertisementSearchRepository advertisementSearchRepository;
+	private final AdvertisementMapper mapper;
+	private final AuditLogger auditLogger;
+	private final MessageSource messageSource;
+
+	AdvertisementTextSearchService(
+			AdvertisementTextIndex advertisementTextIndex,
+			AdvertisementTextIndexer advertisementTextIndexer,
+			AdvertisementSearchRepository advertisementSearchRepository,
+			AdvertisementMapper mapper,
+			AuditLogger auditLogger,
+			MessageSource messageSource) {
+		this.advertisementTextIndex = advertisementTextIndex;
+		this.advertisementTextIndexer = advertisementTextIndexer;
+		this.advertisementSearchRepository = advertisementSearchRepository;
+		this.mapper = mapper;
+		this.auditLogger = auditLogger;
+		this.messageSource = messageSource;
+	}
+
+	List<AdvertisementTextSearchResponse> search(String query, int limit) {
+		if (query == null || AdvertisementTextAnalyzer.tokens(query).isEmpty()) {
+			throw new InvalidSearchCriteriaException(
+					messageSource.getMessage("error.search.text.query.invalid",
+							new Object[]{query},
+							LocaleContextHolder.getLocale()),
+					SearchErrorCode.INVALID_SEARCH_CRITERIA);
+		}
+		logger.info("Searching advertisements by text: {}", query);
+		List<TextHit> hits = this.advertisementTextIndex.search(query, Math.min(Math.max(limit, 1), MAX_RESULTS));
+		if (hits.isEmpty()) {
+			return List.of();
+		}
+
+		Map<UUID, Advertisement> advertisements = this.advertisementSearchRepository
+				.findAllByIds(hits.stream().map(TextHit::id).toList()).stream()
+				.filter(advertisement -> advertisement.advertisementStatus() == AdvertisementStatus.ACTIVE)
+				.collect(Collectors.toMap(Advertisement::id, Function.identity()));
+
+		List<AdvertisementTextSearchResponse> responses = new ArrayList<>(hits.size());
+		for (TextHit hit : hits) {
+			Advertisement advertisement = advertisements.get(hit.id());
+			if (advertisement != null) {
+				responses.add(new AdvertisementTextSearchResponse(this.mapper.mapAdvertisementToResponse(advertisement), hit.score()));
+			}
+		}
+		return responses;
+	}
+
+	void rebuild() {
+		this.advertisementTextIndexer.rebuild();
+		this.auditLogger.log("TEXT_INDEX_REBUILD_REQUESTED", "ADVERTISEMENT", "Text index rebuild requested");
+	}
+
+}
+
+/**
+ * Feeds {@link AdvertisementTextIndex} from committed advertisement changes and rebuilds it from the table on
+ * start-up or on demand. Every change re-reads the row, so only active advertisements are searchable and replaying
+ * an event is harmless.
+ */
+@Component
+class AdvertisementTextIndexer {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementTextIndexer.class);
+
+	private final AdvertisementTextIndex advertisementTextIndex;
+	private final AdvertisementTextRepository advertisementTextRepository;
+
+	AdvertisementTextIndexer(AdvertisementTextIndex advertisementTextIndex, AdvertisementTextRepository advertisementTextRepository) {
+		this.advertisementTextIndex = advertisementTextIndex;
+		this.advertisementTextRepository = advertisementTextRepository;
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		rebuild();
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	public void rebuild() {
+		long started = System.currentTimeMillis();
+		AdvertisementTextIndex.Builder builder = this.advertisementTextIndex.builder();
+		this.advertisementTextRepository.streamActive(document -> builder.add(document.id(), document.title(), document.description()));
+		builder.publish();
+		logger.info("Text index rebuilt with {} documents and {} terms in {} ms",
+				this.advertisementTextIndex.documentCount(), this.advertisementTextIndex.termCount(), System.currentTimeMillis() - started);
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAddAdvertisementEvent(AddAdvertisementEvent event) {
+		refresh(event.productId());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleUpdateAdvertisementEvent(UpdateAdvertisementEvent event) {
+		refresh(event.productId());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleDeleteAdvertisementEvent(DeleteAdvertisementEvent event) {
+		this.advertisementTextIndex.remove(event.productId());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementsBulkChangedEvent(AdvertisementsBulkChangedEvent event) {
+		if (event.change() == BulkChange.ACTIVATED) {
+			this.advertisementTextRepository.findActiveByIds(event.ids()).forEach(document ->
+					this.advertisementTextIndex.put(document.id(), document.title(), document.description()));
+		} else if (event.change() == BulkChange.DEACTIVATED) {
+			event.ids().forEach(this.advertisementTextIndex::remove);
+		}
+	}
+
+	private void refresh(UUID advertisementId) {
+		this.advertisementTextRepository.findActiveById(advertisementId).ifPresentOrElse(
+				document -> this.advertisementTextIndex.put(document.id(), document.title(), document.description()),
+				() -> this.advertisementTextIndex.remove(advertisementId));
+	}
+
+}
+
+@Repository
+class AdvertisementTextRepository {
+
+	private static final String ACTIVE_DOCUMENTS = """
+			SELECT a.id, a.title, a.description FROM advertisements a WHERE a.advertisement_status = 'ACTIVE'
+			""";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final AdvertisementStreamingJdbcTemplate streamingJdbcTemplate;
+
+	AdvertisementTextRepository(NamedParameterJdbcTemplate jdbcTemplate, AdvertisementStreamingJdbcTemplate streamingJdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.streamingJdbcTemplate = streamingJdbcTemplate;
+	}
+
+	Optional<TextDocument> findActiveById(UUID id) {
+		return this.jdbcTemplate.query(ACTIVE_DOCUMENTS + " AND a.id = :id",
+				new MapSqlParameterSource("id", id),
+				(rs, rowNum) -> new TextDocument(rs.getObject("id", UUID.class), rs.getString("title"), rs.getString("description")))
+				.stream().findFirst();
+	}
+
+	List<TextDocument> findActiveByIds(Collection<UUID> ids) {
+		return this.jdbcTemplate.query(ACTIVE_DOCUMENTS + " AND a.id = ANY(CAST(:ids AS uuid[]))",
+				new MapSqlParameterSource("ids", AdvertisementSearchRepository.uuidArray(ids)),
+				(rs, rowNum) -> new TextDocument(rs.getObject("id", UUID.class), rs.getString("title"), rs.getString("description")));
+	}
+
+	@Transactional(readOnly = true)
+	void streamActive(Consumer<TextDocument> consumer) {
+		this.streamingJdbcTemplate.query(ACTIVE_DOCUMENTS, new MapSqlParameterSource(), rs -> {
+			consumer.accept(new TextDocument(rs.getObject("id", UUID.class), rs.getString("title"), rs.getString("description")));
+		});
+	}
+
+}
+
+/**
+ * Inverted index over title and description with BM25 ranking. Title terms are counted {@link #TITLE_WEIGHT} times,
+ * which favours title matches the way a field boost would. Postings are parallel primitive arrays per term and every
+ * document remembers its term ids, so an update removes exactly the postings it added. Terms whose postings become
+ * empty stay in the vocabulary until the next rebuild.
+ */
+@Component
+class AdvertisementTextIndex {
+
+	static final double K1 = 1.2;
+	static final double B = 0.75;
+	static final int TITLE_WEIGHT = 3;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Timer queryTimer;
+	private TextPostings postings = new TextPostings();
+
+	AdvertisementTextIndex(MeterRegistry meterRegistry) {
+		Gauge.builder("advertisement.text.index.documents", this, AdvertisementTextIndex::documentCount)
+				.description("Active advertisements in the text index")
+				.register(meterRegistry);
+		Gauge.builder("advertisement.text.index.terms", this, AdvertisementTextIndex::termCount)
+				.description("Distinct terms in the text index")
+				.register(meterRegistry);
+		Gauge.builder("advertisement.text.index.postings", this, AdvertisementTextIndex::postingCount)
+				.description("Postings held by the text index")
+				.register(meterRegistry);
+		this.queryTimer = Timer.builder("advertisement.text.index.query")
+				.description("Text index query latency")
+				.publishPercentiles(0.5, 0.95, 0.99)
+				.register(meterRegistry);
+	}
+
+	void put(UUID id, String title, String description) {
+		Map<String, Integer> frequencies = new HashMap<>();
+		int length = analyze(title, description, frequencies);
+		this.lock.writeLock().lock();
+		try {
+			this.postings.remove(id);
+			this.postings.add(id, frequencies, length);
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	boolean remove(UUID id) {
+		this.lock.writeLock().lock();
+		try {
+			return this.postings.remove(id);
+		} finally {
+			this.lock.writeLock().unlock();
+		}
+	}
+
+	List<TextHit> search(String query, int limit) {
+		Set<String> terms = new LinkedHashSet<>(AdvertisementTextAnalyzer.tokens(query));
+		return this.queryTimer.record(() -> {
+			this.lock.readLock().lock();
+			try {
+				return this.postings.search(terms, limit);
+			} finally {
+				this.lock.readLock().unlock();
+			}
+		});
+	}
+
+	/**
+	 * Starts a rebuild into a fresh set of postings; searches keep using the current postings until {@link Builder#publish()}.
+	 */
+	Builder builder() {
+		return new Builder();
+	}
+
+	int documentCount() {
+		this.lock.readLock().lock();
+		try {
+			return this.postings.documentsById.size();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	int termCount() {
+		this.lock.readLock().lock();
+		try {
+			return this.postings.termIds.size();
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	long postingCount() {
+		this.lock.readLock().lock();
+		try {
+			return this.postings.postingCount;
+		} finally {
+			this.lock.readLock().unlock();
+		}
+	}
+
+	private static int analyze(String title, String description, Map<String, Integer> frequencies) {
+		int length = 0;
+		for (String token : AdvertisementTextAnalyzer.tokens(title)) {
+			frequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+			length += TITLE_WEIGHT;
+		}
+		for (String token : AdvertisementTextAnalyzer.tokens(description)) {
+			frequencies.merge(token, 1, Integer::sum);
+			length++;
+		}
+		return length;
+	}
+
+	class Builder {
+
+		private final TextPostings next = new TextPostings();
+
+		void add(UUID id, String title, String description) {
+			Map<String, Integer> frequencies = new HashMap<>();
+			int length = analyze(title, description, frequencies);
+			this.next.remove(id);
+			this.next.add(id, frequencies, length);
+		}
+
+		void publish() {
+			lock.writeLock().lock();
+			try {
+				postings = this.next;
+			} finally {
+				lock.writeLock().unlock();
+			}
+		}
+
+	}
+
+	private static final class TextPostings {
+
+		private static final int INITIAL_CAPACITY = 1024;
+
+		private final Map<UUID, Integer> documentsById = new HashMap<>();
+		private final Map<String, Integer> termIds = new HashMap<>();
+		private PostingList[] postingLists = new PostingList[INITIAL_CAPACITY];
+
+		private UUID[] ids = new UUID[INITIAL_CAPACITY];
+		private int[] lengths = new int[INITIAL_CAPACITY];
+		private int[][] documentTerms = new int[INITIAL_CAPACITY][];
+		private int[] freeDocuments = new int[INITIAL_CAPACITY];
+		private int freeCount;
+		private int highWaterMark;
+		private long totalLength;
+		private long postingCount;
+
+		void add(UUID id, Map<String, Integer> frequencies, int length) {
+			int document = allocate();
+			this.ids[document] = id;
+			this.lengths[document] = length;
+			this.documentsById.put(id, document);
+
+			int[] terms = new int[frequencies.size()];
+			int i = 0;
+			for (Map.Entry<String, Integer> frequency : frequencies.entrySet()) {
+				int term = termId(frequency.getKey());
+				this.postingLists[term].add(document, frequency.getValue());
+				terms[i++] = term;
+			}
+			this.documentTerms[document] = terms;
+			this.totalLength += length;
+			this.postingCount += terms.length;
+		}
+
+		boolean remove(UUID id) {
+			Integer document = this.documentsById.remove(id);
+			if (document == null) {
+				return false;
+			}
+			for (int term : this.documentTerms[document]) {
+				this.postingLists[term].remove(document);
+			}
+			this.postingCount -= this.documentTerms[document].length;
+			this.totalLength -= this.lengths[document];
+			this.ids[document] = null;
+			this.documentTerms[document] = null;
+			if (this.freeCount == this.freeDocuments.length) {
+				this.freeDocuments = Arrays.copyOf(this.freeDocuments, this.freeDocuments.length * 2);
+			}
+			this.freeDocuments[this.freeCount++] = document;
+			return true;
+		}
+
+		// term-at-a-time BM25: every posting of a query term adds its contribution to the document accumulator
+		List<TextHit> search(Set<String> terms, int limit) {
+			int documentCount = this.documentsById.size();
+			if (documentCount == 0 || terms.isEmpty()) {
+				return List.of();
+			}
+			List<PostingList> matched = new ArrayList<>(terms.size());
+			long postings = 0;
+			for (String term : terms) {
+				Integer termId = this.termIds.get(term);
+				if (termId != null && this.postingLists[termId].size > 0) {
+					matched.add(this.postingLists[termId]);
+					postings += this.postingLists[termId].size;
+				}
+			}
+			if (matched.isEmpty()) {
+				return List.of();
+			}
+
+			double averageLength = (double) this.totalLength / documentCount;
+			ScoreAccumulator scores = new ScoreAccumulator((int) Math.min(postings, documentCount));
+			for (PostingList postingList : matched) {
+				double idf = Math.log(1 + (documentCount - postingList.size + 0.5) / (postingList.size + 0.5));
+				for (int i = 0; i < postingList.size; i++) {
+					int document = postingList.documents[i];
+					int frequency = postingList.frequencies[i];
+					double norm = K1 * (1 - B + B * this.lengths[document] / averageLength);
+					scores.add(document, idf * frequency * (K1 + 1) / (frequency + norm));
+				}
+			}
+
+			BoundedHeap heap = new BoundedHeap(limit);
+			for (int slot = 0; slot < scores.documents.length; slot++) {
+				if (scores.documents[slot] != 0) {
+					heap.offer(scores.documents[slot] - 1, -scores.scores[slot]);
+				}
+			}
+			return heap.drain((document, key) -> new TextHit(this.ids[document], -key));
+		}
+
+		private int termId(String term) {
+			Integer existing = this.termIds.get(term);
+			if (existing != null) {
+				return existing;
+			}
+			int next = this.termIds.size();
+			if (next == this.postingLists.length) {
+				this.postingLists = Arrays.copyOf(this.postingLists, next * 2);
+			}
+			this.postingLists[next] = new PostingList();
+			this.termIds.put(term, next);
+			return next;
+		}
+
+		private int allocate() {
+			if (this.freeCount > 0) {
+				return this.freeDocuments[--this.freeCount];
+			}
+			if (this.highWaterMark == this.ids.length) {
+				int capacity = this.ids.length * 2;
+				this.ids = Arrays.copyOf(this.ids, capacity);
+				this.lengths = Arrays.copyOf(this.lengths, capacity);
+				this.documentTerms = Arrays.copyOf(this.documentTerms, capacity);
+			}
+			return this.highWaterMark++;
+		}
+
+	}
+
+	private static final class PostingList {
+
+		private int[] documents = new int[4];
+		private int[] frequencies = new int[4];
+		private int size;
+
+		void add(int document, int frequency) {
+			if (this.size == this.documents.length) {
+				this.documents = Arrays.copyOf(this.documents, this.size * 2);
+				this.frequencies = Arrays.copyOf(this.frequencies, this.size * 2);
+			}
+			this.documents[this.size] = document;
+			this.frequencies[this.size++] = frequency;
+		}
+
+		void remove(int document) {
+			for (int i = 0; i < this.size; i++) {
+				if (this.documents[i] == document) {
+					this.size--;
+					this.documents[i] = this.documents[this.size];
+					this.frequencies[i] = this.frequencies[this.size];
+					return;
+				}
+			}
+		}
+
+	}
+
+	// open addressing document to score map sized from the postings of the query terms, so the memory a search needs
+	// follows the query and is released with it instead of growing with the index on every request thread
+	private static final class ScoreAccumulator {
+
+		// document + 1, so that 0 marks a free slot
+		private final int[] documents;
+		private final double[] scores;
+		private final int mask;
+
+		ScoreAccumulator(int expected) {
+			int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+			this.documents = new int[capacity];
+			this.scores = new double[capacity];
+			this.mask = capacity - 1;
+		}
+
+		void add(int document, double score) {
+			int hash = document * 0x9E3779B9;
+			int slot = (hash ^ (hash >>> 16)) & this.mask;
+			while (this.documents[slot] != 0 && this.documents[slot] != document + 1) {
+				slot = (slot + 1) & this.mask;
+			}
+			this.documents[slot] = document + 1;
+			this.scores[slot] += score;
+		}
+
+	}
+
+}
+
+/**
+ * Tokenizer shared by indexing and querying. Arabic letter forms are folded to their Persian equivalents, Persian and
+ * Arabic-Indic digits become ASCII digits, diacritics and tatweel are dropped, zero-width non-joiners split words and
+ * Latin text is lower-cased. Very common Persian function words are not indexed.
+ */
+final class AdvertisementTextAnalyzer {
+
+	private static final Set<String> STOP_WORDS = Set.of(
+			"و", "در", "به", "از", "که", "با", "را", "این", "آن", "برای", "تا", "یا", "هم", "است", "می");
+
+	private AdvertisementTextAnalyzer() {}
+
+	static List<String> tokens(String text) {
+		if (text == null || text.isEmpty()) {
+			return List.of();
+		}
+		String normalized = normalize(text);
+		List<String> tokens = new ArrayList<>();
+		int start = -1;
+		for (int i = 0; i <= normalized.length(); i++) {
+			boolean wordCharacter = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+			if (wordCharacter && start < 0) {
+				start = i;
+			} else if (!wordCharacter && start >= 0) {
+				String token = normalized.substring(start, i);
+				if (!STOP_WORDS.contains(token) && (token.length() > 1 || Character.isDigit(token.charAt(0)))) {
+					tokens.add(token);
+				}
+				start = -1;
+			}
+		}
+		return tokens;
+	}
+
+	static String normalize(String text) {
+		StringBuilder normalized = new StringBuilder(text.length());
+		for (int i = 0; i < text.length(); i++) {
+			char character = text.charAt(i);
+			switch (character) {
+				// arabic yeh, alef maksura and yeh with hamza -> persian yeh
+				case 'ي', 'ى', 'ئ' -> normalized.append('ی');
+				// arabic kaf -> persian keheh
+				case 'ك' -> normalized.append('ک');
+				// teh marbuta and heh with yeh -> heh
+				case 'ة', 'ۀ' -> normalized.append('ه');
+				// alef with madda, hamza above, hamza below and wasla -> alef
+				case 'آ', 'أ', 'إ', 'ٱ' -> normalized.append('ا');
+				// waw with hamza -> waw
+				case 'ؤ' -> normalized.append('و');
+				// zero-width non-joiner separates the parts of a word
+				case '\u200C' -> normalized.append(' ');
+				// tatweel
+				case 'ـ' -> {}
+				default -> {
+					// harakat, tanwin and superscript alef
+					if ((character >= '\u064B' && character <= '\u065F') || character == '\u0670') {
+						continue;
+					}
+					if (character >= '۰' && character <= '۹') {
+						normalized.append((char) ('0' + character - '۰'));
+					} else if (character >= '٠' && character <= '٩') {
+						normalized.append((char) ('0' + character - '٠'));
+					} else {
+						normalized.append(Character.toLowerCase(character));
+					}
+				}
+			}
+		}
+		return normalized.toString();
+	}
+
+}
+
+record TextDocument(UUID id, String title, String description) {}
+
+record TextHit(UUID id, double score) {}
+
+record AdvertisementTextSearchResponse(
+		AdvertisementResponse advertisement,
+		double score) {}
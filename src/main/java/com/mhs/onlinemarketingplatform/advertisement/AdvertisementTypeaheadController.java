@@ -0,0 +1,387 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementTypeaheadProperties;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.InvalidSearchCriteriaException;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.SearchErrorCode;
+import com.mhs.onlinemarketingplatform.advertisement.event.DeleteAdvertisementEvent;
+import com.mhs.onlinemarketingplatform.advertisement.event.UpdateAdvertisementEvent;
+import com.mhs.onlinemarketingplatform.catalog.event.UpdateCategoryEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+@Controller
+@ResponseBody
+class AdvertisementTypeaheadController {
+
+	private final AdvertisementTypeaheadService advertisementTypeaheadService;
+
+	AdvertisementTypeaheadController(AdvertisementTypeaheadService advertisementTypeaheadService) {
+		this.advertisementTypeaheadService = advertisementTypeaheadService;
+	}
+
+	@GetMapping("/api/suggestions")
+	List<TypeaheadSuggestion> suggest(
+			@RequestParam("prefix") String prefix,
+			@RequestParam(value = "kinds", required = false) List<String> kinds,
+			@RequestParam(value = "size", defaultValue = "5") int size) {
+		return this.advertisementTypeaheadService.suggest(prefix, kinds, size);
+	}
+
+}
+
+@Service
+class AdvertisementTypeaheadService {
+
+	private final AdvertisementTypeaheadIndex advertisementTypeaheadIndex;
+	private final AdvertisementTypeaheadProperties properties;
+	private final MessageSource messageSource;
+
+	AdvertisementTypeaheadService(
+			AdvertisementTypeaheadIndex advertisementTypeaheadIndex,
+			AdvertisementTypeaheadProperties properties,
+			MessageSource messageSource) {
+		this.advertisementTypeaheadIndex = advertisementTypeaheadIndex;
+		this.properties = properties;
+		this.messageSource = messageSource;
+	}
+
+	/**
+	 * Returns the completions of every requested kind, all of them when none is requested, grouped by kind in the
+	 * requested order and heaviest first within a kind.
+	 */
+	List<TypeaheadSuggestion> suggest(String prefix, List<String> kinds, int size) {
+		int limit = Math.min(Math.max(size, 1), this.properties.maxResults());
+		List<TypeaheadSuggestion> suggestions = new ArrayList<>();
+		for (TypeaheadKind kind : kinds(kinds)) {
+			for (TypeaheadEntry entry : this.advertisementTypeaheadIndex.complete(kind, prefix, limit)) {
+				suggestions.add(new TypeaheadSuggestion(kind, entry.id(), entry.text(), entry.weight()));
+			}
+		}
+		return suggestions;
+	}
+
+	private Set<TypeaheadKind> kinds(List<String> kinds) {
+		if (kinds == null || kinds.isEmpty()) {
+			return EnumSet.allOf(TypeaheadKind.class);
+		}
+		Set<TypeaheadKind> parsed = new LinkedHashSet<>();
+		for (String kind : kinds) {
+			try {
+				parsed.add(TypeaheadKind.valueOf(kind.trim().toUpperCase(Locale.ROOT)));
+			} catch (IllegalArgumentException ex) {
+				throw new InvalidSearchCriteriaException(
+						messageSource.getMessage("error.search.typeahead.kind.invalid",
+								new Object[]{kind},
+								LocaleContextHolder.getLocale()),
+						SearchErrorCode.INVALID_SEARCH_CRITERIA);
+			}
+		}
+		return parsed;
+	}
+
+}
+
+/**
+ * Feeds {@link AdvertisementTypeaheadIndex}. Titles of active advertisements are kept per advertisement and follow
+ * the advertisement events as they commit; the title trie is then rebuilt from them at most once per rebuild
+ * interval, and only when something changed. Names and weights of categories, catalogs, provinces and cities are
+ * reloaded on start up and every reload interval, which also corrects the title weights, and an updated category
+ * reloads the category and catalog names right away. A reload reads on the rebuild worker while the events keep
+ * changing the current titles; the index worker then swaps the loaded titles in, carrying over every advertisement an
+ * event touched during the read.
+ */
+@Component
+class AdvertisementTypeaheadIndexer {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementTypeaheadIndexer.class);
+
+	private final AdvertisementTypeaheadIndex advertisementTypeaheadIndex;
+	private final AdvertisementTypeaheadRepository advertisementTypeaheadRepository;
+	private final Executor indexTaskExecutor;
+	private final AtomicBoolean titlesChanged = new AtomicBoolean();
+	private final Set<UUID> changedDuringReload = ConcurrentHashMap.newKeySet();
+
+	private volatile Map<UUID, TypeaheadTitle> titles = new ConcurrentHashMap<>();
+	private volatile boolean reloading;
+
+	AdvertisementTypeaheadIndexer(
+			AdvertisementTypeaheadIndex advertisementTypeaheadIndex,
+			AdvertisementTypeaheadRepository advertisementTypeaheadRepository,
+			@Qualifier("advertisementIndexTaskExecutor") Executor indexTaskExecutor) {
+		this.advertisementTypeaheadIndex = advertisementTypeaheadIndex;
+		this.advertisementTypeaheadRepository = advertisementTypeaheadRepository;
+		this.indexTaskExecutor = indexTaskExecutor;
+	}
+
+	@Async("advertisementRebuildTaskExecutor")
+	@EventListener(ApplicationReadyEvent.class)
+	@Scheduled(fixedDelayString = "${advertisement.typeahead.reload_interval_in_ms}", initialDelayString = "${advertisement.typeahead.reload_interval_in_ms}")
+	public void reload() {
+		long started = System.currentTimeMillis();
+		this.changedDuringReload.clear();
+		this.reloading = true;
+		Map<UUID, TypeaheadTitle> loaded = new ConcurrentHashMap<>();
+		try {
+			this.advertisementTypeaheadRepository.streamActiveTitles(title -> loaded.put(title.advertisementId(), title));
+		} catch (RuntimeException ex) {
+			this.reloading = false;
+			throw ex;
+		}
+		CompletableFuture.runAsync(() -> swap(loaded), this.indexTaskExecutor).join();
+		rebuildTitles();
+		reloadCatalog();
+		this.advertisementTypeaheadIndex.replace(TypeaheadKind.PROVINCE, this.advertisementTypeaheadRepository.findProvinces());
+		this.advertisementTypeaheadIndex.replace(TypeaheadKind.CITY, this.advertisementTypeaheadRepository.findCities());
+		logger.info("Typeahead index loaded {} titles in {} ms", loaded.size(), System.currentTimeMillis() - started);
+	}
+
+	@Async("advertisementArchiveTaskExecutor")
+	@Scheduled(fixedDelayString = "${advertisement.typeahead.rebuild_interval_in_ms}", initialDelayString = "${advertisement.typeahead.rebuild_interval_in_ms}")
+	public void rebuildTitles() {
+		if (!this.titlesChanged.getAndSet(false)) {
+			return;
+		}
+		Map<String, TypeaheadEntry> entries = new HashMap<>();
+		for (TypeaheadTitle title : this.titles.values()) {
+			String key = PrefixTrie.key(title.title());
+			if (!key.isEmpty()) {
+				entries.merge(key, new TypeaheadEntry(null, title.title(), 1 + title.visits()),
+						(left, right) -> new TypeaheadEntry(null, left.weight() >= right.weight() ? left.text() : right.text(), left.weight() + right.weight()));
+			}
+		}
+		this.advertisementTypeaheadIndex.replace(TypeaheadKind.TITLE, entries.values());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementActivatedEvent(AdvertisementActivatedEvent event) {
+		activated(event.id(), event.title());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementDeactivatedEvent(AdvertisementDeactivatedEvent event) {
+		removed(event.id());
+	}
+
+	// an updated advertisement is inactive until it is activated again
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleUpdateAdvertisementEvent(UpdateAdvertisementEvent event) {
+		removed(event.productId());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleDeleteAdvertisementEvent(DeleteAdvertisementEvent event) {
+		removed(event.productId());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementsBulkChangedEvent(AdvertisementsBulkChangedEvent event) {
+		if (event.change() == BulkChange.ACTIVATED) {
+			event.advertisements().forEach(advertisement -> activated(advertisement.id(), advertisement.title()));
+		} else if (event.change() == BulkChange.DEACTIVATED) {
+			event.ids().forEach(this::removed);
+		}
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleUpdateCategoryEvent(UpdateCategoryEvent event) {
+		reloadCatalog();
+	}
+
+	private void reloadCatalog() {
+		this.advertisementTypeaheadIndex.replace(TypeaheadKind.CATEGORY, this.advertisementTypeaheadRepository.findCategories());
+		this.advertisementTypeaheadIndex.replace(TypeaheadKind.CATALOG, this.advertisementTypeaheadRepository.findCatalogs());
+	}
+
+	private void swap(Map<UUID, TypeaheadTitle> loaded) {
+		this.reloading = false;
+		for (UUID advertisementId : this.changedDuringReload) {
+			TypeaheadTitle current = this.titles.get(advertisementId);
+			TypeaheadTitle read = loaded.get(advertisementId);
+			if (current == null) {
+				loaded.remove(advertisementId);
+			} else {
+				loaded.put(advertisementId, new TypeaheadTitle(advertisementId, current.title(), read == null ? current.visits() : read.visits()));
+			}
+		}
+		this.changedDuringReload.clear();
+		this.titles = loaded;
+		this.titlesChanged.set(true);
+	}
+
+	private void activated(UUID advertisementId, String title) {
+		changed(advertisementId);
+		TypeaheadTitle previous = this.titles.get(advertisementId);
+		this.titles.put(advertisementId, new TypeaheadTitle(advertisementId, title, previous == null ? 0 : previous.visits()));
+		this.titlesChanged.set(true);
+	}
+
+	private void removed(UUID advertisementId) {
+		changed(advertisementId);
+		if (this.titles.remove(advertisementId) != null) {
+			this.titlesChanged.set(true);
+		}
+	}
+
+	private void changed(UUID advertisementId) {
+		if (this.reloading) {
+			this.changedDuringReload.add(advertisementId);
+		}
+	}
+
+}
+
+@Repository
+class AdvertisementTypeaheadRepository {
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final AdvertisementStreamingJdbcTemplate streamingJdbcTemplate;
+
+	AdvertisementTypeaheadRepository(NamedParameterJdbcTemplate jdbcTemplate, AdvertisementStreamingJdbcTemplate streamingJdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.streamingJdbcTemplate = streamingJdbcTemplate;
+	}
+
+	@Transactional(readOnly = true)
+	void streamActiveTitles(Consumer<TypeaheadTitle> consumer) {
+		this.streamingJdbcTemplate.query("""
+				SELECT a.id, a.title, COALESCE(v.visit_count, 0) AS visit_count FROM advertisements a
+				LEFT JOIN advertisement_visits v ON v.advertisement_id = a.id
+				WHERE a.advertisement_status = 'ACTIVE'
+				""", new MapSqlParameterSource(), rs -> {
+			consumer.accept(new TypeaheadTitle(rs.getObject("id", UUID.class), rs.getString("title"), rs.getLong("visit_count")));
+		});
+	}
+
+	List<TypeaheadEntry> findCategories() {
+		return entries("""
+				SELECT c.id, c.name, COUNT(a.id) AS weight FROM categories c
+				LEFT JOIN advertisements a ON a.category_id = c.id AND a.advertisement_status = 'ACTIVE'
+				WHERE c.category_status = 'ACTIVE'
+				GROUP BY c.id, c.name
+				""");
+	}
+
+	List<TypeaheadEntry> findCatalogs() {
+		return entries("""
+				SELECT ct.id, ct.name, COUNT(a.id) AS weight FROM catalogs ct
+				LEFT JOIN categories c ON c.catalog_id = ct.id
+				LEFT JOIN advertisements a ON a.category_id = c.id AND a.advertisement_status = 'ACTIVE'
+				GROUP BY ct.id, ct.name
+				""");
+	}
+
+	List<TypeaheadEntry> findProvinces() {
+		return entries("""
+				SELECT p.id, p.name, COUNT(a.id) AS weight FROM provinces p
+				LEFT JOIN locations l ON l.province_id = p.id
+				LEFT JOIN advertisements a ON a.location_id = l.id AND a.advertisement_status = 'ACTIVE'
+				GROUP BY p.id, p.name
+				""");
+	}
+
+	List<TypeaheadEntry> findCities() {
+		return entries("""
+				SELECT c.id, c.name, COUNT(a.id) AS weight FROM cities c
+				LEFT JOIN locations l ON l.city_id = c.id
+				LEFT JOIN advertisements a ON a.location_id = l.id AND a.advertisement_status = 'ACTIVE'
+				GROUP BY c.id, c.name
+				""");
+	}
+
+	private List<TypeaheadEntry> entries(String sql) {
+		return this.jdbcTemplate.query(sql, new MapSqlParameterSource(), (rs, rowNum) -> new TypeaheadEntry(
+				rs.getObject("id", UUID.class),
+				rs.getString("name"),
+				rs.getLong("weight")));
+	}
+
+}
+
+/**
+ * One {@link PrefixTrie} per suggestion kind. A trie is never changed once published: a new entry set is built into
+ * a new trie off the request path and replaces the old one in a single write, so readers take no lock and always see
+ * a complete trie.
+ */
+@Component
+class AdvertisementTypeaheadIndex {
+
+	private final Map<TypeaheadKind, PrefixTrie> tries = new ConcurrentHashMap<>();
+	private final AdvertisementTypeaheadProperties properties;
+
+	AdvertisementTypeaheadIndex(AdvertisementTypeaheadProperties properties) {
+		this.properties = properties;
+	}
+
+	void replace(TypeaheadKind kind, Collection<TypeaheadEntry> entries) {
+		this.tries.put(kind, PrefixTrie.build(entries, this.properties.maxResults(), this.properties.wordStarts()));
+	}
+
+	List<TypeaheadEntry> complete(TypeaheadKind kind, String prefix, int size) {
+		return this.tries.getOrDefault(kind, PrefixTrie.empty()).complete(prefix, size);
+	}
+
+}
+
+enum TypeaheadKind {
+	TITLE,
+	CATEGORY,
+	CATALOG,
+	PROVINCE,
+	CITY
+}
+
+record TypeaheadTitle(UUID advertisementId, String title, long visits) {}
+
+record TypeaheadEntry(UUID id, String text, long weight) {}
+
+record TypeaheadSuggestion(TypeaheadKind kind, UUID id, String text, long weight) {}
@@ -0,0 +1,482 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.error.advertisement.AdvertisementErrorCode;
+import com.mhs.onlinemarketingplatform.advertisement.error.advertisement.AdvertisementNotFoundException;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.InvalidSearchCriteriaException;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.SearchErrorCode;
+import com.mhs.onlinemarketingplatform.advertisement.event.AddAdvertisementEvent;
+import com.mhs.onlinemarketingplatform.advertisement.event.DeleteAdvertisementEvent;
+import com.mhs.onlinemarketingplatform.advertisement.event.UpdateAdvertisementEvent;
+import com.mhs.onlinemarketingplatform.catalog.event.UpdateCategoryEvent;
+import com.mhs.onlinemarketingplatform.common.AuditLogger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.IntSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+@Controller
+@ResponseBody
+class AdvertisementViewController {
+
+	private final AdvertisementViewService advertisementViewService;
+
+	AdvertisementViewController(AdvertisementViewService advertisementViewService) {
+		this.advertisementViewService = advertisementViewService;
+	}
+
+	@GetMapping("/api/advertisements/views/{id}")
+	AdvertisementViewResponse findById(@PathVariable("id") UUID id) {
+		return this.advertisementViewService.findById(id);
+	}
+
+	@GetMapping("/api/advertisements")
+	AdvertisementBatchResponse findAllByIds(@RequestParam("ids") List<UUID> ids) {
+		return this.advertisementViewService.findAllByIds(ids);
+	}
+
+	@GetMapping("/api/advertisements/views")
+	AdvertisementSlicedResponse<AdvertisementViewResponse> findAll(
+			@RequestParam(value = "categoryId", required = false) UUID categoryId,
+			@RequestParam(value = "cursor", required = false) String cursor,
+			@RequestParam(value = "size", defaultValue = "20") int size) {
+		return this.advertisementViewService.findAll(categoryId, cursor, size);
+	}
+
+	@PostMapping("/api/admin/advertisements/views/rebuild")
+	ResponseEntity<String> rebuild() {
+		this.advertisementViewService.rebuild();
+		return ResponseEntity.accepted().body("Advertisement view rebuild accepted: processing asynchronously...");
+	}
+
+}
+
+@Service
+@Transactional(readOnly = true)
+class AdvertisementViewService {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementViewService.class);
+	static final int MAX_BATCH_SIZE = 500;
+
+	private final AdvertisementViewRepository advertisementViewRepository;
+	private final AdvertisementViewProjector advertisementViewProjector;
+	private final AdvertisementVisitCounters advertisementVisitCounters;
+	private final AdvertisementSearchService advertisementSearchService;
+	private final AuditLogger auditLogger;
+	private final MessageSource messageSource;
+
+	AdvertisementViewService(
+			AdvertisementViewRepository advertisementViewRepository,
+			AdvertisementViewProjector advertisementViewProjector,
+			AdvertisementVisitCounters advertisementVisitCounters,
+			AdvertisementSearchService advertisementSearchService,
+			AuditLogger auditLogger,
+			MessageSource messageSource) {
+		this.advertisementViewRepository = advertisementViewRepository;
+		this.advertisementViewProjector = advertisementViewProjector;
+		this.advertisementVisitCounters = advertisementVisitCounters;
+		this.advertisementSearchService = advertisementSearchService;
+		this.auditLogger = auditLogger;
+		this.messageSource = messageSource;
+	}
+
+	AdvertisementViewResponse findById(UUID id) {
+		logger.info("Looking up advertisement view with the ID: {}", id);
+		AdvertisementViewResponse view = this.advertisementViewRepository.findActiveById(id).orElseThrow(() ->
+				new AdvertisementNotFoundException(
+						messageSource.getMessage("error.advertisement.advertisement.with.id.not.found",
+								new Object[]{id},
+								LocaleContextHolder.getLocale()),
+						AdvertisementErrorCode.ADVERTISEMENT_NOT_FOUND));
+		this.advertisementVisitCounters.increment(id);
+		return withPendingVisits(view);
+	}
+
+	AdvertisementSlicedResponse<AdvertisementViewResponse> findAll(UUID categoryId, String cursor, int size) {
+		AdvertisementSearchCursor after = this.advertisementSearchService.decodeCursor(cursor, AdvertisementSearchSort.NEWEST);
+		int pageSize = Math.min(Math.max(size, 1), AdvertisementSearchService.MAX_PAGE_SIZE);
+
+		logger.info("Listing advertisement views of category: {} size: {}", categoryId, pageSize);
+		List<AdvertisementViewResponse> views = this.advertisementViewRepository.findActive(categoryId, after, pageSize + 1).stream()
+				.map(this::withPendingVisits)
+				.toList();
+		boolean hasNext = views.size() > pageSize;
+		List<AdvertisementViewResponse> content = hasNext ? views.subList(0, pageSize) : views;
+		AdvertisementViewResponse last = hasNext ? content.get(content.size() - 1) : null;
+		String nextCursor = last != null
+				? AdvertisementSearchCursor.of(AdvertisementSearchSort.NEWEST, last.id(), last.insertedAt(), last.price()).encode()
+				: null;
+		return new AdvertisementSlicedResponse<>(content, content.size(), hasNext, nextCursor);
+	}
+
+	AdvertisementBatchResponse findAllByIds(List<UUID> ids) {
+		if (ids == null || ids.isEmpty() || ids.size() > MAX_BATCH_SIZE) {
+			throw new InvalidSearchCriteriaException(
+					messageSource.getMessage("error.search.ids.invalid",
+							new Object[]{MAX_BATCH_SIZE, ids == null ? 0 : ids.size()},
+							LocaleContextHolder.getLocale()),
+					SearchErrorCode.INVALID_SEARCH_CRITERIA);
+		}
+		logger.info("Looking up {} advertisement views by id", ids.size());
+		List<UUID> distinctIds = List.copyOf(new LinkedHashSet<>(ids));
+		return assemble(distinctIds, this.advertisementViewRepository.findActiveByIds(distinctIds).stream()
+				.map(this::withPendingVisits)
+				.toList());
+	}
+
+	private AdvertisementViewResponse withPendingVisits(AdvertisementViewResponse view) {
+		return view.withPendingVisits(this.advertisementVisitCounters.pending(view.id()));
+	}
+
+	/**
+	 * Puts the rows of an {@code ANY(:ids)} lookup back into the requested order and reports the ids that matched no
+	 * active advertisement.
+	 */
+	static AdvertisementBatchResponse assemble(List<UUID> ids, List<AdvertisementViewResponse> views) {
+		Map<UUID, AdvertisementViewResponse> byId = views.stream()
+				.collect(Collectors.toMap(AdvertisementViewResponse::id, Function.identity()));
+		List<AdvertisementViewResponse> content = new ArrayList<>(ids.size());
+		List<UUID> missing = new ArrayList<>();
+		for (UUID id : ids) {
+			AdvertisementViewResponse view = byId.get(id);
+			if (view != null) {
+				content.add(view);
+			} else {
+				missing.add(id);
+			}
+		}
+		return new AdvertisementBatchResponse(content, missing);
+	}
+
+	void rebuild() {
+		this.advertisementViewProjector.rebuild();
+		this.auditLogger.log("ADVERTISEMENT_VIEW_REBUILD_REQUESTED", "ADVERTISEMENT", "Advertisement view rebuild requested");
+	}
+
+}
+
+/**
+ * Keeps {@code advertisement_view} in step with the tables it is assembled from. Every change re-projects the
+ * affected rows from the source tables with a single upsert, so events carry identifiers only and replaying one is
+ * harmless; the single-threaded index executor keeps the projections of one advertisement in commit order.
+ * <p>
+ * A full rebuild projects the advertisements in batches by id on the rebuild worker. A batch can read a row just
+ * before an event re-projects it and write it back older, so the projections made meanwhile are recorded and run
+ * again on the index worker once the rebuild is done.
+ */
+@Component
+class AdvertisementViewProjector {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementViewProjector.class);
+
+	static final int BATCH_SIZE = 1000;
+
+	private final AdvertisementViewRepository advertisementViewRepository;
+	private final Executor indexTaskExecutor;
+
+	private volatile Queue<IntSupplier> projectedDuringRebuild;
+
+	AdvertisementViewProjector(
+			AdvertisementViewRepository advertisementViewRepository,
+			@Qualifier("advertisementIndexTaskExecutor") Executor indexTaskExecutor) {
+		this.advertisementViewRepository = advertisementViewRepository;
+		this.indexTaskExecutor = indexTaskExecutor;
+	}
+
+	@Async("advertisementRebuildTaskExecutor")
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		if (this.advertisementViewRepository.isEmpty()) {
+			rebuild();
+		}
+	}
+
+	@Async("advertisementRebuildTaskExecutor")
+	public void rebuild() {
+		long started = System.currentTimeMillis();
+		Queue<IntSupplier> projectedMeanwhile = new ConcurrentLinkedQueue<>();
+		this.projectedDuringRebuild = projectedMeanwhile;
+		int projected = 0;
+		int removed;
+		try {
+			List<UUID> ids = this.advertisementViewRepository.findAdvertisementIdsAfter(null, BATCH_SIZE);
+			while (!ids.isEmpty()) {
+				projected += this.advertisementViewRepository.projectByAdvertisementIds(ids);
+				if (ids.size() < BATCH_SIZE) {
+					break;
+				}
+				ids = this.advertisementViewRepository.findAdvertisementIdsAfter(ids.get(ids.size() - 1), BATCH_SIZE);
+			}
+			removed = this.advertisementViewRepository.deleteOrphans();
+		} finally {
+			this.indexTaskExecutor.execute(() -> {
+				this.projectedDuringRebuild = null;
+				projectedMeanwhile.forEach(IntSupplier::getAsInt);
+			});
+		}
+		logger.info("Advertisement view rebuilt with {} rows, {} orphans removed in {} ms", projected, removed, System.currentTimeMillis() - started);
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAddAdvertisementEvent(AddAdvertisementEvent event) {
+		project(() -> this.advertisementViewRepository.projectByAdvertisementId(event.productId()));
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementsImportedEvent(AdvertisementsImportedEvent event) {
+		int projected = project(() -> this.advertisementViewRepository.projectByImport(event.ownerId(), event.insertedAt()));
+		logger.info("Projected {} imported advertisement views of the owner with the ID: {}", projected, event.ownerId());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleUpdateAdvertisementEvent(UpdateAdvertisementEvent event) {
+		project(() -> this.advertisementViewRepository.projectByAdvertisementId(event.productId()));
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementsBulkChangedEvent(AdvertisementsBulkChangedEvent event) {
+		project(() -> this.advertisementViewRepository.projectByAdvertisementIds(event.ids()));
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleDeleteAdvertisementEvent(DeleteAdvertisementEvent event) {
+		project(() -> this.advertisementViewRepository.deleteById(event.productId()));
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementImagesChangedEvent(AdvertisementImagesChangedEvent event) {
+		project(() -> this.advertisementViewRepository.projectByAdvertisementId(event.advertisementId()));
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleUpdateLocationEvent(UpdateLocationEvent event) {
+		int projected = project(() -> this.advertisementViewRepository.projectByLocationId(event.locationId()));
+		logger.info("Re-projected {} advertisement views of the location with the ID: {}", projected, event.locationId());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleUpdateCategoryEvent(UpdateCategoryEvent event) {
+		int projected = project(() -> this.advertisementViewRepository.projectByCategoryId(event.categoryId()));
+		logger.info("Re-projected {} advertisement views of the category with the ID: {}", projected, event.categoryId());
+	}
+
+	private int project(IntSupplier projection) {
+		Queue<IntSupplier> projectedMeanwhile = this.projectedDuringRebuild;
+		if (projectedMeanwhile != null) {
+			projectedMeanwhile.add(projection);
+		}
+		return projection.getAsInt();
+	}
+
+}
+
+@Repository
+class AdvertisementViewRepository {
+
+	private static final String PROJECT = """
+			INSERT INTO advertisement_view (id, title, price, advertisement_type, advertisement_status, category_id, category_name,
+			category_slug, location_id, province_id, province_name, city_id, city_name, main_image_url, inserted_at, updated_at)
+			SELECT a.id, a.title, a.price, a.advertisement_type, a.advertisement_status, a.category_id, cat.name,
+			cat.slug, a.location_id, l.province_id, p.name, l.city_id, c.name, image.url, a.inserted_at, a.updated_at
+			FROM advertisements a
+			JOIN categories cat ON cat.id = a.category_id
+			JOIN locations l ON l.id = a.location_id
+			JOIN provinces p ON p.id = l.province_id
+			JOIN cities c ON c.id = l.city_id
+			LEFT JOIN LATERAL (
+				SELECT i.url FROM advertisement_image_metadata i
+				WHERE i.advertisement_id = a.id AND i.status = 'SUCCEED'
+				ORDER BY i.is_main DESC, i.inserted_at
+				LIMIT 1) image ON true
+			WHERE %s
+			ON CONFLICT (id) DO UPDATE SET
+			title = EXCLUDED.title, price = EXCLUDED.price, advertisement_type = EXCLUDED.advertisement_type,
+			advertisement_status = EXCLUDED.advertisement_status, category_id = EXCLUDED.category_id,
+			category_name = EXCLUDED.category_name, category_slug = EXCLUDED.category_slug, location_id = EXCLUDED.location_id,
+			province_id = EXCLUDED.province_id, province_name = EXCLUDED.province_name, city_id = EXCLUDED.city_id,
+			city_name = EXCLUDED.city_name, main_image_url = EXCLUDED.main_image_url, inserted_at = EXCLUDED.inserted_at,
+			updated_at = EXCLUDED.updated_at
+			""";
+
+	private static final String VIEW_COLUMNS = """
+			a.id, a.title, a.price, a.advertisement_type, a.advertisement_status, a.category_id, a.category_name,
+			a.category_slug, a.province_name, a.city_name, a.main_image_url, a.inserted_at, COALESCE(v.visit_count, 0) AS visit_count
+			""";
+
+	private static final String VIEW_TABLES = " FROM advertisement_view a LEFT JOIN advertisement_visits v ON v.advertisement_id = a.id";
+
+	private static final RowMapper<AdvertisementViewResponse> VIEW_ROW_MAPPER = (rs, rowNum) -> new AdvertisementViewResponse(
+			rs.getObject("id", UUID.class),
+			rs.getString("title"),
+			rs.getBigDecimal("price"),
+			rs.getString("advertisement_type"),
+			rs.getString("advertisement_status"),
+			rs.getObject("category_id", UUID.class),
+			rs.getString("category_name"),
+			rs.getString("category_slug"),
+			rs.getString("province_name"),
+			rs.getString("city_name"),
+			rs.getString("main_image_url"),
+			rs.getTimestamp("inserted_at").toLocalDateTime(),
+			rs.getLong("visit_count"));
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	AdvertisementViewRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	Optional<AdvertisementViewResponse> findActiveById(UUID id) {
+		return this.jdbcTemplate.query(
+				"SELECT " + VIEW_COLUMNS + VIEW_TABLES + " WHERE a.id = :id AND a.advertisement_status = 'ACTIVE'",
+				new MapSqlParameterSource("id", id),
+				VIEW_ROW_MAPPER).stream().findFirst();
+	}
+
+	List<AdvertisementViewResponse> findActiveByIds(Collection<UUID> ids) {
+		return this.jdbcTemplate.query(
+				"SELECT " + VIEW_COLUMNS + VIEW_TABLES + " WHERE a.id = ANY(CAST(:ids AS uuid[])) AND a.advertisement_status = 'ACTIVE'",
+				new MapSqlParameterSource("ids", AdvertisementSearchRepository.uuidArray(ids)),
+				VIEW_ROW_MAPPER);
+	}
+
+	List<AdvertisementViewResponse> findActive(UUID categoryId, AdvertisementSearchCursor after, int limit) {
+		MapSqlParameterSource params = new MapSqlParameterSource();
+		StringBuilder sql = new StringBuilder("SELECT ").append(VIEW_COLUMNS).append(VIEW_TABLES)
+				.append(" WHERE a.advertisement_status = 'ACTIVE'");
+		if (categoryId != null) {
+			sql.append(" AND a.category_id = :categoryId");
+			params.addValue("categoryId", categoryId);
+		}
+		AdvertisementSearchRepository.appendKeyset(sql, params, AdvertisementSearchSort.NEWEST, after);
+		sql.append(" LIMIT :limit");
+		params.addValue("limit", limit);
+		return this.jdbcTemplate.query(sql.toString(), params, VIEW_ROW_MAPPER);
+	}
+
+	boolean isEmpty() {
+		return Boolean.FALSE.equals(this.jdbcTemplate.queryForObject(
+				"SELECT EXISTS (SELECT 1 FROM advertisement_view)", new MapSqlParameterSource(), Boolean.class));
+	}
+
+	int projectByAdvertisementId(UUID advertisementId) {
+		return this.jdbcTemplate.update(PROJECT.formatted("a.id = :id"), new MapSqlParameterSource("id", advertisementId));
+	}
+
+	int projectByAdvertisementIds(Collection<UUID> advertisementIds) {
+		return this.jdbcTemplate.update(PROJECT.formatted("a.id = ANY(CAST(:ids AS uuid[]))"),
+				new MapSqlParameterSource("ids", AdvertisementSearchRepository.uuidArray(advertisementIds)));
+	}
+
+	int projectByLocationId(UUID locationId) {
+		return this.jdbcTemplate.update(PROJECT.formatted("a.location_id = :id"), new MapSqlParameterSource("id", locationId));
+	}
+
+	int projectByCategoryId(UUID categoryId) {
+		return this.jdbcTemplate.update(PROJECT.formatted("a.category_id = :id"), new MapSqlParameterSource("id", categoryId));
+	}
+
+	int projectByImport(UUID ownerId, LocalDateTime insertedAt) {
+		return this.jdbcTemplate.update(PROJECT.formatted("a.owner_id = :ownerId AND a.inserted_at = :insertedAt"), new MapSqlParameterSource()
+				.addValue("ownerId", ownerId)
+				.addValue("insertedAt", insertedAt));
+	}
+
+	List<UUID> findAdvertisementIdsAfter(UUID after, int limit) {
+		return this.jdbcTemplate.queryForList(
+				"SELECT id FROM advertisements WHERE CAST(:after AS uuid) IS NULL OR id > :after ORDER BY id LIMIT :limit",
+				new MapSqlParameterSource("after", after).addValue("limit", limit), UUID.class);
+	}
+
+	int deleteById(UUID advertisementId) {
+		return this.jdbcTemplate.update("DELETE FROM advertisement_view WHERE id = :id", new MapSqlParameterSource("id", advertisementId));
+	}
+
+	int deleteOrphans() {
+		return this.jdbcTemplate.update(
+				"DELETE FROM advertisement_view v WHERE NOT EXISTS (SELECT 1 FROM advertisements a WHERE a.id = v.id)",
+				new MapSqlParameterSource());
+	}
+
+}
+
+record AdvertisementViewResponse(
+		UUID id,
+		String title,
+		BigDecimal price,
+		String type,
+		String status,
+		UUID categoryId,
+		String categoryName,
+		String categorySlug,
+		String provinceName,
+		String cityName,
+		String mainImageUrl,
+		LocalDateTime insertedAt,
+		long visitCount) {
+
+	AdvertisementViewResponse withPendingVisits(long pending) {
+		return pending == 0 ? this : new AdvertisementViewResponse(this.id, this.title, this.price, this.type, this.status,
+				this.categoryId, this.categoryName, this.categorySlug, this.provinceName, this.cityName, this.mainImageUrl,
+				this.insertedAt, this.visitCount + pending);
+	}
+
+}
+
+record AdvertisementBatchResponse(
+		List<AdvertisementViewResponse> content,
+		List<UUID> missing) {}
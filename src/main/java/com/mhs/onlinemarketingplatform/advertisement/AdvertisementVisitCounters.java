@@ -0,0 +1,260 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementVisitProperties;
+import com.mhs.onlinemarketingplatform.advertisement.event.DeleteAdvertisementEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the visits of advertisement pages in memory. Every advertisement gets a {@link LongAdder}, which spreads
+ * concurrent increments over cells instead of contending on one value, and the counts are written to
+ * {@code advertisement_visits} by {@link AdvertisementVisitFlusher} on a fixed interval. The adder is never reset;
+ * the counter remembers how much of it was already stored, so an increment racing a flush is simply stored by the
+ * next one. A crash loses at most the visits of one interval.
+ *
+ * @author Milad Haghighat Shahedi
+ */
+@Component
+class AdvertisementVisitCounters {
+
+	private final ConcurrentHashMap<UUID, Counter> counters = new ConcurrentHashMap<>();
+
+	void increment(UUID advertisementId) {
+		this.counters.computeIfAbsent(advertisementId, key -> new Counter()).visits.increment();
+	}
+
+	/**
+	 * Visits counted but not stored yet, added to the stored count so a visitor sees their own visit right away.
+	 */
+	long pending(UUID advertisementId) {
+		Counter counter = this.counters.get(advertisementId);
+		return counter == null ? 0 : counter.pending();
+	}
+
+	Map<UUID, Long> pending() {
+		Map<UUID, Long> pending = new HashMap<>();
+		this.counters.forEach((advertisementId, counter) -> {
+			long visits = counter.pending();
+			if (visits > 0) {
+				pending.put(advertisementId, visits);
+			}
+		});
+		return pending;
+	}
+
+	/**
+	 * Marks the given visits as stored before they are written, so a reader never sees them both in the stored count
+	 * and as pending. Advertisements removed since the batch was taken are left out of the returned batch. Only the
+	 * flusher calls this, so the stored part of a counter has a single writer.
+	 */
+	Map<UUID, Long> claim(Map<UUID, Long> batch) {
+		Map<UUID, Long> claimed = new HashMap<>();
+		batch.forEach((advertisementId, visits) -> {
+			Counter counter = this.counters.get(advertisementId);
+			if (counter != null) {
+				counter.flushed += visits;
+				claimed.put(advertisementId, visits);
+			}
+		});
+		return claimed;
+	}
+
+	/**
+	 * Hands a claimed batch back after its write failed, so the next flush stores it again.
+	 */
+	void release(Map<UUID, Long> claimed) {
+		claimed.forEach((advertisementId, visits) -> {
+			Counter counter = this.counters.get(advertisementId);
+			if (counter != null) {
+				counter.flushed -= visits;
+			}
+		});
+	}
+
+	/**
+	 * Drops the counters that have nothing left to store.
+	 */
+	void evict() {
+		this.counters.forEach((advertisementId, counter) -> {
+			if (counter.pending() == 0 && this.counters.remove(advertisementId, counter)) {
+				// a visit may have landed between the check and the removal, hand it over to a fresh counter
+				long late = counter.pending();
+				if (late > 0) {
+					this.counters.computeIfAbsent(advertisementId, key -> new Counter()).visits.add(late);
+				}
+			}
+		});
+	}
+
+	boolean contains(UUID advertisementId) {
+		return this.counters.containsKey(advertisementId);
+	}
+
+	void remove(UUID advertisementId) {
+		this.counters.remove(advertisementId);
+	}
+
+	int size() {
+		return this.counters.size();
+	}
+
+	private static final class Counter {
+
+		private final LongAdder visits = new LongAdder();
+		private volatile long flushed;
+
+		long pending() {
+			return this.visits.sum() - this.flushed;
+		}
+
+	}
+
+}
+
+@Component
+class AdvertisementVisitFlusher {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementVisitFlusher.class);
+
+	private final AdvertisementVisitCounters advertisementVisitCounters;
+	private final AdvertisementVisitRepository advertisementVisitRepository;
+	private final AdvertisementVisitProperties properties;
+
+	AdvertisementVisitFlusher(
+			AdvertisementVisitCounters advertisementVisitCounters,
+			AdvertisementVisitRepository advertisementVisitRepository,
+			AdvertisementVisitProperties properties) {
+		this.advertisementVisitCounters = advertisementVisitCounters;
+		this.advertisementVisitRepository = advertisementVisitRepository;
+		this.properties = properties;
+	}
+
+	@Scheduled(fixedDelayString = "${advertisement.visit.flush_interval_in_ms}", initialDelayString = "${advertisement.visit.flush_interval_in_ms}")
+	public synchronized void flush() {
+		Map<UUID, Long> pending = this.advertisementVisitCounters.pending();
+		if (pending.isEmpty()) {
+			return;
+		}
+		long started = System.currentTimeMillis();
+		LocalDateTime now = LocalDateTime.now();
+		Map<UUID, Long> batch = new HashMap<>();
+		for (Map.Entry<UUID, Long> visits : pending.entrySet()) {
+			batch.put(visits.getKey(), visits.getValue());
+			if (batch.size() == this.properties.flushBatchSize()) {
+				store(batch, now);
+				batch = new HashMap<>();
+			}
+		}
+		if (!batch.isEmpty()) {
+			store(batch, now);
+		}
+		this.advertisementVisitCounters.evict();
+		logger.debug("Flushed visits of {} advertisements in {} ms", pending.size(), System.currentTimeMillis() - started);
+	}
+
+	// stores what is left on shutdown, so only a crash loses counted visits
+	@PreDestroy
+	public void close() {
+		flush();
+	}
+
+	// the counter goes first, so a flush either skips the advertisement or finds it gone after its write and deletes
+	// the row again
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleDeleteAdvertisementEvent(DeleteAdvertisementEvent event) {
+		this.advertisementVisitCounters.remove(event.productId());
+		this.advertisementVisitRepository.deleteByIds(List.of(event.productId()));
+	}
+
+	private void store(Map<UUID, Long> batch, LocalDateTime now) {
+		Map<UUID, Long> claimed = this.advertisementVisitCounters.claim(batch);
+		if (claimed.isEmpty()) {
+			return;
+		}
+		try {
+			this.advertisementVisitRepository.add(claimed, now);
+		} catch (RuntimeException ex) {
+			this.advertisementVisitCounters.release(claimed);
+			throw ex;
+		}
+		List<UUID> removed = claimed.keySet().stream().filter(advertisementId -> !this.advertisementVisitCounters.contains(advertisementId)).toList();
+		if (!removed.isEmpty()) {
+			this.advertisementVisitRepository.deleteByIds(removed);
+		}
+	}
+
+}
+
+@Repository
+class AdvertisementVisitRepository {
+
+	// the update covers advertisements that were visited before, the insert the ones visited for the first time
+	private static final String ADD = """
+			WITH visits (advertisement_id, delta) AS (VALUES %s),
+			updated AS (
+				UPDATE advertisement_visits v SET visit_count = v.visit_count + visits.delta, updated_at = :now
+				FROM visits WHERE v.advertisement_id = visits.advertisement_id
+				RETURNING v.advertisement_id)
+			INSERT INTO advertisement_visits (advertisement_id, visit_count, updated_at)
+			SELECT visits.advertisement_id, visits.delta, :now FROM visits
+			WHERE NOT EXISTS (SELECT 1 FROM updated WHERE updated.advertisement_id = visits.advertisement_id)
+			ON CONFLICT (advertisement_id)
+			DO UPDATE SET visit_count = advertisement_visits.visit_count + EXCLUDED.visit_count, updated_at = EXCLUDED.updated_at
+			""";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	AdvertisementVisitRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	void add(Map<UUID, Long> visits, LocalDateTime now) {
+		MapSqlParameterSource params = new MapSqlParameterSource("now", now);
+		StringJoiner values = new StringJoiner(", ");
+		int row = 0;
+		for (Map.Entry<UUID, Long> entry : visits.entrySet()) {
+			values.add("(CAST(:id" + row + " AS uuid), CAST(:delta" + row + " AS bigint))");
+			params.addValue("id" + row, entry.getKey());
+			params.addValue("delta" + row, entry.getValue());
+			row++;
+		}
+		this.jdbcTemplate.update(ADD.formatted(values), params);
+	}
+
+	void deleteByIds(Collection<UUID> advertisementIds) {
+		this.jdbcTemplate.update("DELETE FROM advertisement_visits WHERE advertisement_id = ANY(CAST(:advertisementIds AS uuid[]))",
+				new MapSqlParameterSource("advertisementIds", AdvertisementSearchRepository.uuidArray(advertisementIds)));
+	}
+
+}
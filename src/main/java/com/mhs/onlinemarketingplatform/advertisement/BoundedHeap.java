@@ -0,0 +1,112 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import java.util.List;
+
+/**
+ * Keeps the {@code limit} entries with the smallest keys out of a stream of {@code (slot, key)} pairs. It is a max-heap
+ * on the key over primitive arrays, so the worst kept entry sits at the root and is the one replaced when a better
+ * entry arrives; selecting the top k of n entries costs {@code O(n log k)}. Rankings that prefer large values offer
+ * the negated value.
+ *
+ * @author Milad Haghighat Shahedi
+ */
+final class BoundedHeap {
+
+	private final int[] slots;
+	private final double[] keys;
+	private int size;
+
+	BoundedHeap(int limit) {
+		this.slots = new int[limit];
+		this.keys = new double[limit];
+	}
+
+	void offer(int slot, double key) {
+		if (this.size < this.slots.length) {
+			this.slots[this.size] = slot;
+			this.keys[this.size] = key;
+			siftUp(this.size++);
+		} else if (this.size > 0 && key < this.keys[0]) {
+			this.slots[0] = slot;
+			this.keys[0] = key;
+			siftDown(0);
+		}
+	}
+
+	/**
+	 * Empties the heap into a list ordered from the smallest key to the largest.
+	 */
+	<T> List<T> drain(SlotMapper<T> mapper) {
+		Object[] smallestFirst = new Object[this.size];
+		while (this.size > 0) {
+			smallestFirst[this.size - 1] = mapper.map(this.slots[0], this.keys[0]);
+			this.size--;
+			this.slots[0] = this.slots[this.size];
+			this.keys[0] = this.keys[this.size];
+			siftDown(0);
+		}
+		@SuppressWarnings("unchecked")
+		List<T> entries = (List<T>) List.of(smallestFirst);
+		return entries;
+	}
+
+	private void siftUp(int index) {
+		while (index > 0) {
+			int parent = (index - 1) / 2;
+			if (this.keys[parent] >= this.keys[index]) {
+				return;
+			}
+			swap(parent, index);
+			index = parent;
+		}
+	}
+
+	private void siftDown(int index) {
+		while (true) {
+			int largest = index;
+			int left = 2 * index + 1;
+			int right = left + 1;
+			if (left < this.size && this.keys[left] > this.keys[largest]) {
+				largest = left;
+			}
+			if (right < this.size && this.keys[right] > this.keys[largest]) {
+				largest = right;
+			}
+			if (largest == index) {
+				return;
+			}
+			swap(largest, index);
+			index = largest;
+		}
+	}
+
+	private void swap(int i, int j) {
+		int slot = this.slots[i];
+		this.slots[i] = this.slots[j];
+		this.slots[j] = slot;
+		double key = this.keys[i];
+		this.keys[i] = this.keys[j];
+		this.keys[j] = key;
+	}
+
+	@FunctionalInterface
+	interface SlotMapper<T> {
+		T map(int slot, double key);
+	}
+
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Schedules items to expire at a deadline without keeping them sorted. The innermost wheel has {@code wheelSize}
+ * buckets of {@code tickMillis} each; a deadline beyond its span goes to an overflow wheel whose tick is the span of
+ * the wheel below, created on demand. Scheduling is {@code O(1)}, and advancing the clock only drains the buckets it
+ * passes; items drained from an outer wheel are rescheduled and so cascade inwards until they fall due. An item may
+ * expire up to one tick early.
+ *
+ * @author Milad Haghighat Shahedi
+ */
+final class HierarchicalTimingWheel<T> {
+
+	private final Wheel<T> root;
+	private int size;
+
+	HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+		this.root = new Wheel<>(tickMillis, wheelSize, startMillis);
+	}
+
+	/**
+	 * Returns {@code false}, without scheduling the item, when its deadline has already passed.
+	 */
+	synchronized boolean schedule(T item, long deadlineMillis) {
+		boolean scheduled = this.root.add(new Timer<>(item, deadlineMillis));
+		if (scheduled) {
+			this.size++;
+		}
+		return scheduled;
+	}
+
+	synchronized void advance(long nowMillis, Consumer<T> expired) {
+		List<Timer<T>> drained = new ArrayList<>();
+		this.root.advance(nowMillis, drained);
+		for (Timer<T> timer : drained) {
+			if (!this.root.add(timer)) {
+				this.size--;
+				expired.accept(timer.item());
+			}
+		}
+	}
+
+	synchronized int size() {
+		return this.size;
+	}
+
+	private record Timer<T>(T item, long deadlineMillis) {}
+
+	private static final class Wheel<T> {
+
+		private final long tickMillis;
+		private final long intervalMillis;
+		private final List<List<Timer<T>>> buckets;
+		private long currentMillis;
+		private Wheel<T> overflow;
+
+		Wheel(long tickMillis, int wheelSize, long startMillis) {
+			this.tickMillis = tickMillis;
+			this.intervalMillis = tickMillis * wheelSize;
+			this.buckets = new ArrayList<>(wheelSize);
+			for (int i = 0; i < wheelSize; i++) {
+				this.buckets.add(new ArrayList<>());
+			}
+			this.currentMillis = startMillis - startMillis % tickMillis;
+		}
+
+		boolean add(Timer<T> timer) {
+			if (timer.deadlineMillis() < this.currentMillis + this.tickMillis) {
+				return false;
+			}
+			if (timer.deadlineMillis() < this.currentMillis + this.intervalMillis) {
+				bucket(timer.deadlineMillis()).add(timer);
+			} else {
+				if (this.overflow == null) {
+					this.overflow = new Wheel<>(this.intervalMillis, this.buckets.size(), this.currentMillis);
+				}
+				this.overflow.add(timer);
+			}
+			return true;
+		}
+
+		void advance(long nowMillis, List<Timer<T>> drained) {
+			long targetMillis = nowMillis - nowMillis % this.tickMillis;
+			// after a full turn every bucket has been drained, so a longer pause costs no more than one turn
+			long ticks = Math.min((targetMillis - this.currentMillis) / this.tickMillis, this.buckets.size());
+			for (long i = 0; i < ticks; i++) {
+				List<Timer<T>> bucket = bucket(this.currentMillis + (i + 1) * this.tickMillis);
+				drained.addAll(bucket);
+				bucket.clear();
+			}
+			if (targetMillis > this.currentMillis) {
+				this.currentMillis = targetMillis;
+			}
+			if (this.overflow != null) {
+				this.overflow.advance(nowMillis, drained);
+			}
+		}
+
+		private List<Timer<T>> bucket(long millis) {
+			return this.buckets.get((int) ((millis / this.tickMillis) % this.buckets.size()));
+		}
+
+	}
+
+}
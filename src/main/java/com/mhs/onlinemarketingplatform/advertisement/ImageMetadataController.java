@@ -140,6 +140,7 @@ class ImageMetadataService {
 	private final ImagePathProperties imagePathProperties;
 	private final ImageMetadataMapper imageMetadataMapper;
 	private final ImageUploadService imageUploadService;
+	private final ApplicationEventPublisher applicationEventPublisher;
 	private final MessageSource messageSource;
 
 	public ImageMetadataService(
@@ -149,6 +150,7 @@ class ImageMetadataService {
 			ImagePathProperties imagePathProperties,
 			ImageMetadataMapper imageMetadataMapper,
 			ImageUploadService imageUploadService,
+			ApplicationEventPublisher applicationEventPublisher,
 			MessageSource messageSource) {
 		this.auditLogger = auditLogger;
 		this.imageMetadataRepository = imageMetadataRepository;
@@ -156,6 +158,7 @@ class ImageMetadataService {
 		this.imagePathProperties = imagePathProperties;
 		this.imageMetadataMapper = imageMetadataMapper;
 		this.imageUploadService = imageUploadService;
+		this.applicationEventPublisher = applicationEventPublisher;
 		this.messageSource = messageSource;
 	}
 
@@ -259,6 +262,7 @@ class ImageMetadataService {
 
 			this.imageMetadataRepository.delete(retrievedImageMetadata);
 			this.auditLogger.log("IMAGE_METADATA_DELETED", "IMAGE_METADATA", "IMAGE_METADATA for the advertisement with the Id: " + retrievedImageMetadata.advertisementId());
+			this.applicationEventPublisher.publishEvent(new AdvertisementImagesChangedEvent(advertisementId));
 
 		} catch (Exception e) {
 			throw new RuntimeException(e);
@@ -492,21 +496,26 @@ interface ImageMetadataMapper {
 
 record UpdateImageMetadataEvent(UUID id,String url) {}
 
+record AdvertisementImagesChangedEvent(UUID advertisementId) {}
+
 @Component
 class ImageMetadataUpdateEventHandler {
 
 	private final ImageMetadataRepository imageMetadataRepository;
 	private final ImageMetadataMapper imageMetadataMapper;
+	private final ApplicationEventPublisher applicationEventPublisher;
 	private final MessageSource messageSource;
 	private final AuditLogger auditLogger;
 
 	public ImageMetadataUpdateEventHandler(
 			ImageMetadataRepository imageMetadataRepository,
 			ImageMetadataMapper imageMetadataMapper,
+			ApplicationEventPublisher applicationEventPublisher,
 			MessageSource messageSource,
 			AuditLogger auditLogger) {
 		this.imageMetadataRepository = imageMetadataRepository;
 		this.imageMetadataMapper = imageMetadataMapper;
+		this.applicationEventPublisher = applicationEventPublisher;
 		this.messageSource = messageSource;
 		this.auditLogger = auditLogger;
 	}
@@ -524,6 +533,7 @@ class ImageMetadataUpdateEventHandler {
 		ImageMetadata mappedImageMetadata = this.imageMetadataMapper.mapImageMetadataWithUrlAndStatusAndSucceed(imageMetadata, event.url());
 		this.imageMetadataRepository.save(mappedImageMetadata);
 		this.auditLogger.log("IMAGE_METADATA_UPDATED", "IMAGE_METADATA_EVENT", "IMAGE_METADATA updated for the Id: " + event.id());
+		this.applicationEventPublisher.publishEvent(new AdvertisementImagesChangedEvent(imageMetadata.advertisementId()));
 
 	}
 }
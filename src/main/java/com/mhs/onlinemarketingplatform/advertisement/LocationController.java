@@ -29,6 +29,7 @@ import org.mapstruct.Mapping;
 import org.mapstruct.ReportingPolicy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.context.MessageSource;
 import org.springframework.context.i18n.LocaleContextHolder;
 import org.springframework.data.annotation.Id;
@@ -94,6 +95,7 @@ class LocationService {
 		private final ProvinceApi provinceApi;
 		private final CityApi cityApi;
 		private final LocationMapper locationMapper;
+		private final ApplicationEventPublisher publisher;
 		private final MessageSource messageSource;
 
 	public LocationService(
@@ -102,18 +104,31 @@ class LocationService {
 			ProvinceApi provinceApi,
 			CityApi cityApi,
 			LocationMapper locationMapper,
+			ApplicationEventPublisher publisher,
 			MessageSource messageSource) {
 		this.auditLogger = auditLogger;
 		this.locationRepository = locationRepository;
 		this.provinceApi = provinceApi;
 		this.cityApi = cityApi;
 		this.locationMapper = locationMapper;
+		this.publisher = publisher;
 		this.messageSource = messageSource;
 	}
 
 	LocationResponse add(AddLocationRequest addLocationRequest) {
 	    logger.info("Creating new location with latitude: {} and longitude: {}",addLocationRequest.latitude(),addLocationRequest.longitude());
 
+		Location mappedLocation = newLocation(addLocationRequest);
+		Location storedLocation = this.locationRepository.save(mappedLocation);
+		this.auditLogger.log("LOCATION_CREATED", "LOCATION", "Location ID: " + storedLocation.id());
+        return this.locationMapper.mappLocationToLocationResponse(storedLocation);
+	}
+
+	/**
+	 * Validates the province and city of a new location and maps it without storing it, for callers that insert the
+	 * location in the same statement as the row referencing it.
+	 */
+	Location newLocation(AddLocationRequest addLocationRequest) {
 	    if(!this.provinceApi.existsById(addLocationRequest.provinceId())) {
 			throw new LocationProvinceNotFoundException(
 				    messageSource.getMessage("error.location.province.with.id.not.found",
@@ -129,10 +144,7 @@ class LocationService {
 					LocationErrorCode.CITY_NOT_FOUND);
 		}
 
-		Location mappedLocation = this.locationMapper.mapAddLocationRequestToLocation(addLocationRequest);
-		Location storedLocation = this.locationRepository.save(mappedLocation);
-		this.auditLogger.log("LOCATION_CREATED", "LOCATION", "Location ID: " + storedLocation.id());
-        return this.locationMapper.mappLocationToLocationResponse(storedLocation);
+		return this.locationMapper.mapAddLocationRequestToLocation(addLocationRequest);
 	}
 
 	LocationResponse update(UpdateLocationRequest updateLocationRequest) {
@@ -163,6 +175,7 @@ class LocationService {
 		Location mappedLocation = this.locationMapper.mapUpdateLocationRequestToLocation(updateLocationRequest, exisitingLocation);
 		Location storedLocation = this.locationRepository.save(mappedLocation);
 		this.auditLogger.log("LOCATION_UPDATED", "LOCATION", "Location ID: " + storedLocation.id());
+		this.publisher.publishEvent(new UpdateLocationEvent(storedLocation.id()));
 		return this.locationMapper.mappLocationToLocationResponse(storedLocation);
 	}
 
@@ -251,6 +264,8 @@ record LocationApiResponse<T>(
 	T data
 ) {}
 
+record UpdateLocationEvent(UUID locationId) {}
+
 @Mapper( componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE,imports = {UuidCreator.class})
 interface LocationMapper {
 
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import java.util.*;
+
+/**
+ * Immutable compressed trie for prefix completion. Keys are normalized with {@link AdvertisementTextAnalyzer} and
+ * every entry is inserted once for its whole text and once more from each of its first word starts, so typing a
+ * later word of a name still finds it. Edges carry whole label runs instead of single characters, and every node
+ * keeps the heaviest entries of its subtree, so completing a prefix walks at most the prefix length and copies one
+ * precomputed list; the cost does not depend on how many entries share the prefix. A changed entry set is served by
+ * building a new trie and swapping it in.
+ *
+ * @author Milad Haghighat Shahedi
+ */
+final class PrefixTrie {
+
+	private static final char[] NO_CHARACTERS = new char[0];
+	private static final int[] NO_ENTRIES = new int[0];
+
+	private final TypeaheadEntry[] entries;
+	private final Node root;
+
+	private PrefixTrie(TypeaheadEntry[] entries, Node root) {
+		this.entries = entries;
+		this.root = root;
+	}
+
+	/**
+	 * @param limit the number of completions kept per node and therefore the most a lookup can return
+	 * @param wordStarts how many word starts of an entry are indexed, the first one being the whole text
+	 */
+	static PrefixTrie build(Collection<TypeaheadEntry> entries, int limit, int wordStarts) {
+		TypeaheadEntry[] indexed = entries.toArray(new TypeaheadEntry[0]);
+		List<Key> keys = new ArrayList<>();
+		for (int entry = 0; entry < indexed.length; entry++) {
+			String key = key(indexed[entry].text());
+			int start = 0;
+			for (int word = 0; word < wordStarts && start < key.length(); word++) {
+				keys.add(new Key(start == 0 ? key : key.substring(start), entry));
+				int space = key.indexOf(' ', start);
+				start = space < 0 ? key.length() : space + 1;
+			}
+		}
+		keys.sort(Comparator.comparing(Key::key));
+		return new PrefixTrie(indexed, new Builder(indexed, keys, limit).node(0, keys.size(), 0, NO_CHARACTERS));
+	}
+
+	static PrefixTrie empty() {
+		return new PrefixTrie(new TypeaheadEntry[0], new Node(NO_CHARACTERS, NO_CHARACTERS, new Node[0], NO_ENTRIES));
+	}
+
+	/**
+	 * Returns the heaviest entries with a key starting with the normalized prefix, heaviest first. A prefix ending in
+	 * white space only completes words that follow it.
+	 */
+	List<TypeaheadEntry> complete(String prefix, int size) {
+		String key = key(prefix);
+		if (key.isEmpty()) {
+			return List.of();
+		}
+		if (Character.isWhitespace(prefix.charAt(prefix.length() - 1))) {
+			key += ' ';
+		}
+		Node node = this.root;
+		int matched = 0;
+		while (matched < key.length()) {
+			node = node.child(key.charAt(matched));
+			if (node == null) {
+				return List.of();
+			}
+			for (int i = 0; i < node.label.length && matched < key.length(); i++, matched++) {
+				if (node.label[i] != key.charAt(matched)) {
+					return List.of();
+				}
+			}
+		}
+		int count = Math.min(size, node.best.length);
+		List<TypeaheadEntry> completions = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			completions.add(this.entries[node.best[i]]);
+		}
+		return completions;
+	}
+
+	int size() {
+		return this.entries.length;
+	}
+
+	/**
+	 * Normalizes the text the way the search index does and reduces every run of punctuation and white space to a
+	 * single space.
+	 */
+	static String key(String text) {
+		if (text == null) {
+			return "";
+		}
+		String normalized = AdvertisementTextAnalyzer.normalize(text);
+		StringBuilder key = new StringBuilder(normalized.length());
+		for (int i = 0; i < normalized.length(); i++) {
+			char character = normalized.charAt(i);
+			if (Character.isLetterOrDigit(character)) {
+				key.append(character);
+			} else if (!key.isEmpty() && key.charAt(key.length() - 1) != ' ') {
+				key.append(' ');
+			}
+		}
+		if (!key.isEmpty() && key.charAt(key.length() - 1) == ' ') {
+			key.setLength(key.length() - 1);
+		}
+		return key.toString();
+	}
+
+	private record Key(String key, int entry) {}
+
+	private static final class Node {
+
+		private final char[] label;
+		private final char[] firsts;
+		private final Node[] children;
+		private final int[] best;
+
+		private Node(char[] label, char[] firsts, Node[] children, int[] best) {
+			this.label = label;
+			this.firsts = firsts;
+			this.children = children;
+			this.best = best;
+		}
+
+		private Node child(char first) {
+			int index = Arrays.binarySearch(this.firsts, first);
+			return index < 0 ? null : this.children[index];
+		}
+
+	}
+
+	// the keys are sorted, so the keys below a node form one range and a key always precedes its extensions
+	private static final class Builder {
+
+		private final TypeaheadEntry[] entries;
+		private final List<Key> keys;
+		private final int limit;
+
+		private Builder(TypeaheadEntry[] entries, List<Key> keys, int limit) {
+			this.entries = entries;
+			this.keys = keys;
+			this.limit = limit;
+		}
+
+		private Node node(int from, int to, int depth, char[] label) {
+			List<int[]> ranked = new ArrayList<>();
+			int i = from;
+			while (i < to && this.keys.get(i).key().length() == depth) {
+				ranked.add(new int[]{this.keys.get(i++).entry()});
+			}
+			List<Node> children = new ArrayList<>();
+			StringBuilder firsts = new StringBuilder();
+			while (i < to) {
+				String first = this.keys.get(i).key();
+				int j = i + 1;
+				while (j < to && this.keys.get(j).key().charAt(depth) == first.charAt(depth)) {
+					j++;
+				}
+				int end = commonPrefix(first, this.keys.get(j - 1).key(), depth + 1);
+				Node child = node(i, j, end, first.substring(depth, end).toCharArray());
+				children.add(child);
+				firsts.append(first.charAt(depth));
+				ranked.add(child.best);
+				i = j;
+			}
+			return new Node(label, firsts.toString().toCharArray(), children.toArray(new Node[0]), merge(ranked));
+		}
+
+		// merges lists that are already heaviest first, dropping entries reached through more than one word start
+		private int[] merge(List<int[]> ranked) {
+			int[] merged = new int[this.limit];
+			int[] heads = new int[ranked.size()];
+			int count = 0;
+			while (count < this.limit) {
+				int bestList = -1;
+				for (int list = 0; list < ranked.size(); list++) {
+					if (heads[list] < ranked.get(list).length
+							&& (bestList < 0 || heavier(ranked.get(list)[heads[list]], ranked.get(bestList)[heads[bestList]]))) {
+						bestList = list;
+					}
+				}
+				if (bestList < 0) {
+					break;
+				}
+				int entry = ranked.get(bestList)[heads[bestList]++];
+				if (!contains(merged, count, entry)) {
+					merged[count++] = entry;
+				}
+			}
+			return count == 0 ? NO_ENTRIES : Arrays.copyOf(merged, count);
+		}
+
+		private boolean heavier(int left, int right) {
+			long difference = this.entries[left].weight() - this.entries[right].weight();
+			return difference > 0 || (difference == 0 && left < right);
+		}
+
+		private static boolean contains(int[] entries, int count, int entry) {
+			for (int i = 0; i < count; i++) {
+				if (entries[i] == entry) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private static int commonPrefix(String left, String right, int from) {
+			int end = from;
+			while (end < left.length() && end < right.length() && left.charAt(end) == right.charAt(end)) {
+				end++;
+			}
+			return end;
+		}
+
+	}
+
+}
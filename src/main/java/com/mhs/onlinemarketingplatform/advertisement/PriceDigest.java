@@ -0,0 +1,208 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import java.io.*;
+import java.util.Arrays;
+
+/**
+ * Merging t-digest: a mergeable quantile sketch that keeps about {@code compression} weighted centroids. Incoming
+ * values are buffered and folded into the centroids in sorted order, where the arcsine scale function lets centroids
+ * near the tails hold few values and those near the median hold many, so extreme quantiles stay accurate. Memory is
+ * bounded by the compression whatever the number of values, and two digests merge by adding one's centroids to the
+ * other. Not thread-safe.
+ *
+ * @author Milad Haghighat Shahedi
+ */
+final class PriceDigest {
+
+	private static final int FORMAT_VERSION = 1;
+
+	private final double compression;
+	private double[] means;
+	private double[] weights;
+	private int centroids;
+	private final double[] buffer;
+	private final double[] bufferWeights;
+	private int buffered;
+	private double totalWeight;
+	private double min = Double.POSITIVE_INFINITY;
+	private double max = Double.NEGATIVE_INFINITY;
+
+	PriceDigest(double compression) {
+		this.compression = compression;
+		int capacity = (int) Math.ceil(compression) + 10;
+		this.means = new double[capacity];
+		this.weights = new double[capacity];
+		this.buffer = new double[capacity * 5];
+		this.bufferWeights = new double[capacity * 5];
+	}
+
+	void add(double value) {
+		add(value, 1);
+	}
+
+	void add(double value, double weight) {
+		if (this.buffered == this.buffer.length) {
+			compress();
+		}
+		this.buffer[this.buffered] = value;
+		this.bufferWeights[this.buffered] = weight;
+		this.buffered++;
+		this.totalWeight += weight;
+		this.min = Math.min(this.min, value);
+		this.max = Math.max(this.max, value);
+	}
+
+	void merge(PriceDigest other) {
+		other.compress();
+		for (int i = 0; i < other.centroids; i++) {
+			add(other.means[i], other.weights[i]);
+		}
+		this.min = Math.min(this.min, other.min);
+		this.max = Math.max(this.max, other.max);
+	}
+
+	long count() {
+		return Math.round(this.totalWeight);
+	}
+
+	double quantile(double q) {
+		compress();
+		if (this.centroids == 0) {
+			return Double.NaN;
+		}
+		if (this.centroids == 1) {
+			return this.means[0];
+		}
+		double index = q * this.totalWeight;
+		if (index <= this.weights[0] / 2) {
+			return this.min + (this.means[0] - this.min) * index / (this.weights[0] / 2);
+		}
+		double weightSoFar = this.weights[0] / 2;
+		for (int i = 0; i < this.centroids - 1; i++) {
+			double gap = (this.weights[i] + this.weights[i + 1]) / 2;
+			if (weightSoFar + gap > index) {
+				double fraction = (index - weightSoFar) / gap;
+				return this.means[i] + fraction * (this.means[i + 1] - this.means[i]);
+			}
+			weightSoFar += gap;
+		}
+		int last = this.centroids - 1;
+		double fraction = Math.min(1, (index - weightSoFar) / (this.weights[last] / 2));
+		return this.means[last] + fraction * (this.max - this.means[last]);
+	}
+
+	void compress() {
+		if (this.buffered == 0) {
+			return;
+		}
+		int size = this.centroids + this.buffered;
+		double[] values = Arrays.copyOf(this.means, size);
+		double[] valueWeights = Arrays.copyOf(this.weights, size);
+		System.arraycopy(this.buffer, 0, values, this.centroids, this.buffered);
+		System.arraycopy(this.bufferWeights, 0, valueWeights, this.centroids, this.buffered);
+		Integer[] order = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (left, right) -> Double.compare(values[left], values[right]));
+
+		double[] mergedMeans = new double[Math.max(this.means.length, 16)];
+		double[] mergedWeights = new double[mergedMeans.length];
+		int merged = 0;
+		double weightSoFar = 0;
+		double currentMean = values[order[0]];
+		double currentWeight = valueWeights[order[0]];
+		for (int i = 1; i < size; i++) {
+			double value = values[order[i]];
+			double weight = valueWeights[order[i]];
+			double proposed = currentWeight + weight;
+			if (scale((weightSoFar + proposed) / this.totalWeight) - scale(weightSoFar / this.totalWeight) <= 1) {
+				currentMean += (value - currentMean) * weight / proposed;
+				currentWeight = proposed;
+			} else {
+				if (merged == mergedMeans.length) {
+					mergedMeans = Arrays.copyOf(mergedMeans, merged * 2);
+					mergedWeights = Arrays.copyOf(mergedWeights, merged * 2);
+				}
+				mergedMeans[merged] = currentMean;
+				mergedWeights[merged] = currentWeight;
+				merged++;
+				weightSoFar += currentWeight;
+				currentMean = value;
+				currentWeight = weight;
+			}
+		}
+		if (merged == mergedMeans.length) {
+			mergedMeans = Arrays.copyOf(mergedMeans, merged + 1);
+			mergedWeights = Arrays.copyOf(mergedWeights, merged + 1);
+		}
+		mergedMeans[merged] = currentMean;
+		mergedWeights[merged] = currentWeight;
+		this.means = mergedMeans;
+		this.weights = mergedWeights;
+		this.centroids = merged + 1;
+		this.buffered = 0;
+	}
+
+	byte[] toBytes() {
+		compress();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + this.centroids * 16);
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(FORMAT_VERSION);
+			out.writeDouble(this.compression);
+			out.writeDouble(this.min);
+			out.writeDouble(this.max);
+			out.writeInt(this.centroids);
+			for (int i = 0; i < this.centroids; i++) {
+				out.writeDouble(this.means[i]);
+				out.writeDouble(this.weights[i]);
+			}
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		return bytes.toByteArray();
+	}
+
+	static PriceDigest fromBytes(byte[] bytes) {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+			int version = in.readInt();
+			if (version != FORMAT_VERSION) {
+				throw new IllegalArgumentException("Unsupported price digest format " + version);
+			}
+			PriceDigest digest = new PriceDigest(in.readDouble());
+			double min = in.readDouble();
+			double max = in.readDouble();
+			int centroids = in.readInt();
+			for (int i = 0; i < centroids; i++) {
+				digest.add(in.readDouble(), in.readDouble());
+			}
+			digest.compress();
+			digest.min = min;
+			digest.max = max;
+			return digest;
+		} catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+	}
+
+	// arcsine scale function: a centroid may span at most one unit of k
+	private double scale(double q) {
+		return this.compression / (2 * Math.PI) * Math.asin(2 * Math.min(1, Math.max(0, q)) - 1);
+	}
+
+}
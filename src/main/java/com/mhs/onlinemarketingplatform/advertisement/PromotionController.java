@@ -15,16 +15,502 @@
  */
 package com.mhs.onlinemarketingplatform.advertisement;
 
+import com.github.f4b6a3.uuid.UuidCreator;
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementPromotionProperties;
+import com.mhs.onlinemarketingplatform.advertisement.error.advertisement.AdvertisementErrorCode;
+import com.mhs.onlinemarketingplatform.advertisement.error.advertisement.AdvertisementNotFoundException;
+import com.mhs.onlinemarketingplatform.advertisement.error.promotion.AdvertisementAlreadyPromotedException;
+import com.mhs.onlinemarketingplatform.advertisement.error.promotion.InvalidPromotionException;
+import com.mhs.onlinemarketingplatform.advertisement.error.promotion.PromotionErrorCode;
+import com.mhs.onlinemarketingplatform.advertisement.error.promotion.PromotionNotFoundException;
+import com.mhs.onlinemarketingplatform.common.AuditLogger;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.ReportingPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.jdbc.repository.query.Query;
+import org.springframework.data.relational.core.mapping.Table;
+import org.springframework.data.repository.ListCrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.bind.annotation.*;
+
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.time.ZoneId;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * @author Milad Haghighat Shahedi
  */
+@Controller
+@ResponseBody
+class PromotionController {
+
+	private final PromotionService promotionService;
+
+	PromotionController(PromotionService promotionService) {
+		this.promotionService = promotionService;
+	}
+
+	@PostMapping("/api/admin/promotions")
+	ResponseEntity<PromotionApiResponse<PromotionResponse>> add(@RequestBody AddPromotionRequest addPromotionRequest) {
+		PromotionResponse addedPromotion = this.promotionService.add(addPromotionRequest);
+		return ResponseEntity.ok(new PromotionApiResponse<>(true, "Promotion added successfully", addedPromotion));
+	}
+
+	@DeleteMapping("/api/admin/promotions/{id}")
+	ResponseEntity<PromotionApiResponse<PromotionResponse>> cancel(@PathVariable("id") UUID id) {
+		PromotionResponse cancelledPromotion = this.promotionService.cancel(id);
+		return ResponseEntity.ok(new PromotionApiResponse<>(true, "Promotion cancelled successfully", cancelledPromotion));
+	}
+
+	@GetMapping("/api/admin/promotions/{id}")
+	ResponseEntity<PromotionApiResponse<PromotionResponse>> findById(@PathVariable("id") UUID id) {
+		PromotionResponse foundPromotion = this.promotionService.findById(id);
+		return ResponseEntity.ok(new PromotionApiResponse<>(true, "Promotion found successfully", foundPromotion));
+	}
+
+}
+
+@Service
+@Transactional
+class PromotionService {
+
+	private static final Logger logger = LoggerFactory.getLogger(PromotionService.class);
+
+	private final AuditLogger auditLogger;
+	private final PromotionRepository promotionRepository;
+	private final AdvertisementRepository advertisementRepository;
+	private final PromotionMapper promotionMapper;
+	private final AdvertisementPromotionProperties properties;
+	private final ApplicationEventPublisher publisher;
+	private final MessageSource messageSource;
+
+	PromotionService(
+			AuditLogger auditLogger,
+			PromotionRepository promotionRepository,
+			AdvertisementRepository advertisementRepository,
+			PromotionMapper promotionMapper,
+			AdvertisementPromotionProperties properties,
+			ApplicationEventPublisher publisher,
+			MessageSource messageSource) {
+		this.auditLogger = auditLogger;
+		this.promotionRepository = promotionRepository;
+		this.advertisementRepository = advertisementRepository;
+		this.promotionMapper = promotionMapper;
+		this.properties = properties;
+		this.publisher = publisher;
+		this.messageSource = messageSource;
+	}
+
+	PromotionResponse add(AddPromotionRequest addPromotionRequest) {
+		logger.info("Promoting advertisement with the ID: {} type: {} hours: {}",
+				addPromotionRequest.advertisementId(), addPromotionRequest.type(), addPromotionRequest.durationInHours());
+		PromotionType promotionType = parseType(addPromotionRequest.type());
+
+		int durationInHours = addPromotionRequest.durationInHours() == null ? 0 : addPromotionRequest.durationInHours();
+		if (durationInHours < 1 || durationInHours > this.properties.maxDurationInHours()) {
+			throw new InvalidPromotionException(
+					messageSource.getMessage("error.promotion.duration.invalid",
+							new Object[]{addPromotionRequest.durationInHours(), this.properties.maxDurationInHours()},
+							LocaleContextHolder.getLocale()),
+					PromotionErrorCode.INVALID_PROMOTION);
+		}
+
+		// two requests for the same advertisement queue up on its row, so the second one sees the promotion of the first
+		this.promotionRepository.lockAdvertisement(addPromotionRequest.advertisementId());
+		Advertisement advertisement = this.advertisementRepository.findById(addPromotionRequest.advertisementId())
+				.orElseThrow(() -> new AdvertisementNotFoundException(
+						messageSource.getMessage("error.advertisement.advertisement.with.id.not.found",
+								new Object[]{addPromotionRequest.advertisementId()},
+								LocaleContextHolder.getLocale()),
+						AdvertisementErrorCode.ADVERTISEMENT_NOT_FOUND));
+
+		if (advertisement.advertisementStatus() != AdvertisementStatus.ACTIVE) {
+			throw new InvalidPromotionException(
+					messageSource.getMessage("error.promotion.advertisement.not.active",
+							new Object[]{advertisement.id()},
+							LocaleContextHolder.getLocale()),
+					PromotionErrorCode.INVALID_PROMOTION);
+		}
+
+		LocalDateTime now = LocalDateTime.now();
+		if (this.promotionRepository.existsActiveByAdvertisementId(advertisement.id(), now)) {
+			throw new AdvertisementAlreadyPromotedException(
+					messageSource.getMessage("error.promotion.advertisement.already.promoted",
+							new Object[]{advertisement.id()},
+							LocaleContextHolder.getLocale()),
+					PromotionErrorCode.ADVERTISEMENT_ALREADY_PROMOTED);
+		}
+
+		Promotion storedPromotion = this.promotionRepository.save(
+				new Promotion(UuidCreator.getTimeOrderedEpoch(), null, now, now.plusHours(durationInHours), promotionType, advertisement.id()));
+		this.auditLogger.log("PROMOTION_CREATED", "PROMOTION", "Promotion ID: " + storedPromotion.id());
+
+		this.publisher.publishEvent(new PromotionChangedEvent(storedPromotion.advertisementId()));
+		return this.promotionMapper.mapPromotionToResponse(storedPromotion);
+	}
+
+	PromotionResponse cancel(UUID id) {
+		Promotion existingPromotion = findPromotion(id);
+		logger.info("Cancelling promotion with the ID: {} of advertisement: {}", id, existingPromotion.advertisementId());
+
+		LocalDateTime now = LocalDateTime.now();
+		if (!existingPromotion.expiresAt().isAfter(now)) {
+			return this.promotionMapper.mapPromotionToResponse(existingPromotion);
+		}
+
+		Promotion storedPromotion = this.promotionRepository.save(this.promotionMapper.toExpired(existingPromotion, now));
+		this.auditLogger.log("PROMOTION_CANCELLED", "PROMOTION", "Promotion ID: " + storedPromotion.id());
+
+		this.publisher.publishEvent(new PromotionChangedEvent(storedPromotion.advertisementId()));
+		return this.promotionMapper.mapPromotionToResponse(storedPromotion);
+	}
+
+	@Transactional(readOnly = true)
+	PromotionResponse findById(UUID id) {
+		return this.promotionMapper.mapPromotionToResponse(findPromotion(id));
+	}
+
+	private Promotion findPromotion(UUID id) {
+		return this.promotionRepository.findById(id).orElseThrow(() ->
+				new PromotionNotFoundException(
+						messageSource.getMessage("error.promotion.promotion.with.id.not.found",
+								new Object[]{id},
+								LocaleContextHolder.getLocale()),
+						PromotionErrorCode.PROMOTION_NOT_FOUND));
+	}
+
+	private PromotionType parseType(String type) {
+		if (type == null || type.isBlank()) {
+			return PromotionType.STANDARD;
+		}
+		try {
+			return PromotionType.valueOf(type.trim().toUpperCase());
+		} catch (IllegalArgumentException ex) {
+			throw new InvalidPromotionException(
+					messageSource.getMessage("error.promotion.type.invalid",
+							new Object[]{type},
+							LocaleContextHolder.getLocale()),
+					PromotionErrorCode.INVALID_PROMOTION);
+		}
+	}
+
+}
+
+/**
+ * Loads active promotions into {@link AdvertisementPromotionIndex} and expires them with a
+ * {@link HierarchicalTimingWheel} ticked by the scheduler, so expiry never polls the promotions table. A promotion
+ * that is cancelled or replaced before its timer fires is left in the wheel; the index ignores expiries of promotions
+ * it no longer holds.
+ */
+@Component
+class AdvertisementPromotionIndexer {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdvertisementPromotionIndexer.class);
+
+	private final AdvertisementPromotionIndex advertisementPromotionIndex;
+	private final PromotedAdvertisementRepository promotedAdvertisementRepository;
+	private final HierarchicalTimingWheel<PromotedAdvertisement> timingWheel;
+
+	AdvertisementPromotionIndexer(
+			AdvertisementPromotionIndex advertisementPromotionIndex,
+			PromotedAdvertisementRepository promotedAdvertisementRepository,
+			AdvertisementPromotionProperties properties) {
+		this.advertisementPromotionIndex = advertisementPromotionIndex;
+		this.promotedAdvertisementRepository = promotedAdvertisementRepository;
+		this.timingWheel = new HierarchicalTimingWheel<>(properties.tickInMs(), properties.wheelSize(), System.currentTimeMillis());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		long started = System.currentTimeMillis();
+		this.promotedAdvertisementRepository.streamActive(LocalDateTime.now(), this::put);
+		logger.info("Promotion index loaded with {} promotions in {} ms", this.advertisementPromotionIndex.size(), System.currentTimeMillis() - started);
+	}
+
+	@Scheduled(fixedDelayString = "${advertisement.promotion.tick_in_ms}")
+	public void expire() {
+		this.timingWheel.advance(System.currentTimeMillis(), this.advertisementPromotionIndex::expire);
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handlePromotionChangedEvent(PromotionChangedEvent event) {
+		refresh(event.advertisementId());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementActivatedEvent(AdvertisementActivatedEvent event) {
+		refresh(event.id());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementDeactivatedEvent(AdvertisementDeactivatedEvent event) {
+		this.advertisementPromotionIndex.remove(event.id());
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementsBulkChangedEvent(AdvertisementsBulkChangedEvent event) {
+		if (event.change() == BulkChange.DEACTIVATED) {
+			event.ids().forEach(this.advertisementPromotionIndex::remove);
+		} else {
+			this.promotedAdvertisementRepository.findActiveByAdvertisementIds(event.ids(), LocalDateTime.now()).forEach(this::put);
+		}
+	}
+
+	private void refresh(UUID advertisementId) {
+		this.promotedAdvertisementRepository.findActiveByAdvertisementId(advertisementId, LocalDateTime.now())
+				.ifPresentOrElse(this::put, () -> this.advertisementPromotionIndex.remove(advertisementId));
+	}
+
+	private void put(PromotedAdvertisement promoted) {
+		long deadline = promoted.expiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+		if (this.timingWheel.schedule(promoted, deadline)) {
+			this.advertisementPromotionIndex.put(promoted);
+		} else {
+			this.advertisementPromotionIndex.remove(promoted.advertisement().id());
+		}
+	}
+
+}
+
+/**
+ * Active promotions ordered by priority, once for all categories and once per category. Urgent promotions come
+ * before standard ones and, within a type, the most recently promoted comes first. Readers iterate the concurrent
+ * sets without locking; the few writers serialize on the index.
+ */
+@Component
+class AdvertisementPromotionIndex {
+
+	static final Comparator<PromotedAdvertisement> PRIORITY = Comparator
+			.comparing((PromotedAdvertisement promoted) -> promoted.type() == PromotionType.ARGENT ? 0 : 1)
+			.thenComparing(PromotedAdvertisement::promotedAt, Comparator.reverseOrder())
+			.thenComparing(PromotedAdvertisement::promotionId);
+
+	private final NavigableSet<PromotedAdvertisement> global = new ConcurrentSkipListSet<>(PRIORITY);
+	private final Map<UUID, NavigableSet<PromotedAdvertisement>> categories = new ConcurrentHashMap<>();
+	private final Map<UUID, PromotedAdvertisement> advertisements = new ConcurrentHashMap<>();
+
+	synchronized void put(PromotedAdvertisement promoted) {
+		remove(promoted.advertisement().id());
+		this.advertisements.put(promoted.advertisement().id(), promoted);
+		this.global.add(promoted);
+		this.categories.computeIfAbsent(promoted.advertisement().categoryId(), key -> new ConcurrentSkipListSet<>(PRIORITY)).add(promoted);
+	}
+
+	synchronized void remove(UUID advertisementId) {
+		PromotedAdvertisement promoted = this.advertisements.remove(advertisementId);
+		if (promoted != null) {
+			this.global.remove(promoted);
+			NavigableSet<PromotedAdvertisement> category = this.categories.get(promoted.advertisement().categoryId());
+			if (category != null) {
+				category.remove(promoted);
+			}
+		}
+	}
+
+	synchronized void expire(PromotedAdvertisement expired) {
+		PromotedAdvertisement current = this.advertisements.get(expired.advertisement().id());
+		if (current != null && current.promotionId().equals(expired.promotionId())) {
+			remove(expired.advertisement().id());
+		}
+	}
 
-public class PromotionController {}
+	List<PromotedAdvertisement> top(AdvertisementSearchCriteria criteria, int limit) {
+		Set<PromotedAdvertisement> candidates = criteria.categoryId() == null
+				? this.global
+				: this.categories.getOrDefault(criteria.categoryId(), Collections.emptyNavigableSet());
+		List<PromotedAdvertisement> top = new ArrayList<>(limit);
+		for (PromotedAdvertisement promoted : candidates) {
+			if (top.size() == limit) {
+				break;
+			}
+			if (matches(promoted, criteria)) {
+				top.add(promoted);
+			}
+		}
+		return top;
+	}
 
-record Promotion (UUID id, LocalDateTime promotedAt, LocalDateTime expiresAt,PromotionType promotionType,UUID advertisementId) {}
+	int size() {
+		return this.advertisements.size();
+	}
+
+	// attribute filters are evaluated by Postgres only, so a search that uses them gets no promoted slots
+	static boolean matches(PromotedAdvertisement promoted, AdvertisementSearchCriteria criteria) {
+		Advertisement advertisement = promoted.advertisement();
+		return criteria.status() == AdvertisementStatus.ACTIVE
+				&& criteria.attributes() == null
+				&& (criteria.categoryId() == null || criteria.categoryId().equals(advertisement.categoryId()))
+				&& (criteria.categorySubtree() == null || criteria.categorySubtree().contains(advertisement.categoryId()))
+				&& (criteria.type() == null || criteria.type() == advertisement.advertisementType())
+				&& (criteria.minPrice() == null || advertisement.price().compareTo(criteria.minPrice()) >= 0)
+				&& (criteria.maxPrice() == null || advertisement.price().compareTo(criteria.maxPrice()) <= 0)
+				&& (criteria.provinceId() == null || criteria.provinceId().equals(promoted.provinceId()))
+				&& (criteria.cityId() == null || criteria.cityId().equals(promoted.cityId()));
+	}
+
+}
+
+/**
+ * Places promoted advertisements at the configured slots of the first page of a listing. The promoted rows come from
+ * {@link AdvertisementPromotionIndex}, so a page costs no extra query, and an organic row that is also promoted on the
+ * page is shown once, in its promoted slot. Later pages are left untouched so the keyset cursor stays exact.
+ */
+@Component
+class AdvertisementPromotionMerger {
+
+	private final AdvertisementPromotionIndex advertisementPromotionIndex;
+	private final AdvertisementMapper mapper;
+	private final List<Integer> slots;
+
+	AdvertisementPromotionMerger(AdvertisementPromotionIndex advertisementPromotionIndex, AdvertisementMapper mapper, AdvertisementPromotionProperties properties) {
+		this.advertisementPromotionIndex = advertisementPromotionIndex;
+		this.mapper = mapper;
+		this.slots = properties.slots().stream().sorted().distinct().toList();
+	}
+
+	AdvertisementSlicedResponse<AdvertisementResponse> promote(AdvertisementSearchCriteria criteria, AdvertisementSlicedResponse<AdvertisementResponse> page) {
+		List<AdvertisementResponse> promoted = this.advertisementPromotionIndex.top(criteria, this.slots.size()).stream()
+				.map(promotedAdvertisement -> this.mapper.mapAdvertisementToResponse(promotedAdvertisement.advertisement()))
+				.toList();
+		if (promoted.isEmpty()) {
+			return page;
+		}
+		PromotedPage<AdvertisementResponse> merged = merge(page.content(), promoted, this.slots, AdvertisementResponse::id);
+		return new AdvertisementSlicedResponse<>(merged.content(), merged.content().size(), page.hasNext(), page.nextCursor(), merged.promotedSlots());
+	}
+
+	static <T> PromotedPage<T> merge(List<T> organic, List<T> promoted, List<Integer> slots, Function<T, ?> identity) {
+		Set<Object> promotedIds = new HashSet<>();
+		promoted.forEach(item -> promotedIds.add(identity.apply(item)));
+		List<T> content = new ArrayList<>(organic.size() + promoted.size());
+		for (T item : organic) {
+			if (!promotedIds.contains(identity.apply(item))) {
+				content.add(item);
+			}
+		}
+		List<Integer> promotedSlots = new ArrayList<>(promoted.size());
+		for (int i = 0; i < promoted.size() && i < slots.size(); i++) {
+			int slot = Math.min(slots.get(i), content.size());
+			content.add(slot, promoted.get(i));
+			promotedSlots.add(slot);
+		}
+		return new PromotedPage<>(content, promotedSlots);
+	}
+
+	record PromotedPage<T>(List<T> content, List<Integer> promotedSlots) {}
+
+}
+
+@Repository
+interface PromotionRepository extends ListCrudRepository<Promotion, UUID> {
+
+	@Query("""
+			SELECT CASE WHEN COUNT(1) > 0 THEN TRUE ELSE FALSE END
+			FROM promotions WHERE advertisement_id = :advertisementId AND expires_at > :now
+			""")
+	boolean existsActiveByAdvertisementId(@Param("advertisementId") UUID advertisementId, @Param("now") LocalDateTime now);
+
+	@Query("SELECT id FROM advertisements WHERE id = :advertisementId FOR UPDATE")
+	Optional<UUID> lockAdvertisement(@Param("advertisementId") UUID advertisementId);
+
+}
+
+@Repository
+class PromotedAdvertisementRepository {
+
+	private static final String ACTIVE_PROMOTIONS = """
+			SELECT p.id AS promotion_id, p.promotion_type, p.promoted_at, p.expires_at, l.province_id, l.city_id,
+			""" + AdvertisementSearchRepository.ADVERTISEMENT_COLUMNS + """
+			FROM promotions p
+			JOIN advertisements a ON a.id = p.advertisement_id
+			JOIN locations l ON l.id = a.location_id
+			WHERE p.expires_at > :now AND a.advertisement_status = 'ACTIVE' AND a.archived = false
+			""";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final AdvertisementStreamingJdbcTemplate streamingJdbcTemplate;
+	private final RowMapper<PromotedAdvertisement> promotedAdvertisementRowMapper;
+
+	PromotedAdvertisementRepository(NamedParameterJdbcTemplate jdbcTemplate, AdvertisementStreamingJdbcTemplate streamingJdbcTemplate, AdvertisementRowMapper advertisementRowMapper) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.streamingJdbcTemplate = streamingJdbcTemplate;
+		this.promotedAdvertisementRowMapper = (rs, rowNum) -> new PromotedAdvertisement(
+				rs.getObject("promotion_id", UUID.class),
+				PromotionType.valueOf(rs.getString("promotion_type")),
+				rs.getTimestamp("promoted_at").toLocalDateTime(),
+				rs.getTimestamp("expires_at").toLocalDateTime(),
+				advertisementRowMapper.mapRow(rs, rowNum),
+				rs.getObject("province_id", UUID.class),
+				rs.getObject("city_id", UUID.class));
+	}
+
+	@Transactional(readOnly = true)
+	void streamActive(LocalDateTime now, Consumer<PromotedAdvertisement> consumer) {
+		this.streamingJdbcTemplate.query(ACTIVE_PROMOTIONS, new MapSqlParameterSource("now", Timestamp.valueOf(now)), rs -> {
+			consumer.accept(this.promotedAdvertisementRowMapper.mapRow(rs, 0));
+		});
+	}
+
+	Optional<PromotedAdvertisement> findActiveByAdvertisementId(UUID advertisementId, LocalDateTime now) {
+		return this.jdbcTemplate.query(
+				ACTIVE_PROMOTIONS + " AND p.advertisement_id = :advertisementId ORDER BY p.expires_at DESC LIMIT 1",
+				new MapSqlParameterSource("now", Timestamp.valueOf(now)).addValue("advertisementId", advertisementId),
+				this.promotedAdvertisementRowMapper).stream().findFirst();
+	}
+
+	// ordered by expiry, so when an advertisement has several promotions the one expiring last is put last and wins
+	List<PromotedAdvertisement> findActiveByAdvertisementIds(Collection<UUID> advertisementIds, LocalDateTime now) {
+		return this.jdbcTemplate.query(
+				ACTIVE_PROMOTIONS + " AND p.advertisement_id = ANY(CAST(:advertisementIds AS uuid[])) ORDER BY p.expires_at",
+				new MapSqlParameterSource("now", Timestamp.valueOf(now))
+						.addValue("advertisementIds", AdvertisementSearchRepository.uuidArray(advertisementIds)),
+				this.promotedAdvertisementRowMapper);
+	}
+
+}
+
+@Table("promotions")
+record Promotion(
+		@Id
+		UUID id,
+		@Version
+		Integer version,
+		LocalDateTime promotedAt,
+		LocalDateTime expiresAt,
+		PromotionType promotionType,
+		UUID advertisementId) {}
 
 enum PromotionType {
 
@@ -38,3 +524,47 @@ enum PromotionType {
 	}
 
 }
+
+record AddPromotionRequest(
+		UUID advertisementId,
+		String type,
+		Integer durationInHours) {}
+
+record PromotionResponse(
+		UUID id,
+		UUID advertisementId,
+		String type,
+		LocalDateTime promotedAt,
+		LocalDateTime expiresAt) {}
+
+record PromotionApiResponse<T>(
+		boolean success,
+		String message,
+		T data) {}
+
+record PromotedAdvertisement(
+		UUID promotionId,
+		PromotionType type,
+		LocalDateTime promotedAt,
+		LocalDateTime expiresAt,
+		Advertisement advertisement,
+		UUID provinceId,
+		UUID cityId) {}
+
+record PromotionChangedEvent(UUID advertisementId) {}
+
+@Mapper(componentModel = "spring", unmappedTargetPolicy = ReportingPolicy.IGNORE)
+interface PromotionMapper {
+
+	@Mapping(target = "type", source = "promotionType")
+	PromotionResponse mapPromotionToResponse(Promotion promotion);
+
+	@Mapping(target = "id", source = "promotion.id")
+	@Mapping(target = "version", source = "promotion.version")
+	@Mapping(target = "promotedAt", source = "promotion.promotedAt")
+	@Mapping(target = "expiresAt", source = "expiresAt")
+	@Mapping(target = "promotionType", source = "promotion.promotionType")
+	@Mapping(target = "advertisementId", source = "promotion.advertisementId")
+	Promotion toExpired(Promotion promotion, LocalDateTime expiresAt);
+
+}
@@ -0,0 +1,773 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.f4b6a3.uuid.UuidCreator;
+import com.mhs.onlinemarketingplatform.advertisement.attributes.filter.AdvertisementAttributesFilter;
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementAlertProperties;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.InvalidAttributeFilterException;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.InvalidSearchCriteriaException;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.SavedSearchNotFoundException;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.SearchErrorCode;
+import com.mhs.onlinemarketingplatform.advertisement.event.DeleteAdvertisementEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.EventListener;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Controller;
+import org.springframework.stereotype.Repository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.bind.annotation.*;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+@Controller
+@ResponseBody
+class SavedSearchController {
+
+	private final SavedSearchService savedSearchService;
+	private final static String OWNER = "79e784ec-b22d-456c-807f-300a44bffc2c";
+
+	SavedSearchController(SavedSearchService savedSearchService) {
+		this.savedSearchService = savedSearchService;
+	}
+
+	@PostMapping("/api/me/saved-searches")
+	ResponseEntity<AdvertisementApiResponse<SavedSearchResponse>> addByOwner(@RequestBody AddSavedSearchRequest addSavedSearchRequest) {
+		SavedSearchResponse savedSearch = this.savedSearchService.addByOwner(addSavedSearchRequest, UUID.fromString(OWNER));
+		return ResponseEntity.ok(new AdvertisementApiResponse<>(true, "Search saved successfully", savedSearch));
+	}
+
+	@GetMapping("/api/me/saved-searches")
+	ResponseEntity<List<SavedSearchResponse>> findAllByOwner() {
+		return ResponseEntity.ok(this.savedSearchService.findAllByOwnerId(UUID.fromString(OWNER)));
+	}
+
+	@DeleteMapping("/api/me/saved-searches/{id}")
+	ResponseEntity<?> deleteByOwner(@PathVariable("id") UUID id) {
+		this.savedSearchService.deleteByOwner(id, UUID.fromString(OWNER));
+		return ResponseEntity.noContent().build();
+	}
+
+	/**
+	 * Hands out the pending notifications of the owner once, oldest first; a notification is marked delivered as soon
+	 * as it is returned.
+	 */
+	@PostMapping("/api/me/saved-searches/notifications/poll")
+	ResponseEntity<List<SavedSearchNotificationResponse>> pollNotificationsByOwner(@RequestParam(value = "size", defaultValue = "20") int size) {
+		return ResponseEntity.ok(this.savedSearchService.pollNotificationsByOwnerId(UUID.fromString(OWNER), size));
+	}
+
+}
+
+@Service
+@Transactional
+class SavedSearchService {
+
+	private static final Logger logger = LoggerFactory.getLogger(SavedSearchService.class);
+
+	private final SavedSearchRepository savedSearchRepository;
+	private final SavedSearchNotificationRepository savedSearchNotificationRepository;
+	private final AdvertisementAttributeFilterCompiler attributeFilterCompiler;
+	private final ApplicationEventPublisher publisher;
+	private final AdvertisementAlertProperties properties;
+	private final MessageSource messageSource;
+
+	SavedSearchService(
+			SavedSearchRepository savedSearchRepository,
+			SavedSearchNotificationRepository savedSearchNotificationRepository,
+			AdvertisementAttributeFilterCompiler attributeFilterCompiler,
+			ApplicationEventPublisher publisher,
+			AdvertisementAlertProperties properties,
+			MessageSource messageSource) {
+		this.savedSearchRepository = savedSearchRepository;
+		this.savedSearchNotificationRepository = savedSearchNotificationRepository;
+		this.attributeFilterCompiler = attributeFilterCompiler;
+		this.publisher = publisher;
+		this.properties = properties;
+		this.messageSource = messageSource;
+	}
+
+	SavedSearchResponse addByOwner(AddSavedSearchRequest addSavedSearchRequest, UUID ownerId) {
+		AdvertisementType type = parseType(addSavedSearchRequest.type());
+		BigDecimal minPrice = addSavedSearchRequest.minPrice();
+		BigDecimal maxPrice = addSavedSearchRequest.maxPrice();
+		if (minPrice != null && maxPrice != null && minPrice.compareTo(maxPrice) > 0) {
+			throw new InvalidSearchCriteriaException(
+					messageSource.getMessage("error.search.price.range.invalid",
+							new Object[]{minPrice, maxPrice},
+							LocaleContextHolder.getLocale()),
+					SearchErrorCode.INVALID_SEARCH_CRITERIA);
+		}
+		Map<String, String> attributes = addSavedSearchRequest.attributes() == null ? Map.of() : addSavedSearchRequest.attributes();
+		this.attributeFilterCompiler.parse(type, SavedSearch.parameters(attributes));
+
+		if (this.savedSearchRepository.countByOwnerId(ownerId) >= this.properties.maxPerOwner()) {
+			throw new InvalidSearchCriteriaException(
+					messageSource.getMessage("error.search.saved.search.limit.exceeded",
+							new Object[]{this.properties.maxPerOwner()},
+							LocaleContextHolder.getLocale()),
+					SearchErrorCode.INVALID_SEARCH_CRITERIA);
+		}
+
+		SavedSearch savedSearch = new SavedSearch(
+				UuidCreator.getTimeOrderedEpoch(),
+				0,
+				addSavedSearchRequest.name(),
+				addSavedSearchRequest.categoryId(),
+				type,
+				minPrice,
+				maxPrice,
+				addSavedSearchRequest.cityId(),
+				attributes,
+				ownerId,
+				LocalDateTime.now());
+		this.savedSearchRepository.save(savedSearch);
+		this.publisher.publishEvent(new SavedSearchChangedEvent(savedSearch.id()));
+		logger.info("Saved search with ID: {} for OWNER: {}", savedSearch.id(), ownerId);
+		return SavedSearchResponse.of(savedSearch);
+	}
+
+	@Transactional(readOnly = true)
+	List<SavedSearchResponse> findAllByOwnerId(UUID ownerId) {
+		return this.savedSearchRepository.findAllByOwnerId(ownerId).stream().map(SavedSearchResponse::of).toList();
+	}
+
+	void deleteByOwner(UUID id, UUID ownerId) {
+		if (this.savedSearchRepository.deleteByIdAndOwnerId(id, ownerId) == 0) {
+			throw new SavedSearchNotFoundException(
+					messageSource.getMessage("error.search.saved.search.with.id.not.found",
+							new Object[]{id},
+							LocaleContextHolder.getLocale()),
+					SearchErrorCode.SAVED_SEARCH_NOT_FOUND);
+		}
+		this.publisher.publishEvent(new SavedSearchChangedEvent(id));
+		logger.info("Deleted saved search with ID: {} of OWNER: {}", id, ownerId);
+	}
+
+	List<SavedSearchNotificationResponse> pollNotificationsByOwnerId(UUID ownerId, int size) {
+		int pollSize = Math.min(Math.max(size, 1), this.properties.maxPollSize());
+		return this.savedSearchNotificationRepository.deliver(ownerId, pollSize, LocalDateTime.now());
+	}
+
+	private AdvertisementType parseType(String type) {
+		if (type == null || type.isBlank()) {
+			return null;
+		}
+		try {
+			return AdvertisementType.valueOf(type.trim().toUpperCase());
+		} catch (IllegalArgumentException ex) {
+			throw new InvalidSearchCriteriaException(
+					messageSource.getMessage("error.search.type.invalid",
+							new Object[]{type},
+							LocaleContextHolder.getLocale()),
+					SearchErrorCode.INVALID_SEARCH_CRITERIA);
+		}
+	}
+
+}
+
+/**
+ * Keeps every saved search in memory, bucketed by its category, type and city, where a search that does not filter
+ * on one of them sits under a wildcard. A new advertisement is then only checked against the buckets of its own
+ * category, type and city and their wildcard combinations, eight lookups at most, instead of against every saved
+ * search; price and attributes are only compared for the searches those buckets hold.
+ */
+@Component
+class SavedSearchPercolator {
+
+	private final ConcurrentHashMap<SavedSearchKey, Map<UUID, SavedSearchQuery>> buckets = new ConcurrentHashMap<>();
+	private final ConcurrentHashMap<UUID, SavedSearchKey> keys = new ConcurrentHashMap<>();
+
+	void add(SavedSearchQuery query) {
+		remove(query.id());
+		this.keys.put(query.id(), query.key());
+		this.buckets.compute(query.key(), (key, bucket) -> {
+			Map<UUID, SavedSearchQuery> queries = bucket == null ? new ConcurrentHashMap<>() : bucket;
+			queries.put(query.id(), query);
+			return queries;
+		});
+	}
+
+	void remove(UUID id) {
+		SavedSearchKey key = this.keys.remove(id);
+		if (key != null) {
+			this.buckets.computeIfPresent(key, (k, bucket) -> {
+				bucket.remove(id);
+				return bucket.isEmpty() ? null : bucket;
+			});
+		}
+	}
+
+	List<SavedSearchQuery> match(PercolatedAdvertisement advertisement) {
+		List<SavedSearchQuery> matches = new ArrayList<>();
+		for (SavedSearchKey key : SavedSearchKey.candidates(advertisement)) {
+			Map<UUID, SavedSearchQuery> bucket = this.buckets.get(key);
+			if (bucket == null) {
+				continue;
+			}
+			for (SavedSearchQuery query : bucket.values()) {
+				if (query.matches(advertisement)) {
+					matches.add(query);
+				}
+			}
+		}
+		return matches;
+	}
+
+	int size() {
+		return this.keys.size();
+	}
+
+}
+
+@Component
+class SavedSearchPercolatorLoader {
+
+	private static final Logger logger = LoggerFactory.getLogger(SavedSearchPercolatorLoader.class);
+
+	private final SavedSearchPercolator savedSearchPercolator;
+	private final SavedSearchRepository savedSearchRepository;
+	private final AdvertisementAttributeFilterCompiler attributeFilterCompiler;
+	private final ObjectMapper mapper;
+
+	SavedSearchPercolatorLoader(
+			SavedSearchPercolator savedSearchPercolator,
+			SavedSearchRepository savedSearchRepository,
+			AdvertisementAttributeFilterCompiler attributeFilterCompiler,
+			ObjectMapper mapper) {
+		this.savedSearchPercolator = savedSearchPercolator;
+		this.savedSearchRepository = savedSearchRepository;
+		this.attributeFilterCompiler = attributeFilterCompiler;
+		this.mapper = mapper;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		long started = System.currentTimeMillis();
+		this.savedSearchRepository.streamAll(this::add);
+		logger.info("Loaded {} saved searches into the percolator in {} ms",
+				this.savedSearchPercolator.size(), System.currentTimeMillis() - started);
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleSavedSearchChangedEvent(SavedSearchChangedEvent event) {
+		this.savedSearchRepository.findById(event.id()).ifPresentOrElse(
+				this::add,
+				() -> this.savedSearchPercolator.remove(event.id()));
+	}
+
+	private void add(SavedSearch savedSearch) {
+		try {
+			this.savedSearchPercolator.add(compile(savedSearch));
+		} catch (InvalidAttributeFilterException ex) {
+			// the attributes of the type changed since the search was saved, it can not match anything any more
+			logger.warn("Skipping saved search with ID: {}: {}", savedSearch.id(), ex.getMessage());
+		}
+	}
+
+	SavedSearchQuery compile(SavedSearch savedSearch) {
+		AdvertisementAttributesFilter filter = this.attributeFilterCompiler.parse(savedSearch.type(), SavedSearch.parameters(savedSearch.attributes()));
+		SavedSearchAttributeMatcher matcher = null;
+		if (filter != null) {
+			CompiledAttributeFilter compiled = this.attributeFilterCompiler.compile(filter);
+			try {
+				matcher = new SavedSearchAttributeMatcher((ObjectNode) this.mapper.readTree(compiled.containment()), compiled.ranges());
+			} catch (JsonProcessingException ex) {
+				throw new IllegalStateException("Compiled attribute filter is not valid JSON", ex);
+			}
+		}
+		return new SavedSearchQuery(
+				savedSearch.id(),
+				savedSearch.ownerId(),
+				new SavedSearchKey(savedSearch.categoryId(), savedSearch.type(), savedSearch.cityId()),
+				savedSearch.minPrice(),
+				savedSearch.maxPrice(),
+				matcher);
+	}
+
+}
+
+/**
+ * Matches advertisements once they become visible, which is on activation since new and edited advertisements are
+ * inactive, and writes a notification per matching saved search to the {@code saved_search_notifications} outbox in
+ * batches. A search is notified about an advertisement at most once, however often it is reactivated.
+ */
+@Component
+class SavedSearchNotifier {
+
+	private static final Logger logger = LoggerFactory.getLogger(SavedSearchNotifier.class);
+
+	private final SavedSearchPercolator savedSearchPercolator;
+	private final SavedSearchRepository savedSearchRepository;
+	private final SavedSearchNotificationRepository savedSearchNotificationRepository;
+	private final AdvertisementAlertProperties properties;
+
+	SavedSearchNotifier(
+			SavedSearchPercolator savedSearchPercolator,
+			SavedSearchRepository savedSearchRepository,
+			SavedSearchNotificationRepository savedSearchNotificationRepository,
+			AdvertisementAlertProperties properties) {
+		this.savedSearchPercolator = savedSearchPercolator;
+		this.savedSearchRepository = savedSearchRepository;
+		this.savedSearchNotificationRepository = savedSearchNotificationRepository;
+		this.properties = properties;
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementActivatedEvent(AdvertisementActivatedEvent event) {
+		percolate(List.of(event.id()));
+	}
+
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleAdvertisementsBulkChangedEvent(AdvertisementsBulkChangedEvent event) {
+		if (event.change() == BulkChange.ACTIVATED) {
+			percolate(event.ids());
+		}
+	}
+
+	// runs on the index worker behind any percolation of the same advertisement, so no notification outlives it
+	@Async("advertisementIndexTaskExecutor")
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void handleDeleteAdvertisementEvent(DeleteAdvertisementEvent event) {
+		this.savedSearchNotificationRepository.deleteByAdvertisementId(event.productId());
+	}
+
+	void percolate(List<UUID> advertisementIds) {
+		if (this.savedSearchPercolator.size() == 0) {
+			return;
+		}
+		LocalDateTime now = LocalDateTime.now();
+		List<SavedSearchNotification> batch = new ArrayList<>();
+		int matched = 0;
+		for (PercolatedAdvertisement advertisement : this.savedSearchRepository.findActiveAdvertisementsByIds(advertisementIds)) {
+			for (SavedSearchQuery query : this.savedSearchPercolator.match(advertisement)) {
+				batch.add(new SavedSearchNotification(UuidCreator.getTimeOrderedEpoch(), query.id(), query.ownerId(), advertisement.id(), now));
+				matched++;
+				if (batch.size() == this.properties.notificationBatchSize()) {
+					this.savedSearchNotificationRepository.saveAll(batch);
+					batch = new ArrayList<>();
+				}
+			}
+		}
+		if (!batch.isEmpty()) {
+			this.savedSearchNotificationRepository.saveAll(batch);
+		}
+		logger.debug("Percolated {} advertisements into {} saved search notifications", advertisementIds.size(), matched);
+	}
+
+}
+
+@Repository
+class SavedSearchRepository {
+
+	private static final String SAVED_SEARCH_COLUMNS = """
+			SELECT id, version, name, category_id, advertisement_type, min_price, max_price, city_id, attributes::text AS attributes,
+			owner_id, inserted_at FROM saved_searches
+			""";
+
+	private static final String ACTIVE_ADVERTISEMENTS = """
+			SELECT a.id, a.owner_id, a.category_id, a.advertisement_type, a.price, l.city_id, a.attributes::text AS attributes
+			FROM advertisements a
+			LEFT JOIN locations l ON l.id = a.location_id
+			WHERE a.advertisement_status = 'ACTIVE' AND a.archived = false AND a.id = ANY(CAST(:ids AS uuid[]))
+			""";
+
+	private static final TypeReference<LinkedHashMap<String, String>> ATTRIBUTES = new TypeReference<>() {};
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+	private final AdvertisementStreamingJdbcTemplate streamingJdbcTemplate;
+	private final ObjectMapper mapper;
+
+	SavedSearchRepository(NamedParameterJdbcTemplate jdbcTemplate, AdvertisementStreamingJdbcTemplate streamingJdbcTemplate, ObjectMapper mapper) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.streamingJdbcTemplate = streamingJdbcTemplate;
+		this.mapper = mapper;
+	}
+
+	void save(SavedSearch savedSearch) {
+		MapSqlParameterSource params = new MapSqlParameterSource()
+				.addValue("id", savedSearch.id())
+				.addValue("version", savedSearch.version())
+				.addValue("name", savedSearch.name())
+				.addValue("categoryId", savedSearch.categoryId())
+				.addValue("type", savedSearch.type() == null ? null : savedSearch.type().name())
+				.addValue("minPrice", savedSearch.minPrice())
+				.addValue("maxPrice", savedSearch.maxPrice())
+				.addValue("cityId", savedSearch.cityId())
+				.addValue("attributes", write(savedSearch.attributes()))
+				.addValue("ownerId", savedSearch.ownerId())
+				.addValue("insertedAt", savedSearch.insertedAt());
+		this.jdbcTemplate.update("""
+				INSERT INTO saved_searches (id, version, name, category_id, advertisement_type, min_price, max_price, city_id,
+				attributes, owner_id, inserted_at)
+				VALUES (:id, :version, :name, :categoryId, :type, :minPrice, :maxPrice, :cityId, CAST(:attributes AS jsonb),
+				:ownerId, :insertedAt)
+				""", params);
+	}
+
+	Optional<SavedSearch> findById(UUID id) {
+		return this.jdbcTemplate.query(SAVED_SEARCH_COLUMNS + " WHERE id = :id", new MapSqlParameterSource("id", id),
+				(rs, rowNum) -> savedSearch(rs)).stream().findFirst();
+	}
+
+	List<SavedSearch> findAllByOwnerId(UUID ownerId) {
+		return this.jdbcTemplate.query(SAVED_SEARCH_COLUMNS + " WHERE owner_id = :ownerId ORDER BY inserted_at DESC",
+				new MapSqlParameterSource("ownerId", ownerId), (rs, rowNum) -> savedSearch(rs));
+	}
+
+	int countByOwnerId(UUID ownerId) {
+		Integer count = this.jdbcTemplate.queryForObject("SELECT count(*) FROM saved_searches WHERE owner_id = :ownerId",
+				new MapSqlParameterSource("ownerId", ownerId), Integer.class);
+		return count == null ? 0 : count;
+	}
+
+	int deleteByIdAndOwnerId(UUID id, UUID ownerId) {
+		return this.jdbcTemplate.update("DELETE FROM saved_searches WHERE id = :id AND owner_id = :ownerId",
+				new MapSqlParameterSource("id", id).addValue("ownerId", ownerId));
+	}
+
+	@Transactional(readOnly = true)
+	void streamAll(Consumer<SavedSearch> consumer) {
+		this.streamingJdbcTemplate.query(SAVED_SEARCH_COLUMNS, new MapSqlParameterSource(), rs -> {
+			consumer.accept(savedSearch(rs));
+		});
+	}
+
+	List<PercolatedAdvertisement> findActiveAdvertisementsByIds(Collection<UUID> ids) {
+		return this.jdbcTemplate.query(ACTIVE_ADVERTISEMENTS, new MapSqlParameterSource("ids", AdvertisementSearchRepository.uuidArray(ids)),
+				(rs, rowNum) -> new PercolatedAdvertisement(
+						rs.getObject("id", UUID.class),
+						rs.getObject("owner_id", UUID.class),
+						rs.getObject("category_id", UUID.class),
+						AdvertisementType.valueOf(rs.getString("advertisement_type")),
+						rs.getBigDecimal("price"),
+						rs.getObject("city_id", UUID.class),
+						readTree(rs.getString("attributes"))));
+	}
+
+	private SavedSearch savedSearch(ResultSet rs) throws SQLException {
+		String type = rs.getString("advertisement_type");
+		return new SavedSearch(
+				rs.getObject("id", UUID.class),
+				rs.getInt("version"),
+				rs.getString("name"),
+				rs.getObject("category_id", UUID.class),
+				type == null ? null : AdvertisementType.valueOf(type),
+				rs.getBigDecimal("min_price"),
+				rs.getBigDecimal("max_price"),
+				rs.getObject("city_id", UUID.class),
+				read(rs.getString("attributes")),
+				rs.getObject("owner_id", UUID.class),
+				rs.getTimestamp("inserted_at").toLocalDateTime());
+	}
+
+	private String write(Map<String, String> attributes) {
+		try {
+			return this.mapper.writeValueAsString(attributes);
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Saved search attributes could not be written", ex);
+		}
+	}
+
+	private Map<String, String> read(String attributes) {
+		try {
+			return this.mapper.readValue(attributes, ATTRIBUTES);
+		} catch (JsonProcessingException ex) {
+			throw new IllegalStateException("Saved search attributes could not be read", ex);
+		}
+	}
+
+	private JsonNode readTree(String attributes) {
+		try {
+			return attributes == null ? null : this.mapper.readTree(attributes);
+		} catch (JsonProcessingException ex) {
+			return null;
+		}
+	}
+
+}
+
+@Repository
+class SavedSearchNotificationRepository {
+
+	private static final String DELIVER = """
+			WITH delivered AS (
+				UPDATE saved_search_notifications SET delivered_at = :now
+				WHERE id IN (
+					SELECT id FROM saved_search_notifications
+					WHERE owner_id = :ownerId AND delivered_at IS NULL
+					ORDER BY matched_at
+					LIMIT :limit
+					FOR UPDATE SKIP LOCKED)
+				RETURNING id, saved_search_id, advertisement_id, matched_at)
+			SELECT d.id, d.saved_search_id, s.name, d.advertisement_id, d.matched_at FROM delivered d
+			JOIN saved_searches s ON s.id = d.saved_search_id
+			ORDER BY d.matched_at
+			""";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	SavedSearchNotificationRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	void saveAll(List<SavedSearchNotification> notifications) {
+		SqlParameterSource[] batch = notifications.stream()
+				.map(notification -> new MapSqlParameterSource()
+						.addValue("id", notification.id())
+						.addValue("savedSearchId", notification.savedSearchId())
+						.addValue("ownerId", notification.ownerId())
+						.addValue("advertisementId", notification.advertisementId())
+						.addValue("matchedAt", notification.matchedAt()))
+				.toArray(SqlParameterSource[]::new);
+		this.jdbcTemplate.batchUpdate("""
+				INSERT INTO saved_search_notifications (id, saved_search_id, owner_id, advertisement_id, matched_at)
+				VALUES (:id, :savedSearchId, :ownerId, :advertisementId, :matchedAt)
+				ON CONFLICT (saved_search_id, advertisement_id) DO NOTHING
+				""", batch);
+	}
+
+	List<SavedSearchNotificationResponse> deliver(UUID ownerId, int limit, LocalDateTime now) {
+		MapSqlParameterSource params = new MapSqlParameterSource("ownerId", ownerId)
+				.addValue("limit", limit)
+				.addValue("now", now);
+		return this.jdbcTemplate.query(DELIVER, params, (rs, rowNum) -> new SavedSearchNotificationResponse(
+				rs.getObject("id", UUID.class),
+				rs.getObject("saved_search_id", UUID.class),
+				rs.getString("name"),
+				rs.getObject("advertisement_id", UUID.class),
+				rs.getTimestamp("matched_at").toLocalDateTime()));
+	}
+
+	void deleteByAdvertisementId(UUID advertisementId) {
+		this.jdbcTemplate.update("DELETE FROM saved_search_notifications WHERE advertisement_id = :advertisementId",
+				new MapSqlParameterSource("advertisementId", advertisementId));
+	}
+
+}
+
+/**
+ * Attribute values are the ones of the search endpoint without their {@code attr.} prefix, such as
+ * {@code brand=Toyota} or {@code manufacturingYear.min=2015}.
+ */
+record SavedSearch(
+		UUID id,
+		Integer version,
+		String name,
+		UUID categoryId,
+		AdvertisementType type,
+		BigDecimal minPrice,
+		BigDecimal maxPrice,
+		UUID cityId,
+		Map<String, String> attributes,
+		UUID ownerId,
+		LocalDateTime insertedAt) {
+
+	static Map<String, String> parameters(Map<String, String> attributes) {
+		Map<String, String> parameters = new LinkedHashMap<>();
+		attributes.forEach((field, value) -> parameters.put(AdvertisementAttributeFilterCompiler.PARAMETER_PREFIX + field, value));
+		return parameters;
+	}
+
+}
+
+/**
+ * A {@code null} component is a wildcard, the search does not filter on it.
+ */
+record SavedSearchKey(UUID categoryId, AdvertisementType type, UUID cityId) {
+
+	static Set<SavedSearchKey> candidates(PercolatedAdvertisement advertisement) {
+		Set<SavedSearchKey> candidates = new LinkedHashSet<>();
+		for (UUID categoryId : Arrays.asList(advertisement.categoryId(), null)) {
+			for (AdvertisementType type : Arrays.asList(advertisement.type(), null)) {
+				for (UUID cityId : Arrays.asList(advertisement.cityId(), null)) {
+					candidates.add(new SavedSearchKey(categoryId, type, cityId));
+				}
+			}
+		}
+		return candidates;
+	}
+
+}
+
+record SavedSearchQuery(
+		UUID id,
+		UUID ownerId,
+		SavedSearchKey key,
+		BigDecimal minPrice,
+		BigDecimal maxPrice,
+		SavedSearchAttributeMatcher attributes) {
+
+	// owners are not notified about their own advertisements
+	boolean matches(PercolatedAdvertisement advertisement) {
+		if (this.ownerId.equals(advertisement.ownerId())) {
+			return false;
+		}
+		if (this.minPrice != null && (advertisement.price() == null || advertisement.price().compareTo(this.minPrice) < 0)) {
+			return false;
+		}
+		if (this.maxPrice != null && (advertisement.price() == null || advertisement.price().compareTo(this.maxPrice) > 0)) {
+			return false;
+		}
+		return this.attributes == null || this.attributes.matches(advertisement.attributes());
+	}
+
+}
+
+/**
+ * Evaluates a {@link CompiledAttributeFilter} against the attributes of a single advertisement with the semantics of
+ * the JSONB containment and numeric range predicates the search endpoint sends to the database.
+ */
+record SavedSearchAttributeMatcher(ObjectNode containment, List<AttributeRangePredicate> ranges) {
+
+	boolean matches(JsonNode attributes) {
+		if (attributes == null) {
+			return false;
+		}
+		Iterator<Map.Entry<String, JsonNode>> fields = this.containment.fields();
+		while (fields.hasNext()) {
+			Map.Entry<String, JsonNode> field = fields.next();
+			if (!equal(field.getValue(), attributes.get(field.getKey()))) {
+				return false;
+			}
+		}
+		for (AttributeRangePredicate range : this.ranges) {
+			BigDecimal value = numeric(attributes.get(range.field()));
+			if (value == null) {
+				return false;
+			}
+			if (range.min() != null && value.compareTo(new BigDecimal(range.min().toString())) < 0) {
+				return false;
+			}
+			if (range.max() != null && value.compareTo(new BigDecimal(range.max().toString())) > 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean equal(JsonNode expected, JsonNode actual) {
+		if (actual == null) {
+			return false;
+		}
+		if (expected.isNumber() && actual.isNumber()) {
+			return expected.decimalValue().compareTo(actual.decimalValue()) == 0;
+		}
+		return expected.equals(actual);
+	}
+
+	private static BigDecimal numeric(JsonNode value) {
+		if (value == null) {
+			return null;
+		}
+		if (value.isNumber()) {
+			return value.decimalValue();
+		}
+		if (value.isTextual()) {
+			try {
+				return new BigDecimal(value.textValue().trim());
+			} catch (NumberFormatException ex) {
+				return null;
+			}
+		}
+		return null;
+	}
+
+}
+
+record PercolatedAdvertisement(
+		UUID id,
+		UUID ownerId,
+		UUID categoryId,
+		AdvertisementType type,
+		BigDecimal price,
+		UUID cityId,
+		JsonNode attributes) {}
+
+record SavedSearchNotification(UUID id, UUID savedSearchId, UUID ownerId, UUID advertisementId, LocalDateTime matchedAt) {}
+
+record SavedSearchChangedEvent(UUID id) {}
+
+record AddSavedSearchRequest(
+		String name,
+		UUID categoryId,
+		String type,
+		BigDecimal minPrice,
+		BigDecimal maxPrice,
+		UUID cityId,
+		Map<String, String> attributes) {}
+
+record SavedSearchResponse(
+		UUID id,
+		String name,
+		UUID categoryId,
+		AdvertisementType type,
+		BigDecimal minPrice,
+		BigDecimal maxPrice,
+		UUID cityId,
+		Map<String, String> attributes,
+		LocalDateTime insertedAt) {
+
+	static SavedSearchResponse of(SavedSearch savedSearch) {
+		return new SavedSearchResponse(
+				savedSearch.id(),
+				savedSearch.name(),
+				savedSearch.categoryId(),
+				savedSearch.type(),
+				savedSearch.minPrice(),
+				savedSearch.maxPrice(),
+				savedSearch.cityId(),
+				savedSearch.attributes(),
+				savedSearch.insertedAt());
+	}
+
+}
+
+record SavedSearchNotificationResponse(
+		UUID id,
+		UUID savedSearchId,
+		String savedSearchName,
+		UUID advertisementId,
+		LocalDateTime matchedAt) {}
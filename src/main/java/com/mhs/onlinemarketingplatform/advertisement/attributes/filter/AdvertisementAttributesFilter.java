@@ -0,0 +1,50 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement.attributes.filter;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Typed attribute predicates of one {@link com.mhs.onlinemarketingplatform.advertisement.attributes.AdvertisementAttributes}
+ * subtype. Field names are the record components of the subtype, so only attributes that really exist in the stored
+ * JSON can be filtered on. Equalities are answered by JSONB containment, ranges are evaluated on the rows the
+ * containment has already narrowed down.
+ *
+ * @author Milad Haghighat Shahedi
+ */
+public sealed interface AdvertisementAttributesFilter permits CarAttributesFilter, RealEstateAttributesFilter, MobileAttributesFilter, OtherAttributesFilter {
+
+	String typeName();
+
+	Map<String, Object> equalities();
+
+	Map<String, AttributeRange> ranges();
+
+	static <T> Map<String, T> present(Object... namesAndValues) {
+		Map<String, T> fields = new LinkedHashMap<>();
+		for (int i = 0; i < namesAndValues.length; i += 2) {
+			@SuppressWarnings("unchecked")
+			T value = (T) namesAndValues[i + 1];
+			if (value != null) {
+				fields.put((String) namesAndValues[i], value);
+			}
+		}
+		return Collections.unmodifiableMap(fields);
+	}
+
+}
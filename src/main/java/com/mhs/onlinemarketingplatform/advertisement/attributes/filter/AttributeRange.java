@@ -0,0 +1,36 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement.attributes.filter;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public sealed interface AttributeRange permits IntRange, DecimalRange {
+
+	Number min();
+
+	Number max();
+
+	default boolean isExact() {
+		return min() != null && min().equals(max());
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	default boolean isInverted() {
+		return min() != null && max() != null && ((Comparable) min()).compareTo(max()) > 0;
+	}
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement.attributes.filter;
+
+import java.util.Map;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public record CarAttributesFilter(
+		String brand,
+		String model,
+		IntRange manufacturingYear,
+		String gearboxType,
+		String color,
+		IntRange mileage,
+		IntRange insurance,
+		String bodyCondtion) implements AdvertisementAttributesFilter {
+
+	@Override
+	public String typeName() {
+		return "car";
+	}
+
+	@Override
+	public Map<String, Object> equalities() {
+		return AdvertisementAttributesFilter.present(
+				"brand", brand,
+				"model", model,
+				"gearboxType", gearboxType,
+				"color", color,
+				"bodyCondtion", bodyCondtion);
+	}
+
+	@Override
+	public Map<String, AttributeRange> ranges() {
+		return AdvertisementAttributesFilter.present(
+				"manufacturingYear", manufacturingYear,
+				"mileage", mileage,
+				"insurance", insurance);
+	}
+
+}
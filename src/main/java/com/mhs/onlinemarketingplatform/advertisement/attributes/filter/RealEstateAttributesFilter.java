@@ -0,0 +1,68 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement.attributes.filter;
+
+import java.util.Map;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public record RealEstateAttributesFilter(
+		DecimalRange area,
+		IntRange rooms,
+		IntRange floor,
+		IntRange yearOfConstruction,
+		String buildingType,
+		DecimalRange pricePerSquarMeter,
+		String condtion,
+		Boolean balcony,
+		Boolean storageUnit,
+		Boolean elevator,
+		Boolean parking,
+		String restRoomType,
+		String heatingSystem,
+		String coolingSystem) implements AdvertisementAttributesFilter {
+
+	@Override
+	public String typeName() {
+		return "realestate";
+	}
+
+	@Override
+	public Map<String, Object> equalities() {
+		return AdvertisementAttributesFilter.present(
+				"buildingType", buildingType,
+				"condtion", condtion,
+				"balcony", balcony,
+				"storageUnit", storageUnit,
+				"elevator", elevator,
+				"parking", parking,
+				"restRoomType", restRoomType,
+				"heatingSystem", heatingSystem,
+				"coolingSystem", coolingSystem);
+	}
+
+	@Override
+	public Map<String, AttributeRange> ranges() {
+		return AdvertisementAttributesFilter.present(
+				"area", area,
+				"rooms", rooms,
+				"floor", floor,
+				"yearOfConstruction", yearOfConstruction,
+				"pricePerSquarMeter", pricePerSquarMeter);
+	}
+
+}
@@ -21,6 +21,7 @@ import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * @author Milad Haghighat Shahedi
@@ -39,4 +40,53 @@ public class AdvertisementAsyncConfig {
 		executor.initialize();
 		return executor;
 	}
+
+	// a single worker keeps the in-memory indexes updated in the order the advertisements were committed. A full
+	// queue makes the committing thread wait for room: a rejected update would be swallowed by the after commit
+	// synchronization and leave the indexes silently behind, and running it on the caller would break the single writer
+	@Bean(name = "advertisementIndexTaskExecutor")
+	public Executor indexTaskExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(1);
+		executor.setMaxPoolSize(1);
+		executor.setQueueCapacity(10000);
+		executor.setThreadNamePrefix("advertisement-index-task-");
+		executor.setRejectedExecutionHandler((task, pool) -> {
+			if (pool.isShutdown()) {
+				throw new RejectedExecutionException("Advertisement index executor is shut down");
+			}
+			try {
+				pool.getQueue().put(task);
+			} catch (InterruptedException ex) {
+				Thread.currentThread().interrupt();
+				throw new RejectedExecutionException("Interrupted while waiting for the advertisement index queue", ex);
+			}
+		});
+		executor.initialize();
+		return executor;
+	}
+
+	// periodic full rebuilds read whole tables, so they run here and only hand the swap over to the index worker
+	@Bean(name = "advertisementRebuildTaskExecutor")
+	public Executor rebuildTaskExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(1);
+		executor.setMaxPoolSize(1);
+		executor.setQueueCapacity(10);
+		executor.setThreadNamePrefix("advertisement-rebuild-task-");
+		executor.initialize();
+		return executor;
+	}
+
+	// the archiver throttles itself by sleeping between batches, so it gets a worker of its own
+	@Bean(name = "advertisementArchiveTaskExecutor")
+	public Executor archiveTaskExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(1);
+		executor.setMaxPoolSize(1);
+		executor.setQueueCapacity(10);
+		executor.setThreadNamePrefix("advertisement-archive-task-");
+		executor.initialize();
+		return executor;
+	}
 }
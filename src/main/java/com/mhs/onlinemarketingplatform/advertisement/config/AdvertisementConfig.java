@@ -0,0 +1,41 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+@Configuration
+@EnableConfigurationProperties({
+		AdvertisementGeoProperties.class,
+		AdvertisementFacetProperties.class,
+		AdvertisementFeedProperties.class,
+		AdvertisementPromotionProperties.class,
+		AdvertisementPriceProperties.class,
+		AdvertisementDuplicateProperties.class,
+		AdvertisementImportProperties.class,
+		AdvertisementPartitionProperties.class,
+		AdvertisementBulkProperties.class,
+		AdvertisementVisitProperties.class,
+		AdvertisementAlertProperties.class,
+		AdvertisementAttributesProperties.class,
+		AdvertisementSimilarProperties.class,
+		AdvertisementTypeaheadProperties.class,
+		AdvertisementMapProperties.class})
+public class AdvertisementConfig {}
@@ -0,0 +1,330 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement.converter;
+
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.mhs.onlinemarketingplatform.advertisement.attributes.AdvertisementAttributes;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.RecordComponent;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Compact binary form of {@link AdvertisementAttributes} for the {@code attributes_binary} column. The attribute
+ * subtypes are records with a fixed set of components, so instead of field names and text numbers a value is written
+ * as a subtype tag followed by its components in declaration order, ints as variable length integers. Decoding walks
+ * the bytes once and calls the canonical constructor, without a tokenizer or a type id lookup.
+ * <p>
+ * Every value starts with {@link #FINGERPRINT}, a hash of the subtypes and their components. Changing an attribute
+ * record changes the fingerprint, which turns all stored values stale; reads then fall back to jsonb until the
+ * backfill has encoded them again.
+ *
+ * @author Milad Haghighat Shahedi
+ */
+@Component
+public class AdvertisementAttributesBinaryCodec {
+
+	private static final int FORMAT_VERSION = 1;
+	private static final List<Subtype> SUBTYPES = subtypes();
+	private static final Map<Class<?>, Subtype> BY_CLASS = new HashMap<>();
+	public static final int FINGERPRINT = fingerprint();
+
+	static {
+		SUBTYPES.forEach(subtype -> BY_CLASS.put(subtype.type, subtype));
+	}
+
+	public byte[] write(AdvertisementAttributes attributes) {
+		if (attributes == null) {
+			return null;
+		}
+		Subtype subtype = BY_CLASS.get(attributes.getClass());
+		Output output = new Output();
+		output.writeInt(FINGERPRINT);
+		output.write(subtype.tag);
+		try {
+			for (Component component : subtype.components) {
+				component.write(output, component.accessor.invoke(attributes));
+			}
+		} catch (Throwable e) {
+			throw new IllegalArgumentException("Failed to encode attributes", e);
+		}
+		return output.toByteArray();
+	}
+
+	public AdvertisementAttributes read(byte[] binary) {
+		if (binary == null) {
+			return null;
+		}
+		Input input = new Input(binary);
+		if (input.readInt() != FINGERPRINT) {
+			throw new IllegalArgumentException("Attributes were encoded for another version of the attribute types");
+		}
+		Subtype subtype = SUBTYPES.get(input.read());
+		Object[] values = new Object[subtype.components.size()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = subtype.components.get(i).read(input);
+		}
+		try {
+			return (AdvertisementAttributes) subtype.constructor.invoke(values);
+		} catch (Throwable e) {
+			throw new IllegalArgumentException("Failed to decode attributes", e);
+		}
+	}
+
+	// ordered by type name, so a tag does not depend on the order the subtypes are declared in
+	private static List<Subtype> subtypes() {
+		MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+		List<Class<?>> types = new ArrayList<>(List.of(AdvertisementAttributes.class.getPermittedSubclasses()));
+		types.sort(Comparator.comparing(AdvertisementAttributesBinaryCodec::typeName));
+		List<Subtype> subtypes = new ArrayList<>();
+		for (Class<?> type : types) {
+			RecordComponent[] recordComponents = type.getRecordComponents();
+			List<Component> components = new ArrayList<>();
+			Class<?>[] parameters = new Class<?>[recordComponents.length];
+			try {
+				for (int i = 0; i < recordComponents.length; i++) {
+					RecordComponent recordComponent = recordComponents[i];
+					parameters[i] = recordComponent.getType();
+					components.add(new Component(
+							recordComponent.getName(),
+							Kind.of(recordComponent.getType()),
+							lookup.unreflect(recordComponent.getAccessor()).asType(MethodType.methodType(Object.class, Object.class))));
+				}
+				MethodHandle constructor = lookup.findConstructor(type, MethodType.methodType(void.class, parameters))
+						.asType(MethodType.methodType(Object.class, parameters))
+						.asSpreader(Object[].class, parameters.length);
+				subtypes.add(new Subtype(type, (byte) subtypes.size(), List.copyOf(components), constructor));
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalStateException("Attributes type " + type.getName() + " can not be encoded", e);
+			}
+		}
+		return List.copyOf(subtypes);
+	}
+
+	private static int fingerprint() {
+		StringBuilder schema = new StringBuilder().append(FORMAT_VERSION);
+		for (Subtype subtype : SUBTYPES) {
+			schema.append(';').append(typeName(subtype.type)).append('(');
+			subtype.components.forEach(component -> schema.append(component.name).append(':').append(component.kind).append(','));
+			schema.append(')');
+		}
+		return schema.toString().hashCode();
+	}
+
+	private static String typeName(Class<?> type) {
+		JsonTypeName name = type.getAnnotation(JsonTypeName.class);
+		return name == null ? type.getSimpleName() : name.value();
+	}
+
+	private record Subtype(Class<?> type, byte tag, List<Component> components, MethodHandle constructor) {}
+
+	private record Component(String name, Kind kind, MethodHandle accessor) {
+
+		void write(Output output, Object value) {
+			this.kind.write(output, value);
+		}
+
+		Object read(Input input) {
+			return this.kind.read(input);
+		}
+
+	}
+
+	private enum Kind {
+
+		INT {
+			void write(Output output, Object value) {
+				output.writeVarInt((Integer) value);
+			}
+
+			Object read(Input input) {
+				return input.readVarInt();
+			}
+		},
+		LONG {
+			void write(Output output, Object value) {
+				output.writeLong((Long) value);
+			}
+
+			Object read(Input input) {
+				return input.readLong();
+			}
+		},
+		DOUBLE {
+			void write(Output output, Object value) {
+				output.writeLong(Double.doubleToLongBits((Double) value));
+			}
+
+			Object read(Input input) {
+				return Double.longBitsToDouble(input.readLong());
+			}
+		},
+		BOOLEAN {
+			void write(Output output, Object value) {
+				output.write((Boolean) value ? 1 : 0);
+			}
+
+			Object read(Input input) {
+				return input.read() == 1;
+			}
+		},
+		STRING {
+			void write(Output output, Object value) {
+				if (value == null) {
+					output.writeVarInt(-1);
+					return;
+				}
+				byte[] bytes = ((String) value).getBytes(StandardCharsets.UTF_8);
+				output.writeVarInt(bytes.length);
+				output.write(bytes, 0, bytes.length);
+			}
+
+			Object read(Input input) {
+				int length = input.readVarInt();
+				return length < 0 ? null : input.readString(length);
+			}
+		},
+		DECIMAL {
+			void write(Output output, Object value) {
+				if (value == null) {
+					output.writeVarInt(-1);
+					return;
+				}
+				BigDecimal decimal = (BigDecimal) value;
+				byte[] unscaled = decimal.unscaledValue().toByteArray();
+				output.writeVarInt(unscaled.length);
+				output.write(unscaled, 0, unscaled.length);
+				output.writeVarInt(decimal.scale());
+			}
+
+			Object read(Input input) {
+				int length = input.readVarInt();
+				if (length < 0) {
+					return null;
+				}
+				BigInteger unscaled = new BigInteger(input.readBytes(length));
+				return new BigDecimal(unscaled, input.readVarInt());
+			}
+		};
+
+		abstract void write(Output output, Object value);
+
+		abstract Object read(Input input);
+
+		static Kind of(Class<?> type) {
+			if (type == int.class) {
+				return INT;
+			} else if (type == long.class) {
+				return LONG;
+			} else if (type == double.class) {
+				return DOUBLE;
+			} else if (type == boolean.class) {
+				return BOOLEAN;
+			} else if (type == String.class) {
+				return STRING;
+			} else if (type == BigDecimal.class) {
+				return DECIMAL;
+			}
+			throw new IllegalStateException("Attribute component type " + type.getName() + " is not supported");
+		}
+
+	}
+
+	private static final class Output extends ByteArrayOutputStream {
+
+		Output() {
+			super(64);
+		}
+
+		void writeInt(int value) {
+			write(value >>> 24);
+			write(value >>> 16);
+			write(value >>> 8);
+			write(value);
+		}
+
+		void writeLong(long value) {
+			writeInt((int) (value >>> 32));
+			writeInt((int) value);
+		}
+
+		// zigzag, so small negative values such as the null marker stay one byte long
+		void writeVarInt(int value) {
+			int zigzag = (value << 1) ^ (value >> 31);
+			while ((zigzag & ~0x7F) != 0) {
+				write((zigzag & 0x7F) | 0x80);
+				zigzag >>>= 7;
+			}
+			write(zigzag);
+		}
+
+	}
+
+	private static final class Input {
+
+		private final byte[] bytes;
+		private int position;
+
+		Input(byte[] bytes) {
+			this.bytes = bytes;
+		}
+
+		int read() {
+			return this.bytes[this.position++] & 0xFF;
+		}
+
+		int readInt() {
+			return (read() << 24) | (read() << 16) | (read() << 8) | read();
+		}
+
+		long readLong() {
+			return ((long) readInt() << 32) | (readInt() & 0xFFFFFFFFL);
+		}
+
+		int readVarInt() {
+			int zigzag = 0;
+			int shift = 0;
+			int b;
+			do {
+				b = read();
+				zigzag |= (b & 0x7F) << shift;
+				shift += 7;
+			} while ((b & 0x80) != 0);
+			return (zigzag >>> 1) ^ -(zigzag & 1);
+		}
+
+		String readString(int length) {
+			String value = new String(this.bytes, this.position, length, StandardCharsets.UTF_8);
+			this.position += length;
+			return value;
+		}
+
+		byte[] readBytes(int length) {
+			byte[] value = Arrays.copyOfRange(this.bytes, this.position, this.position + length);
+			this.position += length;
+			return value;
+		}
+
+	}
+
+}
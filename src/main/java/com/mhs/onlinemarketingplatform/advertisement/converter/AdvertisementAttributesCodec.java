@@ -0,0 +1,104 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.mhs.onlinemarketingplatform.advertisement.attributes.AdvertisementAttributes;
+import org.postgresql.util.PGobject;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Reads and writes {@link AdvertisementAttributes} as jsonb with readers and writers that are built once, so the
+ * polymorphic serializers are resolved at startup instead of being looked up through the shared {@link ObjectMapper}
+ * for every row. Every permitted subtype gets its own writer; they all write {@code @type} as the first property, which
+ * lets the single reader of the sealed interface pick the subtype without buffering the rest of the document.
+ * <p>
+ * Rows are decoded straight from the bytes the driver received, without building a {@link PGobject} and a
+ * {@link String} first; the intermediate buffers of both directions come from Jackson's buffer recycler. Writes still
+ * go through a {@link PGobject}, the driver has no binary binding for jsonb.
+ *
+ * @author Milad Haghighat Shahedi
+ */
+@Component
+public class AdvertisementAttributesCodec {
+
+	private static final String JSONB = "jsonb";
+
+	private final ObjectReader reader;
+	private final ObjectWriter writer;
+	private final Map<Class<?>, ObjectWriter> writers = new HashMap<>();
+
+	public AdvertisementAttributesCodec(ObjectMapper mapper) {
+		this.reader = mapper.readerFor(AdvertisementAttributes.class);
+		this.writer = mapper.writerFor(AdvertisementAttributes.class);
+		for (Class<?> subtype : AdvertisementAttributes.class.getPermittedSubclasses()) {
+			this.writers.put(subtype, mapper.writerFor(subtype));
+		}
+	}
+
+	public AdvertisementAttributes read(byte[] json) {
+		if (json == null) {
+			return null;
+		}
+		try {
+			return this.reader.readValue(json);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Failed to read attributes", e);
+		}
+	}
+
+	public AdvertisementAttributes read(String json) {
+		if (json == null) {
+			return null;
+		}
+		try {
+			return this.reader.readValue(json);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Failed to read attributes", e);
+		}
+	}
+
+	public String write(AdvertisementAttributes attributes) {
+		try {
+			return writerFor(attributes).writeValueAsString(attributes);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("Failed to convert AdvertisementAttributes to JSON", e);
+		}
+	}
+
+	public PGobject toJsonb(AdvertisementAttributes attributes) {
+		try {
+			PGobject jsonObject = new PGobject();
+			jsonObject.setType(JSONB);
+			jsonObject.setValue(write(attributes));
+			return jsonObject;
+		} catch (SQLException e) {
+			throw new IllegalArgumentException("Serialization error", e);
+		}
+	}
+
+	private ObjectWriter writerFor(AdvertisementAttributes attributes) {
+		return attributes == null ? this.writer : this.writers.getOrDefault(attributes.getClass(), this.writer);
+	}
+
+}
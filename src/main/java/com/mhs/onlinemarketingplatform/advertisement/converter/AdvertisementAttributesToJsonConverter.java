@@ -15,13 +15,10 @@
  */
 package com.mhs.onlinemarketingplatform.advertisement.converter;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.mhs.onlinemarketingplatform.advertisement.attributes.AdvertisementAttributes;
 import org.postgresql.util.PGobject;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.convert.WritingConverter;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Component;
 
 /**
@@ -31,26 +28,15 @@ import org.springframework.stereotype.Component;
 @Component
 public class AdvertisementAttributesToJsonConverter implements Converter<AdvertisementAttributes, PGobject> {
 
-	private final ObjectMapper mapper;
+	private final AdvertisementAttributesCodec codec;
 
-	public AdvertisementAttributesToJsonConverter(ObjectMapper mapper) {
-		this.mapper = mapper;
+	public AdvertisementAttributesToJsonConverter(AdvertisementAttributesCodec codec) {
+		this.codec = codec;
 	}
 
 	@Override
 	public PGobject convert(AdvertisementAttributes attributes) {
-		try {
-
-			PGobject jsonObject = new PGobject();
-			jsonObject.setType("jsonb");
-			jsonObject.setValue(mapper.writeValueAsString(attributes));
-			return jsonObject;
-
-		} catch (JsonProcessingException e) {
-			throw new IllegalArgumentException("Failed to convert AdvertisementAttributes to JSON", e);
-		} catch (Exception e) {
-			throw new IllegalArgumentException("Serialization error", e);
-		}
+		return codec.toJsonb(attributes);
 	}
 
 }
@@ -15,13 +15,10 @@
  */
 package com.mhs.onlinemarketingplatform.advertisement.converter;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.mhs.onlinemarketingplatform.advertisement.attributes.AdvertisementAttributes;
 import org.postgresql.util.PGobject;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.convert.ReadingConverter;
-
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.stereotype.Component;
 
 /**
@@ -31,19 +28,15 @@ import org.springframework.stereotype.Component;
 @Component
 public class JsonToAdvertisementAttributesConverter implements Converter<PGobject, AdvertisementAttributes> {
 
-	private final ObjectMapper mapper;
+	private final AdvertisementAttributesCodec codec;
 
-	public JsonToAdvertisementAttributesConverter(ObjectMapper mapper) {
-		this.mapper = mapper;
+	public JsonToAdvertisementAttributesConverter(AdvertisementAttributesCodec codec) {
+		this.codec = codec;
 	}
 
 	@Override
 	public AdvertisementAttributes convert(PGobject source) {
-		try {
-			return mapper.readValue(source.getValue(), AdvertisementAttributes.class);
-		} catch (JsonProcessingException e) {
-			throw new IllegalArgumentException("Failed to read attributes", e);
-		}
+		return codec.read(source.getValue());
 	}
 
 }
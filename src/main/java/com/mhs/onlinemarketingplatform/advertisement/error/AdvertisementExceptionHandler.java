@@ -18,6 +18,9 @@ package com.mhs.onlinemarketingplatform.advertisement.error;
 import com.mhs.onlinemarketingplatform.advertisement.error.advertisement.AdvertisementAlreadyActivatedException;
 import com.mhs.onlinemarketingplatform.advertisement.error.advertisement.AdvertisementAlreadyDeactivatedException;
 import com.mhs.onlinemarketingplatform.advertisement.error.advertisement.AdvertisementAlreadyExistsException;
+import com.mhs.onlinemarketingplatform.advertisement.error.advertisement.AdvertisementBulkOperationInvalidException;
+import com.mhs.onlinemarketingplatform.advertisement.error.advertisement.AdvertisementDuplicateException;
+import com.mhs.onlinemarketingplatform.advertisement.error.advertisement.AdvertisementImportNotAllowedException;
 import com.mhs.onlinemarketingplatform.advertisement.error.advertisement.AdvertisementNotFoundException;
 import com.mhs.onlinemarketingplatform.advertisement.error.category.CategoryNotFoundException;
 import com.mhs.onlinemarketingplatform.advertisement.error.image.ImageNotFoundException;
@@ -25,6 +28,13 @@ import com.mhs.onlinemarketingplatform.advertisement.error.image.TotalNumberOfIm
 import com.mhs.onlinemarketingplatform.advertisement.error.location.LocationCityNotFoundException;
 import com.mhs.onlinemarketingplatform.advertisement.error.location.LocationNotFoundException;
 import com.mhs.onlinemarketingplatform.advertisement.error.location.LocationProvinceNotFoundException;
+import com.mhs.onlinemarketingplatform.advertisement.error.promotion.AdvertisementAlreadyPromotedException;
+import com.mhs.onlinemarketingplatform.advertisement.error.promotion.InvalidPromotionException;
+import com.mhs.onlinemarketingplatform.advertisement.error.promotion.PromotionNotFoundException;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.InvalidAttributeFilterException;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.InvalidSearchCriteriaException;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.InvalidSearchCursorException;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.SavedSearchNotFoundException;
 import com.mhs.onlinemarketingplatform.common.ErrorLogger;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -87,6 +97,39 @@ public class AdvertisementExceptionHandler {
 		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
 	}
 
+	@ExceptionHandler(AdvertisementDuplicateException.class)
+	public ResponseEntity<ApiErrorMessage> handleAdvertisementDuplicate(AdvertisementDuplicateException ex) {
+		ApiErrorMessage error = new ApiErrorMessage(
+				HttpStatus.CONFLICT.value(),
+				ex.getMessage(),
+				"ADVERTISEMENT_DUPLICATE"
+		);
+		errorLogger.logError("ADVERTISEMENT","ADVERTISEMENT_DUPLICATE", "Error: " + ex.getMessage());
+		return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+	}
+
+	@ExceptionHandler(AdvertisementImportNotAllowedException.class)
+	public ResponseEntity<ApiErrorMessage> handleAdvertisementImportNotAllowed(AdvertisementImportNotAllowedException ex) {
+		ApiErrorMessage error = new ApiErrorMessage(
+				HttpStatus.FORBIDDEN.value(),
+				ex.getMessage(),
+				"ADVERTISEMENT_IMPORT_NOT_ALLOWED"
+		);
+		errorLogger.logError("ADVERTISEMENT","ADVERTISEMENT_IMPORT_NOT_ALLOWED", "Error: " + ex.getMessage());
+		return ResponseEntity.status(HttpStatus.FORBIDDEN).body(error);
+	}
+
+	@ExceptionHandler(AdvertisementBulkOperationInvalidException.class)
+	public ResponseEntity<ApiErrorMessage> handleAdvertisementBulkOperationInvalid(AdvertisementBulkOperationInvalidException ex) {
+		ApiErrorMessage error = new ApiErrorMessage(
+				HttpStatus.BAD_REQUEST.value(),
+				ex.getMessage(),
+				"ADVERTISEMENT_BULK_OPERATION_INVALID"
+		);
+		errorLogger.logError("ADVERTISEMENT","ADVERTISEMENT_BULK_OPERATION_INVALID", "Error: " + ex.getMessage());
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+	}
+
 	@ExceptionHandler(AdvertisementAlreadyActivatedException.class)
 	public ResponseEntity<ApiErrorMessage> handleAdvertisementAlreadyActivatedException(AdvertisementAlreadyActivatedException ex) {
 		ApiErrorMessage error = new ApiErrorMessage(
@@ -175,4 +218,81 @@ public class AdvertisementExceptionHandler {
 		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
 	}
 
+	@ExceptionHandler(InvalidSearchCursorException.class)
+	public ResponseEntity<ApiErrorMessage> handleInvalidSearchCursorException(InvalidSearchCursorException ex) {
+		ApiErrorMessage error = new ApiErrorMessage(
+				HttpStatus.BAD_REQUEST.value(),
+				ex.getMessage(),
+				"INVALID_SEARCH_CURSOR"
+		);
+		errorLogger.logError("SEARCH","INVALID_SEARCH_CURSOR","Error: " + ex.getMessage());
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+	}
+
+	@ExceptionHandler(InvalidSearchCriteriaException.class)
+	public ResponseEntity<ApiErrorMessage> handleInvalidSearchCriteriaException(InvalidSearchCriteriaException ex) {
+		ApiErrorMessage error = new ApiErrorMessage(
+				HttpStatus.BAD_REQUEST.value(),
+				ex.getMessage(),
+				"INVALID_SEARCH_CRITERIA"
+		);
+		errorLogger.logError("SEARCH","INVALID_SEARCH_CRITERIA","Error: " + ex.getMessage());
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+	}
+
+	@ExceptionHandler(SavedSearchNotFoundException.class)
+	public ResponseEntity<ApiErrorMessage> handleSavedSearchNotFoundException(SavedSearchNotFoundException ex) {
+		ApiErrorMessage error = new ApiErrorMessage(
+				HttpStatus.NOT_FOUND.value(),
+				ex.getMessage(),
+				"SAVED_SEARCH_NOT_FOUND"
+		);
+		errorLogger.logError("SEARCH","SAVED_SEARCH_NOT_FOUND","Error: " + ex.getMessage());
+		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+	}
+
+	@ExceptionHandler(InvalidAttributeFilterException.class)
+	public ResponseEntity<ApiErrorMessage> handleInvalidAttributeFilterException(InvalidAttributeFilterException ex) {
+		ApiErrorMessage error = new ApiErrorMessage(
+				HttpStatus.BAD_REQUEST.value(),
+				ex.getMessage(),
+				"INVALID_ATTRIBUTE_FILTER"
+		);
+		errorLogger.logError("SEARCH","INVALID_ATTRIBUTE_FILTER","Error: " + ex.getMessage());
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+	}
+
+	@ExceptionHandler(PromotionNotFoundException.class)
+	public ResponseEntity<ApiErrorMessage> handlePromotionNotFoundException(PromotionNotFoundException ex) {
+		ApiErrorMessage error = new ApiErrorMessage(
+				HttpStatus.NOT_FOUND.value(),
+				ex.getMessage(),
+				"PROMOTION_NOT_FOUND"
+		);
+		errorLogger.logError("PROMOTION","PROMOTION_NOT_FOUND","Error: " + ex.getMessage());
+		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+	}
+
+	@ExceptionHandler(AdvertisementAlreadyPromotedException.class)
+	public ResponseEntity<ApiErrorMessage> handleAdvertisementAlreadyPromotedException(AdvertisementAlreadyPromotedException ex) {
+		ApiErrorMessage error = new ApiErrorMessage(
+				HttpStatus.CONFLICT.value(),
+				ex.getMessage(),
+				"ADVERTISEMENT_ALREADY_PROMOTED"
+		);
+		errorLogger.logError("PROMOTION","ADVERTISEMENT_ALREADY_PROMOTED","Error: " + ex.getMessage());
+		return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+	}
+
+	@ExceptionHandler(InvalidPromotionException.class)
+	public ResponseEntity<ApiErrorMessage> handleInvalidPromotionException(InvalidPromotionException ex) {
+		ApiErrorMessage error = new ApiErrorMessage(
+				HttpStatus.BAD_REQUEST.value(),
+				ex.getMessage(),
+				"INVALID_PROMOTION"
+		);
+		errorLogger.logError("PROMOTION","INVALID_PROMOTION","Error: " + ex.getMessage());
+		return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+	}
+
 }
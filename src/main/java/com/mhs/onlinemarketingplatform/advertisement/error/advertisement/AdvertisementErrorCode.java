@@ -22,5 +22,8 @@ public enum AdvertisementErrorCode {
 	ADVERTISEMENT_NOT_FOUND,
 	ADVERTISEMENT_ALREADY_EXISTS,
 	ADVERTISEMENT_ALREADY_ACTIVATED,
-	ADVERTISEMENT_ALREADY_DEACTIVATED
+	ADVERTISEMENT_ALREADY_DEACTIVATED,
+	ADVERTISEMENT_DUPLICATE,
+	ADVERTISEMENT_IMPORT_NOT_ALLOWED,
+	ADVERTISEMENT_BULK_OPERATION_INVALID
 }
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement.event;
+
+import com.mhs.onlinemarketingplatform.advertisement.config.RabbitMqAdvertisementIntegrationConfig;
+import org.springframework.modulith.events.Externalized;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published once for a bulk change instead of an {@link UpdateAdvertisementEvent} per advertisement.
+ *
+ * @author Milad Haghighat Shahedi
+ */
+@Externalized(target = RabbitMqAdvertisementIntegrationConfig.ADVERTISEMENT_Q)
+public record UpdateAdvertisementsEvent(List<UUID> productIds) {}
@@ -58,7 +58,21 @@ public class SecurityConfig {
                             "/",
                             "/api/auth/send-otp",
                             "/api/auth/verify-otp",
-                            "/api/auth/refresh"
+                            "/api/auth/refresh",
+                            "/api/advertisements",
+                            "/api/advertisements/search",
+                            "/api/suggestions",
+                            "/api/advertisements/categories/*",
+                            "/api/advertisements/nearby",
+                            "/api/advertisements/within",
+                            "/api/advertisements/map",
+                            "/api/advertisements/text",
+                            "/api/advertisements/facets",
+                            "/api/advertisements/latest",
+                            "/api/advertisements/prices",
+                            "/api/advertisements/views",
+                            "/api/advertisements/views/*",
+                            "/api/advertisements/*/similar"
                     ).permitAll();
                     autorizeHttp.requestMatchers(
                             "/api/me/**"
@@ -66,6 +80,8 @@ public class SecurityConfig {
                     autorizeHttp.requestMatchers(
                             "/api/admin/roles/**",
                             "/api/admin/permissions/**",
+                            "/api/admin/advertisements/**",
+                            "/api/admin/promotions/**",
                             "/api/catalogs/**",
                             "/api/categories/**",
                             "/api/cities/**",
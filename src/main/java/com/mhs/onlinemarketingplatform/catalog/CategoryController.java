@@ -20,6 +20,7 @@ import com.github.f4b6a3.uuid.UuidCreator;
 import com.mhs.onlinemarketingplatform.catalog.api.CategoryApi;
 import com.mhs.onlinemarketingplatform.catalog.config.ImagePathProperties;
 import com.mhs.onlinemarketingplatform.catalog.error.*;
+import com.mhs.onlinemarketingplatform.catalog.event.UpdateCategoryEvent;
 import com.mhs.onlinemarketingplatform.common.AuditLogger;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
@@ -65,6 +66,7 @@ import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.function.Function;
 
@@ -378,6 +380,7 @@ class CategoryCommandService implements CategoryApi{
     private final CategoryImageUploadService imageUploadService;
     private final CategoryMapper mapper;
     private final ImagePathProperties properties;
+    private final ApplicationEventPublisher publisher;
     private final MessageSource messageSource;
 
     public CategoryCommandService(AuditLogger auditLogger,
@@ -388,6 +391,7 @@ class CategoryCommandService implements CategoryApi{
                                   CategoryImageUploadService imageUploadService,
                                   CategoryMapper mapper,
                                   ImagePathProperties properties,
+                                  ApplicationEventPublisher publisher,
                                   MessageSource messageSource) {
         this.auditLogger = auditLogger;
         this.repository = repository;
@@ -397,10 +401,11 @@ class CategoryCommandService implements CategoryApi{
         this.imageUploadService = imageUploadService;
         this.mapper = mapper;
         this.properties = properties;
+        this.publisher = publisher;
         this.messageSource = messageSource;
     }
 
-    @CacheEvict(value = "catalogs", allEntries = true)
+    @Caching(evict = {@CacheEvict(value = "catalogs", allEntries = true), @CacheEvict(value = "categorySubtrees", allEntries = true)})
     public CategoryResponse addParent(AddParentRequest addParentRequest) {
         logger.info("Creating new parent category with name: {}",addParentRequest.name());
         UUID catalogId = UUID.fromString(addParentRequest.catalogId());
@@ -423,7 +428,10 @@ class CategoryCommandService implements CategoryApi{
         return this.mapper.mapCategoryToResponse(this.repository.findById(storedCategory.id()).orElseThrow());
     }
 
-    @Caching(evict = {@CacheEvict(value = "catalogs", allEntries = true), @CacheEvict(value = "categories", allEntries = true)})
+    @Caching(evict = {
+            @CacheEvict(value = "catalogs", allEntries = true),
+            @CacheEvict(value = "categories", allEntries = true),
+            @CacheEvict(value = "categorySubtrees", allEntries = true)})
     public CategoryResponse addChild(AddChildRequest addChildRequest) {
         logger.info("Creating new child category with name: {}",addChildRequest.name());
         UUID catalogId = UUID.fromString(addChildRequest.catalogId());
@@ -463,6 +471,7 @@ class CategoryCommandService implements CategoryApi{
         return this.mapper.mapCategoryToResponse(storedChildCategory);
     }
 
+    @Transactional
     @Caching(evict = {@CacheEvict(value = "catalogs", allEntries = true), @CacheEvict(value = "categories", allEntries = true)})
     public CategoryResponse update(UpdateParentRequest updateParentRequest) {
         logger.info("Updating exisiting category with name: {}",updateParentRequest.name());
@@ -505,10 +514,12 @@ class CategoryCommandService implements CategoryApi{
         Category mappedCategory = this.mapper.mapUpdateToCategory(updateParentRequest,existingCategory);
         Category storedCategory = this.repository.save(mappedCategory);
         this.auditLogger.log("CATALOG_UPDATED", "CATALOG", "Catalog NAME: " + storedCategory.name());
+        this.publisher.publishEvent(new UpdateCategoryEvent(storedCategory.id()));
 
         return this.mapper.mapCategoryToResponse(this.repository.findById(storedCategory.id()).orElseThrow());
     }
 
+    @Transactional
     @Caching(evict = {@CacheEvict(value = "catalogs", allEntries = true), @CacheEvict(value = "categories", allEntries = true)})
     public CategoryResponse patch(PatchParentRequest patchParentRequest) {
         logger.info("Patching exisiting category with name: {}",patchParentRequest.name());
@@ -561,11 +572,16 @@ class CategoryCommandService implements CategoryApi{
         Category mappedCategory = this.mapper.mapPatchToCategory(patchParentRequest,existingCategory);
         Category storedCategory = this.repository.save(mappedCategory);
         this.auditLogger.log("CATALOG_UPDATED", "CATALOG", "Catalog NAME: " + storedCategory.name());
+        this.publisher.publishEvent(new UpdateCategoryEvent(storedCategory.id()));
 
         return this.mapper.mapCategoryToResponse(this.repository.findById(storedCategory.id()).orElseThrow());
     }
 
-    @Caching(evict = {@CacheEvict(value = "catalogs", allEntries = true), @CacheEvict(value = "categories", allEntries = true)})
+    @Caching(evict = {
+            @CacheEvict(value = "catalogs", allEntries = true),
+            @CacheEvict(value = "categories", allEntries = true),
+            @CacheEvict(value = "categorySubtrees", allEntries = true),
+            @CacheEvict(value = "categoryExists", allEntries = true)})
     public void delete(UUID id) {
         Category category = this.repository.findById(id)
                 .orElseThrow(() ->  new CategoryNotFoundException(
@@ -684,10 +700,23 @@ class CategoryCommandService implements CategoryApi{
         this.auditLogger.log("CHILDREN_CATEGORY_ACTIVATED", "CATEGORY", "Category ID: "+categoryId);
     }
 
+    @Cacheable(key = "#categoryId", value = "categoryExists", unless = "!#result")
     public boolean existsById(UUID categoryId){
         return this.repository.existsById(categoryId);
     }
 
+    @Cacheable(key = "#categoryId", value = "categorySubtrees")
+    public Set<UUID> findSubtreeIds(UUID categoryId) {
+        logger.info("Resolving category subtree of ID: {}",categoryId);
+        return Set.copyOf(this.categoryClosureRepository.findSubtreeIds(categoryId));
+    }
+
+    @Cacheable(key = "#categoryId", value = "categoryPaths")
+    public List<UUID> findPathIds(UUID categoryId) {
+        logger.info("Resolving category path of ID: {}",categoryId);
+        return List.copyOf(this.categoryClosureRepository.findPathIds(categoryId));
+    }
+
     void uploadImage(UUID categoryId, MultipartFile image) {
         logger.info("Uploading a new photo for a category with the ID {}",categoryId);
         if(!this.repository.existsById(categoryId)){
@@ -917,6 +946,12 @@ interface CategoryClosureRepository extends CrudRepository<CategoryClosure,UUID>
     """)
     void insertClosure(@Param("parentId") UUID parentId,@Param("childId") UUID childId);
 
+    @Query("SELECT child_id FROM category_closure WHERE parent_id = :parentId")
+    List<UUID> findSubtreeIds(@Param("parentId") UUID parentId);
+
+    @Query("SELECT parent_id FROM category_closure WHERE child_id = :childId ORDER BY depth DESC")
+    List<UUID> findPathIds(@Param("childId") UUID childId);
+
 }
 
 @Table("categories")
@@ -17,6 +17,8 @@ package com.mhs.onlinemarketingplatform.catalog.api;
 
 import org.springframework.modulith.NamedInterface;
 
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 /**
@@ -27,4 +29,15 @@ public interface CategoryApi {
 
 	boolean existsById(UUID category);
 
+	/**
+	 * Returns the category itself and all of its descendants, or an empty set when the category does not exist.
+	 */
+	Set<UUID> findSubtreeIds(UUID categoryId);
+
+	/**
+	 * Returns the ids from the root category down to the category itself, or an empty list when the category does not
+	 * exist.
+	 */
+	List<UUID> findPathIds(UUID categoryId);
+
 }
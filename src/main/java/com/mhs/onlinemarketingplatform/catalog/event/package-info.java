@@ -0,0 +1,2 @@
+@org.springframework.modulith.NamedInterface("event-category")
+package com.mhs.onlinemarketingplatform.catalog.event;
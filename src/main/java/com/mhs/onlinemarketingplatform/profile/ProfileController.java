@@ -16,6 +16,7 @@
 package com.mhs.onlinemarketingplatform.profile;
 
 import com.github.f4b6a3.uuid.UuidCreator;
+import com.mhs.onlinemarketingplatform.profile.api.ProfileApi;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import org.mapstruct.BeanMapping;
@@ -98,7 +99,7 @@ class ProfileController {
 
 @Service
 @Transactional
-class ProfileService {
+class ProfileService implements ProfileApi {
 
 	private final ProfileRepository profileRepository;
 	private final ProfileMapper mapper;
@@ -185,6 +186,12 @@ class ProfileService {
 		return this.profileRepository.existsByCredential(credential);
 	}
 
+	public boolean isStore(UUID credential) {
+		return this.profileRepository.findByCredential(credential)
+				.map(profile -> profile.profileType() == ProfileType.STORE)
+				.orElse(false);
+	}
+
 	boolean profileNameExists(String name){
 		return this.profileRepository.existsByName(name);
 	}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.profile.api;
+
+import org.springframework.modulith.NamedInterface;
+
+import java.util.UUID;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+@NamedInterface
+public interface ProfileApi {
+
+	/**
+	 * Returns whether the credential owns a profile of the store type.
+	 */
+	boolean isStore(UUID credential);
+
+}
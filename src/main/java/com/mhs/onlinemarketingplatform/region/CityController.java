@@ -249,7 +249,8 @@ class CityService implements CityApi {
 			@CacheEvict(value = "cities", allEntries = true),
 			@CacheEvict(value = "city", allEntries = true),
 			@CacheEvict(value = "cityByNameAndProvince", allEntries = true),
-			@CacheEvict(value = "cityCount", allEntries = true)
+			@CacheEvict(value = "cityCount", allEntries = true),
+			@CacheEvict(value = "cityExists", allEntries = true)
 	})
 	public void delete(UUID id) {
 		City existingCity = this.cityRepository.findById(id).orElseThrow(() ->
@@ -313,6 +314,7 @@ class CityService implements CityApi {
 		return this.cityMapper.mapListToListOfResponse(exisitingCities);
 	}
 
+	@Cacheable(key = "#id", value = "cityExists", unless = "!#result")
 	public boolean existsById(UUID id) {
 		return this.cityRepository.existsById(id);
 	}
@@ -166,7 +166,8 @@ class ProvinceService implements ProvinceApi {
 	@Caching(evict = {
 			@CacheEvict(value = "provinces", allEntries = true),
 			@CacheEvict(value = "province", allEntries = true),
-			@CacheEvict(value = "province-name", allEntries = true)
+			@CacheEvict(value = "province-name", allEntries = true),
+			@CacheEvict(value = "provinceExists", allEntries = true)
 	})
 	public void delete(UUID id) {
 		Province existingProvince = this.provinceRepository.findById(id).orElseThrow(() ->
@@ -211,6 +212,7 @@ class ProvinceService implements ProvinceApi {
 	    return this.provinceRepository.findAllOrdered();
     }
 
+	@Cacheable(key = "#id", value = "provinceExists", unless = "!#result")
 	public boolean existsById(UUID id) {
 		return this.provinceRepository.existsById(id);
 	}
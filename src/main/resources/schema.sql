@@ -172,7 +172,7 @@ create table if not exists locations
 
 create table if not exists advertisements
 (
-    id                   uuid primary key not null,
+    id                   uuid             not null,
     version              integer          not null,
     title                varchar(100)     not null,
     description          text,
@@ -180,12 +180,22 @@ create table if not exists advertisements
     advertisement_type   varchar(50)      not null,
     advertisement_status varchar(50)      not null,
     attributes           JSONB            NOT NULL DEFAULT '{}'::jsonb,
+    attributes_binary    bytea,
     inserted_at          timestamp        not null,
     updated_at           timestamp,
     location_id          uuid             not null REFERENCES locations (id),
     category_id          uuid             not null REFERENCES categories (id),
-    owner_id             uuid             not null REFERENCES credentials (id)
-);
+    owner_id             uuid             not null REFERENCES credentials (id),
+    archived             boolean          not null default false,
+    primary key (id, archived, inserted_at)
+) partition by list (archived);
+-- promoted attributes get generated attr_<type>_<field> columns, added at startup by AdvertisementPromotedAttributeManager
+
+-- live advertisements, split by month; the monthly partitions are created ahead of time by AdvertisementPartitionManager
+create table if not exists advertisements_hot partition of advertisements for values in (false) partition by range (inserted_at);
+create table if not exists advertisements_hot_default partition of advertisements_hot default;
+-- advertisements inactive for a long time, moved here by AdvertisementArchiver
+create table if not exists advertisements_cold partition of advertisements for values in (true);
 
 create table if not exists advertisement_image_metadata
 (
@@ -195,7 +205,87 @@ create table if not exists advertisement_image_metadata
     is_main          boolean          not null,
     status           varchar(50)      not null,
     inserted_at      timestamp        not null,
-    advertisement_id uuid             not null REFERENCES advertisements (id)
+    advertisement_id uuid             not null
+);
+
+create table if not exists promotions
+(
+    id               uuid primary key not null,
+    version          integer          not null,
+    promoted_at      timestamp        not null,
+    expires_at       timestamp        not null,
+    promotion_type   varchar(50)      not null,
+    advertisement_id uuid             not null
+);
+
+create table if not exists advertisement_view
+(
+    id                   uuid primary key not null,
+    title                varchar(100)     not null,
+    price                numeric(15, 2)   not null,
+    advertisement_type   varchar(50)      not null,
+    advertisement_status varchar(50)      not null,
+    category_id          uuid             not null,
+    category_name        varchar(150)     not null,
+    category_slug        varchar(160)     not null,
+    location_id          uuid             not null,
+    province_id          uuid             not null,
+    province_name        varchar(100)     not null,
+    city_id              uuid             not null,
+    city_name            varchar(100)     not null,
+    main_image_url       varchar(100),
+    inserted_at          timestamp        not null,
+    updated_at           timestamp
+);
+
+create table if not exists advertisement_visits
+(
+    advertisement_id uuid primary key not null,
+    visit_count      bigint           not null,
+    updated_at       timestamp        not null
+);
+
+create table if not exists advertisement_owner_counters
+(
+    owner_id             uuid        not null,
+    advertisement_status varchar(50) not null,
+    advertisement_count  bigint      not null,
+    primary key (owner_id, advertisement_status)
+);
+
+create table if not exists saved_searches
+(
+    id                 uuid primary key not null,
+    version            int              not null,
+    name               varchar(255),
+    category_id        uuid,
+    advertisement_type varchar(50),
+    min_price          numeric(15, 2),
+    max_price          numeric(15, 2),
+    city_id            uuid,
+    attributes         jsonb            not null,
+    owner_id           uuid             not null,
+    inserted_at        timestamp        not null
+);
+
+create table if not exists saved_search_notifications
+(
+    id               uuid primary key not null,
+    saved_search_id  uuid             not null references saved_searches (id) on delete cascade,
+    owner_id         uuid             not null,
+    advertisement_id uuid             not null,
+    matched_at       timestamp        not null,
+    delivered_at     timestamp,
+    unique (saved_search_id, advertisement_id)
+);
+
+create table if not exists advertisement_price_sketches
+(
+    sketch_key         varchar(100) primary key not null,
+    category_id        uuid,
+    advertisement_type varchar(50),
+    sketch             bytea                    not null,
+    updated_at         timestamp                not null
 );
 
 
@@ -232,12 +322,29 @@ create index if not exists index_location_city_id on locations (city_id);
 
 create index if not exists index_image_advertisement_id on advertisement_image_metadata (advertisement_id);
 
-create index if not exists index_advertisement_title on advertisements (title);
-create index if not exists index_advertisement_price on advertisements (price);
-create index if not exists index_advertisement_type on advertisements (advertisement_type);
-create index if not exists index_advertisement_status on advertisements (advertisement_status);
-create index if not exists index_advertisement_attributes on advertisements USING gin (attributes jsonb_path_ops);
+create index if not exists index_advertisement_title on advertisements_hot (title);
+create index if not exists index_advertisement_price on advertisements_hot (price);
+create index if not exists index_advertisement_type on advertisements_hot (advertisement_type);
+create index if not exists index_advertisement_status on advertisements_hot (advertisement_status);
+create index if not exists index_advertisement_attributes on advertisements_hot USING gin (attributes jsonb_path_ops);
 create index if not exists index_advertisement_location_id on advertisements (location_id);
 create index if not exists index_advertisement_category_id on advertisements (category_id);
 create index if not exists index_advertisement_owner_id on advertisements (owner_id);
 create index if not exists index_advertisement_owner_id_title on advertisements (owner_id,title);
+create index if not exists index_advertisement_owner_id_inserted_at_id on advertisements (owner_id, inserted_at desc, id desc);
+create index if not exists index_advertisement_owner_id_status_inserted_at_id on advertisements (owner_id, advertisement_status, inserted_at desc, id desc);
+create index if not exists index_advertisement_status_inserted_at_id on advertisements_hot (advertisement_status, inserted_at desc, id desc);
+create index if not exists index_advertisement_status_price_id on advertisements_hot (advertisement_status, price, id);
+create index if not exists index_advertisement_category_status_inserted_at_id on advertisements_hot (category_id, advertisement_status, inserted_at desc, id desc);
+create index if not exists index_advertisement_category_status_price_id on advertisements_hot (category_id, advertisement_status, price, id);
+
+create index if not exists index_advertisement_view_status_inserted_at_id on advertisement_view (advertisement_status, inserted_at desc, id desc);
+create index if not exists index_advertisement_view_category_status_inserted_at_id on advertisement_view (category_id, advertisement_status, inserted_at desc, id desc);
+create index if not exists index_advertisement_view_location_id on advertisement_view (location_id);
+
+create index if not exists index_promotion_advertisement_id_expires_at on promotions (advertisement_id, expires_at);
+create index if not exists index_promotion_expires_at on promotions (expires_at);
+
+create index if not exists index_saved_search_owner_id on saved_searches (owner_id);
+create index if not exists index_saved_search_notification_advertisement_id on saved_search_notifications (advertisement_id);
+create index if not exists index_saved_search_notification_owner_id_matched_at on saved_search_notifications (owner_id, matched_at) where delivered_at is null;
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.JaksonConfig;
+import com.mhs.onlinemarketingplatform.advertisement.attributes.filter.AdvertisementAttributesFilter;
+import com.mhs.onlinemarketingplatform.advertisement.attributes.filter.CarAttributesFilter;
+import com.mhs.onlinemarketingplatform.advertisement.attributes.filter.IntRange;
+import com.mhs.onlinemarketingplatform.advertisement.error.search.InvalidAttributeFilterException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public class AdvertisementAttributeFilterCompilerUnitTest {
+
+	private AdvertisementAttributeFilterCompiler compiler;
+	private AdvertisementPromotedAttributes promotedAttributes;
+
+	@BeforeEach
+	void setUp() {
+		StaticMessageSource messageSource = new StaticMessageSource();
+		messageSource.setUseCodeAsDefaultMessage(true);
+		promotedAttributes = new AdvertisementPromotedAttributes();
+		compiler = new AdvertisementAttributeFilterCompiler(new JaksonConfig().objectMapper(), promotedAttributes, messageSource);
+	}
+
+	@Test
+	void parse_method_shouldBuildTypedFilterAndIgnoreOtherParameters() {
+		// Arrange
+		Map<String, String> parameters = new LinkedHashMap<>();
+		parameters.put("size", "20");
+		parameters.put("attr.brand", "Toyota");
+		parameters.put("attr.mileage.max", "100000");
+		parameters.put("attr.manufacturingYear", "2020");
+		// Act
+		AdvertisementAttributesFilter filter = compiler.parse(AdvertisementType.CARS, parameters);
+		// Assert
+		CarAttributesFilter car = assertInstanceOf(CarAttributesFilter.class, filter);
+		assertEquals("Toyota", car.brand());
+		assertEquals(new IntRange(null, 100000), car.mileage());
+		assertEquals(new IntRange(2020, 2020), car.manufacturingYear());
+	}
+
+	@Test
+	void compile_method_shouldPutEqualitiesIntoContainmentAndKeepRangesAsPredicates() {
+		// Arrange
+		AdvertisementAttributesFilter filter = new CarAttributesFilter("Toyota", null, new IntRange(2020, 2020), null, null,
+				new IntRange(10000, 100000), null, null);
+		StringBuilder sql = new StringBuilder();
+		MapSqlParameterSource params = new MapSqlParameterSource();
+		// Act
+		compiler.compile(filter).appendTo(sql, params);
+		// Assert
+		assertEquals("{\"@type\":\"car\",\"brand\":\"Toyota\",\"manufacturingYear\":2020}", params.getValue("attributes"));
+		assertEquals(" AND a.attributes @> CAST(:attributes AS jsonb)"
+				+ " AND (a.attributes ->> 'mileage')::numeric >= :attributeMin0"
+				+ " AND (a.attributes ->> 'mileage')::numeric <= :attributeMax0", sql.toString());
+	}
+
+	@Test
+	void parse_method_shouldRejectAttributeOfAnotherType() {
+		// Act and Assert
+		InvalidAttributeFilterException exception = assertThrows(
+				InvalidAttributeFilterException.class,
+				() -> compiler.parse(AdvertisementType.MOBILES, Map.of("attr.mileage.max", "100000")));
+		assertEquals("error.search.attribute.unknown", exception.getMessage());
+	}
+
+	@Test
+	void parse_method_shouldRejectRangeWithoutIndexableEquality() {
+		// Act and Assert
+		InvalidAttributeFilterException exception = assertThrows(
+				InvalidAttributeFilterException.class,
+				() -> compiler.parse(AdvertisementType.CARS, Map.of("attr.mileage.max", "100000")));
+		assertEquals("error.search.attribute.not.indexable", exception.getMessage());
+	}
+
+	@Test
+	void compile_method_shouldRangeScanPromotedColumnWithinItsType() {
+		// Arrange
+		promotedAttributes.promote(PromotedAttribute.of("cars", "mileage").orElseThrow());
+		AdvertisementAttributesFilter filter = compiler.parse(AdvertisementType.CARS, Map.of("attr.mileage.max", "100000"));
+		StringBuilder sql = new StringBuilder();
+		MapSqlParameterSource params = new MapSqlParameterSource();
+		// Act
+		compiler.compile(filter).appendTo(sql, params);
+		// Assert
+		assertEquals(" AND a.attributes @> CAST(:attributes AS jsonb)"
+				+ " AND a.advertisement_type = 'CARS'"
+				+ " AND a.attr_cars_mileage <= :attributeMax0", sql.toString());
+		assertEquals(100000, params.getValue("attributeMax0"));
+	}
+
+	@Test
+	void of_method_shouldOnlyPromoteNumericRangeAttributes() {
+		// Act
+		PromotedAttribute area = PromotedAttribute.of("REALESTATES", "area").orElseThrow();
+		// Assert
+		assertEquals("attr_realestates_area", area.column());
+		assertEquals("numeric", area.sqlType());
+		assertEquals("CASE WHEN advertisement_type = 'REALESTATES' AND jsonb_typeof(attributes -> 'area') = 'number'"
+				+ " THEN (attributes ->> 'area')::numeric END", area.expression());
+		assertEquals("attr_cars_manufacturing_year", PromotedAttribute.of("cars", "manufacturingYear").orElseThrow().column());
+		assertTrue(PromotedAttribute.of("cars", "brand").isEmpty());
+		assertTrue(PromotedAttribute.of("boats", "length").isEmpty());
+	}
+
+	@Test
+	void parse_method_shouldRejectAttributeFilterWithoutType() {
+		// Act and Assert
+		InvalidAttributeFilterException exception = assertThrows(
+				InvalidAttributeFilterException.class,
+				() -> compiler.parse(null, Map.of("attr.brand", "Toyota")));
+		assertEquals("error.search.attribute.type.required", exception.getMessage());
+	}
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mhs.onlinemarketingplatform.advertisement.attributes.*;
+import com.mhs.onlinemarketingplatform.advertisement.converter.AdvertisementAttributesBinaryCodec;
+import com.mhs.onlinemarketingplatform.advertisement.converter.AdvertisementAttributesCodec;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public class AdvertisementAttributesBinaryCodecUnitTest {
+
+	private final AdvertisementAttributesBinaryCodec binaryCodec = new AdvertisementAttributesBinaryCodec();
+
+	@Test
+	void read_method_shouldRoundTripEveryAttributesType() {
+		// Arrange
+		AdvertisementAttributes[] attributes = {
+				new CarAttributes("Toyota", "Corolla", 2018, "AUTOMATIC", "white", 45000, 6, "good"),
+				new RealEstateAttributes(120.5, 3, -1, 1998, "APARTMENT", new BigDecimal("-1250.75"), "renovated",
+						true, false, true, true, "WESTERN", "CENTRAL", "SPLIT"),
+				new MobileAttributes("Samsung", "S24", "black", 256, 8, "new", "Android"),
+				new OtherAttributes("used")
+		};
+		for (AdvertisementAttributes expected : attributes) {
+			// Act
+			AdvertisementAttributes actual = this.binaryCodec.read(this.binaryCodec.write(expected));
+			// Assert
+			assertEquals(expected, actual);
+		}
+	}
+
+	@Test
+	void read_method_shouldKeepNullComponents() {
+		// Arrange
+		MobileAttributes attributes = new MobileAttributes(null, "S24", "", 256, 8, null, "Android");
+		// Act
+		AdvertisementAttributes actual = this.binaryCodec.read(this.binaryCodec.write(attributes));
+		// Assert
+		assertEquals(attributes, actual);
+	}
+
+	@Test
+	void write_method_shouldBeSmallerThanJson() {
+		// Arrange
+		CarAttributes attributes = new CarAttributes("Toyota", "Corolla", 2018, "AUTOMATIC", "white", 45000, 6, "good");
+		int json = new AdvertisementAttributesCodec(new ObjectMapper()).write(attributes).getBytes(StandardCharsets.UTF_8).length;
+		// Act
+		int binary = this.binaryCodec.write(attributes).length;
+		// Assert
+		assertTrue(binary * 2 < json, "binary " + binary + " bytes, json " + json + " bytes");
+	}
+
+	@Test
+	void read_method_shouldRejectValueOfAnotherFingerprint() {
+		// Arrange
+		byte[] binary = this.binaryCodec.write(new OtherAttributes("used"));
+		binary[0] ^= 0x01;
+		// Act and Assert
+		assertThrows(IllegalArgumentException.class, () -> this.binaryCodec.read(binary));
+	}
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mhs.onlinemarketingplatform.advertisement.attributes.AdvertisementAttributes;
+import com.mhs.onlinemarketingplatform.advertisement.attributes.CarAttributes;
+import com.mhs.onlinemarketingplatform.advertisement.converter.AdvertisementAttributesCodec;
+import org.junit.jupiter.api.Test;
+import org.postgresql.util.PGobject;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public class AdvertisementAttributesCodecUnitTest {
+
+	private final AdvertisementAttributesCodec codec = new AdvertisementAttributesCodec(new ObjectMapper());
+
+	private final CarAttributes car = new CarAttributes("Toyota", "Corolla", 2018, "AUTOMATIC", "white", 45000, 6, "good");
+
+	@Test
+	void write_method_shouldWriteTypeIdAsFirstProperty() {
+		// Act
+		String json = this.codec.write(this.car);
+		// Assert
+		assertTrue(json.startsWith("{\"@type\":\"car\""), json);
+	}
+
+	@Test
+	void read_method_shouldRoundTripAttributesFromBytes() {
+		// Arrange
+		byte[] json = this.codec.write(this.car).getBytes(StandardCharsets.UTF_8);
+		// Act
+		AdvertisementAttributes attributes = this.codec.read(json);
+		// Assert
+		assertEquals(this.car, attributes);
+	}
+
+	@Test
+	void read_method_shouldResolveSubtypeWhenTypeIdIsNotFirst() {
+		// Arrange
+		String json = "{\"brand\":\"Toyota\",\"manufacturingYear\":2018,\"@type\":\"car\"}";
+		// Act
+		AdvertisementAttributes attributes = this.codec.read(json);
+		// Assert
+		assertInstanceOf(CarAttributes.class, attributes);
+		assertEquals(2018, ((CarAttributes) attributes).manufacturingYear());
+	}
+
+	@Test
+	void toJsonb_method_shouldBindAttributesAsJsonb() {
+		// Act
+		PGobject jsonb = this.codec.toJsonb(this.car);
+		// Assert
+		assertEquals("jsonb", jsonb.getType());
+		assertEquals(this.car, this.codec.read(jsonb.getValue()));
+	}
+
+	@Test
+	void read_method_shouldReturnNullForSqlNull() {
+		// Act and Assert
+		assertNull(this.codec.read((byte[]) null));
+	}
+
+}
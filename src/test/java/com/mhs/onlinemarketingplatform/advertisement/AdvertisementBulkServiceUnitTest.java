@@ -0,0 +1,201 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementBulkProperties;
+import com.mhs.onlinemarketingplatform.advertisement.error.advertisement.AdvertisementBulkOperationInvalidException;
+import com.mhs.onlinemarketingplatform.advertisement.event.UpdateAdvertisementsEvent;
+import com.mhs.onlinemarketingplatform.common.AuditLogger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.MessageSource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+@ExtendWith(MockitoExtension.class)
+public class AdvertisementBulkServiceUnitTest {
+
+	private static final UUID OWNER = UUID.fromString("79e784ec-b22d-456c-807f-300a44bffc2c");
+	private static final UUID CATEGORY = UUID.fromString("79e784ec-b22d-456c-807f-300a21bffc2f");
+
+	@Mock
+	private AdvertisementBulkRepository advertisementBulkRepository;
+
+	@Mock
+	private AdvertisementOwnerCounterRepository advertisementOwnerCounterRepository;
+
+	@Mock
+	private AdvertisementBulkProperties properties;
+
+	@Mock
+	private ApplicationEventPublisher publisher;
+
+	@Mock
+	private AuditLogger auditLogger;
+
+	@Mock
+	private MessageSource messageSource;
+
+	@InjectMocks
+	private AdvertisementBulkService advertisementBulkService;
+
+	@Test
+	void changeStatusByOwner_method_shouldThrowAdvertisementBulkOperationInvalidException_WhenIdsAndCategoryIdAreBothGiven() {
+		// Arrange
+		BulkStatusRequest request = new BulkStatusRequest(List.of(UUID.randomUUID()), CATEGORY, "ACTIVE");
+		when(this.messageSource.getMessage(eq("error.bulk.target.invalid"), any(), any(Locale.class)))
+				.thenReturn("Either advertisement ids or a category id is required, but not both.");
+		// Act
+		AdvertisementBulkOperationInvalidException exception = assertThrows(
+				AdvertisementBulkOperationInvalidException.class,
+				() -> this.advertisementBulkService.changeStatusByOwner(request, OWNER));
+		// Assert
+		assertEquals("Either advertisement ids or a category id is required, but not both.", exception.getMessage());
+		verify(this.advertisementBulkRepository, never()).updateStatus(any(), any(), any(), any());
+		verify(this.advertisementOwnerCounterRepository, never()).move(any(), any(), any(), anyLong());
+		verify(this.publisher, never()).publishEvent(any(Object.class));
+	}
+
+	@Test
+	void changeStatusByOwner_method_shouldThrowAdvertisementBulkOperationInvalidException_WhenNeitherIdsNorCategoryIdAreGiven() {
+		// Arrange
+		BulkStatusRequest request = new BulkStatusRequest(List.of(), null, "ACTIVE");
+		when(this.messageSource.getMessage(eq("error.bulk.target.invalid"), any(), any(Locale.class)))
+				.thenReturn("Either advertisement ids or a category id is required, but not both.");
+		// Act and Assert
+		assertThrows(
+				AdvertisementBulkOperationInvalidException.class,
+				() -> this.advertisementBulkService.changeStatusByOwner(request, OWNER));
+		verify(this.advertisementBulkRepository, never()).updateStatus(any(), any(), any(), any());
+	}
+
+	@Test
+	void changeStatusByOwner_method_shouldThrowAdvertisementBulkOperationInvalidException_WhenIdsExceedMaxIds() {
+		// Arrange
+		BulkStatusRequest request = new BulkStatusRequest(List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID()), null, "ACTIVE");
+		when(this.properties.maxIds()).thenReturn(2);
+		when(this.messageSource.getMessage(eq("error.bulk.ids.limit.exceeded"), eq(new Object[]{2}), any(Locale.class)))
+				.thenReturn("At most 2 advertisements can be changed at once.");
+		// Act
+		AdvertisementBulkOperationInvalidException exception = assertThrows(
+				AdvertisementBulkOperationInvalidException.class,
+				() -> this.advertisementBulkService.changeStatusByOwner(request, OWNER));
+		// Assert
+		assertEquals("At most 2 advertisements can be changed at once.", exception.getMessage());
+		verify(this.advertisementBulkRepository, never()).updateStatus(any(), any(), any(), any());
+	}
+
+	@Test
+	void changeStatusByOwner_method_shouldMoveOwnerCounterByTheNumberOfChangedAdvertisements() {
+		// Arrange
+		List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+		BulkStatusRequest request = new BulkStatusRequest(ids, null, "active");
+		List<BulkChangedAdvertisement> changed = List.of(changed(ids.get(0)), changed(ids.get(2)));
+		when(this.properties.maxIds()).thenReturn(100);
+		when(this.advertisementBulkRepository.updateStatus(eq(OWNER), any(BulkTarget.class), eq(AdvertisementStatus.ACTIVE), any()))
+				.thenReturn(changed);
+		// Act
+		AdvertisementBulkResponse response = this.advertisementBulkService.changeStatusByOwner(request, OWNER);
+		// Assert
+		assertEquals(2, response.updated());
+		assertEquals(List.of(ids.get(0), ids.get(2)), response.ids());
+		verify(this.advertisementOwnerCounterRepository, times(1))
+				.move(OWNER, AdvertisementStatus.INACTIVE, AdvertisementStatus.ACTIVE, 2);
+		verify(this.publisher, times(1)).publishEvent(any(UpdateAdvertisementsEvent.class));
+		verify(this.publisher, times(1)).publishEvent(any(AdvertisementsBulkChangedEvent.class));
+	}
+
+	@Test
+	void changeStatusByOwner_method_shouldNotMoveOwnerCounterOrPublish_WhenNothingChanged() {
+		// Arrange
+		BulkStatusRequest request = new BulkStatusRequest(null, CATEGORY, "INACTIVE");
+		when(this.advertisementBulkRepository.updateStatus(eq(OWNER), any(BulkTarget.class), eq(AdvertisementStatus.INACTIVE), any()))
+				.thenReturn(List.of());
+		// Act
+		AdvertisementBulkResponse response = this.advertisementBulkService.changeStatusByOwner(request, OWNER);
+		// Assert
+		assertEquals(0, response.updated());
+		verify(this.advertisementOwnerCounterRepository, never()).move(any(), any(), any(), anyLong());
+		verify(this.publisher, never()).publishEvent(any(Object.class));
+	}
+
+	@Test
+	void adjustPriceByOwner_method_shouldThrowAdvertisementBulkOperationInvalidException_WhenPercentageIsMinusHundred() {
+		// Arrange
+		BulkPriceRequest request = new BulkPriceRequest(null, CATEGORY, "-100");
+		when(this.properties.maxPriceIncreasePercentage()).thenReturn(50);
+		when(this.messageSource.getMessage(eq("error.bulk.percentage.invalid"), eq(new Object[]{"-100", 50}), any(Locale.class)))
+				.thenReturn("Price change -100% is not supported, it must be greater than -100 and at most 50.");
+		// Act
+		AdvertisementBulkOperationInvalidException exception = assertThrows(
+				AdvertisementBulkOperationInvalidException.class,
+				() -> this.advertisementBulkService.adjustPriceByOwner(request, OWNER));
+		// Assert
+		assertEquals("Price change -100% is not supported, it must be greater than -100 and at most 50.", exception.getMessage());
+		verify(this.advertisementBulkRepository, never()).updatePrice(any(), any(), any(), any());
+	}
+
+	@Test
+	void adjustPriceByOwner_method_shouldThrowAdvertisementBulkOperationInvalidException_WhenPercentageExceedsMax() {
+		// Arrange
+		BulkPriceRequest request = new BulkPriceRequest(null, CATEGORY, "50.01");
+		when(this.properties.maxPriceIncreasePercentage()).thenReturn(50);
+		when(this.messageSource.getMessage(eq("error.bulk.percentage.invalid"), any(), any(Locale.class)))
+				.thenReturn("Price change 50.01% is not supported, it must be greater than -100 and at most 50.");
+		// Act and Assert
+		assertThrows(
+				AdvertisementBulkOperationInvalidException.class,
+				() -> this.advertisementBulkService.adjustPriceByOwner(request, OWNER));
+		verify(this.advertisementBulkRepository, never()).updatePrice(any(), any(), any(), any());
+	}
+
+	@Test
+	void adjustPriceByOwner_method_shouldApplyTheFactor_WhenPercentageIsAtMax() {
+		// Arrange
+		UUID id = UUID.randomUUID();
+		BulkPriceRequest request = new BulkPriceRequest(List.of(id), null, "50");
+		when(this.properties.maxIds()).thenReturn(100);
+		when(this.properties.maxPriceIncreasePercentage()).thenReturn(50);
+		when(this.advertisementBulkRepository.updatePrice(eq(OWNER), eq(new BulkTarget(List.of(id), null)), any(BigDecimal.class), any()))
+				.thenReturn(List.of(changed(id)));
+		// Act
+		AdvertisementBulkResponse response = this.advertisementBulkService.adjustPriceByOwner(request, OWNER);
+		// Assert
+		assertEquals(1, response.updated());
+		verify(this.advertisementBulkRepository, times(1))
+				.updatePrice(eq(OWNER), any(BulkTarget.class), argThat(factor -> factor.compareTo(new BigDecimal("1.5")) == 0), any());
+		verify(this.advertisementOwnerCounterRepository, never()).move(any(), any(), any(), anyLong());
+	}
+
+	private static BulkChangedAdvertisement changed(UUID id) {
+		return new BulkChangedAdvertisement(id, "corolla", new BigDecimal("5000000.00"), AdvertisementType.CARS, AdvertisementStatus.ACTIVE, CATEGORY);
+	}
+
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementDuplicateProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public class AdvertisementDuplicateIndexUnitTest {
+
+	private static final UUID CATEGORY = UUID.fromString("79e784ec-b22d-456c-807f-300a21bffc2f");
+	private static final String DESCRIPTION = "Well kept family sedan with full service history, new tyres, "
+			+ "original paint and no accidents, second owner, available for inspection in the evenings";
+
+	private final AdvertisementDuplicateProperties properties = new AdvertisementDuplicateProperties(16, 4, 2, 0.6, 0.85);
+	private final AdvertisementFingerprinter fingerprinter = new AdvertisementFingerprinter(new ObjectMapper(), this.properties);
+	private final AdvertisementDuplicateIndex index = new AdvertisementDuplicateIndex(this.properties);
+
+	@Test
+	void mostSimilar_method_shouldFindRepostWithSmallEdits() {
+		// Arrange
+		UUID original = UUID.randomUUID();
+		this.index.put(original, CATEGORY, this.fingerprinter.signature("Peugeot 206 2015", DESCRIPTION, (String) null));
+		int[] repost = this.fingerprinter.signature("peugeot 206 2015!", DESCRIPTION + " urgent", (String) null);
+		// Act
+		Optional<DuplicateMatch> match = this.index.mostSimilar(CATEGORY, repost, 0.6);
+		// Assert
+		assertTrue(match.isPresent());
+		assertEquals(original, match.get().advertisementId());
+		assertTrue(match.get().similarity() >= 0.85);
+	}
+
+	@Test
+	void mostSimilar_method_shouldIgnoreUnrelatedAdvertisement() {
+		// Arrange
+		this.index.put(UUID.randomUUID(), CATEGORY, this.fingerprinter.signature("Peugeot 206 2015", DESCRIPTION, (String) null));
+		int[] other = this.fingerprinter.signature("Samsung Galaxy S21",
+				"Phone with box and charger, battery health is good, screen has a protector since day one", (String) null);
+		// Act
+		Optional<DuplicateMatch> match = this.index.mostSimilar(CATEGORY, other, 0.6);
+		// Assert
+		assertTrue(match.isEmpty());
+	}
+
+	@Test
+	void mostSimilar_method_shouldOnlySearchTheCategoryShard() {
+		// Arrange
+		int[] signature = this.fingerprinter.signature("Peugeot 206 2015", DESCRIPTION, (String) null);
+		this.index.put(UUID.randomUUID(), CATEGORY, signature);
+		// Act
+		Optional<DuplicateMatch> match = this.index.mostSimilar(UUID.randomUUID(), signature, 0.6);
+		// Assert
+		assertTrue(match.isEmpty());
+	}
+
+	@Test
+	void remove_method_shouldDropAdvertisementFromItsBuckets() {
+		// Arrange
+		UUID id = UUID.randomUUID();
+		int[] signature = this.fingerprinter.signature("Peugeot 206 2015", DESCRIPTION, "{\"color\":\"white\"}");
+		this.index.put(id, CATEGORY, signature);
+		// Act
+		this.index.remove(id);
+		// Assert
+		assertTrue(this.index.mostSimilar(CATEGORY, signature, 0.6).isEmpty());
+		assertEquals(0, this.index.size());
+	}
+
+}
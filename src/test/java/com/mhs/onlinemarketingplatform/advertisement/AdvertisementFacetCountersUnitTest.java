@@ -0,0 +1,116 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementFacetProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public class AdvertisementFacetCountersUnitTest {
+
+	private static final UUID VEHICLES = UUID.fromString("79e784ec-b22d-456c-807f-300a21bffc2f");
+	private static final UUID PHONES = UUID.fromString("019a62f7-8b00-795a-a872-381aa0e3d901");
+	private static final UUID TEHRAN = UUID.fromString("019a62f7-8b00-795a-a872-381aa0e3d902");
+	private static final UUID TEHRAN_CITY = UUID.fromString("019a62f7-8b00-795a-a872-381aa0e3d903");
+
+	private AdvertisementFacetCounters counters;
+
+	@BeforeEach
+	void setUp() {
+		this.counters = new AdvertisementFacetCounters(new AdvertisementFacetProperties(
+				List.of(new BigDecimal("1000"), new BigDecimal("100")), 60000));
+	}
+
+	private FacetRow row(UUID id, AdvertisementType type, UUID categoryId, String price) {
+		return new FacetRow(id, type, categoryId, new BigDecimal(price), TEHRAN, TEHRAN_CITY);
+	}
+
+	@Test
+	void counts_method_shouldCountEveryFilterContext() {
+		// Arrange
+		this.counters.update(UUID.randomUUID(), row(null, AdvertisementType.CARS, VEHICLES, "50"));
+		this.counters.update(UUID.randomUUID(), row(null, AdvertisementType.CARS, VEHICLES, "500"));
+		this.counters.update(UUID.randomUUID(), row(null, AdvertisementType.MOBILES, PHONES, "5000"));
+		// Act
+		Map<FacetDimension, Map<String, Long>> all = this.counters.counts(FacetContext.ALL);
+		Map<FacetDimension, Map<String, Long>> cars = this.counters.counts(new FacetContext(AdvertisementType.CARS, VEHICLES));
+		// Assert
+		assertEquals(Map.of("CARS", 2L, "MOBILES", 1L), all.get(FacetDimension.TYPE));
+		assertEquals(List.of("CARS", "MOBILES"), List.copyOf(all.get(FacetDimension.TYPE).keySet()));
+		assertEquals(List.of("0-100", "100-1000", "1000+"), List.copyOf(all.get(FacetDimension.PRICE).keySet()));
+		assertEquals(3L, all.get(FacetDimension.CITY).get(TEHRAN_CITY.toString()));
+		assertEquals(Map.of(VEHICLES.toString(), 2L), cars.get(FacetDimension.CATEGORY));
+	}
+
+	@Test
+	void update_method_shouldMoveCountersWhenAdvertisementChanges() {
+		// Arrange
+		UUID id = UUID.randomUUID();
+		this.counters.update(id, row(id, AdvertisementType.CARS, VEHICLES, "50"));
+		// Act
+		this.counters.update(id, row(id, AdvertisementType.CARS, VEHICLES, "5000"));
+		this.counters.update(id, row(id, AdvertisementType.CARS, VEHICLES, "5000"));
+		// Assert
+		assertEquals(Map.of("1000+", 1L), this.counters.counts(FacetContext.ALL).get(FacetDimension.PRICE));
+	}
+
+	@Test
+	void update_method_shouldRemoveDeactivatedAdvertisement() {
+		// Arrange
+		UUID id = UUID.randomUUID();
+		this.counters.update(id, row(id, AdvertisementType.CARS, VEHICLES, "50"));
+		// Act
+		this.counters.update(id, null);
+		this.counters.update(id, null);
+		// Assert
+		assertTrue(this.counters.counts(FacetContext.ALL).get(FacetDimension.TYPE).isEmpty());
+		assertTrue(this.counters.counts(new FacetContext(AdvertisementType.CARS, null)).get(FacetDimension.TYPE).isEmpty());
+	}
+
+	@Test
+	void replace_method_shouldReportDriftFromRecountedSnapshot() {
+		// Arrange
+		UUID kept = UUID.randomUUID();
+		this.counters.update(kept, row(kept, AdvertisementType.CARS, VEHICLES, "50"));
+		this.counters.update(UUID.randomUUID(), row(null, AdvertisementType.MOBILES, PHONES, "50"));
+		AdvertisementFacetCounters.Snapshot snapshot = this.counters.snapshot();
+		snapshot.add(row(kept, AdvertisementType.CARS, VEHICLES, "50"));
+		// Act
+		long drift = this.counters.replace(snapshot);
+		// Assert
+		assertEquals(5, drift);
+		assertEquals(Map.of("CARS", 1L), this.counters.counts(FacetContext.ALL).get(FacetDimension.TYPE));
+	}
+
+	@Test
+	void counts_method_shouldReturnEmptyFacetsForUnknownContext() {
+		// Act
+		Map<FacetDimension, Map<String, Long>> counts = this.counters.counts(new FacetContext(null, PHONES));
+		// Assert
+		assertTrue(counts.get(FacetDimension.CATEGORY).isEmpty());
+	}
+
+}
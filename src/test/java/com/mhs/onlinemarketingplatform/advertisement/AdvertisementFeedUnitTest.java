@@ -0,0 +1,124 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementFeedProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public class AdvertisementFeedUnitTest {
+
+	private static final UUID VEHICLES = UUID.fromString("79e784ec-b22d-456c-807f-300a21bffc2f");
+	private static final UUID PHONES = UUID.fromString("019a62f7-8b00-795a-a872-381aa0e3d901");
+
+	private AdvertisementFeed feed;
+
+	@BeforeEach
+	void setUp() {
+		this.feed = new AdvertisementFeed(new AdvertisementFeedProperties(4, 2));
+	}
+
+	private AdvertisementActivatedEvent push(UUID categoryId) {
+		AdvertisementActivatedEvent event = new AdvertisementActivatedEvent(UUID.randomUUID(), "title", BigDecimal.TEN,
+				AdvertisementType.CARS, categoryId, LocalDateTime.now());
+		this.feed.push(event);
+		return event;
+	}
+
+	private List<UUID> ids(List<AdvertisementActivatedEvent> events) {
+		return events.stream().map(AdvertisementActivatedEvent::id).toList();
+	}
+
+	@Test
+	void latest_method_shouldReturnNewestFirstWithinCapacity() {
+		// Arrange
+		push(VEHICLES);
+		AdvertisementActivatedEvent second = push(PHONES);
+		AdvertisementActivatedEvent third = push(VEHICLES);
+		AdvertisementActivatedEvent fourth = push(PHONES);
+		AdvertisementActivatedEvent fifth = push(VEHICLES);
+		// Act
+		List<AdvertisementActivatedEvent> latest = this.feed.latest(null, 10);
+		// Assert
+		assertEquals(List.of(fifth.id(), fourth.id(), third.id(), second.id()), ids(latest));
+		assertEquals(List.of(fifth.id(), fourth.id()), ids(this.feed.latest(null, 2)));
+	}
+
+	@Test
+	void latest_method_shouldKeepSeparateRingPerCategory() {
+		// Arrange
+		push(VEHICLES);
+		AdvertisementActivatedEvent second = push(VEHICLES);
+		AdvertisementActivatedEvent phone = push(PHONES);
+		AdvertisementActivatedEvent third = push(VEHICLES);
+		// Act
+		List<AdvertisementActivatedEvent> vehicles = this.feed.latest(VEHICLES, 10);
+		// Assert
+		assertEquals(List.of(third.id(), second.id()), ids(vehicles));
+		assertEquals(List.of(phone.id()), ids(this.feed.latest(PHONES, 10)));
+		assertTrue(this.feed.latest(UUID.randomUUID(), 10).isEmpty());
+	}
+
+	@Test
+	void tombstone_method_shouldHideAdvertisementFromGlobalAndCategoryRings() {
+		// Arrange
+		AdvertisementActivatedEvent first = push(VEHICLES);
+		AdvertisementActivatedEvent second = push(VEHICLES);
+		// Act
+		this.feed.tombstone(second.id(), VEHICLES);
+		// Assert
+		assertEquals(List.of(first.id()), ids(this.feed.latest(null, 10)));
+		assertEquals(List.of(first.id()), ids(this.feed.latest(VEHICLES, 10)));
+	}
+
+	@Test
+	void reprice_method_shouldUpdatePriceInGlobalAndCategoryRings() {
+		// Arrange
+		AdvertisementActivatedEvent first = push(VEHICLES);
+		AdvertisementActivatedEvent second = push(VEHICLES);
+		// Act
+		this.feed.reprice(second.id(), VEHICLES, BigDecimal.ONE);
+		// Assert
+		assertEquals(BigDecimal.ONE, this.feed.latest(null, 10).get(0).price());
+		assertEquals(BigDecimal.ONE, this.feed.latest(VEHICLES, 10).get(0).price());
+		assertEquals(BigDecimal.TEN, this.feed.latest(VEHICLES, 10).get(1).price());
+		assertEquals(second.activatedAt(), this.feed.latest(VEHICLES, 10).get(0).activatedAt());
+	}
+
+	@Test
+	void push_method_shouldShowReactivatedAdvertisementOnce() {
+		// Arrange
+		AdvertisementActivatedEvent first = push(VEHICLES);
+		this.feed.tombstone(first.id(), VEHICLES);
+		AdvertisementActivatedEvent other = push(PHONES);
+		// Act
+		this.feed.push(first);
+		this.feed.push(first);
+		// Assert
+		assertEquals(List.of(first.id(), other.id()), ids(this.feed.latest(null, 10)));
+	}
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementGeoProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public class AdvertisementGeoIndexUnitTest {
+
+	private static final UUID AZADI_TOWER = UUID.fromString("019a836e-0452-7e70-86aa-b58429e6ec01");
+	private static final UUID MILAD_TOWER = UUID.fromString("019a836e-0452-7e70-86aa-b58429e6ec02");
+	private static final UUID TAJRISH = UUID.fromString("019a836e-0452-7e70-86aa-b58429e6ec03");
+	private static final UUID KARAJ = UUID.fromString("019a836e-0452-7e70-86aa-b58429e6ec04");
+
+	private AdvertisementGeoIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new AdvertisementGeoIndex(new AdvertisementGeoProperties(0.05, 50, 100));
+		index.put(AZADI_TOWER, 35.699700, 51.338000);
+		index.put(MILAD_TOWER, 35.744800, 51.375300);
+		index.put(TAJRISH, 35.804500, 51.433600);
+		index.put(KARAJ, 35.840000, 50.939100);
+	}
+
+	@Test
+	void findWithinRadius_method_shouldReturnNearestFirstWithinRadius() {
+		// Act
+		List<GeoHit> hits = index.findWithinRadius(35.699700, 51.338000, 15, 10);
+		// Assert
+		assertEquals(List.of(AZADI_TOWER, MILAD_TOWER, TAJRISH), hits.stream().map(GeoHit::id).toList());
+		assertEquals(0.0, hits.get(0).distance(), 1e-9);
+		assertTrue(hits.get(1).distance() < hits.get(2).distance());
+	}
+
+	@Test
+	void findWithinRadius_method_shouldKeepOnlyTheNearestLimitMatches() {
+		// Act
+		List<GeoHit> hits = index.findWithinRadius(35.804500, 51.433600, 50, 2);
+		// Assert
+		assertEquals(List.of(TAJRISH, MILAD_TOWER), hits.stream().map(GeoHit::id).toList());
+	}
+
+	@Test
+	void put_method_shouldMoveExistingAdvertisementToItsNewCell() {
+		// Act
+		index.put(KARAJ, 35.700000, 51.340000);
+		// Assert
+		assertEquals(4, index.size());
+		assertEquals(KARAJ, index.findWithinRadius(35.700000, 51.340000, 0.1, 1).get(0).id());
+		assertTrue(index.findWithinRadius(35.840000, 50.939100, 1, 10).isEmpty());
+	}
+
+	@Test
+	void remove_method_shouldDropAdvertisementAndReuseItsSlot() {
+		// Act
+		boolean removed = index.remove(MILAD_TOWER);
+		index.put(UUID.randomUUID(), 10, 10);
+		// Assert
+		assertTrue(removed);
+		assertFalse(index.remove(MILAD_TOWER));
+		assertEquals(4, index.size());
+		assertTrue(index.findWithinRadius(35.744800, 51.375300, 1, 10).isEmpty());
+	}
+
+	@Test
+	void findWithinBox_method_shouldReturnOnlyAdvertisementsInsideTheBox() {
+		// Act
+		List<GeoHit> hits = index.findWithinBox(35.6, 51.0, 35.8, 51.5, 10);
+		// Assert
+		assertEquals(List.of(AZADI_TOWER, MILAD_TOWER), hits.stream().map(GeoHit::id).toList());
+	}
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public class AdvertisementImportReaderUnitTest {
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	private AdvertisementImportReader reader(ImportFormat format, String body) {
+		return AdvertisementImportReader.of(format, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), this.mapper);
+	}
+
+	@Test
+	void next_method_shouldReadQuotedFieldsWithCommasQuotesAndLineBreaks() throws IOException {
+		// Arrange
+		CsvRecordReader reader = new CsvRecordReader(new StringReader("a,\"b, \"\"c\"\"\",\"d\r\ne\"\r\nf,,g\n"));
+		// Act
+		List<String> first = reader.next();
+		long firstLine = reader.recordLine();
+		List<String> second = reader.next();
+		long secondLine = reader.recordLine();
+		// Assert
+		assertEquals(List.of("a", "b, \"c\"", "d\r\ne"), first);
+		assertEquals(1, firstLine);
+		assertEquals(List.of("f", "", "g"), second);
+		assertEquals(3, secondLine);
+		assertNull(reader.next());
+	}
+
+	@Test
+	void next_method_shouldRejectUnterminatedQuotedField() throws IOException {
+		// Arrange
+		CsvRecordReader reader = new CsvRecordReader(new StringReader("\"open,field\n"));
+		// Act and Assert
+		assertThrows(EOFException.class, reader::next);
+	}
+
+	@Test
+	void next_method_shouldMapCsvRecordsOntoHeaderFieldsAndParseAttributes() throws IOException {
+		// Arrange
+		String body = "\uFEFFtitle,price,attributes\n"
+				+ "corolla,5000000,\"{\"\"@type\"\": \"\"car\"\", \"\"brand\"\": \"\"Toyota\"\"}\"\n"
+				+ "\n"
+				+ "broken,1\n";
+		try (AdvertisementImportReader reader = reader(ImportFormat.CSV, body)) {
+			// Act
+			ImportRecord first = reader.next();
+			ImportRecord second = reader.next();
+			// Assert
+			assertNull(first.error());
+			assertEquals("corolla", first.row().get("title").asText());
+			assertEquals("Toyota", first.row().get("attributes").get("brand").asText());
+			assertEquals(4, second.line());
+			assertNotNull(second.error());
+			assertNull(reader.next());
+		}
+	}
+
+	@Test
+	void next_method_shouldReportMalformedNdjsonLineAndContinue() throws IOException {
+		// Arrange
+		String body = "{\"title\": \"first\"}\n\n{\"title\": \n[1, 2]\n{\"title\": \"last\"}\n";
+		try (AdvertisementImportReader reader = reader(ImportFormat.NDJSON, body)) {
+			// Act
+			ImportRecord first = reader.next();
+			ImportRecord malformed = reader.next();
+			ImportRecord array = reader.next();
+			ImportRecord last = reader.next();
+			// Assert
+			assertEquals("first", first.row().get("title").asText());
+			assertEquals(3, malformed.line());
+			assertNotNull(malformed.error());
+			assertNotNull(array.error());
+			assertEquals(5, last.line());
+			assertEquals("last", last.row().get("title").asText());
+			assertNull(reader.next());
+		}
+	}
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementMapProperties;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public class AdvertisementMapClustersUnitTest {
+
+	private final AdvertisementMapProperties properties = new AdvertisementMapProperties(8, 22, 500);
+
+	private static MapRepresentative advertisement(UUID id) {
+		return new MapRepresentative(id, "corolla", new BigDecimal("5000000.00"), AdvertisementType.CARS);
+	}
+
+	@Test
+	void geohash_method_shouldEncodeLikeTheReferenceAlgorithm() {
+		// Arrange
+		AdvertisementMapClusters clusters = new AdvertisementMapClusters(this.properties);
+		clusters.put(advertisement(UUID.randomUUID()), 57.64911, 10.40744);
+		// Act
+		List<MapCluster> found = clusters.find(57.6, 10.4, 57.7, 10.5, 8, 10);
+		// Assert
+		assertEquals(1, found.size());
+		assertEquals("u4pruydq", found.get(0).geohash());
+	}
+
+	@Test
+	void find_method_shouldAggregateCountAndCentroidPerCell() {
+		// Arrange
+		AdvertisementMapClusters clusters = new AdvertisementMapClusters(this.properties);
+		UUID first = UUID.randomUUID();
+		clusters.put(advertisement(first), 35.70, 51.40);
+		clusters.put(advertisement(UUID.randomUUID()), 35.72, 51.42);
+		clusters.put(advertisement(UUID.randomUUID()), 29.61, 52.53);
+		// Act
+		List<MapCluster> found = clusters.find(35.0, 51.0, 36.0, 52.0, 4, 10);
+		// Assert
+		assertEquals(1, found.size());
+		assertEquals(2, found.get(0).count());
+		assertEquals(35.71, found.get(0).latitude(), 1e-9);
+		assertEquals(51.41, found.get(0).longitude(), 1e-9);
+		assertEquals(first, found.get(0).representative().id());
+	}
+
+	@Test
+	void remove_method_shouldHandOverRepresentativeAndDropEmptyCells() {
+		// Arrange
+		AdvertisementMapClusters clusters = new AdvertisementMapClusters(this.properties);
+		UUID first = UUID.randomUUID();
+		UUID second = UUID.randomUUID();
+		clusters.put(advertisement(first), 35.70, 51.40);
+		clusters.put(advertisement(second), 35.72, 51.42);
+		// Act
+		clusters.remove(first);
+		List<MapCluster> afterFirst = clusters.find(-90, -180, 90, 180, 1, 10);
+		clusters.remove(second);
+		List<MapCluster> afterSecond = clusters.find(-90, -180, 90, 180, 1, 10);
+		// Assert
+		assertEquals(1, afterFirst.size());
+		assertEquals(second, afterFirst.get(0).representative().id());
+		assertTrue(afterSecond.isEmpty());
+		assertEquals(0, clusters.size());
+	}
+
+	@Test
+	void put_method_shouldMoveAnAdvertisementToItsNewCell() {
+		// Arrange
+		AdvertisementMapClusters clusters = new AdvertisementMapClusters(this.properties);
+		UUID id = UUID.randomUUID();
+		clusters.put(advertisement(id), 35.70, 51.40);
+		// Act
+		clusters.put(advertisement(id), 29.61, 52.53);
+		// Assert
+		assertTrue(clusters.find(35.0, 51.0, 36.0, 52.0, 4, 10).isEmpty());
+		assertEquals(1, clusters.find(29.0, 52.0, 30.0, 53.0, 4, 10).size());
+		assertEquals(1, clusters.size());
+	}
+
+	@Test
+	void put_method_shouldRefreshTheRepresentativeInPlace() {
+		// Arrange
+		AdvertisementMapClusters clusters = new AdvertisementMapClusters(this.properties);
+		UUID id = UUID.randomUUID();
+		clusters.put(advertisement(id), 35.70, 51.40);
+		// Act
+		clusters.put(new MapRepresentative(id, "corolla 2020", new BigDecimal("4500000.00"), AdvertisementType.CARS), 35.70, 51.40);
+		// Assert
+		List<MapCluster> found = clusters.find(35.0, 51.0, 36.0, 52.0, 4, 10);
+		assertEquals(1, found.get(0).count());
+		assertEquals("corolla 2020", found.get(0).representative().title());
+		assertEquals(new BigDecimal("4500000.00"), found.get(0).representative().price());
+	}
+
+	@Test
+	void find_method_shouldKeepTheMostPopulatedClustersWhenOverTheLimit() {
+		// Arrange
+		AdvertisementMapClusters clusters = new AdvertisementMapClusters(this.properties);
+		clusters.put(advertisement(UUID.randomUUID()), 35.70, 51.40);
+		clusters.put(advertisement(UUID.randomUUID()), 35.71, 51.41);
+		clusters.put(advertisement(UUID.randomUUID()), 29.61, 52.53);
+		clusters.put(advertisement(UUID.randomUUID()), 38.08, 46.29);
+		// Act
+		List<MapCluster> found = clusters.find(25, 44, 40, 63, 4, 1);
+		// Assert
+		assertEquals(1, found.size());
+		assertEquals(2, found.get(0).count());
+	}
+
+	@Test
+	void precision_method_shouldGrowWithZoomUpToTheMaximum() {
+		// Act and Assert
+		assertEquals(1, AdvertisementMapClusters.precision(0, 8));
+		assertEquals(4, AdvertisementMapClusters.precision(8, 8));
+		assertEquals(8, AdvertisementMapClusters.precision(22, 8));
+	}
+
+}
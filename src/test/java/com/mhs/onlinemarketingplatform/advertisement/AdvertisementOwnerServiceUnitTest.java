@@ -0,0 +1,55 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public class AdvertisementOwnerServiceUnitTest {
+
+	private Map<AdvertisementStatus, Long> counts() {
+		Map<AdvertisementStatus, Long> counts = new EnumMap<>(AdvertisementStatus.class);
+		counts.put(AdvertisementStatus.ACTIVE, 120L);
+		counts.put(AdvertisementStatus.INACTIVE, 30L);
+		return counts;
+	}
+
+	@Test
+	void total_method_shouldSumAllStatusesWhenNoStatusIsGiven() {
+		// Act and Assert
+		assertEquals(150L, AdvertisementOwnerService.total(counts(), null));
+	}
+
+	@Test
+	void total_method_shouldReturnTheCounterOfTheGivenStatus() {
+		// Act and Assert
+		assertEquals(30L, AdvertisementOwnerService.total(counts(), AdvertisementStatus.INACTIVE));
+	}
+
+	@Test
+	void total_method_shouldReturnZeroForAnOwnerWithoutCounters() {
+		// Act and Assert
+		assertEquals(0L, AdvertisementOwnerService.total(new EnumMap<>(AdvertisementStatus.class), AdvertisementStatus.ACTIVE));
+	}
+
+}
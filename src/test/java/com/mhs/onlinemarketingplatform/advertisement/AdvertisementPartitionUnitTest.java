@@ -0,0 +1,49 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public class AdvertisementPartitionUnitTest {
+
+	@Test
+	void of_method_shouldCoverTheWholeMonth() {
+		// Act
+		AdvertisementPartition partition = AdvertisementPartition.of(YearMonth.of(2026, 2));
+		// Assert
+		assertEquals("advertisements_hot_p202602", partition.name());
+		assertEquals(LocalDateTime.of(2026, 2, 1, 0, 0), partition.from());
+		assertEquals(LocalDateTime.of(2026, 3, 1, 0, 0), partition.to());
+	}
+
+	@Test
+	void of_method_shouldRollOverIntoNextYear() {
+		// Act
+		AdvertisementPartition partition = AdvertisementPartition.of(YearMonth.of(2026, 12));
+		// Assert
+		assertEquals("advertisements_hot_p202612", partition.name());
+		assertEquals(LocalDateTime.of(2027, 1, 1, 0, 0), partition.to());
+	}
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public class AdvertisementPromotionIndexUnitTest {
+
+	private static final UUID VEHICLES = UUID.fromString("79e784ec-b22d-456c-807f-300a21bffc2f");
+	private static final UUID PHONES = UUID.fromString("019a62f7-8b00-795a-a872-381aa0e3d901");
+	private static final LocalDateTime NOW = LocalDateTime.of(2025, 11, 3, 10, 0);
+
+	private final AdvertisementPromotionIndex index = new AdvertisementPromotionIndex();
+
+	private PromotedAdvertisement promoted(UUID categoryId, PromotionType type, int minutesAgo) {
+		Advertisement advertisement = new Advertisement(UUID.randomUUID(), 0, "title", "description", new BigDecimal("1000"),
+				AdvertisementType.CARS, AdvertisementStatus.ACTIVE, null, NOW, null, UUID.randomUUID(), categoryId, UUID.randomUUID());
+		return new PromotedAdvertisement(UUID.randomUUID(), type, NOW.minusMinutes(minutesAgo), NOW.plusHours(1), advertisement, null, null);
+	}
+
+	private AdvertisementSearchCriteria criteria(UUID categoryId, BigDecimal maxPrice) {
+		return new AdvertisementSearchCriteria(categoryId, null, AdvertisementStatus.ACTIVE, null, maxPrice, null, null, null, null);
+	}
+
+	@Test
+	void top_method_shouldOrderUrgentBeforeStandardAndNewestFirst() {
+		// Arrange
+		PromotedAdvertisement olderStandard = promoted(VEHICLES, PromotionType.STANDARD, 30);
+		PromotedAdvertisement newerStandard = promoted(PHONES, PromotionType.STANDARD, 10);
+		PromotedAdvertisement urgent = promoted(VEHICLES, PromotionType.ARGENT, 60);
+		this.index.put(olderStandard);
+		this.index.put(newerStandard);
+		this.index.put(urgent);
+		// Act
+		List<PromotedAdvertisement> top = this.index.top(criteria(null, null), 3);
+		// Assert
+		assertEquals(List.of(urgent, newerStandard, olderStandard), top);
+		assertEquals(List.of(urgent, olderStandard), this.index.top(criteria(VEHICLES, null), 3));
+		assertTrue(this.index.top(criteria(null, new BigDecimal("999")), 3).isEmpty());
+	}
+
+	@Test
+	void expire_method_shouldIgnoreReplacedPromotion() {
+		// Arrange
+		PromotedAdvertisement first = promoted(VEHICLES, PromotionType.STANDARD, 30);
+		PromotedAdvertisement replacement = new PromotedAdvertisement(UUID.randomUUID(), PromotionType.ARGENT, NOW, NOW.plusHours(2),
+				first.advertisement(), null, null);
+		this.index.put(first);
+		this.index.put(replacement);
+		// Act
+		this.index.expire(first);
+		// Assert
+		assertEquals(List.of(replacement), this.index.top(criteria(VEHICLES, null), 3));
+		this.index.expire(replacement);
+		assertEquals(0, this.index.size());
+		assertTrue(this.index.top(criteria(VEHICLES, null), 3).isEmpty());
+	}
+
+	@Test
+	void merge_method_shouldPlacePromotedAtSlotsAndDropOrganicDuplicates() {
+		// Act
+		AdvertisementPromotionMerger.PromotedPage<String> page = AdvertisementPromotionMerger.merge(
+				List.of("a", "b", "p2", "c"), List.of("p1", "p2"), List.of(0, 2), Function.identity());
+		// Assert
+		assertEquals(List.of("p1", "a", "p2", "b", "c"), page.content());
+		assertEquals(List.of(0, 2), page.promotedSlots());
+	}
+
+	@Test
+	void merge_method_shouldAppendPromotedWhenPageIsShorterThanSlot() {
+		// Act
+		AdvertisementPromotionMerger.PromotedPage<String> page = AdvertisementPromotionMerger.merge(
+				List.of("a"), List.of("p1", "p2"), List.of(0, 6), Function.identity());
+		// Assert
+		assertEquals(List.of("p1", "a", "p2"), page.content());
+		assertEquals(List.of(0, 2), page.promotedSlots());
+	}
+
+}
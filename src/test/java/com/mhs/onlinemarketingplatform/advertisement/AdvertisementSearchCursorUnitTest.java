@@ -0,0 +1,85 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public class AdvertisementSearchCursorUnitTest {
+
+	private static final UUID ID = UUID.fromString("019a836e-0452-7e70-86aa-b58429e6ec8c");
+
+	private Advertisement advertisement(LocalDateTime insertedAt, BigDecimal price) {
+		return new Advertisement(ID, 0, "title", "description", price, AdvertisementType.CARS, AdvertisementStatus.ACTIVE,
+				null, insertedAt, null, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID());
+	}
+
+	@Test
+	void encode_method_shouldRoundTripNewestCursor() {
+		// Arrange
+		LocalDateTime insertedAt = LocalDateTime.of(2025, 11, 3, 10, 15, 30, 123456000);
+		AdvertisementSearchCursor cursor = AdvertisementSearchCursor.of(AdvertisementSearchSort.NEWEST, advertisement(insertedAt, BigDecimal.TEN));
+		// Act
+		Optional<AdvertisementSearchCursor> decoded = AdvertisementSearchCursor.decode(cursor.encode(), AdvertisementSearchSort.NEWEST);
+		// Assert
+		assertTrue(decoded.isPresent());
+		assertEquals(insertedAt, LocalDateTime.parse(decoded.get().sortKey()));
+		assertEquals(ID, decoded.get().id());
+	}
+
+	@Test
+	void decode_method_shouldRejectCursorOfAnotherSortOrder() {
+		// Arrange
+		String cursor = AdvertisementSearchCursor.of(AdvertisementSearchSort.PRICE_ASC, advertisement(LocalDateTime.now(), new BigDecimal("5000000.00"))).encode();
+		// Act
+		Optional<AdvertisementSearchCursor> decoded = AdvertisementSearchCursor.decode(cursor, AdvertisementSearchSort.PRICE_DESC);
+		// Assert
+		assertTrue(decoded.isEmpty());
+	}
+
+	@Test
+	void decode_method_shouldRejectMalformedCursor() {
+		// Act
+		Optional<AdvertisementSearchCursor> decoded = AdvertisementSearchCursor.decode("not-a-cursor", AdvertisementSearchSort.NEWEST);
+		// Assert
+		assertTrue(decoded.isEmpty());
+	}
+
+	@Test
+	void appendKeyset_method_shouldSeekOnPriceAndIdForPriceDescending() {
+		// Arrange
+		StringBuilder sql = new StringBuilder();
+		MapSqlParameterSource params = new MapSqlParameterSource();
+		AdvertisementSearchCursor after = new AdvertisementSearchCursor(AdvertisementSearchSort.PRICE_DESC, "100.00", ID);
+		// Act
+		AdvertisementSearchRepository.appendKeyset(sql, params, AdvertisementSearchSort.PRICE_DESC, after);
+		// Assert
+		assertEquals(" AND (a.price, a.id) < (:cursorPrice, :cursorId) ORDER BY a.price DESC, a.id DESC", sql.toString());
+		assertEquals(new BigDecimal("100.00"), params.getValue("cursorPrice"));
+		assertEquals(ID, params.getValue("cursorId"));
+	}
+
+}
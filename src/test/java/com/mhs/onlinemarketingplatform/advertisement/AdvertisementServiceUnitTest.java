@@ -0,0 +1,215 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.converter.AdvertisementAttributesToJsonConverter;
+import com.mhs.onlinemarketingplatform.advertisement.error.advertisement.AdvertisementAlreadyExistsException;
+import com.mhs.onlinemarketingplatform.advertisement.event.AddAdvertisementEvent;
+import com.mhs.onlinemarketingplatform.catalog.api.CategoryApi;
+import com.mhs.onlinemarketingplatform.common.AuditLogger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.MessageSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+@ExtendWith(MockitoExtension.class)
+public class AdvertisementServiceUnitTest {
+
+	private static final UUID OWNER = UUID.fromString("79e784ec-b22d-456c-807f-300a44bffc2c");
+	private static final UUID CATEGORY = UUID.fromString("79e784ec-b22d-456c-807f-300a21bffc2f");
+	private static final UUID PROVINCE = UUID.fromString("019a836e-0452-7e70-86aa-b58429e6ec8a");
+	private static final UUID CITY = UUID.fromString("019a836e-0452-7e70-86aa-b58429e6ec8b");
+
+	@Mock
+	private AuditLogger auditLogger;
+
+	@Mock
+	private AdvertisementRepository advertisementRepository;
+
+	@Mock
+	private AdvertisementCreateRepository advertisementCreateRepository;
+
+	@Mock
+	private AdvertisementOwnerCounterRepository advertisementOwnerCounterRepository;
+
+	@Mock
+	private LocationService locationService;
+
+	@Mock
+	private CategoryApi categoryApi;
+
+	@Mock
+	private AdvertisementDuplicateDetector advertisementDuplicateDetector;
+
+	@Mock
+	private AdvertisementBinaryAttributes advertisementBinaryAttributes;
+
+	@Mock
+	private AdvertisementMapper mapper;
+
+	@Mock
+	private ApplicationEventPublisher publisher;
+
+	@Mock
+	private MessageSource messageSource;
+
+	@Mock
+	private NamedParameterJdbcTemplate jdbcTemplate;
+
+	@Mock
+	private AdvertisementAttributesToJsonConverter attributesConverter;
+
+	@InjectMocks
+	private AdvertisementService advertisementService;
+
+	@Test
+	void addByOwner_method_shouldInsertAdvertisementWithLocation_ReturnResponse() {
+		// Arrange
+		AddAdvertisementRequest request = request();
+		Location location = location();
+		Advertisement advertisement = advertisement(location.id());
+		AdvertisementResponse response = response(advertisement);
+		when(this.categoryApi.existsById(CATEGORY)).thenReturn(true);
+		when(this.advertisementDuplicateDetector.check(eq(CATEGORY), eq("corolla"), any(), any())).thenReturn(new DuplicateCheck(null, false));
+		when(this.locationService.newLocation(any(AddLocationRequest.class))).thenReturn(location);
+		when(this.mapper.mapAddRequestToAdvertisement(request, location.id())).thenReturn(advertisement);
+		when(this.advertisementCreateRepository.insertWithLocation(advertisement, location)).thenReturn(true);
+		when(this.mapper.mapAdvertisementToResponse(advertisement)).thenReturn(response);
+		// Act
+		AdvertisementResponse result = this.advertisementService.addByOwner(request);
+		// Assert
+		assertEquals(response, result);
+		verify(this.advertisementCreateRepository, times(1)).insertWithLocation(advertisement, location);
+		verify(this.advertisementOwnerCounterRepository, times(1)).increment(OWNER, AdvertisementStatus.INACTIVE, 1);
+		verify(this.publisher, times(1)).publishEvent(new AddAdvertisementEvent(advertisement.id()));
+		verify(this.auditLogger, times(1)).log(eq("ADVERTISEMENT_CREATED"), eq("ADVERTISEMENT"), anyString());
+		verify(this.auditLogger, never()).log(eq("ADVERTISEMENT_DUPLICATE_FLAGGED"), any(), any());
+	}
+
+	@Test
+	void addByOwner_method_shouldThrowAdvertisementAlreadyExistsException_WhenOwnerHasAdvertisementWithTheSameTitle() {
+		// Arrange
+		AddAdvertisementRequest request = request();
+		Location location = location();
+		Advertisement advertisement = advertisement(location.id());
+		when(this.categoryApi.existsById(CATEGORY)).thenReturn(true);
+		when(this.advertisementDuplicateDetector.check(eq(CATEGORY), eq("corolla"), any(), any())).thenReturn(new DuplicateCheck(null, false));
+		when(this.locationService.newLocation(any(AddLocationRequest.class))).thenReturn(location);
+		when(this.mapper.mapAddRequestToAdvertisement(request, location.id())).thenReturn(advertisement);
+		when(this.advertisementCreateRepository.insertWithLocation(advertisement, location)).thenReturn(false);
+		when(this.messageSource.getMessage(
+				eq("error.advertisement.advertisement.already.exists"),
+				eq(new Object[]{"corolla"}),
+				any(Locale.class)
+		)).thenReturn("Advertisement with the title corolla already exists.");
+		// Act
+		AdvertisementAlreadyExistsException exception = assertThrows(
+				AdvertisementAlreadyExistsException.class,
+				() -> this.advertisementService.addByOwner(request));
+		// Assert
+		assertEquals("Advertisement with the title corolla already exists.", exception.getMessage());
+		verify(this.advertisementOwnerCounterRepository, never()).increment(any(), any(), anyLong());
+		verify(this.publisher, never()).publishEvent(any(Object.class));
+		verify(this.auditLogger, never()).log(any(), any(), any());
+		verify(this.mapper, never()).mapAdvertisementToResponse(any());
+	}
+
+	@Test
+	void addByOwner_method_shouldAuditTheResemblance_WhenTheDuplicateCheckFlagsWithoutRejecting() {
+		// Arrange
+		AddAdvertisementRequest request = request();
+		Location location = location();
+		Advertisement advertisement = advertisement(location.id());
+		UUID resembled = UUID.randomUUID();
+		when(this.categoryApi.existsById(CATEGORY)).thenReturn(true);
+		when(this.advertisementDuplicateDetector.check(eq(CATEGORY), eq("corolla"), any(), any()))
+				.thenReturn(new DuplicateCheck(new DuplicateMatch(resembled, 0.8), false));
+		when(this.locationService.newLocation(any(AddLocationRequest.class))).thenReturn(location);
+		when(this.mapper.mapAddRequestToAdvertisement(request, location.id())).thenReturn(advertisement);
+		when(this.advertisementCreateRepository.insertWithLocation(advertisement, location)).thenReturn(true);
+		// Act
+		this.advertisementService.addByOwner(request);
+		// Assert
+		verify(this.auditLogger, times(1)).log(eq("ADVERTISEMENT_DUPLICATE_FLAGGED"), eq("ADVERTISEMENT"), contains(resembled.toString()));
+		verify(this.publisher, times(1)).publishEvent(new AddAdvertisementEvent(advertisement.id()));
+	}
+
+	@Test
+	void insertWithLocation_method_shouldReturnFalse_WhenTheStatementInsertsNoRow() {
+		// Arrange
+		AdvertisementCreateRepository repository = new AdvertisementCreateRepository(this.jdbcTemplate, this.attributesConverter, this.advertisementBinaryAttributes);
+		Location location = location();
+		when(this.jdbcTemplate.update(anyString(), any(MapSqlParameterSource.class))).thenReturn(0);
+		// Act and Assert
+		assertFalse(repository.insertWithLocation(advertisement(location.id()), location));
+	}
+
+	@Test
+	void insertWithLocation_method_shouldReturnTrue_WhenTheAdvertisementIsInserted() {
+		// Arrange
+		AdvertisementCreateRepository repository = new AdvertisementCreateRepository(this.jdbcTemplate, this.attributesConverter, this.advertisementBinaryAttributes);
+		Location location = location();
+		Advertisement advertisement = advertisement(location.id());
+		when(this.jdbcTemplate.update(anyString(), any(MapSqlParameterSource.class))).thenReturn(1);
+		// Act
+		boolean inserted = repository.insertWithLocation(advertisement, location);
+		// Assert
+		assertTrue(inserted);
+		verify(this.jdbcTemplate, times(1)).update(anyString(), argThat((MapSqlParameterSource params) ->
+				advertisement.id().equals(params.getValue("id"))
+						&& location.id().equals(params.getValue("locationId"))
+						&& OWNER.equals(params.getValue("ownerId"))
+						&& "INACTIVE".equals(params.getValue("status"))));
+	}
+
+	private static AddAdvertisementRequest request() {
+		return new AddAdvertisementRequest("corolla", "clean and serviced", "5000000.00", "CARS", null,
+				PROVINCE, CITY, 35.70, 51.40, CATEGORY, OWNER);
+	}
+
+	private static Location location() {
+		return new Location(UUID.randomUUID(), 0, 35.70, 51.40, PROVINCE, CITY);
+	}
+
+	private static Advertisement advertisement(UUID locationId) {
+		return new Advertisement(UUID.randomUUID(), 0, "corolla", "clean and serviced", new BigDecimal("5000000.00"),
+				AdvertisementType.CARS, AdvertisementStatus.INACTIVE, null, LocalDateTime.of(2026, 3, 1, 12, 0), null,
+				locationId, CATEGORY, OWNER);
+	}
+
+	private static AdvertisementResponse response(Advertisement advertisement) {
+		return new AdvertisementResponse(advertisement.id().toString(), advertisement.title(), advertisement.description(),
+				"5000000.00", "CARS", "INACTIVE", null, advertisement.insertedAt(), null);
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mhs.onlinemarketingplatform.advertisement.config.AdvertisementSimilarProperties;
+import com.mhs.onlinemarketingplatform.catalog.api.CategoryApi;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public class AdvertisementSimilarIndexUnitTest {
+
+	private static final UUID ROOT = UUID.fromString("019a836e-0452-7e70-86aa-b58429e6ec8a");
+	private static final UUID SEDANS = UUID.fromString("019a836e-0452-7e70-86aa-b58429e6ec8b");
+	private static final UUID TRUCKS = UUID.fromString("019a836e-0452-7e70-86aa-b58429e6ec8c");
+	private static final UUID TEHRAN = UUID.fromString("019a836e-0452-7e70-86aa-b58429e6ec8d");
+	private static final UUID SHIRAZ = UUID.fromString("019a836e-0452-7e70-86aa-b58429e6ec8e");
+
+	private final AdvertisementSimilarProperties properties = new AdvertisementSimilarProperties(128, 12, 20, 1.25, 3.0, 2.0, 1.5, 1.0, 1000, 50);
+
+	private final Map<UUID, List<UUID>> paths = Map.of(
+			ROOT, List.of(ROOT),
+			SEDANS, List.of(ROOT, SEDANS),
+			TRUCKS, List.of(ROOT, TRUCKS));
+
+	private final CategoryApi categoryApi = new CategoryApi() {
+
+		@Override
+		public boolean existsById(UUID category) {
+			return paths.containsKey(category);
+		}
+
+		@Override
+		public Set<UUID> findSubtreeIds(UUID categoryId) {
+			return Set.of(categoryId);
+		}
+
+		@Override
+		public List<UUID> findPathIds(UUID categoryId) {
+			return paths.getOrDefault(categoryId, List.of());
+		}
+
+	};
+
+	private final AdvertisementVectorizer vectorizer = new AdvertisementVectorizer(this.categoryApi, new ObjectMapper(), this.properties);
+
+	private SimilarRow row(UUID categoryId, String price, UUID cityId, String attributes) {
+		return new SimilarRow(UUID.randomUUID(), categoryId, AdvertisementType.CARS, new BigDecimal(price), cityId, attributes);
+	}
+
+	@Test
+	void vectorize_method_shouldRankCloserAdvertisementsHigher() {
+		// Arrange
+		float[] sedan = this.vectorizer.vectorize(row(SEDANS, "1000000000", TEHRAN, "{\"brand\":\"Peugeot\",\"mileage\":40000}"));
+		float[] similarSedan = this.vectorizer.vectorize(row(SEDANS, "1050000000", TEHRAN, "{\"brand\":\"Peugeot\",\"mileage\":42000}"));
+		float[] truck = this.vectorizer.vectorize(row(TRUCKS, "9000000000", SHIRAZ, "{\"brand\":\"Volvo\",\"mileage\":400000}"));
+		// Act
+		double close = AdvertisementSimilarIndex.similarity(sedan, similarSedan);
+		double far = AdvertisementSimilarIndex.similarity(sedan, truck);
+		// Assert
+		assertEquals(1.0, AdvertisementSimilarIndex.similarity(sedan, sedan), 1e-5);
+		assertTrue(close > 0.8);
+		assertTrue(close > far);
+	}
+
+	@Test
+	void nearest_method_shouldReturnMostSimilarFirstAndExcludeItself() {
+		// Arrange
+		AdvertisementSimilarIndex index = new AdvertisementSimilarIndex(this.properties);
+		SimilarRow sedan = row(SEDANS, "1000000000", TEHRAN, "{\"brand\":\"Peugeot\",\"color\":\"white\"}");
+		SimilarRow twin = row(SEDANS, "1000000000", TEHRAN, "{\"brand\":\"Peugeot\",\"color\":\"white\"}");
+		SimilarRow cousin = row(SEDANS, "1000000000", SHIRAZ, "{\"brand\":\"Peugeot\",\"color\":\"black\"}");
+		for (SimilarRow row : List.of(sedan, twin, cousin)) {
+			index.put(row.id(), row.type(), this.vectorizer.vectorize(row));
+		}
+		// Act
+		List<SimilarMatch> matches = index.nearest(sedan.id(), AdvertisementType.CARS, index.find(sedan.id()).orElseThrow().vector(), 10);
+		// Assert
+		assertEquals(List.of(twin.id(), cousin.id()), matches.stream().map(SimilarMatch::advertisementId).toList());
+		assertEquals(1.0, matches.get(0).similarity(), 1e-5);
+	}
+
+	@Test
+	void nearest_method_shouldKeepTypesApartAndForgetRemovedAdvertisements() {
+		// Arrange
+		AdvertisementSimilarIndex index = new AdvertisementSimilarIndex(this.properties);
+		float[] vector = this.vectorizer.vectorize(row(SEDANS, "1000000000", TEHRAN, "{}"));
+		UUID car = UUID.randomUUID();
+		UUID mobile = UUID.randomUUID();
+		UUID removed = UUID.randomUUID();
+		index.put(car, AdvertisementType.CARS, vector);
+		index.put(mobile, AdvertisementType.MOBILES, vector);
+		index.put(removed, AdvertisementType.CARS, vector);
+		// Act
+		index.remove(removed);
+		List<SimilarMatch> matches = index.nearest(null, AdvertisementType.CARS, vector, 10);
+		// Assert
+		assertEquals(List.of(car), matches.stream().map(SimilarMatch::advertisementId).toList());
+		assertEquals(2, index.size());
+	}
+
+	@Test
+	void nearest_method_shouldKeepOnlyTheRequestedNumberOfMatches() {
+		// Arrange
+		AdvertisementSimilarIndex index = new AdvertisementSimilarIndex(this.properties);
+		float[] vector = this.vectorizer.vectorize(row(SEDANS, "1000000000", TEHRAN, "{}"));
+		for (int i = 0; i < 20; i++) {
+			index.put(UUID.randomUUID(), AdvertisementType.CARS, vector);
+		}
+		// Act
+		List<SimilarMatch> matches = index.nearest(null, AdvertisementType.CARS, vector, 5);
+		// Assert
+		assertEquals(5, matches.size());
+	}
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public class AdvertisementTextIndexUnitTest {
+
+	private static final UUID PEUGEOT = UUID.fromString("019a836e-0452-7e70-86aa-b58429e6ec11");
+	private static final UUID PRIDE = UUID.fromString("019a836e-0452-7e70-86aa-b58429e6ec12");
+	private static final UUID APARTMENT = UUID.fromString("019a836e-0452-7e70-86aa-b58429e6ec13");
+
+	private SimpleMeterRegistry meterRegistry;
+	private AdvertisementTextIndex index;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		index = new AdvertisementTextIndex(meterRegistry);
+		index.put(PEUGEOT, "پژو ۲۰۶ تیپ ۲", "بدون رنگ، بیمه کامل");
+		index.put(PRIDE, "پراید صبا", "موتور تازه تعمیر، لاستیک پژو");
+		index.put(APARTMENT, "آپارتمان ۸۰ متری", "آسانسور و پارکینگ");
+	}
+
+	@Test
+	void tokens_method_shouldNormalizeArabicLettersAndDigits() {
+		// Act
+		List<String> tokens = AdvertisementTextAnalyzer.tokens("كيفيت عالي، مدل ۱۳۹۸ و Automatic");
+		// Assert
+		assertEquals(List.of("کیفیت", "عالی", "مدل", "1398", "automatic"), tokens);
+	}
+
+	@Test
+	void search_method_shouldRankTitleMatchesAboveDescriptionMatches() {
+		// Act
+		List<TextHit> hits = index.search("پژو", 10);
+		// Assert
+		assertEquals(List.of(PEUGEOT, PRIDE), hits.stream().map(TextHit::id).toList());
+		assertTrue(hits.get(0).score() > hits.get(1).score());
+	}
+
+	@Test
+	void search_method_shouldMatchArabicSpellingOfPersianText() {
+		// Act
+		List<TextHit> hits = index.search("اپارتمان ٨٠", 10);
+		// Assert
+		assertEquals(APARTMENT, hits.get(0).id());
+	}
+
+	@Test
+	void put_method_shouldReplacePreviousPostingsOfTheAdvertisement() {
+		// Act
+		index.put(PRIDE, "پراید ۱۳۱", "دوگانه سوز");
+		// Assert
+		assertEquals(List.of(PEUGEOT), index.search("پژو", 10).stream().map(TextHit::id).toList());
+		assertEquals(3, index.documentCount());
+	}
+
+	@Test
+	void remove_method_shouldDropAdvertisementFromResultsAndMetrics() {
+		// Act
+		index.remove(PEUGEOT);
+		// Assert
+		assertEquals(List.of(PRIDE), index.search("پژو", 10).stream().map(TextHit::id).toList());
+		assertEquals(2.0, meterRegistry.get("advertisement.text.index.documents").gauge().value());
+		assertEquals(1, meterRegistry.get("advertisement.text.index.query").timer().count());
+	}
+
+	@Test
+	void builder_method_shouldSwapInRebuiltPostings() {
+		// Arrange
+		AdvertisementTextIndex.Builder builder = index.builder();
+		builder.add(APARTMENT, "آپارتمان ۸۰ متری", "آسانسور و پارکینگ");
+		// Act
+		builder.publish();
+		// Assert
+		assertEquals(1, index.documentCount());
+		assertTrue(index.search("پژو", 10).isEmpty());
+	}
+
+}
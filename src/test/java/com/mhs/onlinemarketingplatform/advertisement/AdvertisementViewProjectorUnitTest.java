@@ -0,0 +1,158 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.mhs.onlinemarketingplatform.advertisement.event.DeleteAdvertisementEvent;
+import com.mhs.onlinemarketingplatform.advertisement.event.UpdateAdvertisementEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+@ExtendWith(MockitoExtension.class)
+public class AdvertisementViewProjectorUnitTest {
+
+	@Mock
+	private AdvertisementViewRepository advertisementViewRepository;
+
+	private final List<Runnable> indexTasks = new ArrayList<>();
+
+	private AdvertisementViewProjector projector;
+
+	@BeforeEach
+	void setUp() {
+		this.projector = new AdvertisementViewProjector(this.advertisementViewRepository, this.indexTasks::add);
+	}
+
+	private static List<UUID> ids(int count) {
+		return Stream.generate(UUID::randomUUID).limit(count).sorted().toList();
+	}
+
+	private void runIndexTasks() {
+		List<Runnable> tasks = List.copyOf(this.indexTasks);
+		this.indexTasks.clear();
+		tasks.forEach(Runnable::run);
+	}
+
+	@Test
+	void rebuild_method_shouldProjectAdvertisementsInBatchesById() {
+		// Arrange
+		List<UUID> first = ids(AdvertisementViewProjector.BATCH_SIZE);
+		List<UUID> second = ids(2);
+		when(this.advertisementViewRepository.findAdvertisementIdsAfter(null, AdvertisementViewProjector.BATCH_SIZE)).thenReturn(first);
+		when(this.advertisementViewRepository.findAdvertisementIdsAfter(first.get(first.size() - 1), AdvertisementViewProjector.BATCH_SIZE)).thenReturn(second);
+		when(this.advertisementViewRepository.projectByAdvertisementIds(anyCollection())).thenReturn(AdvertisementViewProjector.BATCH_SIZE, 2);
+		// Act
+		this.projector.rebuild();
+		// Assert
+		verify(this.advertisementViewRepository).projectByAdvertisementIds(first);
+		verify(this.advertisementViewRepository).projectByAdvertisementIds(second);
+		verify(this.advertisementViewRepository).deleteOrphans();
+		verify(this.advertisementViewRepository, times(2)).findAdvertisementIdsAfter(any(), anyInt());
+	}
+
+	@Test
+	void rebuild_method_shouldReplayProjectionsMadeDuringTheRebuildOnTheIndexWorker() {
+		// Arrange
+		UUID updated = UUID.randomUUID();
+		UUID deleted = UUID.randomUUID();
+		List<UUID> batch = ids(1);
+		when(this.advertisementViewRepository.findAdvertisementIdsAfter(null, AdvertisementViewProjector.BATCH_SIZE)).thenAnswer(invocation -> {
+			this.projector.handleUpdateAdvertisementEvent(new UpdateAdvertisementEvent(updated));
+			this.projector.handleDeleteAdvertisementEvent(new DeleteAdvertisementEvent(deleted));
+			return batch;
+		});
+		// Act
+		this.projector.rebuild();
+		// Assert
+		verify(this.advertisementViewRepository, times(1)).projectByAdvertisementId(updated);
+		verify(this.advertisementViewRepository, times(1)).deleteById(deleted);
+		assertEquals(1, this.indexTasks.size());
+		runIndexTasks();
+		verify(this.advertisementViewRepository, times(2)).projectByAdvertisementId(updated);
+		verify(this.advertisementViewRepository, times(2)).deleteById(deleted);
+	}
+
+	@Test
+	void handleUpdateAdvertisementEvent_method_shouldProjectOnceAfterTheRebuildIsDone() {
+		// Arrange
+		UUID updated = UUID.randomUUID();
+		when(this.advertisementViewRepository.findAdvertisementIdsAfter(null, AdvertisementViewProjector.BATCH_SIZE)).thenReturn(List.of());
+		this.projector.rebuild();
+		runIndexTasks();
+		// Act
+		this.projector.handleUpdateAdvertisementEvent(new UpdateAdvertisementEvent(updated));
+		runIndexTasks();
+		// Assert
+		verify(this.advertisementViewRepository, times(1)).projectByAdvertisementId(updated);
+		assertTrue(this.indexTasks.isEmpty());
+	}
+
+	@Test
+	void rebuild_method_shouldHandTheReplayOverWhenABatchFails() {
+		// Arrange
+		when(this.advertisementViewRepository.findAdvertisementIdsAfter(null, AdvertisementViewProjector.BATCH_SIZE)).thenThrow(new IllegalStateException("database down"));
+		// Act
+		assertThrows(IllegalStateException.class, () -> this.projector.rebuild());
+		runIndexTasks();
+		this.projector.handleUpdateAdvertisementEvent(new UpdateAdvertisementEvent(UUID.randomUUID()));
+		// Assert
+		assertTrue(this.indexTasks.isEmpty());
+		verify(this.advertisementViewRepository, never()).deleteOrphans();
+	}
+
+	@Test
+	void handleAdvertisementsBulkChangedEvent_method_shouldProjectEveryChangedAdvertisement() {
+		// Arrange
+		UUID first = UUID.randomUUID();
+		UUID second = UUID.randomUUID();
+		AdvertisementsBulkChangedEvent event = new AdvertisementsBulkChangedEvent(UUID.randomUUID(), BulkChange.REPRICED, List.of(
+				new BulkChangedAdvertisement(first, "title", BigDecimal.TEN, AdvertisementType.CARS, AdvertisementStatus.ACTIVE, UUID.randomUUID()),
+				new BulkChangedAdvertisement(second, "title", BigDecimal.ONE, AdvertisementType.CARS, AdvertisementStatus.INACTIVE, UUID.randomUUID())),
+				LocalDateTime.now());
+		// Act
+		this.projector.handleAdvertisementsBulkChangedEvent(event);
+		// Assert
+		verify(this.advertisementViewRepository).projectByAdvertisementIds(List.of(first, second));
+	}
+
+	@Test
+	void load_method_shouldNotRebuildANonEmptyView() {
+		// Arrange
+		when(this.advertisementViewRepository.isEmpty()).thenReturn(false);
+		// Act
+		this.projector.load();
+		// Assert
+		verify(this.advertisementViewRepository, never()).findAdvertisementIdsAfter(any(), anyInt());
+		assertTrue(this.indexTasks.isEmpty());
+	}
+
+}
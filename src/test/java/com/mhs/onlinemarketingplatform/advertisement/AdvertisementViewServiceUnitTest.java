@@ -0,0 +1,61 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public class AdvertisementViewServiceUnitTest {
+
+	private static final UUID FIRST = UUID.fromString("019a836e-0452-7e70-86aa-b58429e6ec8a");
+	private static final UUID SECOND = UUID.fromString("019a836e-0452-7e70-86aa-b58429e6ec8b");
+	private static final UUID THIRD = UUID.fromString("019a836e-0452-7e70-86aa-b58429e6ec8c");
+
+	private AdvertisementViewResponse view(UUID id) {
+		return new AdvertisementViewResponse(id, "title", BigDecimal.TEN, "CARS", "ACTIVE", UUID.randomUUID(),
+				"cars", "cars", "Tehran", "Tehran", null, LocalDateTime.now(), 0);
+	}
+
+	@Test
+	void assemble_method_shouldKeepRequestOrder() {
+		// Act
+		AdvertisementBatchResponse response = AdvertisementViewService.assemble(
+				List.of(THIRD, FIRST, SECOND), List.of(view(FIRST), view(SECOND), view(THIRD)));
+		// Assert
+		assertEquals(List.of(THIRD, FIRST, SECOND), response.content().stream().map(AdvertisementViewResponse::id).toList());
+		assertTrue(response.missing().isEmpty());
+	}
+
+	@Test
+	void assemble_method_shouldReportMissingIdsInRequestOrder() {
+		// Act
+		AdvertisementBatchResponse response = AdvertisementViewService.assemble(
+				List.of(THIRD, FIRST, SECOND), List.of(view(FIRST)));
+		// Assert
+		assertEquals(List.of(FIRST), response.content().stream().map(AdvertisementViewResponse::id).toList());
+		assertEquals(List.of(THIRD, SECOND), response.missing());
+	}
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public class AdvertisementVisitCountersUnitTest {
+
+	private static final UUID ID = UUID.fromString("019a836e-0452-7e70-86aa-b58429e6ec8c");
+
+	@Test
+	void pending_method_shouldCountVisitsNotFlushedYet() {
+		// Arrange
+		AdvertisementVisitCounters counters = new AdvertisementVisitCounters();
+		// Act
+		counters.increment(ID);
+		counters.increment(ID);
+		// Assert
+		assertEquals(2, counters.pending(ID));
+		assertEquals(Map.of(ID, 2L), counters.pending());
+	}
+
+	@Test
+	void claim_method_shouldKeepVisitsCountedDuringTheFlush() {
+		// Arrange
+		AdvertisementVisitCounters counters = new AdvertisementVisitCounters();
+		counters.increment(ID);
+		counters.increment(ID);
+		Map<UUID, Long> pending = counters.pending();
+		counters.increment(ID);
+		// Act
+		counters.claim(pending);
+		// Assert
+		assertEquals(1, counters.pending(ID));
+	}
+
+	@Test
+	void claim_method_shouldSkipAdvertisementsRemovedAfterTheSnapshot() {
+		// Arrange
+		AdvertisementVisitCounters counters = new AdvertisementVisitCounters();
+		counters.increment(ID);
+		Map<UUID, Long> pending = counters.pending();
+		counters.remove(ID);
+		// Act
+		Map<UUID, Long> claimed = counters.claim(pending);
+		// Assert
+		assertTrue(claimed.isEmpty());
+	}
+
+	@Test
+	void release_method_shouldMakeAFailedBatchPendingAgain() {
+		// Arrange
+		AdvertisementVisitCounters counters = new AdvertisementVisitCounters();
+		counters.increment(ID);
+		counters.increment(ID);
+		Map<UUID, Long> claimed = counters.claim(counters.pending());
+		// Act
+		counters.release(claimed);
+		// Assert
+		assertEquals(2, counters.pending(ID));
+	}
+
+	@Test
+	void evict_method_shouldDropCountersWithNothingLeftToStore() {
+		// Arrange
+		AdvertisementVisitCounters counters = new AdvertisementVisitCounters();
+		counters.increment(ID);
+		counters.claim(counters.pending());
+		// Act
+		counters.evict();
+		// Assert
+		assertEquals(0, counters.pending(ID));
+		assertEquals(0, counters.size());
+	}
+
+	@Test
+	void increment_method_shouldNotLoseConcurrentVisits() throws InterruptedException {
+		// Arrange
+		AdvertisementVisitCounters counters = new AdvertisementVisitCounters();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		// Act
+		for (int i = 0; i < 8; i++) {
+			executor.submit(() -> {
+				for (int j = 0; j < 10_000; j++) {
+					counters.increment(ID);
+				}
+			});
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		// Assert
+		assertEquals(80_000, counters.pending(ID));
+	}
+
+}
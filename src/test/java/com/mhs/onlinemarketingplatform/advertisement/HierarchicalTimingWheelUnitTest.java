@@ -0,0 +1,94 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public class HierarchicalTimingWheelUnitTest {
+
+	private static final long START = 1_000_000L;
+
+	@Test
+	void advance_method_shouldExpireItemOnlyWhenItsTickIsReached() {
+		// Arrange
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, START);
+		wheel.schedule("soon", START + 35);
+		List<String> expired = new ArrayList<>();
+		// Act
+		wheel.advance(START + 20, expired::add);
+		List<String> early = List.copyOf(expired);
+		wheel.advance(START + 30, expired::add);
+		// Assert
+		assertTrue(early.isEmpty());
+		assertEquals(List.of("soon"), expired);
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void advance_method_shouldCascadeItemsFromOverflowWheels() {
+		// Arrange
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, START);
+		wheel.schedule("second level", START + 500);
+		wheel.schedule("third level", START + 5_000);
+		List<String> expired = new ArrayList<>();
+		// Act and Assert
+		for (long now = START; now <= START + 6_000; now += 10) {
+			final long at = now;
+			wheel.advance(now, item -> {
+				expired.add(item);
+				long deadline = item.equals("second level") ? START + 500 : START + 5_000;
+				assertTrue(at >= deadline - 10 && at <= deadline, item + " expired at " + (at - START));
+			});
+		}
+		assertEquals(List.of("second level", "third level"), expired);
+	}
+
+	@Test
+	void advance_method_shouldExpireEverythingDueAfterLongPause() {
+		// Arrange
+		HierarchicalTimingWheel<Integer> wheel = new HierarchicalTimingWheel<>(10, 8, START);
+		for (int i = 1; i <= 100; i++) {
+			wheel.schedule(i, START + i * 37L);
+		}
+		List<Integer> expired = new ArrayList<>();
+		// Act
+		wheel.advance(START + 2_000, expired::add);
+		// Assert
+		assertEquals(54, expired.size());
+		assertTrue(expired.stream().allMatch(i -> i * 37L <= 2_000 + 10));
+		assertEquals(46, wheel.size());
+	}
+
+	@Test
+	void schedule_method_shouldRejectPastDeadline() {
+		// Arrange
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(10, 8, START);
+		// Act
+		boolean scheduled = wheel.schedule("late", START - 1);
+		// Assert
+		assertFalse(scheduled);
+		assertEquals(0, wheel.size());
+	}
+
+}
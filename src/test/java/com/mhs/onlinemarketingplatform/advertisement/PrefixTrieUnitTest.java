@@ -0,0 +1,84 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public class PrefixTrieUnitTest {
+
+	private static TypeaheadEntry entry(String text, long weight) {
+		return new TypeaheadEntry(UUID.randomUUID(), text, weight);
+	}
+
+	private static List<String> texts(List<TypeaheadEntry> entries) {
+		return entries.stream().map(TypeaheadEntry::text).toList();
+	}
+
+	@Test
+	void complete_method_shouldReturnHeaviestCompletionsFirst() {
+		// Arrange
+		PrefixTrie trie = PrefixTrie.build(List.of(
+				entry("تهران", 500),
+				entry("تبریز", 200),
+				entry("تربت حیدریه", 20),
+				entry("شیراز", 300)), 10, 4);
+		// Act
+		List<TypeaheadEntry> completions = trie.complete("ت", 2);
+		// Assert
+		assertEquals(List.of("تهران", "تبریز"), texts(completions));
+		assertEquals(List.of("تربت حیدریه"), texts(trie.complete("ترب", 10)));
+		assertTrue(trie.complete("اصف", 10).isEmpty());
+	}
+
+	@Test
+	void complete_method_shouldFoldArabicLettersAndDigits() {
+		// Arrange
+		PrefixTrie trie = PrefixTrie.build(List.of(entry("پژو ۲۰۶ تیپ ۲", 10), entry("کیا اسپورتیج", 5)), 10, 4);
+		// Act and Assert
+		assertEquals(List.of("پژو ۲۰۶ تیپ ۲"), texts(trie.complete("پژو 20", 10)));
+		assertEquals(List.of("کیا اسپورتیج"), texts(trie.complete("كيا", 10)));
+	}
+
+	@Test
+	void complete_method_shouldFindLaterWordsOfAnEntryOnce() {
+		// Arrange
+		PrefixTrie trie = PrefixTrie.build(List.of(entry("گوشی موبایل سامسونگ", 10), entry("لوازم جانبی موبایل", 3)), 10, 4);
+		// Act
+		List<TypeaheadEntry> completions = trie.complete("موبایل", 10);
+		// Assert
+		assertEquals(List.of("گوشی موبایل سامسونگ", "لوازم جانبی موبایل"), texts(completions));
+		assertEquals(List.of("گوشی موبایل سامسونگ"), texts(trie.complete("سام", 10)));
+	}
+
+	@Test
+	void complete_method_shouldOnlyCompleteFollowingWordsAfterTrailingSpace() {
+		// Arrange
+		PrefixTrie trie = PrefixTrie.build(List.of(entry("خانه ویلایی", 10), entry("خانهدار", 5)), 10, 4);
+		// Act and Assert
+		assertEquals(List.of("خانه ویلایی", "خانهدار"), texts(trie.complete("خانه", 10)));
+		assertEquals(List.of("خانه ویلایی"), texts(trie.complete("خانه ", 10)));
+		assertTrue(trie.complete("   ", 10).isEmpty());
+	}
+
+}
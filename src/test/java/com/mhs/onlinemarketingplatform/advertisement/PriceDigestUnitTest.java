@@ -0,0 +1,91 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public class PriceDigestUnitTest {
+
+	@Test
+	void quantile_method_shouldEstimateUniformPricesClosely() {
+		// Arrange
+		PriceDigest digest = new PriceDigest(100);
+		Random random = new Random(42);
+		for (int i = 0; i < 100_000; i++) {
+			digest.add(random.nextDouble() * 1_000_000);
+		}
+		// Act
+		double p10 = digest.quantile(0.1);
+		double p50 = digest.quantile(0.5);
+		double p90 = digest.quantile(0.9);
+		// Assert
+		assertEquals(100_000, digest.count());
+		assertEquals(100_000, p10, 5_000);
+		assertEquals(500_000, p50, 5_000);
+		assertEquals(900_000, p90, 5_000);
+	}
+
+	@Test
+	void quantile_method_shouldReturnTheOnlyPrice() {
+		// Arrange
+		PriceDigest digest = new PriceDigest(100);
+		digest.add(2_500_000);
+		// Act and Assert
+		assertEquals(2_500_000, digest.quantile(0.1));
+		assertEquals(2_500_000, digest.quantile(0.9));
+	}
+
+	@Test
+	void merge_method_shouldMatchASingleDigestOverBothHalves() {
+		// Arrange
+		PriceDigest lower = new PriceDigest(100);
+		PriceDigest upper = new PriceDigest(100);
+		for (int i = 1; i <= 5_000; i++) {
+			lower.add(i);
+			upper.add(5_000 + i);
+		}
+		// Act
+		lower.merge(upper);
+		// Assert
+		assertEquals(10_000, lower.count());
+		assertEquals(5_000, lower.quantile(0.5), 100);
+		assertEquals(9_000, lower.quantile(0.9), 100);
+	}
+
+	@Test
+	void fromBytes_method_shouldRoundTripSerializedDigest() {
+		// Arrange
+		PriceDigest digest = new PriceDigest(100);
+		for (int i = 1; i <= 1_000; i++) {
+			digest.add(i * 1_000);
+		}
+		// Act
+		PriceDigest restored = PriceDigest.fromBytes(digest.toBytes());
+		// Assert
+		assertEquals(digest.count(), restored.count());
+		assertEquals(digest.quantile(0.1), restored.quantile(0.1), 1e-6);
+		assertEquals(digest.quantile(0.5), restored.quantile(0.5), 1e-6);
+		assertEquals(digest.quantile(0.9), restored.quantile(0.9), 1e-6);
+	}
+
+}
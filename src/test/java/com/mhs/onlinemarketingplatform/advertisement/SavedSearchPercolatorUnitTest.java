@@ -0,0 +1,123 @@
+/*
+ * Copyright 2025-2026 the original author.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.mhs.onlinemarketingplatform.advertisement;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * @author Milad Haghighat Shahedi
+ */
+public class SavedSearchPercolatorUnitTest {
+
+	private static final UUID CATEGORY = UUID.fromString("019a836e-0452-7e70-86aa-b58429e6ec8c");
+	private static final UUID CITY = UUID.fromString("019a836e-0452-7e70-86aa-b58429e6ec8d");
+	private static final UUID SELLER = UUID.fromString("79e784ec-b22d-456c-807f-300a44bffc2c");
+	private static final UUID BUYER = UUID.fromString("79e784ec-b22d-456c-807f-300a44bffc2d");
+
+	private final ObjectMapper mapper = new ObjectMapper();
+
+	private PercolatedAdvertisement advertisement(UUID cityId, String price, String attributes) throws Exception {
+		JsonNode node = this.mapper.readTree(attributes);
+		return new PercolatedAdvertisement(UUID.randomUUID(), SELLER, CATEGORY, AdvertisementType.CARS, new BigDecimal(price), cityId, node);
+	}
+
+	private SavedSearchQuery query(UUID ownerId, SavedSearchKey key, String minPrice, String maxPrice, SavedSearchAttributeMatcher matcher) {
+		return new SavedSearchQuery(UUID.randomUUID(), ownerId, key,
+				minPrice == null ? null : new BigDecimal(minPrice),
+				maxPrice == null ? null : new BigDecimal(maxPrice),
+				matcher);
+	}
+
+	@Test
+	void match_method_shouldFindSearchesInExactAndWildcardBuckets() throws Exception {
+		// Arrange
+		SavedSearchPercolator percolator = new SavedSearchPercolator();
+		SavedSearchQuery exact = query(BUYER, new SavedSearchKey(CATEGORY, AdvertisementType.CARS, CITY), null, null, null);
+		SavedSearchQuery anyCity = query(BUYER, new SavedSearchKey(CATEGORY, null, null), null, null, null);
+		SavedSearchQuery otherCity = query(BUYER, new SavedSearchKey(CATEGORY, AdvertisementType.CARS, UUID.randomUUID()), null, null, null);
+		percolator.add(exact);
+		percolator.add(anyCity);
+		percolator.add(otherCity);
+		// Act
+		List<SavedSearchQuery> matches = percolator.match(advertisement(CITY, "1000", "{}"));
+		// Assert
+		assertEquals(2, matches.size());
+		assertTrue(matches.contains(exact));
+		assertTrue(matches.contains(anyCity));
+	}
+
+	@Test
+	void match_method_shouldApplyPriceRangeAndSkipOwnAdvertisements() throws Exception {
+		// Arrange
+		SavedSearchPercolator percolator = new SavedSearchPercolator();
+		SavedSearchKey key = new SavedSearchKey(CATEGORY, null, null);
+		SavedSearchQuery inRange = query(BUYER, key, "500", "1500", null);
+		SavedSearchQuery tooCheap = query(BUYER, key, "2000", null, null);
+		SavedSearchQuery own = query(SELLER, key, null, null, null);
+		percolator.add(inRange);
+		percolator.add(tooCheap);
+		percolator.add(own);
+		// Act
+		List<SavedSearchQuery> matches = percolator.match(advertisement(CITY, "1000", "{}"));
+		// Assert
+		assertEquals(List.of(inRange), matches);
+	}
+
+	@Test
+	void match_method_shouldCompareAttributeEqualitiesAndRanges() throws Exception {
+		// Arrange
+		SavedSearchPercolator percolator = new SavedSearchPercolator();
+		ObjectNode containment = (ObjectNode) this.mapper.readTree("{\"@type\":\"car\",\"brand\":\"Toyota\"}");
+		SavedSearchAttributeMatcher recent = new SavedSearchAttributeMatcher(containment,
+				List.of(new AttributeRangePredicate("manufacturingYear", 2015, null)));
+		SavedSearchAttributeMatcher old = new SavedSearchAttributeMatcher(containment,
+				List.of(new AttributeRangePredicate("manufacturingYear", null, 2010)));
+		SavedSearchQuery recentToyota = query(BUYER, new SavedSearchKey(null, AdvertisementType.CARS, null), null, null, recent);
+		percolator.add(recentToyota);
+		percolator.add(query(BUYER, new SavedSearchKey(null, AdvertisementType.CARS, null), null, null, old));
+		// Act
+		List<SavedSearchQuery> matches = percolator.match(
+				advertisement(null, "1000", "{\"@type\":\"car\",\"brand\":\"Toyota\",\"manufacturingYear\":2018}"));
+		List<SavedSearchQuery> otherBrand = percolator.match(
+				advertisement(null, "1000", "{\"@type\":\"car\",\"brand\":\"Honda\",\"manufacturingYear\":2018}"));
+		// Assert
+		assertEquals(List.of(recentToyota), matches);
+		assertTrue(otherBrand.isEmpty());
+	}
+
+	@Test
+	void remove_method_shouldDropSearchFromItsBucket() throws Exception {
+		// Arrange
+		SavedSearchPercolator percolator = new SavedSearchPercolator();
+		SavedSearchQuery search = query(BUYER, new SavedSearchKey(CATEGORY, AdvertisementType.CARS, CITY), null, null, null);
+		percolator.add(search);
+		// Act
+		percolator.remove(search.id());
+		// Assert
+		assertEquals(0, percolator.size());
+		assertTrue(percolator.match(advertisement(CITY, "1000", "{}")).isEmpty());
+	}
+
+}